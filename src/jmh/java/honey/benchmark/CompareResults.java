@@ -0,0 +1,90 @@
+package honey.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv}, for example from two commits.
+ * Prints each benchmark's score in both runs and the relative change.
+ * Usage: {@code CompareResults BASELINE.csv CANDIDATE.csv}.
+ */
+public class CompareResults {
+    /**
+     * Prints the comparison of the two result files given as arguments.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || args[0].isEmpty() || args[1].isEmpty()) {
+            System.err.println("Usage: CompareResults BASELINE.csv CANDIDATE.csv");
+            return;
+        }
+        Map<String, String[]> baseline = readScores(Paths.get(args[0]));
+        Map<String, String[]> candidate = readScores(Paths.get(args[1]));
+
+        System.out.printf("%-60s %14s %14s %8s %s%n", "benchmark", "baseline", "candidate", "change", "unit");
+        for (Map.Entry<String, String[]> entry : candidate.entrySet()) {
+            String[] before = baseline.get(entry.getKey());
+            String[] after = entry.getValue();
+            double afterScore = Double.parseDouble(after[0]);
+            if (before == null) {
+                System.out.printf("%-60s %14s %14.3f %8s %s%n", entry.getKey(), "-", afterScore, "new", after[1]);
+                continue;
+            }
+            double beforeScore = Double.parseDouble(before[0]);
+            double change = (afterScore - beforeScore) / beforeScore * 100;
+            System.out.printf("%-60s %14.3f %14.3f %+7.1f%% %s%n",
+                    entry.getKey(), beforeScore, afterScore, change, after[1]);
+        }
+    }
+
+    /**
+     * Reads a JMH CSV file into a map from benchmark name and parameters to its score and unit.
+     */
+    private static Map<String, String[]> readScores(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = splitCsv(lines.get(0));
+        int nameColumn = header.indexOf("Benchmark");
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+
+        Map<String, String[]> scores = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> cells = splitCsv(line);
+            StringBuilder key = new StringBuilder(cells.get(nameColumn));
+            for (int i = 0; i < header.size() && i < cells.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !cells.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(cells.get(i));
+                }
+            }
+            String score = cells.get(scoreColumn).replace(',', '.');
+            scores.put(key.toString(), new String[] {score, cells.get(unitColumn)});
+        }
+        return scores;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted cells.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean isQuoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ',' && !isQuoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
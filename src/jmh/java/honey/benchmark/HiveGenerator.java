@@ -0,0 +1,138 @@
+package honey.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import honey.exceptions.HoneyException;
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Generates realistic synthetic hives for benchmarks.
+ * Task names are drawn from a small vocabulary so that searches have a realistic hit rate, dates are
+ * spread over two years around a fixed anchor, and about a third of the tasks are done.
+ * The same seed always produces the same hive, so results are comparable across runs.
+ */
+public class HiveGenerator {
+    /** Date around which all generated deadlines and events fall */
+    public static final LocalDate ANCHOR = LocalDate.of(2024, 1, 1);
+
+    private static final String[] VERBS = {
+        "submit", "review", "buy", "call", "write", "plan", "fix", "read", "clean", "prepare", "book", "email",
+    };
+    private static final String[] OBJECTS = {
+        "report", "assignment", "groceries", "dentist", "presentation", "budget", "bug", "book", "kitchen",
+        "slides", "flight", "invoice", "proposal", "garden", "meeting notes", "tax return",
+    };
+    private static final DateTimeFormatter DEADLINE_INPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final int DAY_SPREAD = 365;
+
+    private final Random random;
+
+    /**
+     * Constructs a HiveGenerator with a fixed seed.
+     *
+     * @param seed Seed for the random number generator.
+     */
+    public HiveGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a hive of the given size: half todos, a third deadlines and the rest events.
+     *
+     * @param size Number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public List<Task> generateTasks(int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                Task task = createTask(nextTaskCommand());
+                tasks.add(random.nextInt(3) == 0 ? task.withDone(true) : task);
+            }
+        } catch (HoneyException e) {
+            throw new IllegalStateException("Generated an invalid task", e);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns a random add command for a todo, deadline or event.
+     *
+     * @return A command such as {@code deadline submit report /by 2024-03-02 1800}.
+     */
+    public String nextTaskCommand() {
+        int kind = random.nextInt(6);
+        String name = nextName();
+        if (kind < 3) {
+            return "todo " + name;
+        } else if (kind < 5) {
+            LocalDateTime by = nextDate().atTime(random.nextInt(24), random.nextInt(4) * 15);
+            return "deadline " + name + " /by " + by.format(DEADLINE_INPUT);
+        }
+        LocalDate from = nextDate();
+        return "event " + name + " /from " + from + " /to " + from.plusDays(random.nextInt(4));
+    }
+
+    /**
+     * Returns a random user command of any kind, in roughly the mix a user would type.
+     *
+     * @return A command line.
+     */
+    public String nextCommandLine() {
+        switch (random.nextInt(8)) {
+        case 0:
+            return "list";
+        case 1:
+            return "mark " + (random.nextInt(100) + 1);
+        case 2:
+            return "delete " + (random.nextInt(100) + 1);
+        case 3:
+            return "find " + nextKeyword();
+        case 4:
+            return "due " + nextDate();
+        case 5:
+            return "sort deadline";
+        default:
+            return nextTaskCommand();
+        }
+    }
+
+    /**
+     * Returns a keyword that matches some generated task names.
+     *
+     * @return A search keyword.
+     */
+    public String nextKeyword() {
+        return OBJECTS[random.nextInt(OBJECTS.length)];
+    }
+
+    /**
+     * Returns a random date within the range used for generated tasks.
+     *
+     * @return A date near {@link #ANCHOR}.
+     */
+    public LocalDate nextDate() {
+        return ANCHOR.plusDays(random.nextInt(2 * DAY_SPREAD) - DAY_SPREAD);
+    }
+
+    private String nextName() {
+        return VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)];
+    }
+
+    private static Task createTask(String command) throws HoneyException {
+        if (command.startsWith("todo")) {
+            return new Todo(command);
+        } else if (command.startsWith("deadline")) {
+            return new Deadline(command);
+        }
+        return new Event(command);
+    }
+}
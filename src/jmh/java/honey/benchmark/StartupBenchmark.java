@@ -0,0 +1,232 @@
+package honey.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import honey.StartupProbe;
+import honey.cli.HoneyCli;
+import honey.storage.Storage;
+
+/**
+ * Measures how long Honey takes to start, from launching a fresh JVM to its first frame and its first command.
+ * Usage: {@code StartupBenchmark --jar JAR [--mode headless|cli|gui] [--archive JSA] [--tasks N]
+ * [--iterations N]}.
+ * In headless mode the server is started on a free port, and the benchmark times how long it takes to listen
+ * and to answer its first command. In cli mode the command-line front-end is timed to its greeting and to its
+ * reply to the first command written to its standard input. In gui mode the GUI is started with the startup probe, which reports
+ * its first frame and the reply to its first command before exiting.
+ * With {@code --archive}, each JVM uses that AppCDS archive, so runs with and without it can be compared.
+ */
+public class StartupBenchmark {
+    private static final String SERVER_READY_PREFIX = "Honey server buzzing on ";
+    private static final String REPLY_END = ".";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final String mode;
+    private final Path jar;
+    private final Path archive;
+    private final int taskCount;
+    /** Startup times in nanoseconds for each milestone, in the order the milestones are reached */
+    private final Map<String, List<Long>> timings = new LinkedHashMap<>();
+
+    /**
+     * Constructs a StartupBenchmark that launches the given jar.
+     *
+     * @param mode Either "headless" or "gui"
+     * @param jar The Honey jar to launch
+     * @param archive The AppCDS archive to use, or null to start without one
+     * @param taskCount Number of tasks in the data file that Honey loads at startup
+     */
+    public StartupBenchmark(String mode, Path jar, Path archive, int taskCount) {
+        this.mode = mode;
+        this.jar = jar.toAbsolutePath();
+        this.archive = archive == null ? null : archive.toAbsolutePath();
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Runs the startup benchmark. See the class description for options.
+     */
+    public static void main(String[] args) throws Exception {
+        String mode = "headless";
+        Path jar = null;
+        Path archive = null;
+        int taskCount = 0;
+        int iterations = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--mode":
+                mode = args[++i];
+                break;
+            case "--jar":
+                jar = Paths.get(args[++i]);
+                break;
+            case "--archive":
+                archive = Paths.get(args[++i]);
+                break;
+            case "--tasks":
+                taskCount = Integer.parseInt(args[++i]);
+                break;
+            case "--iterations":
+                iterations = Integer.parseInt(args[++i]);
+                break;
+            default:
+                System.err.println("Unknown option: " + args[i]);
+                return;
+            }
+        }
+        if (jar == null || !(mode.equals("headless") || mode.equals("cli") || mode.equals("gui"))) {
+            System.err.println("Usage: StartupBenchmark --jar JAR [--mode headless|cli|gui] [--archive JSA]"
+                    + " [--tasks N] [--iterations N]");
+            return;
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark(mode, jar, archive, taskCount);
+        // The first launch warms the OS file cache and is not counted
+        benchmark.launchOnce();
+        benchmark.timings.clear();
+        for (int i = 0; i < iterations; i++) {
+            benchmark.launchOnce();
+        }
+        System.out.print(benchmark.report());
+    }
+
+    /**
+     * Launches Honey once in a fresh working directory and records the time to each milestone.
+     *
+     * @throws IOException If Honey cannot be launched or exits before reaching every milestone
+     */
+    public void launchOnce() throws IOException, InterruptedException {
+        Path workDir = Files.createTempDirectory("honey-startup");
+        Path dataDir = workDir.resolve("data");
+        if (taskCount > 0) {
+            Storage storage = new Storage(dataDir.resolve("honey.txt").toString());
+            storage.saveTasks(new HiveGenerator(42).generateTasks(taskCount));
+        }
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(buildCommand(dataDir))
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            if (mode.equals("gui")) {
+                awaitLine(output, StartupProbe.LINE_PREFIX + StartupProbe.FIRST_FRAME);
+                record(StartupProbe.FIRST_FRAME, launched);
+                awaitLine(output, StartupProbe.LINE_PREFIX + StartupProbe.FIRST_COMMAND);
+                record(StartupProbe.FIRST_COMMAND, launched);
+            } else if (mode.equals("cli")) {
+                awaitLine(output, HoneyCli.DIVIDER);
+                record("ready", launched);
+                Writer input = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+                input.write(StartupProbe.PROBE_COMMAND + "\n");
+                input.flush();
+                awaitLine(output, HoneyCli.DIVIDER);
+                record(StartupProbe.FIRST_COMMAND, launched);
+            } else {
+                String ready = awaitLine(output, SERVER_READY_PREFIX);
+                record("ready", launched);
+                int port = Integer.parseInt(ready.substring(ready.lastIndexOf(':') + 1).trim());
+                sendFirstCommand(port);
+                record(StartupProbe.FIRST_COMMAND, launched);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * Formats the minimum, median and maximum time to each milestone.
+     *
+     * @return The report, one line per milestone.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s startup%s, %d tasks%n", mode,
+                archive == null ? "" : " with " + archive.getFileName(), taskCount));
+        for (Map.Entry<String, List<Long>> entry : timings.entrySet()) {
+            List<Long> times = new ArrayList<>(entry.getValue());
+            Collections.sort(times);
+            report.append(String.format("  %-14s min %8.1f ms  median %8.1f ms  max %8.1f ms  (n=%d)%n",
+                    entry.getKey(),
+                    times.get(0) / NANOS_PER_MILLI,
+                    times.get(times.size() / 2) / NANOS_PER_MILLI,
+                    times.get(times.size() - 1) / NANOS_PER_MILLI,
+                    times.size()));
+        }
+        return report.toString();
+    }
+
+    private List<String> buildCommand(Path dataDir) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-cp");
+        command.add(jar.toString());
+        if (mode.equals("gui")) {
+            command.add("-D" + StartupProbe.PROPERTY + "=true");
+            command.add("honey.javafx.Launcher");
+        } else if (mode.equals("cli")) {
+            command.add("honey.cli.HoneyCli");
+            command.add("--data");
+            command.add(dataDir.resolve("honey.txt").toString());
+        } else {
+            command.add("honey.server.HoneyServer");
+            command.add("--port");
+            command.add("0");
+            command.add("--data");
+            command.add(dataDir.toString());
+        }
+        return command;
+    }
+
+    private void record(String milestone, long launched) {
+        timings.computeIfAbsent(milestone, key -> new ArrayList<>()).add(System.nanoTime() - launched);
+    }
+
+    /**
+     * Connects to a server, waits for its welcome and times the reply to one command.
+     */
+    private static void sendFirstCommand(int port) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            awaitLine(in, REPLY_END);
+            out.write(StartupProbe.PROBE_COMMAND + "\n");
+            out.flush();
+            awaitLine(in, REPLY_END);
+        }
+    }
+
+    /**
+     * Reads lines until one starts with the given prefix, or equals it if the prefix is the reply terminator.
+     */
+    private static String awaitLine(BufferedReader reader, String prefix) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (prefix.equals(REPLY_END) ? line.equals(REPLY_END) : line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new IOException("Honey exited before printing \"" + prefix + "\"");
+    }
+}
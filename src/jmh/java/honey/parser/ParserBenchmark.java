@@ -0,0 +1,55 @@
+package honey.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import honey.benchmark.HiveGenerator;
+import honey.command.Command;
+
+/**
+ * Measures how long Parser takes to turn a typical command line into a Command.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    private static final int INPUT_COUNT = 1024;
+
+    private final Parser parser = new Parser();
+    private String[] inputs;
+    private int next;
+
+    /**
+     * Generates a fixed mix of command lines to parse.
+     */
+    @Setup
+    public void setUp() {
+        HiveGenerator generator = new HiveGenerator(42);
+        inputs = new String[INPUT_COUNT];
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            inputs[i] = generator.nextCommandLine();
+        }
+    }
+
+    /**
+     * Parses the next command line in the mix.
+     */
+    @Benchmark
+    public Command parseCommand() {
+        next = (next + 1) & (INPUT_COUNT - 1);
+        return parser.parseCommand(inputs[next]);
+    }
+}
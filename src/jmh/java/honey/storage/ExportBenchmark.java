@@ -0,0 +1,76 @@
+package honey.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import honey.benchmark.HiveGenerator;
+import honey.task.Task;
+import honey.tasklist.TaskSnapshot;
+
+/**
+ * Measures exporting whole hives in each format.
+ * The small heap checks that the exporter streams rather than holding the whole file in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class ExportBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"CSV", "JSON_LINES", "ICS"})
+    private ExportFormat format;
+
+    private Path dataDir;
+    private Path exportFile;
+    private List<Task> tasks;
+    private TaskExporter exporter;
+
+    /**
+     * Generates a hive and the exporter for the format under test.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("honey-export-bench");
+        exportFile = dataDir.resolve("tasks" + format.getExtension());
+        tasks = TaskSnapshot.of(new HiveGenerator(42).generateTasks(taskCount));
+        exporter = new TaskExporter(format, ExportFilter.all());
+    }
+
+    /**
+     * Deletes the exported file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(exportFile);
+        Files.deleteIfExists(dataDir);
+    }
+
+    /**
+     * Exports the whole hive.
+     */
+    @Benchmark
+    public ExportResult export() throws IOException {
+        return exporter.export(tasks, exportFile);
+    }
+}
@@ -0,0 +1,83 @@
+package honey.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import honey.benchmark.HiveGenerator;
+import honey.exceptions.HoneyException;
+import honey.task.Task;
+import honey.tasklist.TaskSnapshot;
+
+/**
+ * Measures loading and saving whole hives of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path dataDir;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private List<Task> tasks;
+
+    /**
+     * Generates a hive and writes it to a data file for the load benchmark.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("honey-storage-bench");
+        tasks = TaskSnapshot.of(new HiveGenerator(42).generateTasks(taskCount));
+        loadStorage = new Storage(dataDir.resolve("load.txt").toString());
+        loadStorage.saveTasks(tasks);
+        saveStorage = new Storage(dataDir.resolve("save.txt").toString());
+    }
+
+    /**
+     * Deletes the temporary data files.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataDir.resolve("load.txt"));
+        Files.deleteIfExists(dataDir.resolve("save.txt"));
+        Files.deleteIfExists(dataDir);
+    }
+
+    /**
+     * Loads the whole hive from its data file.
+     */
+    @Benchmark
+    public List<Task> load() throws HoneyException {
+        return loadStorage.load();
+    }
+
+    /**
+     * Writes the whole hive to its data file.
+     */
+    @Benchmark
+    public void saveTasks() {
+        saveStorage.saveTasks(tasks);
+    }
+}
@@ -0,0 +1,77 @@
+package honey.storage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import honey.benchmark.HiveGenerator;
+import honey.exceptions.HoneyException;
+import honey.task.Task;
+
+/**
+ * Measures encoding a task to its file format, decoding it back, and the full round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskCodecBenchmark {
+    private static final int TASK_COUNT = 1024;
+
+    private final TaskEncoder encoder = new TaskEncoder();
+    private final TaskDecoder decoder = new TaskDecoder();
+    private List<Task> tasks;
+    private String[] lines;
+    private int next;
+
+    /**
+     * Generates a fixed mix of tasks and their encoded lines.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new HiveGenerator(42).generateTasks(TASK_COUNT);
+        lines = new String[TASK_COUNT];
+        for (int i = 0; i < TASK_COUNT; i++) {
+            lines[i] = encoder.encode(tasks.get(i));
+        }
+    }
+
+    /**
+     * Encodes the next task.
+     */
+    @Benchmark
+    public String encode() {
+        next = (next + 1) & (TASK_COUNT - 1);
+        return encoder.encode(tasks.get(next));
+    }
+
+    /**
+     * Decodes the next encoded line.
+     */
+    @Benchmark
+    public Task decode() throws HoneyException {
+        next = (next + 1) & (TASK_COUNT - 1);
+        return decoder.decode(lines[next]);
+    }
+
+    /**
+     * Encodes the next task and decodes the result.
+     */
+    @Benchmark
+    public Task roundTrip() throws HoneyException {
+        next = (next + 1) & (TASK_COUNT - 1);
+        return decoder.decode(encoder.encode(tasks.get(next)));
+    }
+}
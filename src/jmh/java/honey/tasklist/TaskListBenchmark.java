@@ -0,0 +1,220 @@
+package honey.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import honey.benchmark.HiveGenerator;
+import honey.exceptions.HoneyException;
+import honey.task.Priority;
+import honey.task.Task;
+import honey.task.TaskType;
+
+/**
+ * Measures the TaskList queries behind list, find, due, sort, query and next, and adding an event, at different
+ * hive sizes.
+ * Sorted and filtered queries read materialised views, which are built once on the first call of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskList tasks;
+    private String keyword;
+    private String rankedWords;
+    private String dueDate;
+    private String meeting;
+    private Query weekQuery;
+
+    /**
+     * Generates a hive and picks a search keyword and date that match some of its tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        HiveGenerator generator = new HiveGenerator(42);
+        List<Task> generated = generator.generateTasks(taskCount);
+        // A quarter tagged #work, a tenth #urgent and a third !high, chosen apart from the generator's own draws
+        Random tagRandom = new Random(7);
+        for (Task task : generated) {
+            List<String> tags = new ArrayList<>();
+            if (tagRandom.nextInt(4) == 0) {
+                tags.add("work");
+            }
+            if (tagRandom.nextInt(10) == 0) {
+                tags.add("urgent");
+            }
+            task.setTags(tags);
+            task.setPriority(tagRandom.nextInt(3) == 0 ? Priority.HIGH : null);
+        }
+        // Each task after the first waits on one earlier task, and every eighth on a second, close to one edge a task
+        for (int i = 0; i < generated.size(); i++) {
+            Task task = generated.get(i);
+            task.setId(i + 1);
+            if (i > 0) {
+                List<Long> prerequisites = new ArrayList<>();
+                prerequisites.add((long) tagRandom.nextInt(i) + 1);
+                if (i % 8 == 0) {
+                    prerequisites.add((long) tagRandom.nextInt(i) + 1);
+                }
+                task.setPrerequisites(prerequisites);
+            }
+        }
+        tasks = new TaskList(generated);
+        keyword = generator.nextKeyword();
+        rankedWords = "submit " + keyword.substring(1, 2) + keyword.charAt(0) + keyword.substring(2);
+        dueDate = generator.nextDate().toString();
+        meeting = "event planning /from " + dueDate + " 1000 /to " + dueDate + " 1100";
+        LocalDate weekStart = LocalDate.parse(dueDate);
+        weekQuery = new Query(QueryPredicate.and(List.of(QueryPredicate.status(false),
+                QueryPredicate.type(EnumSet.of(TaskType.DEADLINE)), QueryPredicate.name(keyword),
+                QueryPredicate.dates(weekStart, weekStart.plusDays(6)))),
+                Query.SortKey.DEADLINE, Page.of(0, 10), false);
+    }
+
+    /**
+     * Renders every task, as the list command does.
+     */
+    @Benchmark
+    public String listTasks() {
+        return tasks.listTasks();
+    }
+
+    /**
+     * Marks the first task and lists every task, as marking then listing does. Only the marked task's line
+     * changes, so the others are not formatted again.
+     */
+    @Benchmark
+    public String markAndListTasks() throws HoneyException {
+        tasks.markTask(1);
+        String listed = tasks.listTasks();
+        tasks.unmarkTask(1);
+        return listed;
+    }
+
+    /**
+     * Lists the first page of tasks tagged both #work and #urgent with a high priority, as
+     * {@code list #work #urgent !high limit 10} does. The tag index is built once on the first call of the trial,
+     * and after that the three bitmaps are ANDed instead of checking every task.
+     */
+    @Benchmark
+    public String listTasksByTags() {
+        return tasks.listTasksByTags(List.of("work", "urgent"), Priority.HIGH, Page.of(0, 10));
+    }
+
+    /**
+     * Marks the first task, which many others wait on, and lists the first page of tasks ready to work on, as
+     * {@code mark 1} then {@code next limit 10} does. The dependency graph is built once on the first call of the
+     * trial, and after that marking only updates the counts of the tasks waiting on the marked one.
+     */
+    @Benchmark
+    public String markAndListNextTasks() throws HoneyException {
+        tasks.markTask(1);
+        String listed = tasks.listNextTasks(Page.of(0, 10));
+        tasks.unmarkTask(1);
+        return listed;
+    }
+
+    /**
+     * Adds an hour-long event on a busy day and deletes it again, as {@code event} then {@code delete} does.
+     * The index of event times is built once on the first call of the trial, and after that adding the event
+     * finds the events it overlaps without checking every event.
+     */
+    @Benchmark
+    public String addAndDeleteEvent() throws HoneyException {
+        String added = tasks.addTask(meeting);
+        tasks.deleteTask(tasks.size());
+        return added;
+    }
+
+    /**
+     * Finds tasks whose name contains a common keyword, emptying the result cache first so the list is read.
+     */
+    @Benchmark
+    public String findTasks() {
+        tasks.resultCache().clear();
+        return tasks.findTasks(keyword);
+    }
+
+    /**
+     * Repeats a find with nothing changed in between, which the result cache answers if the result is small
+     * enough to keep.
+     */
+    @Benchmark
+    public String findTasksRepeated() {
+        return tasks.findTasks(keyword, Page.of(0, 10));
+    }
+
+    /**
+     * Ranks the best ten matches for a verb and a misspelt keyword, as {@code find ranked} does.
+     */
+    @Benchmark
+    public String findRankedTasks() {
+        tasks.resultCache().clear();
+        return tasks.findRankedTasks(rankedWords, Page.all());
+    }
+
+    /**
+     * Finds tasks due on one date.
+     */
+    @Benchmark
+    public String findTasksDue() throws HoneyException {
+        tasks.resultCache().clear();
+        return tasks.findTasksDue(dueDate);
+    }
+
+    /**
+     * Sorts all deadlines by date.
+     */
+    @Benchmark
+    public String sortDeadlines() {
+        tasks.resultCache().clear();
+        return tasks.sortDeadlines();
+    }
+
+    /**
+     * Sorts every task by name.
+     */
+    @Benchmark
+    public String sortTasksByName() {
+        return tasks.sortTasksByName();
+    }
+
+    /**
+     * Lists the pending deadlines that have passed.
+     */
+    @Benchmark
+    public String listOverdueTasks() {
+        return tasks.listOverdueTasks();
+    }
+
+    /**
+     * Runs a query combining status, type, keyword and a week of dates, which the planner answers from
+     * whichever index is most selective.
+     */
+    @Benchmark
+    public String query() {
+        return tasks.query(weekQuery);
+    }
+}
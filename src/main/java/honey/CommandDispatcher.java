@@ -0,0 +1,108 @@
+package honey;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import honey.command.Command;
+
+/**
+ * Runs Honey commands on background threads so that callers such as the GUI never block
+ * on task queries or file saves.
+ * Commands that modify tasks form a chain in which each write starts only after the previous one has
+ * finished, which keeps task list mutations single-writer and in submission order. Read-only commands run
+ * in parallel once every earlier write has finished, so they always see the effects of commands submitted
+ * before them and never hold up the writer.
+ * Threads are shared by all dispatchers, so an idle dispatcher costs no threads.
+ */
+public class CommandDispatcher {
+    /** Maximum time to wait for queued commands to finish when shutting down */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    /** Pool shared by every dispatcher that executes modifying commands, one at a time per dispatcher */
+    private static final ExecutorService WRITERS = newDaemonPool("honey-writer-");
+    /** Pool shared by every dispatcher that executes read-only commands concurrently */
+    private static final ExecutorService READERS = newDaemonPool("honey-reader-");
+
+    private final Honey honey;
+    /** The most recently submitted write, which later reads and writes wait for */
+    private CompletableFuture<String> lastWrite = CompletableFuture.completedFuture(null);
+
+    /**
+     * Constructs a CommandDispatcher that executes commands against the given Honey instance.
+     *
+     * @param honey The Honey instance whose tasks and storage the commands operate on
+     */
+    public CommandDispatcher(Honey honey) {
+        assert honey != null : "Honey cannot be null";
+        this.honey = honey;
+    }
+
+    private static ExecutorService newDaemonPool(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Parses the user input into a command for this dispatcher's Honey without executing it.
+     *
+     * @param input The user input string
+     * @return Command object representing the user's intent
+     */
+    public Command parse(String input) {
+        return honey.parse(input);
+    }
+
+    /**
+     * Queues a parsed command for execution.
+     * Cancelling the returned future of a read-only command before it starts skips it entirely, and
+     * cancelling it while it runs discards its reply. Modifying commands always run once queued.
+     *
+     * @param command The command to execute
+     * @return A future completed with the feedback message for the user
+     */
+    public synchronized CompletableFuture<String> submit(Command command) {
+        assert command != null : "Command cannot be null";
+        if (command.isReadOnly()) {
+            return lastWrite.handleAsync((ignored, error) -> honey.execute(command), READERS);
+        }
+        lastWrite = lastWrite.handleAsync((ignored, error) -> honey.execute(command), WRITERS);
+        return lastWrite.thenApply(Function.identity());
+    }
+
+    /**
+     * Returns whether every command submitted so far that modifies tasks has finished.
+     *
+     * @return true if no write is queued or running
+     */
+    public synchronized boolean isIdle() {
+        return lastWrite.isDone();
+    }
+
+    /**
+     * Waits briefly for queued writes to finish, then waits for their saves to be written
+     * so that they are not lost on exit.
+     */
+    public void shutdown() {
+        CompletableFuture<String> pending;
+        synchronized (this) {
+            pending = lastWrite;
+        }
+        try {
+            pending.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Save whatever has been applied so far
+        }
+        honey.flush();
+    }
+}
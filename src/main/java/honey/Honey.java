@@ -1,9 +1,17 @@
 package honey;
 
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
 import honey.command.Command;
 import honey.command.CommandResult;
+import honey.command.UndoHistory;
 import honey.exceptions.HoneyException;
+import honey.metrics.CommandEvent;
+import honey.metrics.Metrics;
 import honey.parser.Parser;
+import honey.reminder.Reminder;
+import honey.reminder.ReminderScheduler;
 import honey.storage.Storage;
 import honey.tasklist.TaskList;
 
@@ -20,6 +28,10 @@ public class Honey {
      * Storage component for saving and loading tasks
      */
     private final Storage storage;
+    /**
+     * Changes that can be undone and redone, saved next to the tasks
+     */
+    private final UndoHistory history;
     /**
      * Task list containing all user tasks
      */
@@ -30,27 +42,110 @@ public class Honey {
      * Constructs a new Honey application with the specified storage file path.
      * Initializes the storage, and attempts to load existing tasks.
      * If loading fails, starts with an empty task list.
+     * Changes are saved in the background; call {@link #flush()} before exiting.
      *
      * @param filePath The file path where tasks will be stored.
      */
     public Honey(String filePath) {
-        storage = new Storage(filePath);
-        parser = new Parser();
+        this(filePath, new Parser());
+    }
+
+    /**
+     * Constructs a new Honey application with the specified storage file path and a parser
+     * that may be shared with other Honey instances.
+     *
+     * @param filePath The file path where tasks will be stored.
+     * @param parser The parser used to turn user input into commands.
+     */
+    public Honey(String filePath, Parser parser) {
+        this(filePath, parser, null);
+    }
+
+    /**
+     * Constructs a new Honey application with the specified storage file path and shared parser, whose imported
+     * and exported files must be in the given directory, as on the server, where every user has one of their own.
+     *
+     * @param filePath The file path where tasks will be stored.
+     * @param parser The parser used to turn user input into commands.
+     * @param filesDir The directory imported and exported files must be in, or null if they may be anywhere.
+     */
+    public Honey(String filePath, Parser parser, Path filesDir) {
+        assert parser != null : "Parser cannot be null";
+        storage = Storage.withBackgroundSaves(filePath, filesDir);
+        this.parser = parser;
         try {
             tasks = new TaskList(storage.load());
         } catch (HoneyException e) {
             tasks = new TaskList();
         }
+        history = UndoHistory.load(storage, UndoHistory.DEFAULT_MAX_CHANGES, UndoHistory.DEFAULT_MAX_CHARS);
     }
 
+    /**
+     * Parses and executes one line of user input, recording how long the whole response took.
+     *
+     * @param input The user input string
+     * @return The feedback message for the user
+     */
     public String getResponse(String input) {
+        long start = System.nanoTime();
         try {
-            Command command = parser.parseCommand(input);
-            command.setData(tasks, storage);
+            return execute(parse(input));
+        } finally {
+            Metrics.getInstance().recordResponse(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Parses the user input into a command without executing it.
+     *
+     * @param input The user input string
+     * @return Command object representing the user's intent
+     */
+    public Command parse(String input) {
+        return parser.parseCommand(input);
+    }
+
+    /**
+     * Executes a previously parsed command against this Honey's tasks and storage.
+     *
+     * @param command The command to execute
+     * @return The feedback message for the user
+     */
+    public String execute(Command command) {
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean isFailed = true;
+        try {
+            command.setData(tasks, storage, history);
             CommandResult result = command.execute();
+            isFailed = false;
             return result.getFeedbackToUser();
         } catch (HoneyException e) {
             return e.getMessage();
+        } finally {
+            Metrics.getInstance().recordCommand(command.getCommandType(), System.nanoTime() - start, isFailed);
+            event.commit(command.getCommandType(), tasks.size(), isFailed);
         }
     }
+
+    /**
+     * Starts reminding the user when deadlines become due and events start, until the returned scheduler is closed.
+     *
+     * @param onReminder Called with each reminder when it fires, on a background thread
+     * @return The scheduler, which follows every later change to the tasks
+     */
+    public ReminderScheduler startReminders(Consumer<Reminder> onReminder) {
+        ReminderScheduler reminders = new ReminderScheduler(onReminder);
+        reminders.start(tasks);
+        return reminders;
+    }
+
+    /**
+     * Waits until every change made so far has been written to storage.
+     */
+    public void flush() {
+        storage.flush();
+    }
 }
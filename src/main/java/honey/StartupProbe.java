@@ -0,0 +1,38 @@
+package honey;
+
+/**
+ * Reports startup milestones for the startup benchmark.
+ * When the {@code honey.startup.probe} system property is true, each milestone is printed to standard output
+ * as a line such as {@code honey-startup first-frame}, so the benchmark can time it from outside the JVM,
+ * and the application exits after its first command.
+ * Otherwise every method does nothing.
+ */
+public final class StartupProbe {
+    public static final String PROPERTY = "honey.startup.probe";
+    public static final String LINE_PREFIX = "honey-startup ";
+    public static final String FIRST_FRAME = "first-frame";
+    public static final String FIRST_COMMAND = "first-command";
+    /** Command run automatically by a probed application once it is ready */
+    public static final String PROBE_COMMAND = "list";
+
+    private static final boolean IS_ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private StartupProbe() {
+    }
+
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Reports that the given milestone has been reached, if probing is enabled.
+     *
+     * @param milestone The milestone, such as {@link #FIRST_FRAME}.
+     */
+    public static void reach(String milestone) {
+        if (IS_ENABLED) {
+            System.out.println(LINE_PREFIX + milestone);
+            System.out.flush();
+        }
+    }
+}
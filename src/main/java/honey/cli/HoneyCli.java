@@ -0,0 +1,127 @@
+package honey.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import honey.Honey;
+import honey.command.Command;
+import honey.command.ExitCommand;
+import honey.reminder.ReminderScheduler;
+
+/**
+ * A headless text front-end for Honey that reads one command per line from standard input
+ * and writes each reply, followed by a divider line, to standard output.
+ * It does not use JavaFX, so it can run from the lean {@code honey-cli} jar.
+ * Replies are buffered and flushed once no more input is waiting, so interactive use stays responsive
+ * while piped input is answered in large writes; at most {@link #MAX_UNFLUSHED_REPLIES} replies are held back.
+ * Reminders for deadlines and events are printed as they fire, between replies.
+ * Usage: {@code HoneyCli [--data FILE]}.
+ */
+public class HoneyCli {
+    public static final String DIVIDER = "____________________________________________________________";
+    public static final int MAX_UNFLUSHED_REPLIES = 64;
+
+    private static final String DEFAULT_DATA_PATH = "data/honey.txt";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Honey honey;
+    private final BufferedReader input;
+    private final Writer output;
+    private int unflushedReplies;
+
+    /**
+     * Constructs a HoneyCli that answers commands from the given input.
+     *
+     * @param honey The Honey that executes the commands
+     * @param input Where commands are read from, one per line
+     * @param output Where replies are written; it should be buffered, as it is only flushed now and then
+     */
+    public HoneyCli(Honey honey, BufferedReader input, Writer output) {
+        assert honey != null : "Honey cannot be null";
+        this.honey = honey;
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * Runs Honey on standard input and output. See the class description for options.
+     */
+    public static void main(String[] args) throws IOException {
+        String dataPath = DEFAULT_DATA_PATH;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--data") && i + 1 < args.length) {
+                dataPath = args[++i];
+            } else {
+                System.err.println("Usage: HoneyCli [--data FILE]");
+                return;
+            }
+        }
+
+        BufferedReader input = new BufferedReader(
+                new InputStreamReader(new FileInputStream(FileDescriptor.in), StandardCharsets.UTF_8), BUFFER_SIZE);
+        Writer output = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), BUFFER_SIZE);
+        new HoneyCli(new Honey(dataPath), input, output).run();
+    }
+
+    /**
+     * Greets the user, then answers each line of input until {@code bye} or the end of the input.
+     * All changes are saved before this method returns.
+     *
+     * @throws IOException If reading input or writing output fails
+     */
+    public void run() throws IOException {
+        ReminderScheduler reminders = honey.startReminders(reminder -> writeReminder(reminder.getMessage()));
+        try {
+            writeReply(Honey.WELCOME_MESSAGE);
+            String line;
+            while ((line = input.readLine()) != null) {
+                Command command = honey.parse(line);
+                writeReply(honey.execute(command));
+                if (command instanceof ExitCommand) {
+                    break;
+                }
+            }
+        } finally {
+            reminders.close();
+            output.flush();
+            honey.flush();
+        }
+    }
+
+    private synchronized void writeReply(String reply) throws IOException {
+        output.write(reply);
+        output.write(System.lineSeparator());
+        output.write(DIVIDER);
+        output.write(System.lineSeparator());
+        unflushedReplies++;
+        if (unflushedReplies >= MAX_UNFLUSHED_REPLIES || !input.ready()) {
+            output.flush();
+            unflushedReplies = 0;
+        }
+    }
+
+    /**
+     * Writes a reminder between replies and flushes it at once, as the user is not waiting for it.
+     */
+    private synchronized void writeReminder(String message) {
+        try {
+            output.write(message);
+            output.write(System.lineSeparator());
+            output.write(DIVIDER);
+            output.write(System.lineSeparator());
+            output.flush();
+            unflushedReplies = 0;
+        } catch (IOException e) {
+            System.err.println(" Warning: Could not show a reminder. " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package honey.command;
 
+import java.util.List;
+
 import honey.exceptions.HoneyException;
+import honey.tasklist.TaskSnapshot;
 
 /**
  * Adds a task to the task list.
@@ -16,7 +19,17 @@ public class AddCommand extends Command {
     @Override
     public CommandResult execute() throws HoneyException {
         String result = tasks.addTask(taskDescription);
-        storage.saveTasks(tasks.getTasks());
+        TaskSnapshot added = tasks.getTasks();
+        storage.saveTasks(added);
+        history.recordAdded(added.size() - 1, List.of(added.get(added.size() - 1)), taskDescription.trim());
         return new CommandResult(result);
     }
+
+    @Override
+    public CommandType getCommandType() {
+        if (taskDescription == null) {
+            return null;
+        }
+        return CommandType.fromCommandWord(taskDescription.trim().split("\\s+", 2)[0].toLowerCase());
+    }
 }
@@ -12,18 +12,32 @@ import honey.tasklist.TaskList;
 public abstract class Command {
     protected TaskList tasks;
     protected Storage storage;
+    protected UndoHistory history;
 
     /**
-     * Sets the data context for this command.
+     * Sets the data context for this command, with a history of its own that is kept only in memory.
      *
      * @param tasks The task list to operate on
      * @param storage The storage for persisting changes
      */
     public void setData(TaskList tasks, Storage storage) {
+        setData(tasks, storage, new UndoHistory());
+    }
+
+    /**
+     * Sets the data context for this command.
+     *
+     * @param tasks The task list to operate on
+     * @param storage The storage for persisting changes
+     * @param history The history that changes are recorded in, so they can be undone
+     */
+    public void setData(TaskList tasks, Storage storage, UndoHistory history) {
         assert tasks != null : "TaskList cannot be null";
         assert storage != null : "Storage cannot be null";
+        assert history != null : "History cannot be null";
         this.tasks = tasks;
         this.storage = storage;
+        this.history = history;
     }
 
     /**
@@ -34,4 +48,23 @@ public abstract class Command {
      */
     public abstract CommandResult execute() throws HoneyException;
 
+    /**
+     * Returns whether this command only reads the task list.
+     * Read-only commands never save to storage, so they are safe to cancel while running.
+     *
+     * @return true if this command does not modify any tasks, false otherwise
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the type of this command, which is used to group its metrics.
+     *
+     * @return The command type, or null if this command does not correspond to a command word
+     */
+    public CommandType getCommandType() {
+        return null;
+    }
+
 }
@@ -14,9 +14,18 @@ public enum CommandType {
     TODO("todo"),
     DEADLINE("deadline"),
     EVENT("event"),
+    RECURRING("recurring"),
     FIND("find"),
     DUE("due"),
     SORT("sort"),
+    QUERY("query"),
+    STATS("stats"),
+    IMPORT("import"),
+    EXPORT("export"),
+    UNDO("undo"),
+    REDO("redo"),
+    DEPEND("depend"),
+    NEXT("next"),
     BYE("bye");
 
     private final String commandWord;
@@ -1,6 +1,7 @@
 package honey.command;
 
 import honey.exceptions.HoneyException;
+import honey.task.Task;
 
 /**
  * Deletes a task from the task list.
@@ -15,8 +16,15 @@ public class DeleteCommand extends Command {
 
     @Override
     public CommandResult execute() throws HoneyException {
+        Task task = taskNumber >= 1 && taskNumber <= tasks.size() ? tasks.getTasks().get(taskNumber - 1) : null;
         String result = tasks.deleteTask(taskNumber);
         storage.saveTasks(tasks.getTasks());
+        history.recordRemoved(taskNumber - 1, task, "delete " + taskNumber);
         return new CommandResult(result);
     }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.DELETE;
+    }
 }
@@ -0,0 +1,56 @@
+package honey.command;
+
+import java.util.List;
+
+import honey.exceptions.HoneyException;
+import honey.task.Task;
+
+/**
+ * Makes a task wait on other tasks, so that it is not ready to work on until they are done.
+ */
+public class DependCommand extends Command {
+
+    private final int taskNumber;
+    private final List<Integer> prerequisiteNumbers;
+
+    /**
+     * Creates a command that makes a task wait on others.
+     *
+     * @param taskNumber The task that will wait (1-indexed).
+     * @param prerequisiteNumbers The tasks it will wait on (1-indexed).
+     */
+    public DependCommand(int taskNumber, List<Integer> prerequisiteNumbers) {
+        assert !prerequisiteNumbers.isEmpty() : "A task should wait on at least one other task";
+        this.taskNumber = taskNumber;
+        this.prerequisiteNumbers = List.copyOf(prerequisiteNumbers);
+    }
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        Task before = taskNumber >= 1 && taskNumber <= tasks.size() ? tasks.getTasks().get(taskNumber - 1) : null;
+        String result = tasks.addDependency(taskNumber, prerequisiteNumbers);
+        Task after = tasks.getTasks().get(taskNumber - 1);
+        if (after != before) {
+            storage.saveTasks(tasks.getTasks());
+            history.recordReplaced(taskNumber - 1, before, after, getCommandText());
+        }
+        return new CommandResult(result);
+    }
+
+    /**
+     * Gets the command as the user would type it, such as {@code depend 3 on 1 2}, to name the change in the
+     * undo history.
+     */
+    private String getCommandText() {
+        StringBuilder text = new StringBuilder("depend ").append(taskNumber).append(" on");
+        for (int number : prerequisiteNumbers) {
+            text.append(' ').append(number);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.DEPEND;
+    }
+}
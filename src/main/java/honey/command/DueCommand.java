@@ -1,6 +1,7 @@
 package honey.command;
 
 import honey.exceptions.HoneyException;
+import honey.tasklist.Page;
 
 /**
  * Finds tasks that are due on a specific date.
@@ -8,14 +9,36 @@ import honey.exceptions.HoneyException;
 public class DueCommand extends Command {
 
     private final String dateStr;
+    private final Page page;
 
     public DueCommand(String dateStr) {
+        this(dateStr, Page.all());
+    }
+
+    /**
+     * Creates a command that shows a page of the results.
+     *
+     * @param dateStr The date to search for, as yyyy-MM-dd.
+     * @param page The part of the results to show.
+     */
+    public DueCommand(String dateStr, Page page) {
         this.dateStr = dateStr;
+        this.page = page;
     }
 
     @Override
     public CommandResult execute() throws HoneyException {
-        String tasksDue = tasks.findTasksDue(dateStr);
+        String tasksDue = tasks.findTasksDue(dateStr, page);
         return new CommandResult(tasksDue);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.DUE;
+    }
 }
@@ -11,4 +11,14 @@ public class ExitCommand extends Command {
     public CommandResult execute() {
         return new CommandResult(Honey.GOODBYE_MESSAGE, true);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.BYE;
+    }
 }
@@ -0,0 +1,58 @@
+package honey.command;
+
+import java.nio.file.Path;
+
+import honey.exceptions.HoneyException;
+import honey.storage.ExportFilter;
+import honey.storage.ExportFormat;
+import honey.storage.TaskExporter;
+import honey.tasklist.TaskSnapshot;
+
+/**
+ * Exports the tasks to a CSV, JSON Lines or iCalendar file in the background.
+ * The export reads a snapshot taken when the command runs, so later changes never end up half-exported,
+ * and the reply comes back straight away. How fast the export went is shown by the stats command.
+ */
+public class ExportCommand extends Command {
+
+    private final Path file;
+    private final ExportFormat format;
+    private final ExportFilter filter;
+
+    /**
+     * Constructs an ExportCommand.
+     *
+     * @param file The file to write
+     * @param format The format to write it in
+     * @param filter Which tasks to export
+     */
+    public ExportCommand(Path file, ExportFormat format, ExportFilter filter) {
+        assert file != null : "File cannot be null";
+        assert format != null : "Format cannot be null";
+        assert filter != null : "Filter cannot be null";
+        this.file = file;
+        this.format = format;
+        this.filter = filter;
+    }
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        Path target = storage.resolveUserFile(file);
+        TaskSnapshot snapshot = tasks.getTasks();
+        storage.exportTasks(snapshot, target, new TaskExporter(format, filter));
+        // How many tasks match a filter is only known once they are written, so only a full export counts them
+        String packed = filter.isAll() ? "our " + snapshot.size() + " tasks" : "the tasks that match";
+        return new CommandResult("On it, sweetie! 📦 I'm packing " + packed + " into " + file
+                + " in the background.\nAsk me for 'stats' to see how fast it went! 🐝");
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.EXPORT;
+    }
+}
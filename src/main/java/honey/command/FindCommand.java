@@ -1,21 +1,52 @@
 package honey.command;
 
 import honey.exceptions.HoneyException;
+import honey.tasklist.Page;
 
 /**
- * Finds tasks that contain the specified keyword.
+ * Finds tasks that contain the specified keyword, or ranks the tasks that best match some words.
  */
 public class FindCommand extends Command {
 
     private final String keyword;
+    private final Page page;
+    private final boolean isRanked;
 
     public FindCommand(String keyword) {
+        this(keyword, Page.all());
+    }
+
+    public FindCommand(String keyword, Page page) {
+        this(keyword, page, false);
+    }
+
+    /**
+     * Creates a command that shows a page of the results.
+     *
+     * @param keyword The keyword to search for, or the words to rank tasks by.
+     * @param page The part of the results to show.
+     * @param isRanked Whether to rank the tasks by how well they match the words, allowing for typos,
+     *     instead of finding the ones that contain the keyword.
+     */
+    public FindCommand(String keyword, Page page, boolean isRanked) {
         this.keyword = keyword;
+        this.page = page;
+        this.isRanked = isRanked;
     }
 
     @Override
     public CommandResult execute() throws HoneyException {
-        String result = tasks.findTasks(keyword);
+        String result = isRanked ? tasks.findRankedTasks(keyword, page) : tasks.findTasks(keyword, page);
         return new CommandResult(result);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.FIND;
+    }
 }
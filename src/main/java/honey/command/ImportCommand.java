@@ -0,0 +1,68 @@
+package honey.command;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import honey.exceptions.HoneyException;
+import honey.storage.ImportResult;
+import honey.storage.TaskImporter;
+import honey.tasklist.TaskSnapshot;
+
+/**
+ * Imports tasks from an iCalendar (.ics) or CSV (.csv) file, saving them once at the end.
+ * Reports how many rows were imported, how fast, and how many were rejected and why.
+ */
+public class ImportCommand extends Command {
+
+    private final Path file;
+
+    /**
+     * Constructs an ImportCommand for the given file.
+     *
+     * @param file The .ics or .csv file to import
+     */
+    public ImportCommand(Path file) {
+        assert file != null : "File cannot be null";
+        this.file = file;
+    }
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        int sizeBefore = tasks.size();
+        ImportResult result = new TaskImporter(tasks).importFile(storage.resolveUserFile(file));
+        boolean isUndoable = true;
+        if (result.getImportedCount() > 0) {
+            TaskSnapshot imported = tasks.getTasks();
+            storage.saveTasks(imported);
+            isUndoable = history.recordAdded(sizeBefore, imported.subList(sizeBefore, imported.size()),
+                    "import " + file);
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("Sweet as honey! 🍯 I've imported %,d tasks from %s in %.2fs (%,.0f rows/s).",
+                result.getImportedCount(), file.getFileName(), result.getElapsedNanos() / 1e9,
+                result.getRowsPerSecond()));
+        if (result.getRejectedCount() > 0) {
+            message.append(String.format("\nI had to leave out %,d rows that didn't look quite right, sweetie:",
+                    result.getRejectedCount()));
+            for (Map.Entry<String, ImportResult.Rejection> entry : result.getRejections().entrySet()) {
+                message.append(String.format("\n  %s: %,d rows (first on line %d)", entry.getKey(),
+                        entry.getValue().getCount(), entry.getValue().getFirstLineNumber()));
+            }
+        }
+        if (result.getOverlappingCount() > 0) {
+            message.append(String.format("\nHeads up, sweetie! %,d of the imported events overlap an earlier event.",
+                    result.getOverlappingCount()));
+        }
+        if (!isUndoable) {
+            message.append("\nThis import is too big for me to remember, so it can't be undone, sweetie.");
+        }
+        message.append("\nNow we're managing ").append(tasks.size()).append(" sweet tasks together! 🐝");
+        return new CommandResult(message.toString());
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.IMPORT;
+    }
+}
@@ -16,4 +16,9 @@ public class IncorrectCommand extends Command {
     public CommandResult execute() {
         return new CommandResult(errorMessage);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
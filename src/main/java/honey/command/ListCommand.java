@@ -1,15 +1,96 @@
 package honey.command;
 
+import java.util.List;
+
 import honey.exceptions.HoneyException;
+import honey.task.Priority;
+import honey.tasklist.Page;
 
 /**
- * Lists all tasks in the task list.
+ * Lists all tasks in the task list, or only those that are done, still to do, overdue, or have some tags
+ * and a priority.
  */
 public class ListCommand extends Command {
 
+    /** Filter word accepted after "list" */
+    public static final String DONE = "done";
+    /** Filter word accepted after "list" */
+    public static final String PENDING = "pending";
+    /** Filter word accepted after "list" */
+    public static final String OVERDUE = "overdue";
+
+    private final String filter;
+    private final List<String> tags;
+    private final Priority priority;
+    private final Page page;
+
+    /**
+     * Creates a command that lists every task.
+     */
+    public ListCommand() {
+        this(null);
+    }
+
+    /**
+     * Creates a command that lists only the tasks matching a filter.
+     *
+     * @param filter One of {@link #DONE}, {@link #PENDING} or {@link #OVERDUE}, or null to list every task.
+     */
+    public ListCommand(String filter) {
+        this(filter, Page.all());
+    }
+
+    /**
+     * Creates a command that lists a page of the tasks matching a filter.
+     *
+     * @param filter One of {@link #DONE}, {@link #PENDING} or {@link #OVERDUE}, or null to list every task.
+     * @param page The part of the list to show.
+     */
+    public ListCommand(String filter, Page page) {
+        this.filter = filter;
+        this.tags = List.of();
+        this.priority = null;
+        this.page = page;
+    }
+
+    /**
+     * Creates a command that lists a page of the tasks that have every one of some tags and a priority.
+     *
+     * @param tags The tags, in lower case without their {@code #}; may be empty if a priority is given.
+     * @param priority The priority, or null to accept any.
+     * @param page The part of the list to show.
+     */
+    public ListCommand(List<String> tags, Priority priority, Page page) {
+        this.filter = null;
+        this.tags = List.copyOf(tags);
+        this.priority = priority;
+        this.page = page;
+    }
+
     @Override
     public CommandResult execute() throws HoneyException {
-        String result = tasks.listTasks();
+        String result;
+        if (!tags.isEmpty() || priority != null) {
+            result = tasks.listTasksByTags(tags, priority, page);
+        } else if (DONE.equals(filter)) {
+            result = tasks.listTasksByStatus(true, page);
+        } else if (PENDING.equals(filter)) {
+            result = tasks.listTasksByStatus(false, page);
+        } else if (OVERDUE.equals(filter)) {
+            result = tasks.listOverdueTasks(page);
+        } else {
+            result = tasks.listTasks(page);
+        }
         return new CommandResult(result);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.LIST;
+    }
 }
@@ -1,6 +1,7 @@
 package honey.command;
 
 import honey.exceptions.HoneyException;
+import honey.task.Task;
 
 /**
  * Marks a task as done.
@@ -15,8 +16,19 @@ public class MarkCommand extends Command {
 
     @Override
     public CommandResult execute() throws HoneyException {
+        boolean wasDone = taskNumber >= 1 && taskNumber <= tasks.size()
+                && tasks.getTasks().get(taskNumber - 1).getIsDone();
         String result = tasks.markTask(taskNumber);
+        Task task = tasks.getTasks().get(taskNumber - 1);
         storage.saveTasks(tasks.getTasks());
+        if (task.getIsDone() != wasDone) {
+            history.recordStatus(taskNumber - 1, task, "mark " + taskNumber);
+        }
         return new CommandResult(result);
     }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.MARK;
+    }
 }
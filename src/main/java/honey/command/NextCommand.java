@@ -0,0 +1,39 @@
+package honey.command;
+
+import honey.tasklist.Page;
+
+/**
+ * Lists the tasks that are ready to work on, as everything they wait on is done.
+ */
+public class NextCommand extends Command {
+
+    private final Page page;
+
+    public NextCommand() {
+        this(Page.all());
+    }
+
+    /**
+     * Creates a command that shows a page of the ready tasks.
+     *
+     * @param page The part of the results to show.
+     */
+    public NextCommand(Page page) {
+        this.page = page;
+    }
+
+    @Override
+    public CommandResult execute() {
+        return new CommandResult(tasks.listNextTasks(page));
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.NEXT;
+    }
+}
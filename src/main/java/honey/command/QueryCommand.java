@@ -0,0 +1,32 @@
+package honey.command;
+
+import honey.exceptions.HoneyException;
+import honey.tasklist.Query;
+
+/**
+ * Finds the tasks that match a query, or explains how the query would find them.
+ */
+public class QueryCommand extends Command {
+
+    private final Query query;
+
+    public QueryCommand(Query query) {
+        this.query = query;
+    }
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        String result = query.getIsExplain() ? tasks.explainQuery(query) : tasks.query(query);
+        return new CommandResult(result);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.QUERY;
+    }
+}
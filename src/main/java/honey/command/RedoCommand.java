@@ -0,0 +1,22 @@
+package honey.command;
+
+import honey.exceptions.HoneyException;
+
+/**
+ * Applies again the latest change to the task list that was undone.
+ */
+public class RedoCommand extends Command {
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        String description = history.redo(tasks);
+        storage.saveTasks(tasks.getTasks());
+        return new CommandResult("Redone, sweetie! ↪️ I've applied '" + description + "' again.\n"
+                + "Now we're managing " + tasks.size() + " sweet tasks together! 🐝");
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.REDO;
+    }
+}
@@ -1,28 +1,62 @@
 package honey.command;
 
+import java.util.Locale;
+
 import honey.exceptions.HoneyException;
+import honey.tasklist.Page;
 
 /**
- * Sorts deadline tasks by their deadline dates in ascending order.
+ * Sorts tasks by a key: deadline tasks by their deadline dates in ascending order,
+ * or every task by name, type or status.
  * Shows overdue tasks with an indication.
  */
 public class SortCommand extends Command {
 
     private final String sortType;
+    private final Page page;
 
     public SortCommand(String sortType) {
+        this(sortType, Page.all());
+    }
+
+    /**
+     * Creates a command that shows a page of the results.
+     *
+     * @param sortType The key to sort by.
+     * @param page The part of the results to show.
+     */
+    public SortCommand(String sortType, Page page) {
         this.sortType = sortType;
+        this.page = page;
     }
 
     @Override
     public CommandResult execute() throws HoneyException {
         assert sortType != null : "Sort type cannot be null";
 
-        if ("deadline".equals(sortType)) {
-            String result = tasks.sortDeadlines();
-            return new CommandResult(result);
-        } else {
-            return new CommandResult("Sorry, I can only sort 'deadline' tasks for now.\nUsage: sort deadline");
+        String key = sortType == null ? "" : sortType.toLowerCase(Locale.ROOT);
+        switch (key) {
+        case "deadline":
+            return new CommandResult(tasks.sortDeadlines(page));
+        case "name":
+            return new CommandResult(tasks.sortTasksByName(page));
+        case "type":
+            return new CommandResult(tasks.sortTasksByType(page));
+        case "status":
+            return new CommandResult(tasks.sortTasksByStatus(page));
+        default:
+            return new CommandResult("Sorry, I can only sort 'deadline' tasks for now, or every task by 'name', "
+                    + "'type' or 'status'.\nUsage: sort deadline|name|type|status [limit N] [offset N]");
         }
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.SORT;
+    }
 }
@@ -0,0 +1,54 @@
+package honey.command;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import honey.exceptions.HoneyException;
+import honey.metrics.Metrics;
+
+/**
+ * Shows runtime metrics for the hive, optionally exporting them to a file in the Prometheus text format.
+ * Exporting writes a file, so a command that exports is not read-only and runs in turn with the hive's saves.
+ */
+public class StatsCommand extends Command {
+
+    private final Metrics metrics;
+    private final Path exportPath;
+
+    /**
+     * Constructs a StatsCommand that shows the given metrics.
+     *
+     * @param metrics The metrics to show
+     * @param exportPath The file to export the metrics to, or null to only show them
+     */
+    public StatsCommand(Metrics metrics, Path exportPath) {
+        assert metrics != null : "Metrics cannot be null";
+        this.metrics = metrics;
+        this.exportPath = exportPath;
+    }
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        String summary = metrics.formatSummary(tasks.size());
+        if (exportPath == null) {
+            return new CommandResult(summary);
+        }
+        try {
+            metrics.exportTo(exportPath);
+        } catch (IOException e) {
+            return new CommandResult(summary + "\nOh no, I couldn't write the stats to " + exportPath
+                    + ": " + e.getMessage() + " 🐝");
+        }
+        return new CommandResult(summary + "\nExported the stats to " + exportPath + " 🍯");
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return exportPath == null;
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.STATS;
+    }
+}
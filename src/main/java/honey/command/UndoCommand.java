@@ -0,0 +1,22 @@
+package honey.command;
+
+import honey.exceptions.HoneyException;
+
+/**
+ * Reverses the latest change to the task list that has not been undone yet.
+ */
+public class UndoCommand extends Command {
+
+    @Override
+    public CommandResult execute() throws HoneyException {
+        String description = history.undo(tasks);
+        storage.saveTasks(tasks.getTasks());
+        return new CommandResult("Undone, my dear! ↩️ I've reversed '" + description + "' for us.\n"
+                + "Now we're managing " + tasks.size() + " sweet tasks together! 🐝");
+    }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.UNDO;
+    }
+}
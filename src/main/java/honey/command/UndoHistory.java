@@ -0,0 +1,402 @@
+package honey.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.storage.Storage;
+import honey.storage.TaskDecoder;
+import honey.storage.TaskEncoder;
+import honey.task.Task;
+import honey.tasklist.TaskList;
+
+/**
+ * Remembers the changes made by commands so that they can be undone and redone.
+ * Each change is kept as the little needed to reverse it: where in the list it happened and the tasks it
+ * touched, encoded as in the data file, rather than a copy of the list. Undoing a delete puts the task back
+ * where it was, undoing an add or an import takes its tasks back off the end, undoing a mark or unmark
+ * restores the task's status, and undoing any other change to a task puts back the version it had before.
+ * The history holds at most a set number of changes and characters of encoded tasks, dropping the oldest
+ * changes first. A change too big to keep on its own clears the history, as the changes before it could no
+ * longer be undone in order. A new change clears the changes that were undone, as they can no longer be redone.
+ * The history is saved next to the data file after every change, so it survives a restart. Before a change is
+ * reversed, the tasks it touched are checked against the list, and if the list no longer matches, the history
+ * is let go rather than applied to the wrong tasks.
+ */
+public class UndoHistory {
+    /** Changes kept when no other limit is given */
+    public static final int DEFAULT_MAX_CHANGES = 100;
+    /** Characters of encoded tasks kept when no other limit is given */
+    public static final long DEFAULT_MAX_CHARS = 1_000_000;
+
+    private static final String UNDO = "undo";
+    private static final String REDO = "redo";
+    private static final String SEPARATOR = " | ";
+
+    /** Changes that can be undone, oldest first */
+    private final Deque<Change> undoable = new ArrayDeque<>();
+    /** Changes that were undone and can be redone, the one undone first at the start */
+    private final Deque<Change> redoable = new ArrayDeque<>();
+    /** Where the history is saved, or null if it is only kept in memory */
+    private final Storage storage;
+    private final int maxChanges;
+    private final long maxChars;
+    private final TaskEncoder encoder = new TaskEncoder();
+    private final TaskDecoder decoder = new TaskDecoder();
+    /** Characters of encoded tasks held by every change, undoable or redoable */
+    private long totalChars;
+
+    /**
+     * Constructs an empty history kept only in memory, with the default limits.
+     */
+    public UndoHistory() {
+        this(null, DEFAULT_MAX_CHANGES, DEFAULT_MAX_CHARS);
+    }
+
+    /**
+     * Constructs an empty history saved to the given storage.
+     *
+     * @param storage Where the history is saved, or null to keep it only in memory.
+     * @param maxChanges The most changes to keep.
+     * @param maxChars The most characters of encoded tasks to keep, in memory and on disk.
+     */
+    public UndoHistory(Storage storage, int maxChanges, long maxChars) {
+        assert maxChanges > 0 : "History should hold at least one change";
+        assert maxChars > 0 : "History should hold at least one character";
+        this.storage = storage;
+        this.maxChanges = maxChanges;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Loads the history saved in the given storage, which it is saved back to after every change.
+     * A history that cannot be read is started afresh, as the tasks are usable without it.
+     *
+     * @param storage Where the history is saved.
+     * @param maxChanges The most changes to keep.
+     * @param maxChars The most characters of encoded tasks to keep, in memory and on disk.
+     * @return The loaded history, trimmed to the limits.
+     */
+    public static UndoHistory load(Storage storage, int maxChanges, long maxChars) {
+        assert storage != null : "Storage cannot be null";
+        UndoHistory history = new UndoHistory(storage, maxChanges, maxChars);
+        try {
+            history.readLines(storage.loadHistory());
+        } catch (IllegalArgumentException e) {
+            System.out.println(" Warning: Starting a new undo history, as the saved one is damaged.");
+            history.undoable.clear();
+            history.redoable.clear();
+            history.totalChars = 0;
+        }
+        history.trim();
+        return history;
+    }
+
+    /**
+     * Records that tasks were added at a position, so undoing removes them.
+     *
+     * @param index The zero-based position of the first added task.
+     * @param added The added tasks, in order.
+     * @param description The command that added them, for telling the user what was undone.
+     * @return False if the change was too big to keep, in which case the whole history has been cleared.
+     */
+    public synchronized boolean recordAdded(int index, List<Task> added, String description) {
+        return record(Kind.ADDED, index, added, description);
+    }
+
+    /**
+     * Records that a task was removed from a position, so undoing puts it back there.
+     *
+     * @param index The zero-based position the task had.
+     * @param removed The removed task.
+     * @param description The command that removed it.
+     * @return False if the change was too big to keep, in which case the whole history has been cleared.
+     */
+    public synchronized boolean recordRemoved(int index, Task removed, String description) {
+        return record(Kind.REMOVED, index, List.of(removed), description);
+    }
+
+    /**
+     * Records that a task was marked or unmarked, so undoing gives it back its earlier status.
+     *
+     * @param index The zero-based position of the task.
+     * @param changed The task with its new status.
+     * @param description The command that changed it.
+     * @return False if the change was too big to keep, in which case the whole history has been cleared.
+     */
+    public synchronized boolean recordStatus(int index, Task changed, String description) {
+        return record(changed.getIsDone() ? Kind.MARKED : Kind.UNMARKED, index, List.of(changed), description);
+    }
+
+    /**
+     * Records that a task was changed in some other way, such as being made to wait on other tasks, so undoing
+     * puts back the version it had before.
+     *
+     * @param index The zero-based position of the task.
+     * @param before The task before the change.
+     * @param after The task after the change.
+     * @param description The command that changed it.
+     * @return False if the change was too big to keep, in which case the whole history has been cleared.
+     */
+    public synchronized boolean recordReplaced(int index, Task before, Task after, String description) {
+        return record(Kind.CHANGED, index, List.of(before, after), description);
+    }
+
+    /**
+     * Reverses the latest change that has not been undone.
+     *
+     * @param tasks The task list to change.
+     * @return A description of what was undone.
+     * @throws HoneyException If there is nothing to undo or the list no longer matches the change.
+     */
+    public synchronized String undo(TaskList tasks) throws HoneyException {
+        Change change = undoable.peekLast();
+        if (change == null) {
+            throw new InvalidCommandException("There's nothing to undo, sweetie! 🍯 Our hive is just as we left it.");
+        }
+        apply(tasks, change, true);
+        redoable.addFirst(undoable.pollLast());
+        save();
+        return change.description;
+    }
+
+    /**
+     * Applies again the latest change that was undone.
+     *
+     * @param tasks The task list to change.
+     * @return A description of what was redone.
+     * @throws HoneyException If there is nothing to redo or the list no longer matches the change.
+     */
+    public synchronized String redo(TaskList tasks) throws HoneyException {
+        Change change = redoable.peekFirst();
+        if (change == null) {
+            throw new InvalidCommandException("There's nothing to redo, sweetie! 🍯 We're all caught up.");
+        }
+        apply(tasks, change, false);
+        undoable.addLast(redoable.pollFirst());
+        save();
+        return change.description;
+    }
+
+    /** Gets the number of changes that can be undone */
+    public synchronized int getUndoableCount() {
+        return undoable.size();
+    }
+
+    /** Gets the number of changes that can be redone */
+    public synchronized int getRedoableCount() {
+        return redoable.size();
+    }
+
+    private boolean record(Kind kind, int index, List<Task> touched, String description) {
+        totalChars -= charsOf(redoable);
+        redoable.clear();
+        List<String> lines = new ArrayList<>(touched.size());
+        long chars = 0;
+        for (Task task : touched) {
+            String line = encoder.encode(task);
+            chars += line.length();
+            if (chars > maxChars) {
+                undoable.clear();
+                totalChars = 0;
+                save();
+                return false;
+            }
+            lines.add(line);
+        }
+        undoable.addLast(new Change(kind, index, lines, description));
+        totalChars += chars;
+        trim();
+        save();
+        return true;
+    }
+
+    /**
+     * Drops the oldest changes until the history is within its limits.
+     */
+    private void trim() {
+        while (undoable.size() + redoable.size() > maxChanges || totalChars > maxChars) {
+            Change oldest = undoable.isEmpty() ? redoable.pollLast() : undoable.pollFirst();
+            totalChars -= oldest.chars;
+        }
+    }
+
+    /**
+     * Undoes or redoes a change, after checking that the tasks it touched are where it left them.
+     */
+    private void apply(TaskList tasks, Change change, boolean isUndo) throws HoneyException {
+        List<Task> current = tasks.getTasks();
+        boolean isRemoving = (change.kind == Kind.ADDED) == isUndo;
+        switch (change.kind) {
+        case ADDED:
+        case REMOVED:
+            if (isRemoving) {
+                check(matches(current, change.index, change.lines));
+                tasks.removeRange(change.index, change.index + change.lines.size());
+            } else {
+                check(change.index <= current.size());
+                tasks.insertAll(change.index, decodeAll(change.lines));
+            }
+            break;
+        case MARKED:
+        case UNMARKED:
+            boolean isDoneAfter = change.kind == Kind.MARKED;
+            check(change.index < current.size()
+                    && encoder.encode(current.get(change.index).withDone(isDoneAfter)).equals(change.lines.get(0)));
+            if (isDoneAfter != isUndo) {
+                tasks.markTask(change.index + 1);
+            } else {
+                tasks.unmarkTask(change.index + 1);
+            }
+            break;
+        case CHANGED:
+            String expected = change.lines.get(isUndo ? 1 : 0);
+            check(change.index < current.size() && encoder.encode(current.get(change.index)).equals(expected));
+            tasks.replaceTask(change.index, decodeAll(change.lines.subList(isUndo ? 0 : 1, isUndo ? 1 : 2)).get(0));
+            break;
+        default:
+            throw new AssertionError("Unknown change: " + change.kind);
+        }
+    }
+
+    private boolean matches(List<Task> current, int index, List<String> lines) {
+        if (index + lines.size() > current.size()) {
+            return false;
+        }
+        int i = index;
+        for (String line : lines) {
+            if (!encoder.encode(current.get(i++)).equals(line)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lets go of the whole history if the list no longer matches a change, as it was changed some other way.
+     */
+    private void check(boolean isMatching) throws InvalidCommandException {
+        if (isMatching) {
+            return;
+        }
+        undoable.clear();
+        redoable.clear();
+        totalChars = 0;
+        save();
+        throw new InvalidCommandException("Oh dear, our hive has changed since then, so I can't undo or redo "
+                + "that safely. I've let go of the old history, sweetie. 💛");
+    }
+
+    private List<Task> decodeAll(List<String> lines) throws HoneyException {
+        List<Task> decoded = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            Task task = null;
+            try {
+                task = decoder.decode(line);
+            } catch (Exception e) {
+                // Reported below, like a list that no longer matches
+            }
+            check(task != null);
+            decoded.add(task);
+        }
+        return decoded;
+    }
+
+    private static long charsOf(Deque<Change> changes) {
+        long chars = 0;
+        for (Change change : changes) {
+            chars += change.chars;
+        }
+        return chars;
+    }
+
+    private void save() {
+        if (storage != null) {
+            storage.saveHistory(toLines());
+        }
+    }
+
+    /**
+     * Writes each change as a header line, {@code undo|redo | KIND | index | count | description},
+     * followed by its encoded tasks, one per line.
+     */
+    private List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        for (Change change : undoable) {
+            change.appendTo(lines, UNDO);
+        }
+        for (Change change : redoable) {
+            change.appendTo(lines, REDO);
+        }
+        return lines;
+    }
+
+    /**
+     * Reads changes written by {@link #toLines()}.
+     *
+     * @throws IllegalArgumentException If the lines are damaged.
+     */
+    private void readLines(List<String> lines) {
+        int i = 0;
+        while (i < lines.size()) {
+            String[] header = lines.get(i++).split(" \\| ", 5);
+            if (header.length != 5 || !(header[0].equals(UNDO) || header[0].equals(REDO))) {
+                throw new IllegalArgumentException("Bad change header on line " + i);
+            }
+            int index = Integer.parseInt(header[2]);
+            int count = Integer.parseInt(header[3]);
+            if (index < 0 || count < 1 || i + count > lines.size()) {
+                throw new IllegalArgumentException("Bad task count on line " + i);
+            }
+            Change change = new Change(Kind.valueOf(header[1]), index, new ArrayList<>(lines.subList(i, i + count)),
+                    header[4]);
+            i += count;
+            (header[0].equals(UNDO) ? undoable : redoable).addLast(change);
+            totalChars += change.chars;
+        }
+    }
+
+    /**
+     * Represents what a change did, from which it can be reversed or applied again.
+     */
+    private enum Kind {
+        ADDED,
+        REMOVED,
+        MARKED,
+        UNMARKED,
+        CHANGED
+    }
+
+    /**
+     * Represents one change to the list, with the tasks it touched encoded as in the data file.
+     */
+    private static final class Change {
+        private final Kind kind;
+        /** Zero-based position of the first task touched */
+        private final int index;
+        private final List<String> lines;
+        private final String description;
+        private final long chars;
+
+        private Change(Kind kind, int index, List<String> lines, String description) {
+            this.kind = kind;
+            this.index = index;
+            this.lines = lines;
+            this.description = description;
+            long count = 0;
+            for (String line : lines) {
+                count += line.length();
+            }
+            this.chars = count;
+        }
+
+        private void appendTo(List<String> out, String stack) {
+            out.add(stack + SEPARATOR + kind + SEPARATOR + index + SEPARATOR + lines.size() + SEPARATOR
+                    + description);
+            out.addAll(lines);
+        }
+    }
+}
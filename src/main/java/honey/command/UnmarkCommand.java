@@ -1,6 +1,7 @@
 package honey.command;
 
 import honey.exceptions.HoneyException;
+import honey.task.Task;
 
 /**
  * Marks a task as not done.
@@ -15,8 +16,19 @@ public class UnmarkCommand extends Command {
 
     @Override
     public CommandResult execute() throws HoneyException {
+        boolean wasDone = taskNumber >= 1 && taskNumber <= tasks.size()
+                && tasks.getTasks().get(taskNumber - 1).getIsDone();
         String result = tasks.unmarkTask(taskNumber);
+        Task task = tasks.getTasks().get(taskNumber - 1);
         storage.saveTasks(tasks.getTasks());
+        if (task.getIsDone() != wasDone) {
+            history.recordStatus(taskNumber - 1, task, "unmark " + taskNumber);
+        }
         return new CommandResult(result);
     }
+
+    @Override
+    public CommandType getCommandType() {
+        return CommandType.UNMARK;
+    }
 }
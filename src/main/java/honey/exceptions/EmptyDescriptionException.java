@@ -29,6 +29,8 @@ public class EmptyDescriptionException extends HoneyException {
             return "deadline submit report /by 2023-10-15";
         case "event":
             return "event team meeting /from 2023-10-20 /to 2023-10-21";
+        case "recurring":
+            return "recurring water plants /every day";
         default:
             return taskType + " [description]";
         }
@@ -26,7 +26,10 @@ public class InvalidDateFormatException extends HoneyException {
         if (taskType.equals("deadline")) {
             return "deadline submit report /by 2019-12-02 or deadline submit report /by 2/12/2019 1800";
         } else if (taskType.equals("event")) {
-            return "event team meeting /from 2019-10-20 /to 2019-10-21";
+            return "event team meeting /from 2019-10-20 /to 2019-10-21 or event standup /from 2019-10-20 0900 "
+                    + "/to 2019-10-20 0915";
+        } else if (taskType.equals("recurring")) {
+            return "recurring water plants /every week on mon,thu /from 2019-10-21 /at 0900";
         }
         return "";
     }
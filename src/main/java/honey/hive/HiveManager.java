@@ -0,0 +1,253 @@
+package honey.hive;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import honey.CommandDispatcher;
+import honey.Honey;
+import honey.command.Command;
+import honey.parser.Parser;
+
+/**
+ * Hosts many independent hives, each a TaskList and Storage pair belonging to one user, inside one JVM.
+ * A hive is loaded from {@code <dataDir>/<user>.txt} the first time its user sends a command. Its user can only
+ * import and export files in {@code <dataDir>/files/<user>}, so no hive reaches another's files. Loading and
+ * the final save of an evicted hive run on a loader pool, so submitting a command never waits for a file;
+ * commands sent while their hive loads are queued and run in order once it has loaded.
+ * Once more than the configured number of hives are resident, or the heap is nearly full, the least
+ * recently used idle hives are saved and evicted; they are loaded again on their next command.
+ * All hives share one Parser and the CommandDispatcher thread pools.
+ */
+public class HiveManager {
+    /** Fraction of the maximum heap in use above which idle hives start being evicted */
+    private static final double MEMORY_PRESSURE_RATIO = 0.75;
+    /** Pool shared by every HiveManager that loads hives and saves evicted ones */
+    private static final ExecutorService LOADERS = newDaemonPool();
+    /** Directory under the data directory holding a directory of imported and exported files for each hive */
+    private static final String FILES_DIR = "files";
+
+    private final Path dataDir;
+    private final int maxResidentHives;
+    private final Executor loader;
+    private final Parser parser = new Parser();
+    /** Resident hives in least-recently-used order, guarded by this */
+    private final LinkedHashMap<String, Hive> residentHives = new LinkedHashMap<>(16, 0.75f, true);
+    /** Evicted hives whose pending saves may still be running, guarded by this */
+    private final Map<String, Hive> closingHives = new LinkedHashMap<>();
+
+    /**
+     * Constructs a HiveManager that keeps hive data files in the given directory.
+     *
+     * @param dataDir Directory holding one data file per hive
+     * @param maxResidentHives Maximum number of hives kept in memory at once
+     */
+    public HiveManager(Path dataDir, int maxResidentHives) {
+        this(dataDir, maxResidentHives, LOADERS);
+    }
+
+    /**
+     * Constructs a HiveManager that loads hives and saves evicted ones on the given executor.
+     *
+     * @param dataDir Directory holding one data file per hive
+     * @param maxResidentHives Maximum number of hives kept in memory at once
+     * @param loader Executor that loads hives and saves evicted ones
+     */
+    public HiveManager(Path dataDir, int maxResidentHives, Executor loader) {
+        assert dataDir != null : "Data directory cannot be null";
+        assert maxResidentHives > 0 : "At least one hive must be allowed in memory";
+        assert loader != null : "Loader cannot be null";
+        this.dataDir = dataDir;
+        this.maxResidentHives = maxResidentHives;
+        this.loader = loader;
+    }
+
+    private static ExecutorService newDaemonPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "honey-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Parses the user input with the parser shared by all hives.
+     *
+     * @param input The user input string
+     * @return Command object representing the user's intent
+     */
+    public Command parse(String input) {
+        return parser.parseCommand(input);
+    }
+
+    /**
+     * Queues a command for the given user's hive, starting to load the hive if it is not in memory.
+     * Commands for the same hive run in submission order; different hives never wait for each other.
+     * Returns at once, even while the hive is loading.
+     *
+     * @param user The name of the hive
+     * @param command The command to execute
+     * @return A future completed with the feedback message for the user
+     */
+    public CompletableFuture<String> submit(String user, Command command) {
+        while (true) {
+            Hive hive = acquire(user);
+            CompletableFuture<String> reply = hive.submit(command);
+            if (reply != null) {
+                evictIfNeeded();
+                return reply;
+            }
+            // The hive was evicted between lookup and submission; look it up again
+        }
+    }
+
+    /**
+     * Returns the number of hives currently held in memory.
+     *
+     * @return The number of resident hives
+     */
+    public synchronized int getResidentCount() {
+        return residentHives.size();
+    }
+
+    /**
+     * Saves and unloads every hive, waiting until all of them are written.
+     */
+    public void close() {
+        List<Hive> hives;
+        List<Hive> closing;
+        synchronized (this) {
+            hives = new ArrayList<>(residentHives.values());
+            closing = new ArrayList<>(closingHives.values());
+            residentHives.clear();
+        }
+        hives.forEach(Hive::close);
+        hives.forEach(hive -> hive.closed.join());
+        closing.forEach(hive -> hive.closed.join());
+    }
+
+    private synchronized Hive acquire(String user) {
+        return residentHives.computeIfAbsent(user, name -> new Hive(name, closingHives.get(name)));
+    }
+
+    /**
+     * Evicts least recently used idle hives while there are too many, or one of them if memory is tight.
+     */
+    private void evictIfNeeded() {
+        List<Hive> evicted = new ArrayList<>();
+        synchronized (this) {
+            boolean isUnderPressure = isUnderMemoryPressure();
+            Iterator<Hive> leastRecentFirst = residentHives.values().iterator();
+            while (leastRecentFirst.hasNext()
+                    && (residentHives.size() > maxResidentHives || (isUnderPressure && evicted.isEmpty()))) {
+                Hive hive = leastRecentFirst.next();
+                if (residentHives.size() > 1 && hive.isIdle()) {
+                    leastRecentFirst.remove();
+                    closingHives.put(hive.name, hive);
+                    evicted.add(hive);
+                }
+            }
+        }
+        for (Hive hive : evicted) {
+            hive.close().thenRun(() -> {
+                synchronized (this) {
+                    closingHives.remove(hive.name, hive);
+                }
+            });
+        }
+    }
+
+    private static boolean isUnderMemoryPressure() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * MEMORY_PRESSURE_RATIO;
+    }
+
+    /**
+     * Represents one user's hive, loaded on the loader executor when its first command arrives.
+     */
+    private class Hive {
+        private final String name;
+        private final CompletableFuture<Void> closed = new CompletableFuture<>();
+        /**
+         * Completes with the hive's dispatcher once it has loaded and every command submitted so far has been
+         * handed to it; each command is handed over after the one before, so they keep their order
+         */
+        private volatile CompletableFuture<CommandDispatcher> handedOver;
+        private volatile CompletableFuture<String> lastReply = CompletableFuture.completedFuture(null);
+        /** Whether this hive has been evicted or closed, guarded by this */
+        private boolean isClosing;
+
+        /**
+         * Constructs a hive and starts loading it, once its previous incarnation, if any, has finished saving.
+         */
+        private Hive(String name, Hive predecessor) {
+            this.name = name;
+            CompletableFuture<Void> saved = predecessor == null
+                    ? CompletableFuture.completedFuture(null)
+                    : predecessor.closed;
+            String filePath = dataDir.resolve(name + ".txt").toString();
+            Path filesDir = dataDir.resolve(FILES_DIR).resolve(name);
+            handedOver = saved.thenApplyAsync(ignored -> new CommandDispatcher(new Honey(filePath, parser, filesDir)),
+                    loader);
+        }
+
+        /**
+         * Submits the command, or returns null if this hive has already been evicted.
+         */
+        private synchronized CompletableFuture<String> submit(Command command) {
+            if (isClosing) {
+                return null;
+            }
+            CompletableFuture<CommandDispatcher> previous = handedOver;
+            CompletableFuture<CompletableFuture<String>> submitted =
+                    previous.thenApply(dispatcher -> dispatcher.submit(command));
+            handedOver = submitted.thenCombine(previous, (ignored, dispatcher) -> dispatcher);
+            lastReply = submitted.thenCompose(Function.identity());
+            return lastReply;
+        }
+
+        /**
+         * Returns whether this hive has loaded and has no commands in flight. Does not lock, so eviction never
+         * waits for a hive that is busy.
+         */
+        private boolean isIdle() {
+            CompletableFuture<CommandDispatcher> current = handedOver;
+            if (!current.isDone() || !lastReply.isDone()) {
+                return false;
+            }
+            return current.isCompletedExceptionally() || current.join().isIdle();
+        }
+
+        /**
+         * Stops taking commands, and saves the hive on the loader executor once the commands already submitted
+         * have been handed over.
+         *
+         * @return A future completed once the hive has been saved.
+         */
+        private CompletableFuture<Void> close() {
+            CompletableFuture<CommandDispatcher> last;
+            synchronized (this) {
+                isClosing = true;
+                last = handedOver;
+            }
+            last.whenCompleteAsync((dispatcher, error) -> {
+                if (dispatcher != null) {
+                    dispatcher.shutdown();
+                }
+                closed.complete(null);
+            }, loader);
+            return closed;
+        }
+    }
+}
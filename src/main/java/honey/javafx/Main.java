@@ -1,9 +1,12 @@
 package honey.javafx;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import honey.Honey;
+import honey.StartupProbe;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -11,10 +14,13 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for Honey using FXML.
+ * The data file is loaded on a background thread while JavaFX starts and the FXML is parsed,
+ * so a large hive does not delay the first frame.
  */
 public class Main extends Application {
     private static final String DATA_PATH = "data/honey.txt";
-    private Honey honey = new Honey(DATA_PATH);
+    private final CompletableFuture<Honey> honeyLoader = CompletableFuture.supplyAsync(() -> new Honey(DATA_PATH));
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -24,12 +30,32 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("Honey");
-            fxmlLoader.<MainWindow>getController().setHoney(honey); // inject the Honey instance
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setHoney(honeyLoader.join()); // inject the Honey instance
             stage.show();
+            if (StartupProbe.isEnabled()) {
+                Platform.runLater(this::probeFirstCommand);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-}
 
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 
+    /**
+     * Reports the first frame, then runs one command and exits once its reply is shown.
+     */
+    private void probeFirstCommand() {
+        StartupProbe.reach(StartupProbe.FIRST_FRAME);
+        mainWindow.submit(StartupProbe.PROBE_COMMAND).thenRun(() -> {
+            StartupProbe.reach(StartupProbe.FIRST_COMMAND);
+            Platform.exit();
+        });
+    }
+}
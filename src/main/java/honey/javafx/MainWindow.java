@@ -1,6 +1,15 @@
 package honey.javafx;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import honey.CommandDispatcher;
 import honey.Honey;
+import honey.command.Command;
+import honey.reminder.ReminderScheduler;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -14,6 +23,12 @@ import javafx.scene.layout.VBox;
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    private static final String SEND_TEXT = "Send";
+    private static final String STOP_TEXT = "Stop";
+    private static final String BUSY_PROMPT = "Honey is buzzing through your request... 🐝";
+    private static final String CANCELLED_MESSAGE = "Okay sweetie, I've stopped looking! 🌸 "
+            + "Ask me again whenever you like.";
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -24,6 +39,12 @@ public class MainWindow extends AnchorPane {
     private Button sendButton;
 
     private Honey honey;
+    private CommandDispatcher dispatcher;
+    private ReminderScheduler reminders;
+    /** Number of commands submitted whose replies have not been shown yet */
+    private int inFlightCount;
+    /** Read-only commands still in flight, which the user may cancel */
+    private final List<CompletableFuture<String>> runningQueries = new ArrayList<>();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
     private Image honeyImage = new Image(this.getClass().getResourceAsStream("/images/Honey.png"));
@@ -38,10 +59,25 @@ public class MainWindow extends AnchorPane {
      */
     public void setHoney(Honey h) {
         honey = h;
+        dispatcher = new CommandDispatcher(h);
         addDialogs(DialogBox.getHoneyDialog(Honey.WELCOME_MESSAGE, honeyImage));
+        reminders = h.startReminders(reminder -> Platform.runLater(() ->
+                addDialogs(DialogBox.getHoneyDialog(reminder.getMessage(), honeyImage))));
         userInput.requestFocus();
     }
 
+    /**
+     * Stops reminders and the background command thread, letting queued saves finish first.
+     */
+    public void shutdown() {
+        if (reminders != null) {
+            reminders.close();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
     /**
      * Adds multiple dialog boxes to the dialog container using varargs.
      */
@@ -50,26 +86,79 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Honey's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Sends the user input, or cancels the running queries if the input is empty while Honey is busy.
+     */
+    @FXML
+    private void handleSendButton() {
+        if (userInput.getText().isBlank() && !runningQueries.isEmpty()) {
+            new ArrayList<>(runningQueries).forEach(query -> query.cancel(false));
+            return;
+        }
+        handleUserInput();
+    }
+
+    /**
+     * Echoes the user input in a dialog box and queues it for execution in the background.
+     * Honey's reply is appended once the command completes. Clears the user input immediately.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        try {
-            String response = honey.getResponse(input);
-            if (response.equals(Honey.GOODBYE_MESSAGE)) {
+        userInput.clear();
+        submit(input);
+    }
+
+    /**
+     * Echoes the given input in a dialog box and queues it for execution in the background.
+     * Must be called on the JavaFX application thread.
+     *
+     * @return A future that completes on the JavaFX application thread once Honey's reply is shown
+     */
+    CompletableFuture<Void> submit(String input) {
+        addDialogs(DialogBox.getUserDialog(input, userImage));
+
+        Command command = honey.parse(input);
+        CompletableFuture<String> response = dispatcher.submit(command);
+        if (command.isReadOnly()) {
+            runningQueries.add(response);
+        }
+        inFlightCount++;
+        updateBusyIndicator();
+
+        CompletableFuture<Void> shown = new CompletableFuture<>();
+        response.whenComplete((reply, error) -> Platform.runLater(() -> {
+            showResponse(response, reply, error);
+            shown.complete(null);
+        }));
+        return shown;
+    }
+
+    /**
+     * Shows Honey's reply to a completed command. Must be called on the JavaFX application thread.
+     */
+    private void showResponse(CompletableFuture<String> response, String reply, Throwable error) {
+        runningQueries.remove(response);
+        inFlightCount--;
+        updateBusyIndicator();
+
+        if (error instanceof CancellationException) {
+            addDialogs(DialogBox.getHoneyDialog(CANCELLED_MESSAGE, honeyImage));
+        } else if (error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            addDialogs(DialogBox.getHoneyDialog(cause.getMessage(), honeyImage));
+        } else {
+            addDialogs(DialogBox.getHoneyDialog(reply, honeyImage));
+            if (reply.equals(Honey.GOODBYE_MESSAGE)) {
                 Platform.exit();
             }
-            addDialogs(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getHoneyDialog(response, honeyImage)
-            );
-        } catch (Exception e) {
-            addDialogs(DialogBox.getHoneyDialog(e.getMessage(), honeyImage));
-        } finally {
-            userInput.clear();
         }
     }
-}
 
+    /**
+     * Shows whether Honey is still working and whether there are queries that can be stopped.
+     */
+    private void updateBusyIndicator() {
+        userInput.setPromptText(inFlightCount > 0 ? BUSY_PROMPT : "");
+        sendButton.setText(runningQueries.isEmpty() ? SEND_TEXT : STOP_TEXT);
+    }
+}
@@ -0,0 +1,47 @@
+package honey.metrics;
+
+import honey.command.CommandType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around the execution of each command.
+ * Like all Honey events it skips stack traces, so it is cheap enough to leave enabled in production.
+ */
+@Name("honey.Command")
+@Label("Command")
+@Category({"Honey", "Commands"})
+@Description("Execution of one command against a hive")
+@StackTrace(false)
+public final class CommandEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the hive after the command ran")
+    private int taskCount;
+
+    @Label("Failed")
+    private boolean isFailed;
+
+    /**
+     * Ends this event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param type The type of the command, or null if it was not a valid command
+     * @param taskCount The number of tasks in the hive after the command ran
+     * @param isFailed Whether the command failed with an error message for the user
+     */
+    public void commit(CommandType type, int taskCount, boolean isFailed) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = type == null ? null : type.name();
+            this.taskCount = taskCount;
+            this.isFailed = isFailed;
+            commit();
+        }
+    }
+}
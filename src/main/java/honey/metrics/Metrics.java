@@ -0,0 +1,425 @@
+package honey.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import honey.command.CommandType;
+
+/**
+ * Collects runtime metrics for every Honey in this process: command counts and latencies per command type,
+ * end-to-end response latencies, storage save, load and export durations, bytes written and task counts,
+ * and how often repeated queries are answered from the result cache.
+ * All recording methods are lock-free and allocation-free, so they can stay on in production.
+ * Metrics can be shown as a short summary or exported in the Prometheus text exposition format, to a file set
+ * when the process starts rather than one named by a user, so that exporting cannot overwrite other files.
+ */
+public class Metrics {
+    /** File that metrics are exported to unless another is set with {@link #setExportFile(Path)} */
+    public static final String DEFAULT_EXPORT_FILE = "data/metrics.prom";
+
+    private static final Metrics INSTANCE = new Metrics();
+    private static final String INCORRECT_LABEL = "incorrect";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double[] EXPORTED_QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<CommandType, CommandMetrics> commandMetrics = new EnumMap<>(CommandType.class);
+    /** Commands that did not match any command word */
+    private final CommandMetrics incorrectCommandMetrics = new CommandMetrics();
+    private final LatencyHistogram responseLatency = new LatencyHistogram();
+    private final LatencyHistogram saveLatency = new LatencyHistogram();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder tasksLoaded = new LongAdder();
+    private final AtomicLong lastSavedTaskCount = new AtomicLong();
+    private final LatencyHistogram exportLatency = new LatencyHistogram();
+    private final LongAdder tasksExported = new LongAdder();
+    private final LongAdder bytesExported = new LongAdder();
+    /** Throughput of the most recent export, in tasks per second */
+    private final AtomicLong lastExportTasksPerSecond = new AtomicLong();
+    private final LongAdder resultCacheHits = new LongAdder();
+    private final LongAdder resultCacheMisses = new LongAdder();
+    private final LongAdder resultCacheEvictions = new LongAdder();
+    private final LongAdder resultCacheInvalidations = new LongAdder();
+    private volatile Path exportFile = Paths.get(DEFAULT_EXPORT_FILE);
+
+    /**
+     * Constructs an empty set of metrics.
+     * Most callers should use {@link #getInstance()} so that all metrics end up in one place.
+     */
+    public Metrics() {
+        for (CommandType type : CommandType.values()) {
+            commandMetrics.put(type, new CommandMetrics());
+        }
+    }
+
+    /**
+     * Returns the metrics shared by every Honey in this process.
+     *
+     * @return The process-wide metrics.
+     */
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the file that {@code stats export} writes the metrics to.
+     */
+    public Path getExportFile() {
+        return exportFile;
+    }
+
+    /**
+     * Sets the file that {@code stats export} writes the metrics to, such as the one the server was started with.
+     *
+     * @param exportFile The file to export to.
+     */
+    public void setExportFile(Path exportFile) {
+        assert exportFile != null : "Export file cannot be null";
+        this.exportFile = exportFile;
+    }
+
+    /**
+     * Records one executed command.
+     *
+     * @param type The type of the command, or null if the input was not a valid command.
+     * @param nanos How long the command took to execute.
+     * @param isFailed Whether the command failed with an error message for the user.
+     */
+    public void recordCommand(CommandType type, long nanos, boolean isFailed) {
+        CommandMetrics metrics = type == null ? incorrectCommandMetrics : commandMetrics.get(type);
+        metrics.latency.record(nanos);
+        if (isFailed) {
+            metrics.failures.increment();
+        }
+    }
+
+    /**
+     * Records the time taken to parse and execute one line of user input.
+     *
+     * @param nanos How long the response took.
+     */
+    public void recordResponse(long nanos) {
+        responseLatency.record(nanos);
+    }
+
+    /**
+     * Records one write of the data file.
+     *
+     * @param nanos How long the write took.
+     * @param bytes How many bytes were written.
+     * @param taskCount How many tasks were written.
+     */
+    public void recordSave(long nanos, long bytes, int taskCount) {
+        saveLatency.record(nanos);
+        bytesWritten.add(bytes);
+        lastSavedTaskCount.set(taskCount);
+    }
+
+    /**
+     * Records one read of the data file.
+     *
+     * @param nanos How long the read took.
+     * @param taskCount How many tasks were read.
+     */
+    public void recordLoad(long nanos, int taskCount) {
+        loadLatency.record(nanos);
+        tasksLoaded.add(taskCount);
+    }
+
+    /**
+     * Records one export of tasks to a file.
+     *
+     * @param nanos How long the export took.
+     * @param bytes How many bytes were written.
+     * @param taskCount How many tasks were written.
+     */
+    public void recordExport(long nanos, long bytes, long taskCount) {
+        exportLatency.record(nanos);
+        bytesExported.add(bytes);
+        tasksExported.add(taskCount);
+        lastExportTasksPerSecond.set((long) (taskCount * NANOS_PER_SECOND / Math.max(nanos, 1)));
+    }
+
+    /**
+     * Records a query answered from the result cache.
+     */
+    public void recordResultCacheHit() {
+        resultCacheHits.increment();
+    }
+
+    /**
+     * Records a query that had to be worked out because its result was not cached.
+     */
+    public void recordResultCacheMiss() {
+        resultCacheMisses.increment();
+    }
+
+    /**
+     * Records a cached result dropped to make room for others.
+     */
+    public void recordResultCacheEviction() {
+        resultCacheEvictions.increment();
+    }
+
+    /**
+     * Records cached results dropped because a task they depend on changed.
+     *
+     * @param count How many results were dropped.
+     */
+    public void recordResultCacheInvalidations(int count) {
+        resultCacheInvalidations.add(count);
+    }
+
+    /**
+     * Returns how many commands of the given type have been executed.
+     *
+     * @param type The command type, or null for commands that were not valid.
+     * @return The number of executions recorded.
+     */
+    public long getCommandCount(CommandType type) {
+        return (type == null ? incorrectCommandMetrics : commandMetrics.get(type)).latency.getCount();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getSaveCount() {
+        return saveLatency.getCount();
+    }
+
+    public long getLoadCount() {
+        return loadLatency.getCount();
+    }
+
+    public long getExportCount() {
+        return exportLatency.getCount();
+    }
+
+    public long getResultCacheHits() {
+        return resultCacheHits.sum();
+    }
+
+    public long getResultCacheMisses() {
+        return resultCacheMisses.sum();
+    }
+
+    public long getResultCacheEvictions() {
+        return resultCacheEvictions.sum();
+    }
+
+    public long getResultCacheInvalidations() {
+        return resultCacheInvalidations.sum();
+    }
+
+    /**
+     * Formats the metrics as a short human-readable summary.
+     * Command types that have never run are left out.
+     *
+     * @param currentTaskCount The number of tasks in the caller's task list.
+     * @return The summary, one metric per line.
+     */
+    public String formatSummary(int currentTaskCount) {
+        StringBuilder summary = new StringBuilder("Here's how busy our hive has been, my Bee! 📊\n");
+        summary.append("Tasks in your hive: ").append(currentTaskCount).append('\n');
+        summary.append("Commands:\n");
+        boolean hasCommands = false;
+        for (Map.Entry<CommandType, CommandMetrics> entry : commandMetrics.entrySet()) {
+            hasCommands |= appendSummaryLine(summary, label(entry.getKey()), entry.getValue().latency,
+                    entry.getValue().failures.sum());
+        }
+        hasCommands |= appendSummaryLine(summary, INCORRECT_LABEL, incorrectCommandMetrics.latency,
+                incorrectCommandMetrics.failures.sum());
+        if (!hasCommands) {
+            summary.append("  none yet\n");
+        }
+        summary.append("Responses: ").append(formatLatency(responseLatency)).append('\n');
+        summary.append("Saves: ").append(formatLatency(saveLatency))
+                .append(", ").append(bytesWritten.sum()).append(" bytes written\n");
+        summary.append("Loads: ").append(formatLatency(loadLatency))
+                .append(", ").append(tasksLoaded.sum()).append(" tasks read");
+        if (exportLatency.getCount() > 0) {
+            summary.append("\nExports: ").append(formatLatency(exportLatency))
+                    .append(", ").append(tasksExported.sum()).append(" tasks and ")
+                    .append(bytesExported.sum()).append(" bytes written, last at ")
+                    .append(lastExportTasksPerSecond.get()).append(" tasks/s");
+        }
+        long hits = resultCacheHits.sum();
+        long lookups = hits + resultCacheMisses.sum();
+        if (lookups > 0) {
+            summary.append(String.format(Locale.ROOT, "\nResult cache: %d hits, %d misses (%.1f%% hits), "
+                    + "%d evicted, %d invalidated by changes", hits, lookups - hits, 100.0 * hits / lookups,
+                    resultCacheEvictions.sum(), resultCacheInvalidations.sum()));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format.
+     *
+     * @param out Where to write the metrics.
+     * @throws IOException If writing fails.
+     */
+    public void writePrometheus(Appendable out) throws IOException {
+        writeHeader(out, "honey_command_duration_seconds", "summary", "Time taken to execute a command.");
+        for (Map.Entry<CommandType, CommandMetrics> entry : commandMetrics.entrySet()) {
+            writeSummary(out, "honey_command_duration_seconds", label(entry.getKey()), entry.getValue().latency);
+        }
+        writeSummary(out, "honey_command_duration_seconds", INCORRECT_LABEL, incorrectCommandMetrics.latency);
+
+        writeHeader(out, "honey_command_failures_total", "counter", "Commands that ended with an error message.");
+        for (Map.Entry<CommandType, CommandMetrics> entry : commandMetrics.entrySet()) {
+            writeSample(out, "honey_command_failures_total", label(entry.getKey()), entry.getValue().failures.sum());
+        }
+        writeSample(out, "honey_command_failures_total", INCORRECT_LABEL, incorrectCommandMetrics.failures.sum());
+
+        writeHeader(out, "honey_response_duration_seconds", "summary", "Time taken to parse and answer one input.");
+        writeSummary(out, "honey_response_duration_seconds", null, responseLatency);
+        writeHeader(out, "honey_storage_save_duration_seconds", "summary", "Time taken to write the data file.");
+        writeSummary(out, "honey_storage_save_duration_seconds", null, saveLatency);
+        writeHeader(out, "honey_storage_load_duration_seconds", "summary", "Time taken to read the data file.");
+        writeSummary(out, "honey_storage_load_duration_seconds", null, loadLatency);
+        writeHeader(out, "honey_storage_written_bytes_total", "counter", "Bytes written to data files.");
+        writeSample(out, "honey_storage_written_bytes_total", null, bytesWritten.sum());
+        writeHeader(out, "honey_storage_loaded_tasks_total", "counter", "Tasks read from data files.");
+        writeSample(out, "honey_storage_loaded_tasks_total", null, tasksLoaded.sum());
+        writeHeader(out, "honey_storage_saved_tasks", "gauge", "Tasks in the most recently written data file.");
+        writeSample(out, "honey_storage_saved_tasks", null, lastSavedTaskCount.get());
+        writeHeader(out, "honey_export_duration_seconds", "summary", "Time taken to export tasks to a file.");
+        writeSummary(out, "honey_export_duration_seconds", null, exportLatency);
+        writeHeader(out, "honey_exported_tasks_total", "counter", "Tasks written by exports.");
+        writeSample(out, "honey_exported_tasks_total", null, tasksExported.sum());
+        writeHeader(out, "honey_exported_bytes_total", "counter", "Bytes written by exports.");
+        writeSample(out, "honey_exported_bytes_total", null, bytesExported.sum());
+        writeHeader(out, "honey_result_cache_hits_total", "counter", "Queries answered from the result cache.");
+        writeSample(out, "honey_result_cache_hits_total", null, resultCacheHits.sum());
+        writeHeader(out, "honey_result_cache_misses_total", "counter", "Queries whose result was not cached.");
+        writeSample(out, "honey_result_cache_misses_total", null, resultCacheMisses.sum());
+        writeHeader(out, "honey_result_cache_evictions_total", "counter", "Cached results dropped to make room.");
+        writeSample(out, "honey_result_cache_evictions_total", null, resultCacheEvictions.sum());
+        writeHeader(out, "honey_result_cache_invalidations_total", "counter",
+                "Cached results dropped because a task they depend on changed.");
+        writeSample(out, "honey_result_cache_invalidations_total", null, resultCacheInvalidations.sum());
+    }
+
+    /**
+     * Writes the metrics to a file in the Prometheus text exposition format.
+     * The file is replaced atomically, so a scraper never sees a half-written file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void exportTo(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path directory = absolutePath.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporaryFile = absolutePath.resolveSibling(absolutePath.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile)) {
+            writePrometheus(writer);
+        }
+        Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Rewrites the given file with the current metrics at a fixed rate on a background daemon thread,
+     * so that a local agent can scrape it.
+     *
+     * @param path The file to write.
+     * @param periodSeconds How many seconds to wait between exports.
+     */
+    public void exportPeriodically(Path path, long periodSeconds) {
+        assert periodSeconds > 0 : "Export period must be positive";
+        ScheduledExecutorService exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "honey-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        exporter.scheduleAtFixedRate(() -> {
+            try {
+                exportTo(path);
+            } catch (IOException e) {
+                System.out.println(" Warning: Could not export metrics. " + e.getMessage());
+            }
+        }, 0, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    private static String label(CommandType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean appendSummaryLine(StringBuilder summary, String label, LatencyHistogram latency,
+            long failures) {
+        if (latency.getCount() == 0) {
+            return false;
+        }
+        summary.append("  ").append(label).append(": ").append(formatLatency(latency));
+        if (failures > 0) {
+            summary.append(", ").append(failures).append(" failed");
+        }
+        summary.append('\n');
+        return true;
+    }
+
+    private static String formatLatency(LatencyHistogram latency) {
+        return String.format(Locale.ROOT, "%d runs, p50 %.3fms, p99 %.3fms, max %.3fms",
+                latency.getCount(),
+                latency.getValueAtQuantile(0.5) / NANOS_PER_MILLI,
+                latency.getValueAtQuantile(0.99) / NANOS_PER_MILLI,
+                latency.getMaxNanos() / NANOS_PER_MILLI);
+    }
+
+    private static void writeHeader(Appendable out, String name, String type, String help) throws IOException {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSummary(Appendable out, String name, String command, LatencyHistogram latency)
+            throws IOException {
+        String commandLabel = command == null ? "" : "command=\"" + command + "\",";
+        for (double quantile : EXPORTED_QUANTILES) {
+            out.append(name).append('{').append(commandLabel).append("quantile=\"").append(String.valueOf(quantile))
+                    .append("\"} ").append(toSeconds(latency.getValueAtQuantile(quantile))).append('\n');
+        }
+        String labels = command == null ? "" : "{command=\"" + command + "\"}";
+        out.append(name).append("_sum").append(labels).append(' ')
+                .append(toSeconds(latency.getTotalNanos())).append('\n');
+        out.append(name).append("_count").append(labels).append(' ')
+                .append(String.valueOf(latency.getCount())).append('\n');
+    }
+
+    private static void writeSample(Appendable out, String name, String command, long value) throws IOException {
+        out.append(name);
+        if (command != null) {
+            out.append("{command=\"").append(command).append("\"}");
+        }
+        out.append(' ').append(String.valueOf(value)).append('\n');
+    }
+
+    private static String toSeconds(long nanos) {
+        return String.valueOf(nanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Holds the metrics kept for one command type.
+     */
+    private static class CommandMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,42 @@
+package honey.metrics;
+
+import honey.command.CommandType;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around parsing one line of user input into a command.
+ */
+@Name("honey.Parse")
+@Label("Parse")
+@Category({"Honey", "Commands"})
+@Description("Parsing of one line of user input")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Input Length")
+    @DataAmount(DataAmount.BYTES)
+    private int inputLength;
+
+    /**
+     * Ends this event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param type The type of the parsed command, or null if the input was not a valid command
+     * @param inputLength The length of the input in characters
+     */
+    public void commit(CommandType type, int inputLength) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = type == null ? null : type.name();
+            this.inputLength = inputLength;
+            commit();
+        }
+    }
+}
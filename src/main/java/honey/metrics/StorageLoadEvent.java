@@ -0,0 +1,39 @@
+package honey.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around each read of a data file.
+ */
+@Name("honey.StorageLoad")
+@Label("Storage Load")
+@Category({"Honey", "Storage"})
+@Description("Read of all tasks from a data file")
+@StackTrace(false)
+public final class StorageLoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    /**
+     * Ends this event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param path The data file that was read
+     * @param taskCount The number of tasks read
+     */
+    public void commit(String path, int taskCount) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.taskCount = taskCount;
+            commit();
+        }
+    }
+}
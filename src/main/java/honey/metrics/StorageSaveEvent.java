@@ -0,0 +1,46 @@
+package honey.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around each write of a data file.
+ */
+@Name("honey.StorageSave")
+@Label("Storage Save")
+@Category({"Honey", "Storage"})
+@Description("Write of all tasks to a data file")
+@StackTrace(false)
+public final class StorageSaveEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    /**
+     * Ends this event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param path The data file that was written
+     * @param taskCount The number of tasks written
+     * @param bytes The size of the written file
+     */
+    public void commit(String path, int taskCount, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.taskCount = taskCount;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
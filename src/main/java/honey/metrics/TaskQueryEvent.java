@@ -0,0 +1,45 @@
+package honey.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded around each read-only query of a task list, such as list, find, due and sort.
+ */
+@Name("honey.TaskQuery")
+@Label("Task Query")
+@Category({"Honey", "Task List"})
+@Description("Read-only query over a task list snapshot")
+@StackTrace(false)
+public final class TaskQueryEvent extends Event {
+    @Label("Query")
+    private String query;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the snapshot that was queried")
+    private int taskCount;
+
+    @Label("Result Count")
+    private int resultCount;
+
+    /**
+     * Ends this event and commits it if it is enabled and exceeds its threshold.
+     *
+     * @param query The name of the query, such as "find"
+     * @param taskCount The number of tasks in the snapshot that was queried
+     * @param resultCount The number of tasks the query returned
+     */
+    public void commit(String query, int taskCount, int resultCount) {
+        end();
+        if (shouldCommit()) {
+            this.query = query;
+            this.taskCount = taskCount;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
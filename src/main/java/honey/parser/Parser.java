@@ -1,5 +1,13 @@
 package honey.parser;
 
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -7,18 +15,21 @@ import honey.command.AddCommand;
 import honey.command.Command;
 import honey.command.CommandType;
 import honey.command.DeleteCommand;
-import honey.command.DueCommand;
 import honey.command.ExitCommand;
-import honey.command.FindCommand;
 import honey.command.IncorrectCommand;
 import honey.command.ListCommand;
 import honey.command.MarkCommand;
-import honey.command.SortCommand;
 import honey.command.UnmarkCommand;
 import honey.exceptions.HoneyException;
 import honey.exceptions.InvalidCommandException;
 import honey.exceptions.InvalidDateFormatException;
 import honey.exceptions.InvalidNumberFormatException;
+import honey.metrics.ParseEvent;
+import honey.storage.ExportFilter;
+import honey.storage.ExportFormat;
+import honey.task.TaskAttributes;
+import honey.task.TaskType;
+import honey.tasklist.Page;
 
 /**
  * Handles parsing user input and creating appropriate Command objects.
@@ -28,6 +39,20 @@ import honey.exceptions.InvalidNumberFormatException;
 public class Parser {
 
     private static final Pattern COMMAND_FORMAT = Pattern.compile("(?<commandWord>\\S+)(?<arguments>.*)");
+    /**
+     * A trailing "limit N" or "offset N" option, as accepted by list, find, due and sort; N is any word, so that
+     * one that is not a whole number is reported rather than read as part of the other arguments
+     */
+    private static final Pattern PAGE_OPTION =
+            Pattern.compile("(?<rest>.*?)\\s*\\b(?<option>limit|offset)\\s+(?<count>\\S+)", Pattern.CASE_INSENSITIVE);
+    /** The arguments of a find command that ranks tasks by relevance instead of matching a keyword */
+    private static final Pattern RANKED_FIND = Pattern.compile("ranked\\b\\s*(?<words>.*)", Pattern.CASE_INSENSITIVE);
+    private static final String LIST_USAGE = "Usage: list [done|pending|overdue] [#TAG...] [!high|!medium|!low] "
+            + "[limit N] [offset N]";
+    private static final String DEPEND_USAGE = "Usage: depend [task number] on [task number...] "
+            + "(e.g., depend 3 on 1 2)";
+    private static final String EXPORT_USAGE = "Usage: export [file.csv|file.jsonl|file.ics] [done|pending] "
+            + "[type todo,deadline,event,recurring] [from yyyy-MM-dd] [to yyyy-MM-dd]";
 
     /**
      * Parses user input and returns the corresponding Command object.
@@ -36,6 +61,14 @@ public class Parser {
      * @return Command object representing the user's intent
      */
     public Command parseCommand(String input) {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        Command command = parseInput(input);
+        event.commit(command.getCommandType(), input.length());
+        return command;
+    }
+
+    private Command parseInput(String input) {
         String trimmed = input.trim();
         if (trimmed.isEmpty()) {
             return new IncorrectCommand("Please enter a command.");
@@ -61,7 +94,7 @@ public class Parser {
                 return new ExitCommand();
 
             case LIST:
-                return new ListCommand();
+                return prepareListCommand(arguments);
 
             case MARK:
                 return prepareMarkCommand(arguments);
@@ -75,6 +108,7 @@ public class Parser {
             case TODO:
             case DEADLINE:
             case EVENT:
+            case RECURRING:
                 return prepareAddCommand(trimmed);
 
             case FIND:
@@ -86,6 +120,30 @@ public class Parser {
             case SORT:
                 return prepareSortCommand(arguments);
 
+            case QUERY:
+                return RareCommands.query(QueryParser.parse(arguments));
+
+            case STATS:
+                return prepareStatsCommand(arguments);
+
+            case IMPORT:
+                return prepareImportCommand(arguments);
+
+            case EXPORT:
+                return prepareExportCommand(arguments);
+
+            case UNDO:
+                return RareCommands.undo();
+
+            case REDO:
+                return RareCommands.redo();
+
+            case DEPEND:
+                return prepareDependCommand(arguments);
+
+            case NEXT:
+                return prepareNextCommand(arguments);
+
             default:
                 return new IncorrectCommand("Unknown command: " + commandWord);
             }
@@ -94,6 +152,31 @@ public class Parser {
         }
     }
 
+    /**
+     * Prepares a ListCommand, optionally filtered to done, pending or overdue tasks.
+     */
+    private Command prepareListCommand(String arguments) throws HoneyException {
+        PagedArguments paged = PagedArguments.parse(arguments);
+        if (paged.rest.isEmpty()) {
+            return new ListCommand(null, paged.page);
+        }
+        if (TaskAttributes.isAttributes(paged.rest)) {
+            try {
+                TaskAttributes attributes = TaskAttributes.parse(paged.rest);
+                return new ListCommand(attributes.getTags(), attributes.getPriority(), paged.page);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCommandException("A task can only have one priority, so I can only list one.\n"
+                        + LIST_USAGE);
+            }
+        }
+        String filter = paged.rest.toLowerCase(Locale.ROOT);
+        if (!ListCommand.DONE.equals(filter) && !ListCommand.PENDING.equals(filter)
+                && !ListCommand.OVERDUE.equals(filter)) {
+            throw new InvalidCommandException("I don't know that list filter.\n" + LIST_USAGE);
+        }
+        return new ListCommand(filter, paged.page);
+    }
+
     /**
      * Prepares a MarkCommand with the specified task number.
      */
@@ -126,33 +209,135 @@ public class Parser {
     }
 
     /**
-     * Prepares a FindCommand with the search keyword.
+     * Prepares a FindCommand with the search keyword, or with the words to rank by after {@code ranked}.
      */
     private Command prepareFindCommand(String arguments) throws HoneyException {
-        if (arguments.isEmpty()) {
-            throw new InvalidCommandException("Please provide a keyword to search for.\nUsage: find [keyword]");
+        PagedArguments paged = PagedArguments.parse(arguments);
+        Matcher ranked = RANKED_FIND.matcher(paged.rest);
+        boolean isRanked = ranked.matches();
+        String keyword = isRanked ? ranked.group("words") : paged.rest;
+        if (keyword.isEmpty()) {
+            throw new InvalidCommandException("Please provide a keyword to search for.\n"
+                    + "Usage: find [ranked] [keyword] [limit N] [offset N]");
         }
-        return new FindCommand(arguments);
+        return RareCommands.find(keyword, paged.page, isRanked);
     }
 
     /**
      * Prepares a DueCommand with the date string.
      */
     private Command prepareDueCommand(String arguments) throws HoneyException {
-        if (arguments.isEmpty()) {
-            throw new InvalidDateFormatException("due", "due [date] (e.g., due 2019-12-02)");
+        PagedArguments paged = PagedArguments.parse(arguments);
+        if (paged.rest.isEmpty()) {
+            throw new InvalidDateFormatException("due", "due [date] [limit N] [offset N] (e.g., due 2019-12-02)");
         }
-        return new DueCommand(arguments);
+        return RareCommands.due(paged.rest, paged.page);
     }
 
     /**
      * Prepares a SortCommand with the sort type.
      */
     private Command prepareSortCommand(String arguments) throws HoneyException {
+        PagedArguments paged = PagedArguments.parse(arguments);
+        if (paged.rest.isEmpty()) {
+            throw new InvalidCommandException("Please specify what to sort.\n"
+                    + "Usage: sort deadline|name|type|status [limit N] [offset N]");
+        }
+        return RareCommands.sort(paged.rest, paged.page);
+    }
+
+    /**
+     * Prepares a StatsCommand, which may also export the metrics to the metrics file. The file cannot be
+     * chosen here, as a command from a server client must not be able to overwrite other files.
+     */
+    private Command prepareStatsCommand(String arguments) throws HoneyException {
+        if (arguments.isEmpty()) {
+            return RareCommands.stats(false);
+        }
+        if (!"export".equals(arguments)) {
+            throw new InvalidCommandException("I don't know that stats option.\nUsage: stats [export]\n"
+                    + "The stats always go to the metrics file the server was started with, sweetie.");
+        }
+        return RareCommands.stats(true);
+    }
+
+    /**
+     * Prepares an ImportCommand for the file to import.
+     */
+    private Command prepareImportCommand(String arguments) throws HoneyException {
+        if (arguments.isEmpty()) {
+            throw new InvalidCommandException(
+                    "Please tell me which file to import.\nUsage: import [file.ics|file.csv]");
+        }
+        return RareCommands.importFile(Paths.get(arguments));
+    }
+
+    /**
+     * Prepares an ExportCommand from a file name followed by optional filters:
+     * {@code done} or {@code pending}, {@code type TYPE[,TYPE...]}, {@code from DATE} and {@code to DATE}.
+     */
+    private Command prepareExportCommand(String arguments) throws HoneyException {
         if (arguments.isEmpty()) {
-            throw new InvalidCommandException("Please specify what to sort.\nUsage: sort deadline");
+            throw new InvalidCommandException("Please tell me where to export to.\n" + EXPORT_USAGE);
+        }
+        String[] words = arguments.split("\\s+");
+        ExportFormat format = ExportFormat.fromFileName(words[0]);
+        if (format == null) {
+            throw new InvalidCommandException("I can export to .csv, .jsonl or .ics files, sweetie!\n" + EXPORT_USAGE);
+        }
+        Boolean isDone = null;
+        Set<TaskType> types = EnumSet.allOf(TaskType.class);
+        LocalDate from = null;
+        LocalDate to = null;
+        try {
+            for (int i = 1; i < words.length; i++) {
+                String option = words[i].toLowerCase(Locale.ROOT);
+                if (option.equals("done") || option.equals("pending")) {
+                    isDone = option.equals("done");
+                } else if (option.equals("type") && i + 1 < words.length) {
+                    types = EnumSet.noneOf(TaskType.class);
+                    for (String type : words[++i].split(",")) {
+                        types.add(TaskType.valueOf(type.toUpperCase(Locale.ROOT)));
+                    }
+                } else if (option.equals("from") && i + 1 < words.length) {
+                    from = LocalDate.parse(words[++i]);
+                } else if (option.equals("to") && i + 1 < words.length) {
+                    to = LocalDate.parse(words[++i]);
+                } else {
+                    throw new InvalidCommandException("I don't know that export option.\n" + EXPORT_USAGE);
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCommandException("That export filter doesn't look right.\n" + EXPORT_USAGE);
+        }
+        return RareCommands.exportFile(Paths.get(words[0]), format, new ExportFilter(isDone, types, from, to));
+    }
+
+    /**
+     * Prepares a DependCommand from {@code N on M [M...]}, which makes task N wait on each task M.
+     */
+    private Command prepareDependCommand(String arguments) throws HoneyException {
+        String[] words = arguments.split("\\s+");
+        if (words.length < 3 || !words[1].equalsIgnoreCase("on")) {
+            throw new InvalidCommandException("Tell me which task waits on which, sweetie!\n" + DEPEND_USAGE);
+        }
+        int taskNumber = parseTaskNumber(words[0], "depend");
+        List<Integer> prerequisiteNumbers = new ArrayList<>(words.length - 2);
+        for (int i = 2; i < words.length; i++) {
+            prerequisiteNumbers.add(parseTaskNumber(words[i], "depend"));
+        }
+        return RareCommands.depend(taskNumber, prerequisiteNumbers);
+    }
+
+    /**
+     * Prepares a NextCommand, which takes only the page options.
+     */
+    private Command prepareNextCommand(String arguments) throws HoneyException {
+        PagedArguments paged = PagedArguments.parse(arguments);
+        if (!paged.rest.isEmpty()) {
+            throw new InvalidCommandException("I don't know that next option.\nUsage: next [limit N] [offset N]");
         }
-        return new SortCommand(arguments.trim());
+        return RareCommands.next(paged.page);
     }
 
     /**
@@ -174,4 +359,50 @@ public class Parser {
             throw new InvalidNumberFormatException(commandWord, arguments);
         }
     }
+
+    /**
+     * Represents the arguments of a command that shows a page of results, split into the page options at the end
+     * and the rest.
+     */
+    private static final class PagedArguments {
+        private final String rest;
+        private final Page page;
+
+        private PagedArguments(String rest, Page page) {
+            this.rest = rest;
+            this.page = page;
+        }
+
+        /**
+         * Splits any {@code limit N} and {@code offset N} options, in either order, off the end of the arguments.
+         */
+        private static PagedArguments parse(String arguments) throws InvalidCommandException {
+            String rest = arguments.trim();
+            int limit = Page.NO_LIMIT;
+            int offset = 0;
+            Matcher matcher = PAGE_OPTION.matcher(rest);
+            while (matcher.matches()) {
+                int count;
+                try {
+                    count = Integer.parseInt(matcher.group("count"));
+                } catch (NumberFormatException e) {
+                    count = -1;
+                }
+                if (matcher.group("option").equalsIgnoreCase("limit")) {
+                    if (count <= 0) {
+                        throw new InvalidCommandException("The limit should be a whole number above 0, sweetie!");
+                    }
+                    limit = count;
+                } else {
+                    if (count < 0) {
+                        throw new InvalidCommandException("The offset should be a whole number, sweetie!");
+                    }
+                    offset = count;
+                }
+                rest = matcher.group("rest");
+                matcher = PAGE_OPTION.matcher(rest);
+            }
+            return new PagedArguments(rest, Page.of(offset, limit));
+        }
+    }
 }
@@ -0,0 +1,212 @@
+package honey.parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import honey.exceptions.InvalidCommandException;
+import honey.task.TaskType;
+import honey.tasklist.Page;
+import honey.tasklist.Query;
+import honey.tasklist.QueryPredicate;
+
+/**
+ * Parses the arguments of the query command into a Query, with its filter as a tree of predicates.
+ * The grammar, in which {@code and} binds tighter than {@code or} and may be left out:
+ * <pre>
+ * query  = ["explain"] [or] ["sort" KEY] {"limit" N | "offset" N}
+ * or     = and {"or" and}
+ * and    = not {["and"] not}
+ * not    = "not" not | "(" or ")" | "done" | "pending" | "type" TYPES | "name" WORD
+ *        | "from" DATE ["to" DATE] | "to" DATE
+ * </pre>
+ */
+final class QueryParser {
+    private static final String QUERY_USAGE = "Usage: query [explain] [FILTER] "
+            + "[sort deadline|name|type|status] [limit N] [offset N]\n"
+            + "FILTER: done, pending, type TYPE[,TYPE...], name WORD, from yyyy-MM-dd, to yyyy-MM-dd, "
+            + "combined with and, or, not and brackets";
+
+    private final String[] words;
+    private int position;
+
+    private QueryParser(String arguments) {
+        String spaced = arguments.replace("(", " ( ").replace(")", " ) ").trim();
+        this.words = spaced.isEmpty() ? new String[0] : spaced.split("\\s+");
+    }
+
+    /**
+     * Parses the arguments of a query command.
+     *
+     * @throws InvalidCommandException If the arguments do not follow the grammar.
+     */
+    static Query parse(String arguments) throws InvalidCommandException {
+        return new QueryParser(arguments).parseQuery();
+    }
+
+    private Query parseQuery() throws InvalidCommandException {
+        boolean isExplain = accept("explain");
+        QueryPredicate filter = startsCondition() ? parseOr() : QueryPredicate.all();
+        Query.SortKey sortKey = null;
+        if (accept("sort")) {
+            sortKey = Query.SortKey.fromName(next("a sort key"));
+            if (sortKey == null) {
+                throw fail("I can only sort by deadline, name, type or status, sweetie!");
+            }
+        }
+        int limit = Page.NO_LIMIT;
+        int offset = 0;
+        while (position < words.length) {
+            if (accept("limit")) {
+                limit = parseCount(next("a limit"), 1);
+            } else if (accept("offset")) {
+                offset = parseCount(next("an offset"), 0);
+            } else {
+                break;
+            }
+        }
+        if (position < words.length) {
+            throw fail("I didn't expect '" + words[position] + "' there.");
+        }
+        return new Query(filter, sortKey, Page.of(offset, limit), isExplain);
+    }
+
+    private int parseCount(String count, int minimum) throws InvalidCommandException {
+        try {
+            int parsed = Integer.parseInt(count);
+            if (parsed >= minimum) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, like a count that is too small
+        }
+        throw fail("Limits and offsets should be whole numbers, and a limit should be above 0.");
+    }
+
+    private QueryPredicate parseOr() throws InvalidCommandException {
+        List<QueryPredicate> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (accept("or")) {
+            operands.add(parseAnd());
+        }
+        return QueryPredicate.or(operands);
+    }
+
+    private QueryPredicate parseAnd() throws InvalidCommandException {
+        List<QueryPredicate> operands = new ArrayList<>();
+        operands.add(parseNot());
+        while (accept("and") || startsCondition()) {
+            operands.add(parseNot());
+        }
+        return QueryPredicate.and(operands);
+    }
+
+    private QueryPredicate parseNot() throws InvalidCommandException {
+        if (accept("not")) {
+            return QueryPredicate.not(parseNot());
+        }
+        if (accept("(")) {
+            QueryPredicate inner = parseOr();
+            if (!accept(")")) {
+                throw fail("I think a ')' is missing.");
+            }
+            return inner;
+        }
+        String keyword = next("a condition").toLowerCase(Locale.ROOT);
+        switch (keyword) {
+        case "done":
+        case "pending":
+            return QueryPredicate.status(keyword.equals("done"));
+        case "type":
+            return QueryPredicate.type(parseTypes(next("a task type")));
+        case "name":
+            try {
+                return QueryPredicate.name(next("a word"));
+            } catch (IllegalArgumentException e) {
+                throw fail("'name' looks for one whole word, like 'name report'.");
+            }
+        case "from":
+            return parseRange(parseDate(next("a date")));
+        case "to":
+            return QueryPredicate.dates(null, parseDate(next("a date")));
+        default:
+            throw fail("I don't know the condition '" + keyword + "'.");
+        }
+    }
+
+    /**
+     * Parses the optional end of a date range whose start has been parsed.
+     */
+    private QueryPredicate parseRange(LocalDate from) throws InvalidCommandException {
+        LocalDate to = accept("to") ? parseDate(next("a date")) : null;
+        return QueryPredicate.dates(from, to);
+    }
+
+    private Set<TaskType> parseTypes(String types) throws InvalidCommandException {
+        Set<TaskType> parsed = EnumSet.noneOf(TaskType.class);
+        try {
+            for (String type : types.split(",")) {
+                parsed.add(TaskType.valueOf(type.toUpperCase(Locale.ROOT)));
+            }
+        } catch (IllegalArgumentException e) {
+            throw fail("Task types are todo, deadline, event and recurring.");
+        }
+        return parsed;
+    }
+
+    private LocalDate parseDate(String date) throws InvalidCommandException {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw fail("Dates should look like yyyy-MM-dd.");
+        }
+    }
+
+    /**
+     * Checks whether the next word starts a condition rather than a clause such as {@code sort}.
+     */
+    private boolean startsCondition() {
+        if (position >= words.length) {
+            return false;
+        }
+        switch (words[position].toLowerCase(Locale.ROOT)) {
+        case "not":
+        case "(":
+        case "done":
+        case "pending":
+        case "type":
+        case "name":
+        case "from":
+        case "to":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Consumes the next word if it is the given keyword, ignoring case.
+     */
+    private boolean accept(String keyword) {
+        if (position < words.length && words[position].equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String next(String expected) throws InvalidCommandException {
+        if (position >= words.length) {
+            throw fail("I expected " + expected + " at the end.");
+        }
+        return words[position++];
+    }
+
+    private static InvalidCommandException fail(String reason) {
+        return new InvalidCommandException(reason + "\n" + QUERY_USAGE);
+    }
+}
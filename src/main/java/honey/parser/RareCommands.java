@@ -0,0 +1,79 @@
+package honey.parser;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import honey.command.Command;
+import honey.command.DependCommand;
+import honey.command.DueCommand;
+import honey.command.ExportCommand;
+import honey.command.FindCommand;
+import honey.command.ImportCommand;
+import honey.command.NextCommand;
+import honey.command.QueryCommand;
+import honey.command.RedoCommand;
+import honey.command.SortCommand;
+import honey.command.StatsCommand;
+import honey.command.UndoCommand;
+import honey.metrics.Metrics;
+import honey.storage.ExportFilter;
+import honey.storage.ExportFormat;
+import honey.tasklist.Page;
+import honey.tasklist.Query;
+
+/**
+ * Creates the commands that most sessions never use.
+ * When the JVM verifies Parser, it loads every class that Parser returns as a Command.
+ * Creating these commands here instead means their classes are only loaded when one is first parsed,
+ * which keeps them off the startup path.
+ */
+final class RareCommands {
+
+    private RareCommands() {
+    }
+
+    static Command find(String keyword, Page page, boolean isRanked) {
+        return new FindCommand(keyword, page, isRanked);
+    }
+
+    static Command due(String date, Page page) {
+        return new DueCommand(date, page);
+    }
+
+    static Command sort(String sortType, Page page) {
+        return new SortCommand(sortType, page);
+    }
+
+    static Command query(Query query) {
+        return new QueryCommand(query);
+    }
+
+    static Command stats(boolean isExporting) {
+        Metrics metrics = Metrics.getInstance();
+        return new StatsCommand(metrics, isExporting ? metrics.getExportFile() : null);
+    }
+
+    static Command importFile(Path file) {
+        return new ImportCommand(file);
+    }
+
+    static Command undo() {
+        return new UndoCommand();
+    }
+
+    static Command redo() {
+        return new RedoCommand();
+    }
+
+    static Command depend(int taskNumber, List<Integer> prerequisiteNumbers) {
+        return new DependCommand(taskNumber, prerequisiteNumbers);
+    }
+
+    static Command next(Page page) {
+        return new NextCommand(page);
+    }
+
+    static Command exportFile(Path file, ExportFormat format, ExportFilter filter) {
+        return new ExportCommand(file, format, filter);
+    }
+}
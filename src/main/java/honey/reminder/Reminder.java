@@ -0,0 +1,48 @@
+package honey.reminder;
+
+import java.time.LocalDateTime;
+
+import honey.task.Event;
+import honey.task.Task;
+
+/**
+ * Represents a reminder that a task becomes due or starts at a given time.
+ */
+public class Reminder {
+    private final Task task;
+    private final LocalDateTime time;
+    /** Breaks ties between reminders at the same time, so the earliest scheduled fires first */
+    private final long sequence;
+
+    Reminder(Task task, LocalDateTime time, long sequence) {
+        assert task != null : "Task cannot be null";
+        assert time != null : "Reminder time cannot be null";
+        this.task = task;
+        this.time = time;
+        this.sequence = sequence;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the message to show the user when this reminder fires.
+     *
+     * @return The reminder message.
+     */
+    public String getMessage() {
+        if (task instanceof Event) {
+            return "🎉 Rise and shine, my sweet Bee! This is starting today:\n" + task;
+        }
+        return "⏰ Buzz buzz, sweetie! This is due right now:\n" + task;
+    }
+}
@@ -0,0 +1,258 @@
+package honey.reminder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import honey.task.HoneyClock;
+import honey.task.Task;
+import honey.tasklist.TaskList;
+import honey.tasklist.TaskListListener;
+
+/**
+ * Reminds the user when deadlines become due and events start.
+ * Pending reminders are kept in a set ordered by time, with an index from each task to its reminder,
+ * so adding, deleting, marking or unmarking a task updates them in O(log n) instead of rebuilding them.
+ * A single timer is armed for the earliest reminder only and re-armed when the earliest one changes,
+ * so nothing runs between reminders, however many are scheduled.
+ * Tasks that are done, or whose time has already passed when they are scheduled, are not reminded.
+ * A scheduler may follow the {@link HoneyClock} shared by every Honey, reading whichever clock is installed each
+ * time it needs the time. Reminder times are local times, so if the installed clock is in another zone, every
+ * reminder is scheduled again in that zone. A timer armed before the change still fires at its old delay, and
+ * is then armed again by the new clock.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** Shared daemon thread that fires the reminders of every scheduler */
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private static final Comparator<Reminder> BY_TIME = Comparator.comparing(Reminder::getTime)
+            .thenComparingLong(Reminder::getSequence);
+
+    /** Gives the clock to read, which may change between readings */
+    private final Supplier<Clock> clock;
+    private final Consumer<Reminder> onReminder;
+    private final NavigableSet<Reminder> pending = new TreeSet<>(BY_TIME);
+    private final Map<Task, Reminder> reminderByTask = new IdentityHashMap<>();
+    private long nextSequence;
+    private TaskList taskList;
+    /** Timer armed for the earliest pending reminder, or null if none is armed */
+    private ScheduledFuture<?> wakeUp;
+    /** Time the armed timer fires at */
+    private LocalDateTime wakeUpTime;
+    /** Zone the pending reminder times are in, or null before the first reminder is scheduled */
+    private ZoneId zone;
+    private boolean isClosed;
+
+    /**
+     * Constructs a ReminderScheduler.
+     *
+     * @param clock The clock that decides when reminders are due.
+     * @param onReminder Called with each reminder when it fires, on the timer thread.
+     */
+    public ReminderScheduler(Clock clock, Consumer<Reminder> onReminder) {
+        this(() -> clock, onReminder);
+        assert clock != null : "Clock cannot be null";
+    }
+
+    /**
+     * Constructs a ReminderScheduler that goes by the {@link HoneyClock} shared by every Honey in this process,
+     * following it when another one is installed.
+     *
+     * @param onReminder Called with each reminder when it fires, on the timer thread.
+     */
+    public ReminderScheduler(Consumer<Reminder> onReminder) {
+        this(() -> HoneyClock.getInstance().getClock(), onReminder);
+    }
+
+    private ReminderScheduler(Supplier<Clock> clock, Consumer<Reminder> onReminder) {
+        assert onReminder != null : "Reminder callback cannot be null";
+        this.clock = clock;
+        this.onReminder = onReminder;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "honey-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Re-arming cancels the previous timer, which should not linger in the queue
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Schedules reminders for every task in the given list, and keeps them up to date as the list changes.
+     *
+     * @param tasks The task list to remind the user about.
+     */
+    public synchronized void start(TaskList tasks) {
+        assert taskList == null : "Scheduler has already been started";
+        taskList = tasks;
+        LocalDateTime now = now();
+        for (Task task : tasks.subscribe(this)) {
+            schedule(task, now);
+        }
+        armTimer();
+    }
+
+    /**
+     * Stops firing reminders and stops following the task list.
+     */
+    public synchronized void close() {
+        isClosed = true;
+        if (taskList != null) {
+            taskList.unsubscribe(this);
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        pending.clear();
+        reminderByTask.clear();
+    }
+
+    @Override
+    public synchronized void taskAdded(Task task) {
+        schedule(task, now());
+        armTimer();
+    }
+
+    @Override
+    public synchronized void taskRemoved(Task task) {
+        cancel(task);
+        armTimer();
+    }
+
+    @Override
+    public synchronized void taskReplaced(Task oldTask, Task newTask) {
+        cancel(oldTask);
+        schedule(newTask, now());
+        armTimer();
+    }
+
+    /**
+     * Returns the number of reminders waiting to fire.
+     *
+     * @return The number of pending reminders.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the time of the earliest reminder waiting to fire.
+     *
+     * @return The time of the next reminder, or null if there is none.
+     */
+    public synchronized LocalDateTime getNextReminderTime() {
+        // Reminders are scheduled again first if the clock has moved to another zone
+        armTimer();
+        return pending.isEmpty() ? null : pending.first().getTime();
+    }
+
+    /**
+     * Fires every reminder whose time has come according to the clock, in time order.
+     * The timer calls this when the earliest reminder is due; callers with a fixed clock may call it directly.
+     *
+     * @return The reminders that fired.
+     */
+    public List<Reminder> fireDueReminders() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            if (isClosed) {
+                return due;
+            }
+            LocalDateTime now = now();
+            while (!pending.isEmpty() && !pending.first().getTime().isAfter(now)) {
+                Reminder reminder = pending.pollFirst();
+                reminderByTask.remove(reminder.getTask());
+                due.add(reminder);
+                // Tasks may have further reminders, such as the next occurrence of a recurring task
+                schedule(reminder.getTask(), reminder.getTime());
+            }
+            // Always re-arm, as this may have been called before the armed timer fired
+            wakeUpTime = null;
+            armTimer();
+        }
+        due.forEach(onReminder);
+        return due;
+    }
+
+    /**
+     * Reads the current time, first scheduling every reminder again if the clock has moved to another zone since
+     * they were scheduled.
+     */
+    private LocalDateTime now() {
+        Clock current = clock.get();
+        LocalDateTime now = LocalDateTime.now(current);
+        if (!current.getZone().equals(zone)) {
+            boolean isRescheduling = zone != null && taskList != null;
+            zone = current.getZone();
+            if (isRescheduling) {
+                pending.clear();
+                reminderByTask.clear();
+                for (Task task : taskList.getTasks()) {
+                    schedule(task, now);
+                }
+            }
+        }
+        return now;
+    }
+
+    private void schedule(Task task, LocalDateTime after) {
+        if (isClosed || task.getIsDone()) {
+            return;
+        }
+        LocalDateTime time = task.getNextReminderTime(after);
+        if (time == null) {
+            return;
+        }
+        Reminder reminder = new Reminder(task, time, nextSequence++);
+        Reminder previous = reminderByTask.put(task, reminder);
+        if (previous != null) {
+            pending.remove(previous);
+        }
+        pending.add(reminder);
+    }
+
+    private void cancel(Task task) {
+        Reminder reminder = reminderByTask.remove(task);
+        if (reminder != null) {
+            pending.remove(reminder);
+        }
+    }
+
+    /**
+     * Arms the timer for the earliest pending reminder, unless it is already armed for that time.
+     */
+    private void armTimer() {
+        LocalDateTime now = now();
+        LocalDateTime next = pending.isEmpty() || isClosed ? null : pending.first().getTime();
+        if (next != null && next.equals(wakeUpTime)) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpTime = next;
+        if (next == null) {
+            wakeUp = null;
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(now, next).toMillis());
+        wakeUp = TIMER.schedule(this::fireDueReminders, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
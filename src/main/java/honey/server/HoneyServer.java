@@ -0,0 +1,282 @@
+package honey.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import honey.Honey;
+import honey.command.Command;
+import honey.command.ExitCommand;
+import honey.hive.HiveManager;
+import honey.metrics.Metrics;
+
+/**
+ * Serves Honey over a line protocol on localhost, so many clients can share one JVM.
+ * Each line a client sends is one command; each reply is sent as its lines followed by a line holding a
+ * single dot, with reply lines that start with a dot escaped by doubling it.
+ * A client may start with {@code user [name]} to work on its own hive; otherwise it uses the shared hive.
+ * Hives are hosted by a HiveManager, so writes to a hive are serialised while queries run in parallel,
+ * and idle hives are unloaded when too many are resident.
+ * All sockets are handled by one selector thread with non-blocking I/O; it never waits for a hive to load or
+ * save, so one user's hive being read from disk does not hold up anyone else's replies.
+ */
+public class HoneyServer {
+    public static final int DEFAULT_PORT = 4242;
+    public static final String SHARED_HIVE = "honey";
+    public static final int DEFAULT_MAX_RESIDENT_HIVES = 1024;
+    /** How often {@code --metrics} rewrites the metrics file */
+    public static final int METRICS_EXPORT_SECONDS = 15;
+
+    private static final Pattern USER_COMMAND = Pattern.compile("user (?<name>[A-Za-z0-9_-]{1,32})");
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final boolean isSharedOnly;
+    private final HiveManager hiveManager;
+    /** Sessions with replies queued by worker threads, waiting for the selector thread to write them */
+    private final Queue<Session> readyToWrite = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile boolean isRunning = true;
+
+    /**
+     * Constructs a HoneyServer bound to the given localhost port.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @param dataDir Directory holding one data file per hive
+     * @param isSharedOnly Whether every client uses the shared hive, ignoring {@code user} requests
+     * @throws IOException If the port cannot be bound
+     */
+    public HoneyServer(int port, Path dataDir, boolean isSharedOnly) throws IOException {
+        this(port, dataDir, isSharedOnly, DEFAULT_MAX_RESIDENT_HIVES);
+    }
+
+    /**
+     * Constructs a HoneyServer bound to the given localhost port that keeps at most the given number
+     * of hives in memory.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @param dataDir Directory holding one data file per hive
+     * @param isSharedOnly Whether every client uses the shared hive, ignoring {@code user} requests
+     * @param maxResidentHives Maximum number of hives kept in memory at once
+     * @throws IOException If the port cannot be bound
+     */
+    public HoneyServer(int port, Path dataDir, boolean isSharedOnly, int maxResidentHives) throws IOException {
+        this(port, new HiveManager(dataDir, maxResidentHives), isSharedOnly);
+    }
+
+    /**
+     * Constructs a HoneyServer bound to the given localhost port that hosts the hives of the given HiveManager.
+     */
+    HoneyServer(int port, HiveManager hiveManager, boolean isSharedOnly) throws IOException {
+        this.isSharedOnly = isSharedOnly;
+        this.hiveManager = hiveManager;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts a Honey server. Usage: {@code HoneyServer [--port N] [--data DIR] [--shared] [--max-hives N]
+     * [--metrics FILE]}.
+     * With {@code --metrics}, metrics are written to FILE in the Prometheus text format every few seconds, and
+     * {@code stats export} writes to FILE too.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        Path dataDir = Paths.get("data");
+        boolean isSharedOnly = false;
+        int maxResidentHives = DEFAULT_MAX_RESIDENT_HIVES;
+        Path metricsFile = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--port":
+                port = Integer.parseInt(args[++i]);
+                break;
+            case "--data":
+                dataDir = Paths.get(args[++i]);
+                break;
+            case "--shared":
+                isSharedOnly = true;
+                break;
+            case "--max-hives":
+                maxResidentHives = Integer.parseInt(args[++i]);
+                break;
+            case "--metrics":
+                metricsFile = Paths.get(args[++i]);
+                break;
+            default:
+                System.err.println("Unknown option: " + args[i]);
+                return;
+            }
+        }
+
+        HoneyServer server = new HoneyServer(port, dataDir, isSharedOnly, maxResidentHives);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        if (metricsFile != null) {
+            Metrics.getInstance().setExportFile(metricsFile);
+            Metrics.getInstance().exportPeriodically(metricsFile, METRICS_EXPORT_SECONDS);
+        }
+        System.out.println("Honey server buzzing on 127.0.0.1:" + server.getPort());
+        server.serve();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Accepts connections and serves commands until {@link #stop()} is called.
+     *
+     * @throws IOException If the selector fails
+     */
+    public void serve() throws IOException {
+        try {
+            while (isRunning) {
+                selector.select();
+                Session session;
+                while ((session = readyToWrite.poll()) != null) {
+                    write(session);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isReadable()) {
+                        read((Session) key.attachment());
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write((Session) key.attachment());
+                    }
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Stops the server. Queued writes to each hive finish and are saved before {@link #serve()} returns.
+     */
+    public void stop() {
+        isRunning = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Session session = new Session(channel);
+        channel.register(selector, SelectionKey.OP_READ, session);
+        session.queueReply(Honey.WELCOME_MESSAGE, () -> markReadyToWrite(session));
+    }
+
+    private void read(Session session) {
+        try {
+            readBuffer.clear();
+            int bytesRead = session.getChannel().read(readBuffer);
+            if (bytesRead < 0) {
+                closeSession(session);
+                return;
+            }
+            readBuffer.flip();
+            boolean wasLineTooLong = session.isLineTooLong();
+            for (String line : session.readLines(readBuffer)) {
+                handleLine(session, line);
+            }
+            if (session.isLineTooLong() && !wasLineTooLong) {
+                Runnable onQueued = () -> markReadyToWrite(session);
+                session.queueReply("Oh my, that line is too long for me, sweetie! Lines can be at most "
+                        + Session.MAX_LINE_BYTES / 1024 + " KiB. Goodbye for now! 🐝", onQueued);
+                session.closeAfterReplies(onQueued);
+            }
+        } catch (IOException e) {
+            closeSession(session);
+        }
+    }
+
+    private void handleLine(Session session, String line) {
+        Runnable onQueued = () -> markReadyToWrite(session);
+        if (session.getHive() == null) {
+            Matcher matcher = USER_COMMAND.matcher(line.trim());
+            String hive = matcher.matches() && !isSharedOnly ? matcher.group("name") : SHARED_HIVE;
+            session.setHive(hive);
+            if (matcher.matches()) {
+                session.queueReply("Buzzing into " + hive + "'s hive! 🐝", onQueued);
+                return;
+            }
+        }
+
+        Command command = hiveManager.parse(line);
+        session.queueReply(hiveManager.submit(session.getHive(), command), onQueued);
+        if (command instanceof ExitCommand) {
+            session.closeAfterReplies(onQueued);
+        }
+    }
+
+    private void markReadyToWrite(Session session) {
+        readyToWrite.add(session);
+        selector.wakeup();
+    }
+
+    private void write(Session session) {
+        SelectionKey key = session.getChannel().keyFor(selector);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        try {
+            if (!session.flush()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            } else if (session.isClosing()) {
+                closeSession(session);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException e) {
+            closeSession(session);
+        }
+    }
+
+    private void closeSession(Session session) {
+        try {
+            session.getChannel().close();
+        } catch (IOException e) {
+            // Already closed by the client
+        }
+    }
+
+    private void close() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        hiveManager.close();
+    }
+}
@@ -0,0 +1,224 @@
+package honey.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Drives many concurrent sessions against a Honey server and reports command latency percentiles.
+ * Usage: {@code LoadGenerator [--port N] [--sessions N] [--commands N] [--shared]}.
+ * Without {@code --port}, an embedded server is started on a free port with a temporary data directory.
+ */
+public class LoadGenerator {
+    private static final String[] COMMAND_MIX = {
+        "todo water the plants %d",
+        "deadline submit report %d /by 2024-03-15",
+        "find report",
+        "due 2024-03-15",
+        "mark 1",
+        "sort deadline",
+        "list",
+    };
+
+    private final int port;
+    private final int sessions;
+    private final int commandsPerSession;
+    private final boolean isShared;
+
+    /**
+     * Constructs a LoadGenerator for a server on the given localhost port.
+     *
+     * @param port Port of the Honey server
+     * @param sessions Number of concurrent sessions to open
+     * @param commandsPerSession Number of commands each session sends
+     * @param isShared Whether all sessions use the shared hive instead of one hive each
+     */
+    public LoadGenerator(int port, int sessions, int commandsPerSession, boolean isShared) {
+        this.port = port;
+        this.sessions = sessions;
+        this.commandsPerSession = commandsPerSession;
+        this.isShared = isShared;
+    }
+
+    /**
+     * Runs the load generator. See the class description for options.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = -1;
+        int sessions = 1000;
+        int commands = 50;
+        boolean isShared = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--port":
+                port = Integer.parseInt(args[++i]);
+                break;
+            case "--sessions":
+                sessions = Integer.parseInt(args[++i]);
+                break;
+            case "--commands":
+                commands = Integer.parseInt(args[++i]);
+                break;
+            case "--shared":
+                isShared = true;
+                break;
+            default:
+                System.err.println("Unknown option: " + args[i]);
+                return;
+            }
+        }
+
+        HoneyServer embedded = null;
+        if (port < 0) {
+            Path dataDir = Files.createTempDirectory("honey-load");
+            embedded = new HoneyServer(0, dataDir, isShared);
+            port = embedded.getPort();
+            HoneyServer server = embedded;
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.serve();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "honey-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+        }
+
+        try {
+            System.out.println(new LoadGenerator(port, sessions, commands, isShared).run());
+        } finally {
+            if (embedded != null) {
+                embedded.stop();
+            }
+        }
+    }
+
+    /**
+     * Opens all sessions, sends every command and waits for each reply.
+     *
+     * @return A report of throughput and latency percentiles per command.
+     * @throws InterruptedException If interrupted while waiting for sessions to finish
+     */
+    public String run() throws InterruptedException {
+        long[][] latencies = new long[sessions][];
+        List<Throwable> failures = new ArrayList<>();
+        CountDownLatch connected = new CountDownLatch(sessions);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> clients = new ArrayList<>();
+
+        for (int s = 0; s < sessions; s++) {
+            int sessionId = s;
+            Thread client = new Thread(() -> {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                    socket.setTcpNoDelay(true);
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    BufferedWriter out = new BufferedWriter(
+                            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    readReply(in);
+                    if (!isShared) {
+                        send(out, "user load" + sessionId);
+                        readReply(in);
+                    }
+                    connected.countDown();
+                    start.await();
+                    latencies[sessionId] = runSession(in, out);
+                } catch (Exception e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                    connected.countDown();
+                }
+            }, "honey-load-" + s);
+            client.start();
+            clients.add(client);
+        }
+
+        connected.await();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread client : clients) {
+            client.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        return report(latencies, elapsedNanos, failures.size());
+    }
+
+    private long[] runSession(BufferedReader in, BufferedWriter out) throws IOException {
+        long[] sessionLatencies = new long[commandsPerSession];
+        for (int i = 0; i < commandsPerSession; i++) {
+            String command = String.format(COMMAND_MIX[i % COMMAND_MIX.length], i);
+            long sentAt = System.nanoTime();
+            send(out, command);
+            readReply(in);
+            sessionLatencies[i] = System.nanoTime() - sentAt;
+        }
+        return sessionLatencies;
+    }
+
+    private static void send(BufferedWriter out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    private static void readReply(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(Session.END_OF_REPLY)) {
+                return;
+            }
+        }
+        throw new IOException("Server closed the connection");
+    }
+
+    private String report(long[][] latencies, long elapsedNanos, int failedSessions) {
+        Map<String, List<Long>> byCommand = new TreeMap<>();
+        List<Long> all = new ArrayList<>();
+        for (long[] sessionLatencies : latencies) {
+            if (sessionLatencies == null) {
+                continue;
+            }
+            for (int i = 0; i < sessionLatencies.length; i++) {
+                String commandWord = COMMAND_MIX[i % COMMAND_MIX.length].split(" ")[0];
+                byCommand.computeIfAbsent(commandWord, k -> new ArrayList<>()).add(sessionLatencies[i]);
+                all.add(sessionLatencies[i]);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("sessions=%d commands=%d failedSessions=%d elapsed=%.2fs throughput=%.0f cmd/s%n",
+                sessions, all.size(), failedSessions, elapsedNanos / 1e9, all.size() / (elapsedNanos / 1e9)));
+        sb.append(String.format("%-10s %8s %10s %10s %10s%n", "command", "count", "p50(ms)", "p99(ms)", "max(ms)"));
+        byCommand.forEach((command, values) -> sb.append(formatRow(command, values)));
+        sb.append(formatRow("all", all));
+        return sb.toString();
+    }
+
+    private static String formatRow(String name, List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return String.format("%-10s %8d %10.2f %10.2f %10.2f%n", name, sorted.length,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
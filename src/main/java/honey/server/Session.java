@@ -0,0 +1,152 @@
+package honey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Represents one client connection to the Honey server.
+ * Splits incoming bytes into command lines, keeps replies in the order their commands arrived,
+ * and buffers encoded replies until the socket is ready to take them.
+ * A line may be at most {@value #MAX_LINE_BYTES} bytes long, so a client that never ends its line cannot
+ * make the server hold an ever growing buffer.
+ */
+class Session {
+    /** Terminates every reply; reply lines starting with a dot are escaped with an extra dot */
+    static final String END_OF_REPLY = ".";
+    /** Longest command line accepted, in bytes, not counting its line break */
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    /** Bytes of the command line currently being received */
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    /** Encoded replies waiting to be written to the socket */
+    private final Queue<ByteBuffer> outgoing = new ConcurrentLinkedQueue<>();
+    /** Completes once every reply queued so far has been handed to {@link #outgoing} */
+    private CompletableFuture<Void> replyTail = CompletableFuture.completedFuture(null);
+    /** Name of the hive this session works on, or null until the first command arrives */
+    private String hive;
+    private volatile boolean isClosing;
+    /** Whether a line longer than {@link #MAX_LINE_BYTES} arrived, after which nothing more is read */
+    private boolean isLineTooLong;
+
+    Session(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    String getHive() {
+        return hive;
+    }
+
+    void setHive(String hive) {
+        this.hive = hive;
+    }
+
+    /**
+     * Splits newly read bytes into complete lines, keeping any trailing partial line for the next read.
+     * Once a line grows longer than {@link #MAX_LINE_BYTES}, it is dropped, and so is everything read after it.
+     *
+     * @return The complete lines, without the ones after a line that is too long.
+     */
+    List<String> readLines(ByteBuffer buffer) {
+        List<String> lines = new ArrayList<>();
+        while (buffer.hasRemaining() && !isLineTooLong) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                String line = partialLine.toString(StandardCharsets.UTF_8);
+                partialLine.reset();
+                lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+            } else if (partialLine.size() < MAX_LINE_BYTES + 1) {
+                // One byte over is allowed for the \r of a line break
+                partialLine.write(b);
+            } else {
+                isLineTooLong = true;
+                partialLine.reset();
+            }
+        }
+        buffer.position(buffer.limit());
+        return lines;
+    }
+
+    /**
+     * Checks whether a line longer than {@link #MAX_LINE_BYTES} has arrived.
+     */
+    boolean isLineTooLong() {
+        return isLineTooLong;
+    }
+
+    /**
+     * Queues a reply that will only be sent after every reply queued before it.
+     *
+     * @param reply A future completed with the reply text.
+     * @param onQueued Called once the reply is ready to be written.
+     */
+    void queueReply(CompletableFuture<String> reply, Runnable onQueued) {
+        replyTail = replyTail.thenCombine(reply.exceptionally(Throwable::getMessage), (ignored, text) -> text)
+                .thenAccept(text -> {
+                    outgoing.add(encode(text));
+                    onQueued.run();
+                });
+    }
+
+    /**
+     * Queues a reply that is already known.
+     */
+    void queueReply(String reply, Runnable onQueued) {
+        queueReply(CompletableFuture.completedFuture(reply), onQueued);
+    }
+
+    /**
+     * Closes the session once every queued reply has been written.
+     */
+    void closeAfterReplies(Runnable onQueued) {
+        replyTail = replyTail.thenRun(() -> {
+            isClosing = true;
+            onQueued.run();
+        });
+    }
+
+    /**
+     * Writes as many queued replies as the socket accepts.
+     *
+     * @return true if every queued reply has been written.
+     */
+    boolean flush() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = outgoing.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                return false;
+            }
+            outgoing.poll();
+        }
+        return true;
+    }
+
+    boolean isClosing() {
+        return isClosing;
+    }
+
+    private static ByteBuffer encode(String reply) {
+        StringBuilder sb = new StringBuilder(reply.length() + 8);
+        for (String line : reply.split("\n")) {
+            if (line.startsWith(END_OF_REPLY)) {
+                sb.append(END_OF_REPLY);
+            }
+            sb.append(line).append('\n');
+        }
+        sb.append(END_OF_REPLY).append('\n');
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,246 @@
+package honey.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.task.Task;
+
+/**
+ * Reads tasks from a CSV file whose first row names the columns.
+ * Recognised columns, in any order and case: type, name (or description, summary, subject, title),
+ * start (or from, start date), end (or to, end date), due (or by, deadline), done (or completed, status)
+ * and schedule, which holds the clauses of a recurring task as written by {@link CsvTaskWriter}.
+ * Without a type column, rows with a start become events, rows with a due date become deadlines
+ * and the rest become todos. Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+final class CsvTaskReader implements TaskRecordReader {
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+        DateTimeFormatter.ISO_LOCAL_DATE,
+        DateTimeFormatter.ofPattern("d/M/yyyy HHmm"),
+        DateTimeFormatter.ofPattern("d/M/yyyy")
+    };
+
+    /** Written at the start of CSV files by some spreadsheet programs */
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final BufferedReader reader;
+    private final int typeColumn;
+    private final int nameColumn;
+    private final int startColumn;
+    private final int endColumn;
+    private final int dueColumn;
+    private final int doneColumn;
+    private final int scheduleColumn;
+    private final DateColumn startDates = new DateColumn("start date");
+    private final DateColumn endDates = new DateColumn("end date");
+    private final DateColumn dueDates = new DateColumn("due date");
+    private long nextLineNumber = 1;
+    private long recordLineNumber;
+
+    /**
+     * Reads the header row and works out which column holds which field.
+     *
+     * @throws HoneyException If the file has no header row or no name column.
+     */
+    CsvTaskReader(BufferedReader reader) throws IOException, HoneyException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new InvalidCommandException("The CSV file is empty - I need a header row naming the columns.");
+        }
+        if (header.get(0).startsWith(BYTE_ORDER_MARK)) {
+            header.set(0, header.get(0).substring(1));
+        }
+        typeColumn = findColumn(header, "type");
+        nameColumn = findColumn(header, "name", "description", "summary", "subject", "title");
+        startColumn = findColumn(header, "start", "from", "start date");
+        endColumn = findColumn(header, "end", "to", "end date");
+        dueColumn = findColumn(header, "due", "by", "deadline", "due date");
+        doneColumn = findColumn(header, "done", "completed", "status");
+        scheduleColumn = findColumn(header, "schedule");
+        if (nameColumn < 0) {
+            throw new InvalidCommandException("The CSV header needs a name column (name, description, summary, "
+                    + "subject or title).");
+        }
+    }
+
+    @Override
+    public Task next() throws IOException, HoneyException {
+        List<String> fields = readRecord();
+        while (fields != null && fields.size() == 1 && fields.get(0).isBlank()) {
+            fields = readRecord();
+        }
+        if (fields == null) {
+            return null;
+        }
+
+        String name = field(fields, nameColumn);
+        String start = field(fields, startColumn);
+        String end = field(fields, endColumn);
+        String due = field(fields, dueColumn);
+        boolean isDone = isDone(field(fields, doneColumn));
+
+        String type = field(fields, typeColumn).toLowerCase(Locale.ROOT);
+        if (type.isEmpty()) {
+            type = !start.isEmpty() ? "event" : !due.isEmpty() ? "deadline" : "todo";
+        }
+        switch (type) {
+        case "t":
+        case "todo":
+            return ImportedTasks.todo(name, isDone);
+        case "d":
+        case "deadline":
+            String dueDate = due.isEmpty() ? start : due;
+            return ImportedTasks.deadline(name, dueDates.parse(dueDate), isDone);
+        case "e":
+        case "event":
+            LocalDateTime startTime = startDates.parse(start);
+            if (!startDates.isLastDateOnly) {
+                LocalDateTime endTime = end.isEmpty() ? startTime : endDates.parse(end);
+                return ImportedTasks.event(name, startTime, endTime, isDone);
+            }
+            LocalDate startDate = startTime.toLocalDate();
+            LocalDate endDate = end.isEmpty() ? startDate : endDates.parse(end).toLocalDate();
+            return ImportedTasks.event(name, startDate, endDate, isDone);
+        case "r":
+        case "recurring":
+            return ImportedTasks.recurring(name, field(fields, scheduleColumn), isDone);
+        default:
+            throw new InvalidCommandException("unknown task type");
+        }
+    }
+
+    @Override
+    public long getLineNumber() {
+        return recordLineNumber;
+    }
+
+    private static boolean isDone(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+        case "1":
+        case "x":
+        case "y":
+        case "yes":
+        case "true":
+        case "done":
+        case "completed":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static int findColumn(List<String> header, String... names) {
+        for (String name : names) {
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).trim().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    /**
+     * Parses the dates of one column. The format that parsed the column's previous date is tried first,
+     * since a column almost always uses one format throughout, so most dates parse on the first attempt.
+     */
+    private static final class DateColumn {
+        private final String fieldName;
+        private int lastFormat;
+        /** Whether the value parsed last had a date and no time */
+        private boolean isLastDateOnly;
+
+        private DateColumn(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        private LocalDateTime parse(String value) throws HoneyException {
+            if (value.isEmpty()) {
+                throw new InvalidCommandException("missing " + fieldName);
+            }
+            for (int i = 0; i < DATE_FORMATS.length; i++) {
+                int format = (lastFormat + i) % DATE_FORMATS.length;
+                try {
+                    TemporalAccessor parsed = DATE_FORMATS[format].parseBest(value, LocalDateTime::from,
+                            LocalDate::from);
+                    lastFormat = format;
+                    isLastDateOnly = parsed instanceof LocalDate;
+                    return parsed instanceof LocalDateTime dateTime ? dateTime : ((LocalDate) parsed).atStartOfDay();
+                } catch (DateTimeParseException e) {
+                    // Try the next format
+                }
+            }
+            throw new InvalidCommandException("invalid " + fieldName);
+        }
+    }
+
+    /**
+     * Reads one record, following quoted fields across line breaks.
+     *
+     * @return The fields of the record, or null at the end of the file.
+     */
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        recordLineNumber = nextLineNumber++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!isQuoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                nextLineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
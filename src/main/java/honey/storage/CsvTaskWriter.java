@@ -0,0 +1,89 @@
+package honey.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Writes tasks as CSV rows with the columns type, name, start, end, due, done and schedule.
+ * The columns are the ones {@link CsvTaskReader} recognises, so todos, deadlines and events can be imported again.
+ */
+final class CsvTaskWriter implements TaskRecordWriter {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Writer out;
+    /** Reused for every row, so writing allocates nothing per task beyond the field strings */
+    private final StringBuilder row = new StringBuilder();
+
+    CsvTaskWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write("type,name,start,end,due,done,schedule\r\n");
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        row.setLength(0);
+        row.append(task.getTaskType().name().toLowerCase(Locale.ROOT)).append(',');
+        if (task instanceof Deadline deadline) {
+            appendField(deadline.getTaskName()).append(",,,").append(deadline.getDeadline().format(DATE_TIME));
+            row.append(',');
+        } else if (task instanceof Event event && event.hasTimes()) {
+            appendField(event.getTaskName()).append(',').append(event.getStart().format(DATE_TIME)).append(',')
+                    .append(event.getEnd().format(DATE_TIME)).append(",,");
+        } else if (task instanceof Event event) {
+            appendField(event.getTaskName()).append(',').append(event.getStartDate()).append(',')
+                    .append(event.getEndDate()).append(",,");
+        } else if (task instanceof Recurring recurring) {
+            appendField(recurring.getTaskName()).append(',').append(recurring.getStartDate()).append(',');
+            if (recurring.getEndDate() != null) {
+                row.append(recurring.getEndDate());
+            }
+            row.append(",,");
+        } else if (task instanceof Todo) {
+            appendField(task.getDescription().substring(5)).append(",,,,");
+        } else {
+            appendField(task.getDescription()).append(",,,,");
+        }
+        row.append(task.getIsDone());
+        row.append(',');
+        if (task instanceof Recurring recurring) {
+            appendField(recurring.getScheduleClauses());
+        }
+        out.append(row).append("\r\n");
+    }
+
+    @Override
+    public void writeFooter() {
+    }
+
+    /**
+     * Appends a field, quoting it if it contains a comma, quote or line break.
+     */
+    private StringBuilder appendField(String value) {
+        boolean isQuoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!isQuoted) {
+            return row.append(value);
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+}
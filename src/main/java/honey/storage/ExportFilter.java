@@ -0,0 +1,96 @@
+package honey.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.TaskType;
+
+/**
+ * Represents which tasks to export: optionally only done or pending tasks, only some task types,
+ * and only tasks with a date in a range.
+ * Filters are immutable.
+ */
+public final class ExportFilter {
+    private static final ExportFilter ALL = new ExportFilter(null, EnumSet.allOf(TaskType.class), null, null);
+
+    /** Whether exported tasks must be done, or null to export both */
+    private final Boolean isDone;
+    private final Set<TaskType> types;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a filter.
+     *
+     * @param isDone True to export only done tasks, false for only pending tasks, or null for both.
+     * @param types The task types to export.
+     * @param from The first date to export, or null for no lower bound.
+     * @param to The last date to export, or null for no upper bound.
+     */
+    public ExportFilter(Boolean isDone, Set<TaskType> types, LocalDate from, LocalDate to) {
+        assert types != null : "Types cannot be null";
+        this.isDone = isDone;
+        this.types = types.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(types);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the filter that accepts every task.
+     *
+     * @return The filter.
+     */
+    public static ExportFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Checks whether this filter accepts every task, so that everything is exported.
+     *
+     * @return True if no part of the filter leaves any task out.
+     */
+    public boolean isAll() {
+        return isDone == null && types.size() == TaskType.values().length && from == null && to == null;
+    }
+
+    /**
+     * Checks whether a task should be exported.
+     * With a date range, a deadline must be due in the range, an event must overlap it, a recurring task
+     * must occur in it, and todos, having no date, are left out.
+     *
+     * @param task The task to check.
+     * @return True if the task passes every part of the filter.
+     */
+    public boolean accepts(Task task) {
+        if (isDone != null && task.getIsDone() != isDone) {
+            return false;
+        }
+        if (!types.contains(task.getTaskType())) {
+            return false;
+        }
+        if (from == null && to == null) {
+            return true;
+        }
+        if (task instanceof Deadline deadline) {
+            return isInRange(deadline.getDeadline().toLocalDate());
+        } else if (task instanceof Event event) {
+            return (from == null || !event.getEndDate().isBefore(from))
+                    && (to == null || !event.getStartDate().isAfter(to));
+        } else if (task instanceof Recurring recurring) {
+            LocalDate firstDay = from == null ? recurring.getStartDate() : from;
+            LocalDateTime next = recurring.getNextOccurrence(firstDay.atStartOfDay().minusNanos(1));
+            return next != null && isInRange(next.toLocalDate());
+        }
+        return false;
+    }
+
+    private boolean isInRange(LocalDate date) {
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+}
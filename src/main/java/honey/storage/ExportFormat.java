@@ -0,0 +1,55 @@
+package honey.storage;
+
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Represents the file formats tasks can be exported to.
+ */
+public enum ExportFormat {
+    CSV(".csv"),
+    JSON_LINES(".jsonl"),
+    ICS(".ics");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the format matching a file name's extension.
+     * Besides each format's own extension, {@code .ndjson} and {@code .json} are taken as JSON Lines.
+     *
+     * @param fileName The file name.
+     * @return The matching format, or null if the extension is not recognised.
+     */
+    public static ExportFormat fromFileName(String fileName) {
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        if (lowerName.endsWith(".ndjson") || lowerName.endsWith(".json")) {
+            return JSON_LINES;
+        }
+        for (ExportFormat format : values()) {
+            if (lowerName.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    TaskRecordWriter newWriter(Writer out, Instant exportTime) {
+        switch (this) {
+        case JSON_LINES:
+            return new JsonLinesTaskWriter(out);
+        case ICS:
+            return new IcsTaskWriter(out, exportTime);
+        default:
+            return new CsvTaskWriter(out);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package honey.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Represents the outcome of an export: how many tasks were read and written, how many bytes, and how fast.
+ */
+public final class ExportResult {
+    private final Path file;
+    private final long scannedCount;
+    private final long exportedCount;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    ExportResult(Path file, long scannedCount, long exportedCount, long bytes, long elapsedNanos) {
+        this.file = file;
+        this.scannedCount = scannedCount;
+        this.exportedCount = exportedCount;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getScannedCount() {
+        return scannedCount;
+    }
+
+    public long getExportedCount() {
+        return exportedCount;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of tasks written per second.
+     *
+     * @return The throughput in tasks per second.
+     */
+    public double getTasksPerSecond() {
+        return exportedCount * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * Gets the number of bytes written per second.
+     *
+     * @return The throughput in bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return bytes * 1e9 / Math.max(elapsedNanos, 1);
+    }
+}
@@ -0,0 +1,242 @@
+package honey.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.task.Task;
+
+/**
+ * Reads tasks from an iCalendar (ICS) file, one component at a time.
+ * A VEVENT becomes an event spanning its start and end dates, or its start and end times if it has them.
+ * A VTODO with a due date becomes a deadline, and one without becomes a todo. Other components, and components
+ * nested inside these, are skipped.
+ * Times in UTC or in a named time zone are converted to the local time zone, except that a due time in a named
+ * time zone is kept in it, as a deadline given in that zone.
+ */
+final class IcsTaskReader implements TaskRecordReader {
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int BASIC_DATE_LENGTH = "yyyyMMdd".length();
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final BufferedReader reader;
+    private final ZoneId localZone;
+    /** The next unfolded content line, read ahead to find continuation lines */
+    private String lookahead;
+    private long lookaheadLineNumber;
+    private long lineNumber;
+    private long recordLineNumber;
+
+    IcsTaskReader(BufferedReader reader, ZoneId localZone) throws IOException {
+        this.reader = reader;
+        this.localZone = localZone;
+        this.lookahead = reader.readLine();
+        this.lookaheadLineNumber = 1;
+        this.lineNumber = 1;
+    }
+
+    @Override
+    public Task next() throws IOException, HoneyException {
+        String line;
+        while ((line = readContentLine()) != null) {
+            String upper = line.toUpperCase(Locale.ROOT);
+            if (upper.equals("BEGIN:VEVENT") || upper.equals("BEGIN:VTODO")) {
+                recordLineNumber = lineNumber;
+                return readComponent(upper.substring("BEGIN:".length()));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * Reads the properties of a component up to its END line and converts it to a task.
+     */
+    private Task readComponent(String component) throws IOException, HoneyException {
+        String summary = null;
+        String start = null;
+        String end = null;
+        String due = null;
+        boolean isDone = false;
+        int nestedDepth = 0;
+
+        String line;
+        while ((line = readContentLine()) != null) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String nameAndParameters = line.substring(0, colon);
+            String value = line.substring(colon + 1);
+            String name = nameAndParameters.split(";", 2)[0].toUpperCase(Locale.ROOT);
+            if (name.equals("BEGIN")) {
+                nestedDepth++;
+            } else if (name.equals("END")) {
+                if (nestedDepth == 0) {
+                    break;
+                }
+                nestedDepth--;
+            } else if (nestedDepth == 0) {
+                switch (name) {
+                case "SUMMARY":
+                    summary = unescape(value);
+                    break;
+                case "DTSTART":
+                    start = line;
+                    break;
+                case "DTEND":
+                    end = line;
+                    break;
+                case "DUE":
+                    due = line;
+                    break;
+                case "STATUS":
+                    isDone = value.trim().equalsIgnoreCase("COMPLETED");
+                    break;
+                case "COMPLETED":
+                    isDone = true;
+                    break;
+                default:
+                    break;
+                }
+            }
+        }
+
+        if (component.equals("VTODO")) {
+            if (due == null) {
+                return ImportedTasks.todo(summary, isDone);
+            }
+            ZoneId dueZone = isDateOnly(due) ? null : parseTimeZone(due.substring(0, due.indexOf(':')));
+            if (dueZone != null) {
+                return ImportedTasks.deadline(summary, parseGivenDateTime(due, "due date"), dueZone, isDone);
+            }
+            return ImportedTasks.deadline(summary, parseDateTime(due, "due date"), isDone);
+        }
+        if (start == null) {
+            throw new InvalidCommandException("missing start date");
+        }
+        if (!isDateOnly(start)) {
+            LocalDateTime startTime = parseDateTime(start, "start date");
+            // An event with a start time and no end takes no time
+            LocalDateTime endTime = end == null ? startTime : parseDateTime(end, "end date");
+            return ImportedTasks.event(summary, startTime, endTime, isDone);
+        }
+        LocalDate startDate = parseDateTime(start, "start date").toLocalDate();
+        LocalDate endDate = startDate;
+        if (end != null) {
+            endDate = parseDateTime(end, "end date").toLocalDate();
+            // The end of an all-day event is exclusive: a one-day event ends on the following day
+            if (isDateOnly(end) && endDate.isAfter(startDate)) {
+                endDate = endDate.minusDays(1);
+            }
+        }
+        return ImportedTasks.event(summary, startDate, endDate, isDone);
+    }
+
+    /**
+     * Parses a DTSTART, DTEND or DUE line such as {@code DTSTART;TZID=Europe/Paris:20240115T090000}.
+     */
+    private LocalDateTime parseDateTime(String line, String fieldName) throws HoneyException {
+        int colon = line.indexOf(':');
+        String value = line.substring(colon + 1).trim();
+        try {
+            if (isDateOnly(line)) {
+                return LocalDate.parse(value, BASIC_DATE).atStartOfDay();
+            }
+            if (value.endsWith("Z")) {
+                LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), BASIC_DATE_TIME);
+                return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(localZone).toLocalDateTime();
+            }
+            LocalDateTime dateTime = LocalDateTime.parse(value, BASIC_DATE_TIME);
+            ZoneId zone = parseTimeZone(line.substring(0, colon));
+            return zone == null ? dateTime : dateTime.atZone(zone).withZoneSameInstant(localZone).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandException("invalid " + fieldName);
+        }
+    }
+
+    /**
+     * Parses the date and time of a line with a TZID as given, without converting it to the local time zone.
+     */
+    private static LocalDateTime parseGivenDateTime(String line, String fieldName) throws HoneyException {
+        try {
+            return LocalDateTime.parse(line.substring(line.indexOf(':') + 1).trim(), BASIC_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCommandException("invalid " + fieldName);
+        }
+    }
+
+    private static boolean isDateOnly(String line) {
+        int colon = line.indexOf(':');
+        String parameters = line.substring(0, colon).toUpperCase(Locale.ROOT);
+        return parameters.contains("VALUE=DATE") && !parameters.contains("VALUE=DATE-TIME")
+                || line.substring(colon + 1).trim().length() == BASIC_DATE_LENGTH;
+    }
+
+    /**
+     * Returns the zone named by a TZID parameter, or null if there is none or it is not a known zone,
+     * in which case the time is taken as local.
+     */
+    private static ZoneId parseTimeZone(String nameAndParameters) {
+        for (String parameter : nameAndParameters.split(";")) {
+            if (parameter.toUpperCase(Locale.ROOT).startsWith("TZID=")) {
+                try {
+                    return ZoneId.of(parameter.substring("TZID=".length()).replace("\"", ""));
+                } catch (DateTimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String unescape(String text) {
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char escaped = text.charAt(++i);
+                unescaped.append(escaped == 'n' || escaped == 'N' ? ' ' : escaped);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * Reads one logical line, joining the physical lines that continue it (those starting with a space or tab).
+     *
+     * @return The unfolded line, or null at the end of the file.
+     */
+    private String readContentLine() throws IOException {
+        if (lookahead == null) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder(lookahead);
+        lineNumber = lookaheadLineNumber;
+        while (true) {
+            lookahead = reader.readLine();
+            lookaheadLineNumber++;
+            if (lookahead == null || lookahead.isEmpty()
+                    || (lookahead.charAt(0) != ' ' && lookahead.charAt(0) != '\t')) {
+                break;
+            }
+            line.append(lookahead, 1, lookahead.length());
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package honey.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Writes tasks as an iCalendar file.
+ * Events become VEVENTs, all-day ones unless the event has times, recurring tasks become VEVENTs with an RRULE,
+ * deadlines become VTODOs with a due time, and todos become VTODOs without one. Times are written as floating
+ * local times, as Honey stores them, except that a deadline given in a time zone is written in that zone, so it
+ * is read back as the same moment whatever zone Honey runs in. Long lines are folded at 75 octets as the format
+ * requires.
+ */
+final class IcsTaskWriter implements TaskRecordWriter {
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Writer out;
+    private final String timestamp;
+    private final String uidPrefix;
+    private long sequence;
+
+    IcsTaskWriter(Writer out, Instant exportTime) {
+        this.out = out;
+        this.timestamp = BASIC_DATE_TIME.format(exportTime.atOffset(ZoneOffset.UTC)) + "Z";
+        this.uidPrefix = "honey-" + exportTime.toEpochMilli() + "-";
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//Honey//Honey Task Manager//EN");
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        if (task instanceof Event event) {
+            beginComponent("VEVENT", event.getTaskName());
+            if (event.hasTimes()) {
+                writeLine("DTSTART:" + BASIC_DATE_TIME.format(event.getStart()));
+                writeLine("DTEND:" + BASIC_DATE_TIME.format(event.getEnd()));
+            } else {
+                writeLine("DTSTART;VALUE=DATE:" + BASIC_DATE.format(event.getStartDate()));
+                // The end of an all-day event is exclusive
+                writeLine("DTEND;VALUE=DATE:" + BASIC_DATE.format(event.getEndDate().plusDays(1)));
+            }
+            writeLine("END:VEVENT");
+        } else if (task instanceof Recurring recurring) {
+            beginComponent("VEVENT", recurring.getTaskName());
+            LocalDate start = recurring.getRule().nextOnOrAfter(recurring.getStartDate());
+            if (recurring.getTime() == null) {
+                writeLine("DTSTART;VALUE=DATE:" + BASIC_DATE.format(start));
+            } else {
+                writeLine("DTSTART:" + BASIC_DATE_TIME.format(start.atTime(recurring.getTime())));
+            }
+            String until = recurring.getEndDate() == null ? "" : ";UNTIL=" + BASIC_DATE.format(recurring.getEndDate());
+            writeLine("RRULE:" + recurring.getRule().toRrule() + until);
+            writeLine("END:VEVENT");
+        } else {
+            String name = task instanceof Deadline deadline ? deadline.getTaskName()
+                    : task instanceof Todo ? task.getDescription().substring(5) : task.getDescription();
+            beginComponent("VTODO", name);
+            if (task instanceof Deadline deadline) {
+                writeDue(deadline);
+            }
+            writeLine(task.getIsDone() ? "STATUS:COMPLETED" : "STATUS:NEEDS-ACTION");
+            writeLine("END:VTODO");
+        }
+    }
+
+    @Override
+    public void writeFooter() throws IOException {
+        writeLine("END:VCALENDAR");
+    }
+
+    private void writeDue(Deadline deadline) throws IOException {
+        ZoneId zone = deadline.getZone();
+        if (zone == null) {
+            writeLine("DUE:" + BASIC_DATE_TIME.format(deadline.getGivenDeadline()));
+        } else if (zone.getId().indexOf(':') < 0) {
+            writeLine("DUE;TZID=" + zone.getId() + ":" + BASIC_DATE_TIME.format(deadline.getGivenDeadline()));
+        } else {
+            // An offset such as +08:00 would need quoting as a TZID, so the moment is written in UTC instead
+            writeLine("DUE:" + BASIC_DATE_TIME.format(deadline.getDeadline(ZoneOffset.UTC)) + "Z");
+        }
+    }
+
+    private void beginComponent(String component, String summary) throws IOException {
+        writeLine("BEGIN:" + component);
+        writeLine("UID:" + uidPrefix + sequence++ + "@honey");
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("SUMMARY:" + escape(summary));
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c != '\r') {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Writes a content line, folding it onto continuation lines so that none is longer than 75 octets
+     * and no character is split across lines.
+     */
+    private void writeLine(String line) throws IOException {
+        int segmentStart = 0;
+        int lineOctets = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int octets = utf8Length(codePoint);
+            if (lineOctets + octets > MAX_LINE_OCTETS) {
+                out.write(line, segmentStart, i - segmentStart);
+                out.write("\r\n ");
+                segmentStart = i;
+                lineOctets = 1;
+            }
+            lineOctets += octets;
+            i += Character.charCount(codePoint);
+        }
+        out.write(line, segmentStart, line.length() - segmentStart);
+        out.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
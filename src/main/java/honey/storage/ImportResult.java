@@ -0,0 +1,89 @@
+package honey.storage;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Represents the outcome of importing a file: how many rows became tasks, how many were rejected and why,
+ * how many imported events overlap an earlier event, and how long it took.
+ */
+public final class ImportResult {
+    private final long importedCount;
+    private final long rejectedCount;
+    private final long overlappingCount;
+    private final long elapsedNanos;
+    private final Map<String, Rejection> rejections;
+
+    ImportResult(long importedCount, long rejectedCount, long overlappingCount, long elapsedNanos,
+            Map<String, Rejection> rejections) {
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.overlappingCount = overlappingCount;
+        this.elapsedNanos = elapsedNanos;
+        this.rejections = Collections.unmodifiableMap(rejections);
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the number of imported events still to do that overlap an event before them, already in the list
+     * or imported earlier from the same file.
+     *
+     * @return The number of overlapping events.
+     */
+    public long getOverlappingCount() {
+        return overlappingCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the rejected rows grouped by reason, in the order each reason was first seen.
+     *
+     * @return The rejections for each reason.
+     */
+    public Map<String, Rejection> getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Gets the number of rows, imported or rejected, read per second.
+     *
+     * @return The throughput in rows per second.
+     */
+    public double getRowsPerSecond() {
+        return (importedCount + rejectedCount) * 1e9 / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * Represents the rows rejected for one reason.
+     */
+    public static final class Rejection {
+        private final long firstLineNumber;
+        private long count;
+
+        Rejection(long firstLineNumber) {
+            this.firstLineNumber = firstLineNumber;
+        }
+
+        public long getFirstLineNumber() {
+            return firstLineNumber;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        void add() {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package honey.storage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Builds tasks from fields already parsed out of an imported record.
+ * Fields are passed to the task constructors in their canonical formats, so imported tasks are validated
+ * by exactly the same rules as tasks the user adds.
+ */
+final class ImportedTasks {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ImportedTasks() {
+    }
+
+    static Task todo(String name, boolean isDone) throws HoneyException {
+        return withStatus(new Todo("todo " + checkName(name)), isDone);
+    }
+
+    static Task deadline(String name, LocalDateTime due, boolean isDone) throws HoneyException {
+        return withStatus(new Deadline("deadline " + checkName(name) + " /by " + due.format(DATE_TIME)), isDone);
+    }
+
+    static Task deadline(String name, LocalDateTime due, ZoneId zone, boolean isDone) throws HoneyException {
+        return withStatus(new Deadline("deadline " + checkName(name) + " /by " + due.format(DATE_TIME) + " "
+                + zone.getId()), isDone);
+    }
+
+    static Task event(String name, LocalDate start, LocalDate end, boolean isDone) throws HoneyException {
+        if (start.isAfter(end)) {
+            throw new InvalidCommandException("start date is after end date");
+        }
+        return withStatus(new Event("event " + checkName(name) + " /from " + start + " /to " + end), isDone);
+    }
+
+    static Task event(String name, LocalDateTime start, LocalDateTime end, boolean isDone) throws HoneyException {
+        if (start.isAfter(end)) {
+            throw new InvalidCommandException("start time is after end time");
+        }
+        return withStatus(new Event("event " + checkName(name) + " /from " + start.format(DATE_TIME)
+                + " /to " + end.format(DATE_TIME)), isDone);
+    }
+
+    static Task recurring(String name, String schedule, boolean isDone) throws HoneyException {
+        if (!schedule.startsWith("/every ")) {
+            throw new InvalidCommandException("missing schedule");
+        }
+        return withStatus(new Recurring("recurring " + checkName(name) + " " + schedule), isDone);
+    }
+
+    /**
+     * Flattens whitespace, and rejects names that would be misread as a date clause or break the data file.
+     */
+    private static String checkName(String name) throws HoneyException {
+        String flattened = name == null ? "" : WHITESPACE.matcher(name).replaceAll(" ").trim();
+        if (flattened.isEmpty()) {
+            throw new InvalidCommandException("missing name");
+        }
+        if (flattened.contains(" /") || flattened.contains(" | ")) {
+            throw new InvalidCommandException("name contains ' /' or ' | '");
+        }
+        return flattened;
+    }
+
+    private static Task withStatus(Task task, boolean isDone) {
+        if (isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,87 @@
+package honey.storage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Writes tasks as JSON Lines: one JSON object per line, such as
+ * {@code {"type":"deadline","name":"submit report","done":false,"due":"2024-03-01T17:00"}}.
+ */
+final class JsonLinesTaskWriter implements TaskRecordWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    /** Reused for every line, so writing allocates nothing per task beyond the field strings */
+    private final StringBuilder line = new StringBuilder();
+
+    JsonLinesTaskWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() {
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        line.setLength(0);
+        line.append("{\"type\":\"").append(task.getTaskType().name().toLowerCase(Locale.ROOT)).append("\",\"name\":");
+        if (task instanceof Deadline deadline) {
+            appendString(deadline.getTaskName());
+            appendDone(task);
+            line.append(",\"due\":\"").append(deadline.getDeadline()).append('"');
+        } else if (task instanceof Event event) {
+            appendString(event.getTaskName());
+            appendDone(task);
+            if (event.hasTimes()) {
+                line.append(",\"start\":\"").append(event.getStart())
+                        .append("\",\"end\":\"").append(event.getEnd()).append('"');
+            } else {
+                line.append(",\"start\":\"").append(event.getStartDate())
+                        .append("\",\"end\":\"").append(event.getEndDate()).append('"');
+            }
+        } else if (task instanceof Recurring recurring) {
+            appendString(recurring.getTaskName());
+            appendDone(task);
+            line.append(",\"schedule\":");
+            appendString(recurring.getScheduleClauses());
+        } else {
+            appendString(task instanceof Todo ? task.getDescription().substring(5) : task.getDescription());
+            appendDone(task);
+        }
+        out.append(line.append("}\n"));
+    }
+
+    @Override
+    public void writeFooter() {
+    }
+
+    private void appendDone(Task task) {
+        line.append(",\"done\":").append(task.getIsDone());
+    }
+
+    /**
+     * Appends a JSON string literal, escaping quotes, backslashes and control characters.
+     */
+    private void appendString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < ' ') {
+                line.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
@@ -3,68 +3,308 @@ package honey.storage;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.metrics.Metrics;
+import honey.metrics.StorageLoadEvent;
+import honey.metrics.StorageSaveEvent;
 import honey.task.Task;
 
 /**
  * Handles loading and saving of tasks to persistent storage.
  * Manages file I/O operations for task data persistence.
  * Uses TaskEncoder and TaskDecoder for serialization/deserialization.
+ * Saves may run on a background executor, in which case only the newest pending snapshot is written.
+ * The undo history is kept in a file next to the data file and saved the same way, after the tasks.
+ * Exports always run on a background thread of their own, so a long export never delays a save.
+ * A Storage may be given a directory of its own for the files its user imports and exports, as each hive on the
+ * server is; such files must then be named by a path inside that directory.
  */
 public class Storage {
+    /** Shared daemon thread that writes background saves for every Storage */
+    private static final ExecutorService BACKGROUND_SAVER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "honey-storage");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Shared daemon thread that writes exports for every Storage, one at a time */
+    private static final ExecutorService BACKGROUND_EXPORTER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "honey-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Suffix added to the data file's name to name the undo history file next to it */
+    private static final String HISTORY_SUFFIX = ".undo";
+
     /** Path to the data file */
     private final Path dataFilePath;
+    /** Path to the undo history file */
+    private final Path historyFilePath;
     /** Path to the data directory */
     private final Path dataDirPath;
+    /** Directory that imported and exported files must be in, or null if they may be anywhere */
+    private final Path filesDirPath;
     /** Encoder for converting tasks to string format */
     private final TaskEncoder encoder;
     /** Decoder for converting strings back to tasks */
     private final TaskDecoder decoder;
+    /** Executor that performs the file writes for saveTasks */
+    private final Executor saveExecutor;
+    /** Newest snapshot waiting to be written, or null if the file is up to date */
+    private final AtomicReference<List<Task>> pendingSnapshot = new AtomicReference<>();
+    /** Newest undo history waiting to be written, or null if the history file is up to date */
+    private final AtomicReference<List<String>> pendingHistory = new AtomicReference<>();
+    /** Guards the data file so that writes never overlap */
+    private final Object fileLock = new Object();
+    /** Completes once the most recently scheduled write has finished */
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null);
+    /** Completes once the most recently started export has finished */
+    private CompletableFuture<ExportResult> lastExport = CompletableFuture.completedFuture(null);
 
     /**
      * Constructs a Storage object with the specified file path.
+     * Saves are written synchronously on the calling thread.
      *
      * @param filePath Path to the data file for storing tasks.
      */
     public Storage(String filePath) {
+        this(filePath, Runnable::run);
+    }
+
+    /**
+     * Constructs a Storage object with the specified file path whose saves run on the given executor.
+     *
+     * @param filePath Path to the data file for storing tasks.
+     * @param saveExecutor Executor that performs the file writes.
+     */
+    public Storage(String filePath, Executor saveExecutor) {
+        this(filePath, saveExecutor, null);
+    }
+
+    /**
+     * Constructs a Storage object whose saves run on the given executor and whose imported and exported files
+     * must be in the given directory.
+     *
+     * @param filePath Path to the data file for storing tasks.
+     * @param saveExecutor Executor that performs the file writes.
+     * @param filesDir Directory that imported and exported files must be in, or null if they may be anywhere.
+     */
+    public Storage(String filePath, Executor saveExecutor, Path filesDir) {
         assert filePath != null : "File path cannot be null";
         assert !filePath.trim().isEmpty() : "File path cannot be empty";
+        assert saveExecutor != null : "Save executor cannot be null";
         this.dataFilePath = Paths.get(filePath);
         this.dataDirPath = this.dataFilePath.getParent();
+        this.historyFilePath = this.dataFilePath.resolveSibling(this.dataFilePath.getFileName() + HISTORY_SUFFIX);
         this.encoder = new TaskEncoder();
         this.decoder = new TaskDecoder();
+        this.saveExecutor = saveExecutor;
+        this.filesDirPath = filesDir == null ? null : filesDir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Constructs a Storage object that writes its saves on a shared background thread,
+     * so that callers never wait for file I/O.
+     *
+     * @param filePath Path to the data file for storing tasks.
+     * @return A Storage with background saves.
+     */
+    public static Storage withBackgroundSaves(String filePath) {
+        return withBackgroundSaves(filePath, null);
+    }
+
+    /**
+     * Constructs a Storage object that writes its saves on a shared background thread and whose imported and
+     * exported files must be in the given directory.
+     *
+     * @param filePath Path to the data file for storing tasks.
+     * @param filesDir Directory that imported and exported files must be in, or null if they may be anywhere.
+     * @return A Storage with background saves.
+     */
+    public static Storage withBackgroundSaves(String filePath, Path filesDir) {
+        return new Storage(filePath, BACKGROUND_SAVER, filesDir);
+    }
+
+    /**
+     * Resolves the path a user gave for a file to import or export.
+     * Without a directory for such files the path is used as given. With one, the path must be relative and
+     * must not name a parent directory, and it is resolved inside the directory, so that one user can never
+     * reach a file outside it, such as another user's.
+     *
+     * @param file The path the user gave.
+     * @return The path of the file to read or write.
+     * @throws InvalidCommandException If the path leads outside the directory for such files.
+     */
+    public Path resolveUserFile(Path file) throws InvalidCommandException {
+        if (filesDirPath == null) {
+            return file;
+        }
+        boolean isNamingParent = false;
+        for (Path part : file) {
+            isNamingParent |= part.toString().equals("..");
+        }
+        Path resolved = filesDirPath.resolve(file).normalize();
+        if (file.isAbsolute() || file.getRoot() != null || isNamingParent || !resolved.startsWith(filesDirPath)
+                || resolved.equals(filesDirPath)) {
+            throw new InvalidCommandException("I can only reach files in your own folder, sweetie! "
+                    + "Please give me a plain file name, like tasks.csv 🐝");
+        }
+        return resolved;
     }
 
     /**
      * Saves the list of tasks to the data file.
-     * Creates the directory if it doesn't exist.
+     * The list should be an immutable snapshot, as it may be written after this method returns.
+     * If several saves are requested before the first one starts, only the newest snapshot is written.
      *
      * @param tasks List of tasks to save.
      */
-    public void saveTasks(ArrayList<Task> tasks) {
+    public void saveTasks(List<Task> tasks) {
         assert tasks != null : "Tasks list cannot be null";
-        try {
-            // Create directory if it doesn't exist
-            if (dataDirPath != null && !Files.exists(dataDirPath)) {
-                Files.createDirectories(dataDirPath);
-                assert Files.exists(dataDirPath) : "Directory should exist after creation";
+        synchronized (this) {
+            boolean isScheduled = pendingSnapshot.get() != null || pendingHistory.get() != null;
+            pendingSnapshot.set(tasks);
+            if (!isScheduled) {
+                lastSave = CompletableFuture.runAsync(this::writePending, saveExecutor);
+            }
+        }
+    }
+
+    /**
+     * Saves the undo history to its file next to the data file, after any tasks saved before it.
+     * If several saves are requested before the first one starts, only the newest history is written.
+     *
+     * @param lines The lines of the history, which should not be changed afterwards.
+     */
+    public void saveHistory(List<String> lines) {
+        assert lines != null : "History cannot be null";
+        synchronized (this) {
+            boolean isScheduled = pendingSnapshot.get() != null || pendingHistory.get() != null;
+            pendingHistory.set(lines);
+            if (!isScheduled) {
+                lastSave = CompletableFuture.runAsync(this::writePending, saveExecutor);
+            }
+        }
+    }
+
+    /**
+     * Exports tasks to a file on a background thread, so the caller is never blocked by the export.
+     * A failed export is reported as a warning, as a failed save is.
+     *
+     * @param tasks The tasks to export, which should be an immutable snapshot.
+     * @param file The file to write.
+     * @param exporter The exporter that chooses the format and filters the tasks.
+     * @return A future completed with the outcome of the export.
+     */
+    public CompletableFuture<ExportResult> exportTasks(List<Task> tasks, Path file, TaskExporter exporter) {
+        assert tasks != null : "Tasks list cannot be null";
+        CompletableFuture<ExportResult> export = CompletableFuture.supplyAsync(() -> {
+            try {
+                return exporter.export(tasks, file);
+            } catch (IOException e) {
+                System.out.println(" Warning: Could not export tasks to " + file + ". " + e.getMessage());
+                throw new UncheckedIOException(e);
             }
+        }, BACKGROUND_EXPORTER);
+        synchronized (this) {
+            lastExport = export;
+        }
+        return export;
+    }
+
+    /**
+     * Waits until every save requested so far has been written to the data file,
+     * and every export started so far has finished.
+     */
+    public void flush() {
+        CompletableFuture<Void> save;
+        CompletableFuture<ExportResult> export;
+        synchronized (this) {
+            save = lastSave;
+            export = lastExport;
+        }
+        save.join();
+        export.exceptionally(error -> null).join();
+    }
 
-            // Write tasks to file
-            try (BufferedWriter writer = Files.newBufferedWriter(dataFilePath)) {
-                for (Task task : tasks) {
-                    writer.write(encoder.encode(task));
-                    writer.newLine();
+    /**
+     * Writes the pending tasks and then the pending history, taking both at once so that a save requested
+     * meanwhile is either written here or scheduled again.
+     */
+    private void writePending() {
+        List<Task> tasks;
+        List<String> history;
+        synchronized (this) {
+            tasks = pendingSnapshot.getAndSet(null);
+            history = pendingHistory.getAndSet(null);
+        }
+        if (tasks != null) {
+            writeTasks(tasks);
+        }
+        if (history != null) {
+            writeHistory(history);
+        }
+    }
+
+    /**
+     * Writes the undo history to its file, replacing what was there.
+     */
+    private void writeHistory(List<String> lines) {
+        synchronized (fileLock) {
+            try {
+                if (dataDirPath != null && !Files.exists(dataDirPath)) {
+                    Files.createDirectories(dataDirPath);
                 }
+                Files.write(historyFilePath, lines);
+            } catch (IOException e) {
+                System.out.println(" Warning: Could not save the undo history. " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the tasks to the data file, creating the directory if it doesn't exist.
+     * Writes are serialised so that concurrent savers never interleave lines in the file.
+     */
+    private void writeTasks(List<Task> tasks) {
+        synchronized (fileLock) {
+            StorageSaveEvent event = new StorageSaveEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                // Create directory if it doesn't exist
+                if (dataDirPath != null && !Files.exists(dataDirPath)) {
+                    Files.createDirectories(dataDirPath);
+                    assert Files.exists(dataDirPath) : "Directory should exist after creation";
+                }
+
+                // Write tasks to file
+                try (BufferedWriter writer = Files.newBufferedWriter(dataFilePath)) {
+                    for (Task task : tasks) {
+                        writer.write(encoder.encode(task));
+                        writer.newLine();
+                    }
+                }
+                assert Files.exists(dataFilePath) : "Data file should exist after writing";
+                long bytes = Files.size(dataFilePath);
+                Metrics.getInstance().recordSave(System.nanoTime() - start, bytes, tasks.size());
+                event.commit(dataFilePath.toString(), tasks.size(), bytes);
+            } catch (IOException e) {
+                System.out.println(" Warning: Could not save tasks to file. " + e.getMessage());
             }
-            assert Files.exists(dataFilePath) : "Data file should exist after writing";
-        } catch (IOException e) {
-            System.out.println(" Warning: Could not save tasks to file. " + e.getMessage());
         }
     }
 
@@ -76,6 +316,9 @@ public class Storage {
      * @throws HoneyException If there are issues reading the file.
      */
     public ArrayList<Task> load() throws HoneyException {
+        StorageLoadEvent event = new StorageLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
         ArrayList<Task> tasks = new ArrayList<>();
 
         // Return empty list if file doesn't exist
@@ -99,7 +342,27 @@ public class Storage {
             System.out.println(" Warning: Could not load tasks from file. " + e.getMessage());
         }
 
+        Metrics.getInstance().recordLoad(System.nanoTime() - start, tasks.size());
+        event.commit(dataFilePath.toString(), tasks.size());
         return tasks;
     }
 
+    /**
+     * Loads the lines of the undo history saved next to the data file.
+     * Returns no lines if there is no history or it cannot be read, as the tasks are usable without it.
+     *
+     * @return The lines of the history.
+     */
+    public List<String> loadHistory() {
+        if (!Files.exists(historyFilePath)) {
+            return new ArrayList<>();
+        }
+        try {
+            return Files.readAllLines(historyFilePath);
+        } catch (IOException e) {
+            System.out.println(" Warning: Could not load the undo history. " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
 }
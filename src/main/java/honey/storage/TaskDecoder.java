@@ -1,9 +1,16 @@
 package honey.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
 import honey.exceptions.HoneyException;
 import honey.task.Deadline;
 import honey.task.Event;
+import honey.task.Recurring;
 import honey.task.Task;
+import honey.task.TaskAttributes;
 import honey.task.Todo;
 
 /**
@@ -11,6 +18,10 @@ import honey.task.Todo;
  * Reconstructs task objects from stored file data.
  */
 public class TaskDecoder {
+    /** A first field holding the task's ID */
+    private static final Pattern ID = Pattern.compile("[1-9]\\d{0,17}");
+    /** A field holding the IDs of the task's prerequisites */
+    private static final Pattern PREREQUISITES = Pattern.compile(TaskEncoder.AFTER + "( [1-9]\\d{0,17})+");
 
     /**
      * Parses a task from a file format string.
@@ -27,9 +38,30 @@ public class TaskDecoder {
         }
 
         String[] parts = line.split(" \\| ");
+        long id = 0;
+        if (parts.length > 0 && ID.matcher(parts[0]).matches()) {
+            id = Long.parseLong(parts[0]);
+            parts = Arrays.copyOfRange(parts, 1, parts.length);
+        }
         if (parts.length < 3) {
             throw new RuntimeException("Invalid format: insufficient parts");
         }
+        // Every type has at least three fields, so a fourth or later field of tags and a priority is the last one
+        TaskAttributes attributes = null;
+        if (parts.length >= 4 && TaskAttributes.isAttributes(parts[parts.length - 1])) {
+            attributes = TaskAttributes.parse(parts[parts.length - 1]);
+            parts = Arrays.copyOf(parts, parts.length - 1);
+        }
+        List<Long> prerequisites = List.of();
+        if (parts.length >= 4 && PREREQUISITES.matcher(parts[parts.length - 1]).matches()) {
+            prerequisites = new ArrayList<>();
+            for (String word : parts[parts.length - 1].split(" ")) {
+                if (!word.equals(TaskEncoder.AFTER)) {
+                    prerequisites.add(Long.parseLong(word));
+                }
+            }
+            parts = Arrays.copyOf(parts, parts.length - 1);
+        }
 
         String typeStr = parts[0].trim();
         boolean isDone = "1".equals(parts[1].trim());
@@ -48,8 +80,13 @@ public class TaskDecoder {
             if (parts.length != 4) {
                 throw new RuntimeException("Invalid DEADLINE format");
             }
-            // Parse stored ISO datetime format (yyyy-MM-ddTHH:mm or yyyy-MM-dd)
+            // Parse stored ISO datetime format (yyyy-MM-ddTHH:mm or yyyy-MM-dd), with any [zone] after it
             String storedDateTime = parts[3].trim();
+            String zone = "";
+            if (storedDateTime.endsWith("]") && storedDateTime.contains("[")) {
+                zone = " " + storedDateTime.substring(storedDateTime.indexOf('[') + 1, storedDateTime.length() - 1);
+                storedDateTime = storedDateTime.substring(0, storedDateTime.indexOf('['));
+            }
             if (storedDateTime.contains("T")) {
                 // Has time component, convert back to our input format
                 storedDateTime = storedDateTime.replace("T", " ").replace(":", "");
@@ -58,7 +95,7 @@ public class TaskDecoder {
                     storedDateTime = storedDateTime.substring(0, 15);
                 }
             }
-            task = new Deadline("deadline " + parts[2].trim() + " /by " + storedDateTime);
+            task = new Deadline("deadline " + parts[2].trim() + " /by " + storedDateTime + zone);
             break;
 
         case "E":
@@ -74,6 +111,13 @@ public class TaskDecoder {
                     + " /to " + timeParts[1].trim());
             break;
 
+        case "R":
+            if (parts.length != 4) {
+                throw new RuntimeException("Invalid RECURRING format");
+            }
+            task = new Recurring("recurring " + parts[2].trim() + " " + parts[3].trim());
+            break;
+
         default:
             throw new RuntimeException("Unknown task type: " + typeStr);
         }
@@ -81,6 +125,15 @@ public class TaskDecoder {
         if (task != null && isDone) {
             task.markAsDone();
         }
+        if (task != null && attributes != null) {
+            attributes.applyTo(task);
+        }
+        if (task != null && id > 0) {
+            task.setId(id);
+        }
+        if (task != null && !prerequisites.isEmpty()) {
+            task.setPrerequisites(prerequisites);
+        }
 
         return task;
     }
@@ -2,14 +2,26 @@ package honey.storage;
 
 import honey.task.Deadline;
 import honey.task.Event;
+import honey.task.Recurring;
 import honey.task.Task;
+import honey.task.TaskAttributes;
 import honey.task.Todo;
 
 /**
  * Handles encoding Task objects into string format for file storage.
  * Converts task objects into a standardized file format.
+ * Tags and a priority, if a task has them, are written as a last field, such as {@code T | 0 | read | #book !low}.
+ * A task's ID, once it has one, is written as a first field, and the IDs of its prerequisites, if it has any,
+ * as a field before the tags, such as {@code 12 | T | 0 | read | after 3 7}.
+ * A deadline given in a time zone is written with the zone after it, such as
+ * {@code D | 0 | call | 2024-03-01T17:00[America/New_York]}, and an event with times as dates and times, such as
+ * {@code E | 0 | standup | 2024-03-01T09:00 to 2024-03-01T09:15}.
+ * Each of these only adds to what a line may hold, so the file has no version: lines written before them read
+ * the same as before.
  */
 public class TaskEncoder {
+    /** Word that starts the field of prerequisite IDs */
+    static final String AFTER = "after";
 
     /**
      * Converts a task object to file format string.
@@ -20,6 +32,9 @@ public class TaskEncoder {
      */
     public String encode(Task task) {
         StringBuilder sb = new StringBuilder();
+        if (task.getId() > 0) {
+            sb.append(task.getId()).append(" | ");
+        }
         sb.append(task.getType()).append(" | ");
         sb.append(task.getIsDone() ? "1" : "0").append(" | ");
 
@@ -28,11 +43,34 @@ public class TaskEncoder {
         } else if (task instanceof Deadline) {
             Deadline deadline = (Deadline) task;
             sb.append(deadline.getTaskName()).append(" | ");
-            sb.append(deadline.getDeadline().toString()); // Store as ISO format: yyyy-MM-ddTHH:mm
+            sb.append(deadline.getGivenDeadline().toString()); // Store as ISO format: yyyy-MM-ddTHH:mm
+            if (deadline.getZone() != null) {
+                sb.append('[').append(deadline.getZone()).append(']');
+            }
         } else if (task instanceof Event) {
             Event event = (Event) task;
             sb.append(event.getTaskName()).append(" | ");
-            sb.append(event.getStartDate().toString()).append(" to ").append(event.getEndDate().toString());
+            if (event.hasTimes()) {
+                sb.append(event.getStart()).append(" to ").append(event.getEnd());
+            } else {
+                sb.append(event.getStartDate().toString()).append(" to ").append(event.getEndDate().toString());
+            }
+        } else if (task instanceof Recurring) {
+            Recurring recurring = (Recurring) task;
+            sb.append(recurring.getTaskName()).append(" | ");
+            sb.append(recurring.getScheduleClauses()); // Stored as one rule, e.g. /every day /from 2024-01-01
+        }
+
+        if (!task.getPrerequisites().isEmpty()) {
+            sb.append(" | ").append(AFTER);
+            for (long prerequisite : task.getPrerequisites()) {
+                sb.append(' ').append(prerequisite);
+            }
+        }
+
+        // Tags and priority go last, and only if there are any, so older files still read the same
+        if (!task.getTags().isEmpty() || task.getPriority() != null) {
+            sb.append(" | ").append(TaskAttributes.format(task.getTags(), task.getPriority()));
         }
 
         return sb.toString();
@@ -0,0 +1,96 @@
+package honey.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+
+import honey.metrics.Metrics;
+import honey.task.HoneyClock;
+import honey.task.Task;
+
+/**
+ * Exports tasks to CSV, JSON Lines or iCalendar files.
+ * Tasks are streamed from a list, normally an immutable TaskSnapshot, through a fixed-size buffer, so an export
+ * of any size never holds more than one record and one buffer of output in memory.
+ * Files are written to a temporary file first and then moved into place, so readers never see a partial export.
+ */
+public class TaskExporter {
+    /** Characters buffered before each write to the file */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final ExportFilter filter;
+
+    /**
+     * Constructs a TaskExporter that writes the tasks passing a filter in the given format.
+     *
+     * @param format The format to write.
+     * @param filter Which tasks to write.
+     */
+    public TaskExporter(ExportFormat format, ExportFilter filter) {
+        assert format != null : "Format cannot be null";
+        assert filter != null : "Filter cannot be null";
+        this.format = format;
+        this.filter = filter;
+    }
+
+    /**
+     * Streams the tasks that pass the filter to a writer.
+     * The writer is flushed but not closed.
+     *
+     * @param tasks The tasks to export, which must not change while they are written.
+     * @param out Where to write them.
+     * @return The number of tasks written.
+     * @throws IOException If writing fails.
+     */
+    public long write(List<Task> tasks, Writer out) throws IOException {
+        TaskRecordWriter records = format.newWriter(out, Instant.now(HoneyClock.getInstance().getClock()));
+        records.writeHeader();
+        long exportedCount = 0;
+        for (Task task : tasks) {
+            if (filter.accepts(task)) {
+                records.write(task);
+                exportedCount++;
+            }
+        }
+        records.writeFooter();
+        out.flush();
+        return exportedCount;
+    }
+
+    /**
+     * Streams the tasks that pass the filter to a file, replacing it atomically.
+     *
+     * @param tasks The tasks to export, which must not change while they are written.
+     * @param file The file to write.
+     * @return How many tasks were written, and how fast.
+     * @throws IOException If the file cannot be written.
+     */
+    public ExportResult export(List<Task> tasks, Path file) throws IOException {
+        long start = System.nanoTime();
+        Path absolutePath = file.toAbsolutePath();
+        Path directory = absolutePath.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporaryFile = absolutePath.resolveSibling(absolutePath.getFileName() + ".tmp");
+        long exportedCount;
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temporaryFile),
+                StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            exportedCount = write(tasks, out);
+        }
+        Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        long bytes = Files.size(absolutePath);
+        long elapsedNanos = System.nanoTime() - start;
+        Metrics.getInstance().recordExport(elapsedNanos, bytes, exportedCount);
+        return new ExportResult(file, tasks.size(), exportedCount, bytes, elapsedNanos);
+    }
+}
@@ -0,0 +1,125 @@
+package honey.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.task.HoneyClock;
+import honey.task.Task;
+import honey.tasklist.TaskList;
+
+/**
+ * Imports tasks from iCalendar (.ics) and CSV (.csv) files into a TaskList.
+ * Files are streamed a record at a time and tasks are added in fixed-size batches, so memory use does not
+ * grow with the file. Rows that cannot be imported are counted by reason instead of being printed one by one.
+ * Saving the imported tasks is left to the caller, so it happens once per import rather than once per batch.
+ */
+public class TaskImporter {
+    /** Number of tasks added to the TaskList in each change */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    /** Distinct rejection reasons kept; later ones are counted together so the report stays bounded */
+    private static final int MAX_REJECTION_REASONS = 8;
+    private static final String OTHER_REASON = "other problems";
+
+    private final TaskList tasks;
+    private final int batchSize;
+    private final ZoneId localZone;
+
+    /**
+     * Constructs a TaskImporter that adds tasks to the given TaskList, converting calendar times to the
+     * {@link HoneyClock}'s zone, which every other time in Honey is read in.
+     *
+     * @param tasks The TaskList to add the imported tasks to.
+     */
+    public TaskImporter(TaskList tasks) {
+        this(tasks, DEFAULT_BATCH_SIZE, HoneyClock.getInstance().getZone());
+    }
+
+    /**
+     * Constructs a TaskImporter with the given batch size, converting calendar times to the given zone.
+     *
+     * @param tasks The TaskList to add the imported tasks to.
+     * @param batchSize Number of tasks to add in each change to the TaskList.
+     * @param localZone The time zone that imported times are converted to.
+     */
+    public TaskImporter(TaskList tasks, int batchSize, ZoneId localZone) {
+        assert tasks != null : "TaskList cannot be null";
+        assert batchSize > 0 : "Batch size must be positive";
+        this.tasks = tasks;
+        this.batchSize = batchSize;
+        this.localZone = localZone;
+    }
+
+    /**
+     * Imports every valid row of a file, choosing the format from its extension.
+     *
+     * @param file The .ics or .csv file to import.
+     * @return How many rows were imported and rejected, and how fast.
+     * @throws HoneyException If the file cannot be read or is not in a format Honey knows.
+     */
+    public ImportResult importFile(Path file) throws HoneyException {
+        String fileName = file.getFileName() == null ? "" : file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!fileName.endsWith(".ics") && !fileName.endsWith(".csv")) {
+            throw new InvalidCommandException("I can only import .ics and .csv files, sweetie! 🐝");
+        }
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            TaskRecordReader records = fileName.endsWith(".ics")
+                    ? new IcsTaskReader(reader, localZone)
+                    : new CsvTaskReader(reader);
+            return importRecords(records, start);
+        } catch (NoSuchFileException e) {
+            throw new InvalidCommandException("Oh no, I couldn't find " + file + " 🐝");
+        } catch (IOException e) {
+            throw new InvalidCommandException("Oh no, I couldn't read " + file + ": " + e.getMessage() + " 🐝");
+        }
+    }
+
+    private ImportResult importRecords(TaskRecordReader records, long start) throws IOException {
+        List<Task> batch = new ArrayList<>(batchSize);
+        Map<String, ImportResult.Rejection> rejections = new LinkedHashMap<>();
+        long importedCount = 0;
+        long rejectedCount = 0;
+        long overlappingCount = 0;
+        while (true) {
+            Task task;
+            try {
+                task = records.next();
+            } catch (HoneyException e) {
+                rejectedCount++;
+                String reason = e.getMessage().lines().findFirst().orElse(OTHER_REASON);
+                if (!rejections.containsKey(reason) && rejections.size() >= MAX_REJECTION_REASONS) {
+                    reason = OTHER_REASON;
+                }
+                rejections.computeIfAbsent(reason, unused -> new ImportResult.Rejection(records.getLineNumber()))
+                        .add();
+                continue;
+            }
+            if (task == null) {
+                break;
+            }
+            batch.add(task);
+            if (batch.size() == batchSize) {
+                overlappingCount += tasks.addAll(batch);
+                importedCount += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            overlappingCount += tasks.addAll(batch);
+            importedCount += batch.size();
+        }
+        return new ImportResult(importedCount, rejectedCount, overlappingCount, System.nanoTime() - start,
+                rejections);
+    }
+}
@@ -0,0 +1,29 @@
+package honey.storage;
+
+import java.io.IOException;
+
+import honey.exceptions.HoneyException;
+import honey.task.Task;
+
+/**
+ * Reads tasks one record at a time from a file in some external format, so that files of any size
+ * can be imported in constant memory.
+ */
+interface TaskRecordReader {
+    /**
+     * Reads the next record and converts it to a task.
+     * A record that cannot be converted is consumed and reported by throwing, after which reading can continue.
+     *
+     * @return The next task, or null at the end of the file.
+     * @throws IOException If the file cannot be read.
+     * @throws HoneyException If the record is not a valid task; the message says why in a few words.
+     */
+    Task next() throws IOException, HoneyException;
+
+    /**
+     * Returns the line on which the most recently read record starts, counting from 1.
+     *
+     * @return The line number.
+     */
+    long getLineNumber();
+}
@@ -0,0 +1,33 @@
+package honey.storage;
+
+import java.io.IOException;
+
+import honey.task.Task;
+
+/**
+ * Writes tasks one record at a time in some external format, so that exports of any size
+ * need only a bounded buffer.
+ */
+interface TaskRecordWriter {
+    /**
+     * Writes anything that comes before the first record, such as a header row.
+     *
+     * @throws IOException If writing fails.
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * Writes one task as a record.
+     *
+     * @param task The task to write.
+     * @throws IOException If writing fails.
+     */
+    void write(Task task) throws IOException;
+
+    /**
+     * Writes anything that comes after the last record.
+     *
+     * @throws IOException If writing fails.
+     */
+    void writeFooter() throws IOException;
+}
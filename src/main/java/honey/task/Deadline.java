@@ -1,9 +1,12 @@
 package honey.task;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
 
 import honey.exceptions.EmptyDescriptionException;
 import honey.exceptions.InvalidDateFormatException;
@@ -11,6 +14,9 @@ import honey.exceptions.InvalidDateFormatException;
 /**
  * Represents a deadline task with a due date and optional time.
  * A deadline task has a description and a deadline by which it should be completed.
+ * The deadline may be given in a time zone, such as {@code /by 2024-03-01 1700 America/New_York}, in which case
+ * it is compared with the current time as the same moment in the {@link HoneyClock}'s zone. Without one, it is
+ * read in whatever zone the clock is in.
  */
 public class Deadline extends Task {
     // Input formats we'll try
@@ -24,9 +30,13 @@ public class Deadline extends Task {
     // User-friendly output formats
     private static final DateTimeFormatter DATE_OUTPUT = DateTimeFormatter.ofPattern("MMM dd yyyy");
     private static final DateTimeFormatter DATETIME_OUTPUT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
+    /** A last word that names a time zone rather than a time, such as Asia/Singapore, UTC or +08:00 */
+    private static final Pattern ZONE_WORD = Pattern.compile("[A-Za-z][\\w/+\\-]*|[+-]\\d{2}:\\d{2}");
 
-    /** Deadline date and time for this task */
+    /** Deadline date and time for this task, in its own zone if it has one */
     private LocalDateTime deadline;
+    /** Zone the deadline was given in, or null if it is read in the clock's zone */
+    private ZoneId zone;
     /** Name of the deadline task */
     private String taskName;
 
@@ -59,8 +69,18 @@ public class Deadline extends Task {
             throw new EmptyDescriptionException("deadline");
         }
 
-        // Parse date/time using multiple formats
+        // Parse date/time using multiple formats, after taking off a time zone at the end
         String dateTimeInput = tokens[1].trim();
+        int lastSpace = dateTimeInput.lastIndexOf(' ');
+        if (lastSpace > 0 && ZONE_WORD.matcher(dateTimeInput.substring(lastSpace + 1)).matches()) {
+            try {
+                this.zone = ZoneId.of(dateTimeInput.substring(lastSpace + 1));
+            } catch (DateTimeException e) {
+                throw new InvalidDateFormatException("deadline",
+                    "I don't know that time zone. Try one like Asia/Singapore, UTC or +08:00");
+            }
+            dateTimeInput = dateTimeInput.substring(0, lastSpace).trim();
+        }
         this.deadline = null;
 
         for (DateTimeFormatter formatter : INPUT_FORMATS) {
@@ -84,6 +104,18 @@ public class Deadline extends Task {
         }
     }
 
+    private Deadline(Deadline other) {
+        super(other);
+        this.deadline = other.deadline;
+        this.zone = other.zone;
+        this.taskName = other.taskName;
+    }
+
+    @Override
+    protected Task copy() {
+        return new Deadline(this);
+    }
+
     /**
      * Returns the string representation of this deadline task.
      * Format: [D][status] taskName (by: formattedDateTime)
@@ -91,28 +123,62 @@ public class Deadline extends Task {
      * @return String representation of the deadline task.
      */
     @Override
-    public String toString() {
+    protected String render() {
         // Check if time component is present (not midnight)
+        String formatted;
         if (deadline.getHour() == 0 && deadline.getMinute() == 0) {
             // Date only - format as "MMM dd yyyy"
-            String formattedDate = deadline.format(DATE_OUTPUT);
-            return "[" + getType() + "][" + getStatusIcon() + "] " + taskName + " (by: " + formattedDate + ")";
+            formatted = deadline.format(DATE_OUTPUT);
         } else {
             // Date and time - format as "MMM dd yyyy, h:mma"
-            String formattedDateTime = deadline.format(DATETIME_OUTPUT);
-            return "[" + getType() + "][" + getStatusIcon() + "] " + taskName + " (by: " + formattedDateTime + ")";
+            formatted = deadline.format(DATETIME_OUTPUT);
         }
+        String zoneSuffix = zone == null ? "" : " " + zone;
+        return "[" + getType() + "][" + getStatusIcon() + "] " + taskName + " (by: " + formatted + zoneSuffix + ")";
     }
 
     /**
-     * Gets the deadline date and time of this deadline task.
+     * Gets the deadline date and time of this deadline task in the clock's zone, which is what it is compared,
+     * sorted and searched by.
      *
      * @return The deadline date and time.
      */
     public LocalDateTime getDeadline() {
+        return getDeadline(HoneyClock.getInstance().getZone());
+    }
+
+    /**
+     * Gets the deadline date and time as read in a zone, for sorting deadlines the same way however the clock
+     * changes while they are sorted.
+     *
+     * @param readIn The zone to read the deadline in, which is also the zone a deadline without one is given in.
+     * @return The deadline date and time in that zone.
+     */
+    public LocalDateTime getDeadline(ZoneId readIn) {
+        if (zone == null) {
+            return deadline;
+        }
+        return deadline.atZone(zone).withZoneSameInstant(readIn).toLocalDateTime();
+    }
+
+    /**
+     * Gets the deadline date and time as it was given, in its own zone if it has one.
+     *
+     * @return The deadline date and time as given.
+     */
+    public LocalDateTime getGivenDeadline() {
         return deadline;
     }
 
+    /**
+     * Gets the zone the deadline was given in.
+     *
+     * @return The zone, or null if the deadline is read in the clock's zone.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
     /**
      * Gets the task name of this deadline task.
      *
@@ -128,7 +194,30 @@ public class Deadline extends Task {
      * @return true if the deadline has passed the current date/time, false otherwise.
      */
     public boolean isOverdue() {
-        return deadline.isBefore(LocalDateTime.now());
+        return isOverdue(HoneyClock.getInstance().now());
+    }
+
+    /**
+     * Checks if this deadline task is overdue at the given time.
+     * Lets a query over many tasks read the clock once instead of once per task.
+     *
+     * @param now The current date/time, in the clock's zone.
+     * @return true if the deadline is before the given time, false otherwise.
+     */
+    public boolean isOverdue(LocalDateTime now) {
+        return getDeadline().isBefore(now);
+    }
+
+    /**
+     * Returns the deadline itself if it is still to come, so the user is reminded when the task becomes due.
+     *
+     * @param after Only reminder times after this time are returned.
+     * @return The deadline, or null if it is not after the given time.
+     */
+    @Override
+    public LocalDateTime getNextReminderTime(LocalDateTime after) {
+        LocalDateTime due = getDeadline();
+        return due.isAfter(after) ? due : null;
     }
 }
 
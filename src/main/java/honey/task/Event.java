@@ -1,6 +1,8 @@
 package honey.task;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
@@ -9,16 +11,30 @@ import honey.exceptions.InvalidDateFormatException;
 
 /**
  * Represents an event task with start and end dates.
- * An event task has a description, start date, and end date.
+ * An event task has a description, start date, and end date, and may give both a time of day, such as a meeting
+ * from 14:00 to 15:30; an event without times takes up the whole of its days.
  */
 public class Event extends Task {
     // User-friendly output format
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter TIME_OUTPUT_FORMAT = DateTimeFormatter.ofPattern("h:mma");
+    // Formats accepted for a start or end with a time; the last is how they are saved
+    private static final DateTimeFormatter[] DATE_TIME_FORMATS = {
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
+        DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm"),
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME
+    };
+    private static final String DATE_FORMAT_HINT =
+            "Please use date format: yyyy-MM-dd, with a time if you like (e.g., 2019-12-02 or 2019-12-02 1400)";
 
     /** Start date of the event */
     private LocalDate startDate;
     /** End date of the event */
     private LocalDate endDate;
+    /** Time the event starts on its start date, or null if it takes up whole days */
+    private LocalTime startTime;
+    /** Time the event ends on its end date, or null if it takes up whole days */
+    private LocalTime endTime;
     /** Name of the event task */
     private String taskName;
 
@@ -28,7 +44,8 @@ public class Event extends Task {
      *
      * @param description Full command string including "event" prefix and "/from" and "/to" clauses.
      * @throws EmptyDescriptionException If the event description is empty.
-     * @throws InvalidDateFormatException If the date format is invalid or start date is after end date.
+     * @throws InvalidDateFormatException If the date format is invalid, only one of the start and end has a time,
+     *     or the start is after the end.
      */
     public Event(String description) throws EmptyDescriptionException, InvalidDateFormatException {
         super(description, TaskType.EVENT);
@@ -56,38 +73,92 @@ public class Event extends Task {
             throw new EmptyDescriptionException("event");
         }
 
-        // Parse dates using LocalDate - clean and simple like the example
-        try {
-            this.startDate = LocalDate.parse(tokens[0].trim());
-            this.endDate = LocalDate.parse(tokens[1].trim());
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateFormatException("event",
-                "Please use date format: yyyy-MM-dd (e.g., 2019-12-02)");
+        LocalDateTime start = parseDateTime(tokens[0].trim());
+        LocalDateTime end = parseDateTime(tokens[1].trim());
+        this.startDate = start.toLocalDate();
+        this.endDate = end.toLocalDate();
+        boolean isStartTimed = !isDateOnly(tokens[0].trim());
+        boolean isEndTimed = !isDateOnly(tokens[1].trim());
+        if (isStartTimed != isEndTimed) {
+            throw new InvalidDateFormatException("event", "Please give both the start and the end a time, or neither");
+        }
+        if (isStartTimed) {
+            this.startTime = start.toLocalTime();
+            this.endTime = end.toLocalTime();
         }
 
         // Validate date order
-        if (startDate.isAfter(endDate)) {
+        if (start.isAfter(end)) {
             throw new InvalidDateFormatException("event", "Start date cannot be after end date");
         }
     }
 
+    /**
+     * Parses a start or end, which is a date, or a date and a time read to the minute.
+     */
+    private static LocalDateTime parseDateTime(String value) throws InvalidDateFormatException {
+        if (isDateOnly(value)) {
+            try {
+                return LocalDate.parse(value).atStartOfDay();
+            } catch (DateTimeParseException e) {
+                throw new InvalidDateFormatException("event", DATE_FORMAT_HINT);
+            }
+        }
+        for (DateTimeFormatter format : DATE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(value, format).withSecond(0).withNano(0);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        throw new InvalidDateFormatException("event", DATE_FORMAT_HINT);
+    }
+
+    private static boolean isDateOnly(String value) {
+        return value.indexOf(' ') < 0 && value.indexOf('T') < 0;
+    }
+
+    private Event(Event other) {
+        super(other);
+        this.startDate = other.startDate;
+        this.endDate = other.endDate;
+        this.startTime = other.startTime;
+        this.endTime = other.endTime;
+        this.taskName = other.taskName;
+    }
+
+    @Override
+    protected Task copy() {
+        return new Event(this);
+    }
+
     /**
      * Returns the string representation of this event task.
-     * Format: [E][status] taskName (from: startDate to: endDate) or (on: date) for single-day events.
+     * Format: [E][status] taskName (from: startDate to: endDate) or (on: date) for single-day events, with the
+     * times after the dates if the event has them, such as (on: Dec 02 2019, 2:00PM to 3:30PM).
      *
      * @return String representation of the event task.
      */
     @Override
-    public String toString() {
+    protected String render() {
         // Format dates in user-friendly way: "MMM dd yyyy"
         String formattedStart = startDate.format(OUTPUT_FORMAT);
         String formattedEnd = endDate.format(OUTPUT_FORMAT);
-
+        String prefix = "[" + getType() + "][" + getStatusIcon() + "] " + taskName;
+
+        if (hasTimes()) {
+            String fromTime = startTime.format(TIME_OUTPUT_FORMAT);
+            String toTime = endTime.format(TIME_OUTPUT_FORMAT);
+            if (startDate.equals(endDate)) {
+                return prefix + " (on: " + formattedStart + ", " + fromTime + " to " + toTime + ")";
+            }
+            return prefix + " (from: " + formattedStart + ", " + fromTime
+                + " to: " + formattedEnd + ", " + toTime + ")";
+        }
         if (startDate.equals(endDate)) {
-            return "[" + getType() + "][" + getStatusIcon() + "] " + taskName + " (on: " + formattedStart + ")";
+            return prefix + " (on: " + formattedStart + ")";
         } else {
-            return "[" + getType() + "][" + getStatusIcon() + "] " + taskName
-                + " (from: " + formattedStart + " to: " + formattedEnd + ")";
+            return prefix + " (from: " + formattedStart + " to: " + formattedEnd + ")";
         }
     }
 
@@ -109,6 +180,46 @@ public class Event extends Task {
         return endDate;
     }
 
+    /**
+     * Checks whether the event starts and ends at a time of day, rather than taking up whole days.
+     */
+    public boolean hasTimes() {
+        return startTime != null;
+    }
+
+    /**
+     * Gets the time this event starts on its start date.
+     *
+     * @return The start time, or null if the event takes up whole days.
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the time this event ends on its end date.
+     *
+     * @return The end time, or null if the event takes up whole days.
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Gets the moment this event starts: its start time, or the start of its first day if it has no times.
+     */
+    public LocalDateTime getStart() {
+        return hasTimes() ? startDate.atTime(startTime) : startDate.atStartOfDay();
+    }
+
+    /**
+     * Gets the moment this event is over: its end time, or the start of the day after its last day if it has
+     * no times, so that the event takes up the time from {@link #getStart()} up to but not including this.
+     */
+    public LocalDateTime getEnd() {
+        return hasTimes() ? endDate.atTime(endTime) : endDate.plusDays(1).atStartOfDay();
+    }
+
     /**
      * Gets the task name of this event.
      *
@@ -117,5 +228,16 @@ public class Event extends Task {
     public String getTaskName() {
         return taskName;
     }
-}
 
+    /**
+     * Returns the start of the event if it is still to come, so the user is reminded as it begins.
+     *
+     * @param after Only reminder times after this time are returned.
+     * @return The start of the event, or null if it is not after the given time.
+     */
+    @Override
+    public LocalDateTime getNextReminderTime(LocalDateTime after) {
+        LocalDateTime start = getStart();
+        return start.isAfter(after) ? start : null;
+    }
+}
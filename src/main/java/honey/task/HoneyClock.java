@@ -0,0 +1,108 @@
+package honey.task;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Tells the time to everything in Honey that compares tasks with the current time: deadlines becoming overdue,
+ * recurring tasks moving on to their next occurrence, cached results expiring and reminders firing.
+ * The time comes from a {@link Clock}, so the server and tests can run Honey in another zone or at another time
+ * by installing their own with {@link #setInstance(HoneyClock)}.
+ * {@link #now()} is coarse: it is read to the second, and the reading is kept until the clock moves on to the
+ * next second, so queries in the same second share one reading instead of each working out the local time.
+ */
+public final class HoneyClock {
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private static volatile HoneyClock instance = new HoneyClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    /** The latest reading, or null before the first */
+    private volatile Reading latest;
+
+    /**
+     * Constructs a HoneyClock that reads the given clock.
+     *
+     * @param clock The clock to read the time and zone from.
+     */
+    public HoneyClock(Clock clock) {
+        assert clock != null : "Clock cannot be null";
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the clock shared by every Honey in this process.
+     *
+     * @return The process-wide clock.
+     */
+    public static HoneyClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Replaces the clock shared by every Honey in this process, such as with a fixed clock in tests.
+     * Results cached before the change were worked out at the old time, so callers that move the time backwards
+     * should not rely on them.
+     *
+     * @param clock The clock to share from now on.
+     */
+    public static void setInstance(HoneyClock clock) {
+        assert clock != null : "Clock cannot be null";
+        instance = clock;
+    }
+
+    /**
+     * Returns the clock this reads, for code that needs the exact time, such as a timer waking up at a moment.
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the zone that local times are read and shown in.
+     */
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    /**
+     * Returns the current local time, to the second.
+     * The clock is read every call, but the local time is only worked out again once it has moved on to another
+     * second, which is also what happens when a test moves it backwards.
+     *
+     * @return The current date and time in the clock's zone, without fractions of a second.
+     */
+    public LocalDateTime now() {
+        long millis = clock.millis();
+        Reading reading = latest;
+        if (reading == null || millis < reading.fromMillis || millis >= reading.fromMillis + MILLIS_PER_SECOND) {
+            long fromMillis = Math.floorDiv(millis, MILLIS_PER_SECOND) * MILLIS_PER_SECOND;
+            reading = new Reading(fromMillis, LocalDateTime.ofInstant(Instant.ofEpochMilli(fromMillis), getZone()));
+            latest = reading;
+        }
+        return reading.time;
+    }
+
+    /**
+     * Returns the current local date.
+     */
+    public LocalDate today() {
+        return now().toLocalDate();
+    }
+
+    /**
+     * Represents the local time at the start of a second, read once and shared until the second ends.
+     */
+    private static final class Reading {
+        private final long fromMillis;
+        private final LocalDateTime time;
+
+        private Reading(long fromMillis, LocalDateTime time) {
+            this.fromMillis = fromMillis;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package honey.task;
+
+import java.util.Locale;
+
+/**
+ * Represents how urgent a task is, written after an exclamation mark, as in {@code !high}.
+ */
+public enum Priority {
+    HIGH,
+    MEDIUM,
+    LOW;
+
+    /** Mark that starts a priority in task descriptions and filters */
+    public static final String MARK = "!";
+
+    /**
+     * Returns the priority written as the given word, such as {@code !high}.
+     *
+     * @param word The word, with its exclamation mark, in any case.
+     * @return The priority, or null if the word is not a priority.
+     */
+    public static Priority fromWord(String word) {
+        if (!word.startsWith(MARK)) {
+            return null;
+        }
+        String name = word.substring(MARK.length()).toUpperCase(Locale.ROOT);
+        for (Priority priority : values()) {
+            if (priority.name().equals(name)) {
+                return priority;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns this priority as it is written, such as {@code !high}.
+     *
+     * @return The word for this priority.
+     */
+    public String toWord() {
+        return MARK + name().toLowerCase(Locale.ROOT);
+    }
+}
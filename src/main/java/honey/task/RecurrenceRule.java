@@ -0,0 +1,199 @@
+package honey.task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import honey.exceptions.InvalidDateFormatException;
+
+/**
+ * Represents how often a recurring task repeats: every day, every week on some days, or every month on one day.
+ * Rules are immutable and answer questions about a date in constant time, without listing occurrences.
+ * A monthly rule on a day that some months lack, such as the 31st, falls on the last day of those months.
+ */
+public class RecurrenceRule {
+    private static final String USAGE = "/every day, /every week on mon,thu or /every month on 15";
+
+    private final Frequency frequency;
+    /** Days a weekly rule falls on */
+    private final Set<DayOfWeek> daysOfWeek;
+    /** Day of the month a monthly rule falls on */
+    private final int dayOfMonth;
+
+    private RecurrenceRule(Frequency frequency, Set<DayOfWeek> daysOfWeek, int dayOfMonth) {
+        this.frequency = frequency;
+        this.daysOfWeek = daysOfWeek;
+        this.dayOfMonth = dayOfMonth;
+    }
+
+    /**
+     * Parses a rule such as {@code day}, {@code week on mon,thu} or {@code month on 15}.
+     * A weekly or monthly rule without days repeats on the weekday or day of month of the start date.
+     *
+     * @param spec The rule to parse.
+     * @param startDate The date of the first occurrence.
+     * @return The parsed rule.
+     * @throws InvalidDateFormatException If the rule cannot be parsed.
+     */
+    public static RecurrenceRule parse(String spec, LocalDate startDate) throws InvalidDateFormatException {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split("\\s+on\\s+", 2);
+        String unit = parts[0];
+        String on = parts.length > 1 ? parts[1].trim() : "";
+        try {
+            switch (unit) {
+            case "day":
+            case "daily":
+                if (!on.isEmpty()) {
+                    break;
+                }
+                return new RecurrenceRule(Frequency.DAILY, EnumSet.noneOf(DayOfWeek.class), 0);
+            case "week":
+            case "weekly":
+                Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                if (on.isEmpty()) {
+                    days.add(startDate.getDayOfWeek());
+                }
+                for (String day : on.isEmpty() ? new String[0] : on.split("\\s*,\\s*")) {
+                    days.add(parseDayOfWeek(day));
+                }
+                return new RecurrenceRule(Frequency.WEEKLY, days, 0);
+            case "month":
+            case "monthly":
+                int day = on.isEmpty() ? startDate.getDayOfMonth() : Integer.parseInt(on);
+                if (day < 1 || day > 31) {
+                    break;
+                }
+                return new RecurrenceRule(Frequency.MONTHLY, EnumSet.noneOf(DayOfWeek.class), day);
+            default:
+                break;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below with the usage
+        }
+        throw new InvalidDateFormatException("recurring", USAGE);
+    }
+
+    private static DayOfWeek parseDayOfWeek(String day) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            String name = dayOfWeek.name().toLowerCase(Locale.ROOT);
+            if (day.length() >= 3 && name.startsWith(day)) {
+                return dayOfWeek;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + day);
+    }
+
+    /**
+     * Returns whether this rule falls on the given date.
+     *
+     * @param date The date to check.
+     * @return true if the rule falls on the date.
+     */
+    public boolean fallsOn(LocalDate date) {
+        switch (frequency) {
+        case WEEKLY:
+            return daysOfWeek.contains(date.getDayOfWeek());
+        case MONTHLY:
+            return date.getDayOfMonth() == Math.min(dayOfMonth, date.lengthOfMonth());
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Returns the first date on or after the given date that this rule falls on.
+     *
+     * @param date The earliest date to return.
+     * @return The next date the rule falls on.
+     */
+    public LocalDate nextOnOrAfter(LocalDate date) {
+        switch (frequency) {
+        case WEEKLY:
+            LocalDate candidate = date;
+            while (!daysOfWeek.contains(candidate.getDayOfWeek())) {
+                candidate = candidate.plusDays(1);
+            }
+            return candidate;
+        case MONTHLY:
+            LocalDate thisMonth = date.withDayOfMonth(Math.min(dayOfMonth, date.lengthOfMonth()));
+            if (!thisMonth.isBefore(date)) {
+                return thisMonth;
+            }
+            LocalDate nextMonth = date.plusMonths(1);
+            return nextMonth.withDayOfMonth(Math.min(dayOfMonth, nextMonth.lengthOfMonth()));
+        default:
+            return date;
+        }
+    }
+
+    /**
+     * Returns this rule in the form accepted by {@link #parse(String, LocalDate)}.
+     *
+     * @return The rule as text, such as {@code week on mon,thu}.
+     */
+    public String toSpec() {
+        switch (frequency) {
+        case WEEKLY:
+            return "week on " + daysOfWeek.stream()
+                    .map(day -> day.name().substring(0, 3).toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(","));
+        case MONTHLY:
+            return "month on " + dayOfMonth;
+        default:
+            return "day";
+        }
+    }
+
+    /**
+     * Returns this rule as the value of an iCalendar RRULE property, without an end date.
+     * A monthly rule on a day after the 28th picks the earlier of that day and the month's last day,
+     * matching how {@link #fallsOn(LocalDate)} treats short months.
+     *
+     * @return The rule, such as {@code FREQ=WEEKLY;BYDAY=MO,TH}.
+     */
+    public String toRrule() {
+        switch (frequency) {
+        case WEEKLY:
+            return "FREQ=WEEKLY;BYDAY=" + daysOfWeek.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(","));
+        case MONTHLY:
+            return dayOfMonth > 28
+                    ? "FREQ=MONTHLY;BYMONTHDAY=" + dayOfMonth + ",-1;BYSETPOS=1"
+                    : "FREQ=MONTHLY;BYMONTHDAY=" + dayOfMonth;
+        default:
+            return "FREQ=DAILY";
+        }
+    }
+
+    /**
+     * Returns a readable description of this rule, such as "every Mon, Thu".
+     *
+     * @return The description.
+     */
+    public String describe() {
+        switch (frequency) {
+        case WEEKLY:
+            return "every " + daysOfWeek.stream()
+                    .map(day -> day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                    .collect(Collectors.joining(", "));
+        case MONTHLY:
+            return "every month on day " + dayOfMonth;
+        default:
+            return "every day";
+        }
+    }
+
+    /**
+     * How often a rule repeats.
+     */
+    private enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+}
@@ -0,0 +1,212 @@
+package honey.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import honey.exceptions.EmptyDescriptionException;
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidDateFormatException;
+
+/**
+ * Represents a task that repeats by a rule, such as watering the plants every Monday and Thursday.
+ * Only the rule is stored; occurrences are worked out on demand for whatever dates are being looked at,
+ * so a recurring task costs the same however long it repeats for.
+ */
+public class Recurring extends Task {
+    private static final String USAGE = "recurring [description] /every [rule] /from [yyyy-MM-dd]"
+            + " /until [yyyy-MM-dd] /at [HHmm] (only /every is required)";
+    private static final DateTimeFormatter TIME_INPUT = DateTimeFormatter.ofPattern("HHmm");
+    private static final DateTimeFormatter TIME_INPUT_WITH_COLON = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE_OUTPUT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter TIME_OUTPUT = DateTimeFormatter.ofPattern("h:mma");
+
+    /** Name of the recurring task */
+    private String taskName;
+    /** How often the task repeats */
+    private RecurrenceRule rule;
+    /** First date the task may occur on */
+    private LocalDate startDate;
+    /** Last date the task may occur on, or null if it repeats forever */
+    private LocalDate endDate;
+    /** Time of day of each occurrence, or null if occurrences last all day */
+    private LocalTime time;
+
+    /**
+     * Constructs a new recurring task from a description such as
+     * {@code recurring water plants /every week on mon,thu /from 2024-01-01 /until 2024-06-30 /at 0900}.
+     * Without {@code /from}, the task starts today.
+     *
+     * @param description Full command string including the "recurring" prefix and the "/every" clause.
+     * @throws EmptyDescriptionException If the task name is empty.
+     * @throws InvalidDateFormatException If the rule, a date or the time is invalid.
+     */
+    public Recurring(String description) throws HoneyException {
+        super(description, TaskType.RECURRING);
+
+        String[] firstSplit = description.split(" /every ", 2);
+        if (firstSplit[0].trim().length() <= "recurring".length()) {
+            throw new EmptyDescriptionException("recurring");
+        }
+        if (firstSplit.length != 2) {
+            throw new InvalidDateFormatException("recurring", USAGE);
+        }
+        this.taskName = firstSplit[0].substring("recurring".length()).trim();
+
+        String[] clauses = firstSplit[1].split(" /");
+        String ruleSpec = clauses[0].trim();
+        this.startDate = HoneyClock.getInstance().today();
+        try {
+            for (int i = 1; i < clauses.length; i++) {
+                String[] clause = clauses[i].trim().split("\\s+", 2);
+                String value = clause.length > 1 ? clause[1].trim() : "";
+                switch (clause[0]) {
+                case "from":
+                    this.startDate = LocalDate.parse(value);
+                    break;
+                case "until":
+                    this.endDate = LocalDate.parse(value);
+                    break;
+                case "at":
+                    this.time = LocalTime.parse(value, value.contains(":") ? TIME_INPUT_WITH_COLON : TIME_INPUT);
+                    break;
+                default:
+                    throw new InvalidDateFormatException("recurring", USAGE);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException("recurring", USAGE);
+        }
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new InvalidDateFormatException("recurring", "an /until date that is not before the /from date");
+        }
+        this.rule = RecurrenceRule.parse(ruleSpec, startDate);
+    }
+
+    private Recurring(Recurring other) {
+        super(other);
+        this.taskName = other.taskName;
+        this.rule = other.rule;
+        this.startDate = other.startDate;
+        this.endDate = other.endDate;
+        this.time = other.time;
+    }
+
+    @Override
+    protected Task copy() {
+        return new Recurring(this);
+    }
+
+    /**
+     * Returns the string representation of this recurring task.
+     * Format: [R][status] taskName (every rule at time, from date until date)
+     *
+     * @return String representation of the recurring task.
+     */
+    @Override
+    protected String render() {
+        StringBuilder result = new StringBuilder();
+        result.append("[").append(getType()).append("][").append(getStatusIcon()).append("] ").append(taskName)
+                .append(" (").append(rule.describe());
+        if (time != null) {
+            result.append(" at ").append(time.format(TIME_OUTPUT));
+        }
+        result.append(", from ").append(startDate.format(DATE_OUTPUT));
+        if (endDate != null) {
+            result.append(" until ").append(endDate.format(DATE_OUTPUT));
+        }
+        return result.append(")").toString();
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public RecurrenceRule getRule() {
+        return rule;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    /**
+     * Returns whether this task occurs on the given date.
+     *
+     * @param date The date to check.
+     * @return true if an occurrence falls on the date.
+     */
+    public boolean occursOn(LocalDate date) {
+        return !date.isBefore(startDate) && (endDate == null || !date.isAfter(endDate)) && rule.fallsOn(date);
+    }
+
+    /**
+     * Returns the first occurrence that starts strictly after the given time.
+     * Occurrences without a time of day start at midnight.
+     *
+     * @param after Only occurrences after this time are returned.
+     * @return The start of the next occurrence, or null if the task has ended by then.
+     */
+    public LocalDateTime getNextOccurrence(LocalDateTime after) {
+        LocalTime startTime = time == null ? LocalTime.MIDNIGHT : time;
+        LocalDate from = after.toLocalDate().isBefore(startDate) ? startDate : after.toLocalDate();
+        LocalDate date = rule.nextOnOrAfter(from);
+        if (!date.atTime(startTime).isAfter(after)) {
+            date = rule.nextOnOrAfter(date.plusDays(1));
+        }
+        if (endDate != null && date.isAfter(endDate)) {
+            return null;
+        }
+        return date.atTime(startTime);
+    }
+
+    /**
+     * Formats an occurrence of this task for display, leaving out the time for all-day occurrences.
+     *
+     * @param occurrence The start of the occurrence.
+     * @return The formatted occurrence, such as "Jan 02 2024, 9:00AM".
+     */
+    public String formatOccurrence(LocalDateTime occurrence) {
+        String date = occurrence.toLocalDate().format(DATE_OUTPUT);
+        return time == null ? date : date + ", " + occurrence.toLocalTime().format(TIME_OUTPUT);
+    }
+
+    /**
+     * Reminds the user of each occurrence as it starts.
+     *
+     * @param after Only reminder times after this time are returned.
+     * @return The start of the next occurrence, or null if there is none.
+     */
+    @Override
+    public LocalDateTime getNextReminderTime(LocalDateTime after) {
+        return getNextOccurrence(after);
+    }
+
+    /**
+     * Returns the rule and its bounds in the form accepted after the task name in the constructor,
+     * with the start date always given, so the task can be recreated exactly.
+     *
+     * @return The clauses, such as {@code /every day /from 2024-01-01 /at 0900}.
+     */
+    public String getScheduleClauses() {
+        StringBuilder clauses = new StringBuilder("/every ").append(rule.toSpec())
+                .append(" /from ").append(startDate);
+        if (endDate != null) {
+            clauses.append(" /until ").append(endDate);
+        }
+        if (time != null) {
+            clauses.append(" /at ").append(time.format(TIME_INPUT));
+        }
+        return clauses.toString();
+    }
+}
@@ -1,17 +1,41 @@
 package honey.task;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 /**
  * Represents a task in the Honey task management system.
- * A task has a description, completion status, and type.
+ * A task has a description, completion status, and type, and may have tags and a priority.
+ * Once in a TaskList, a task also has an ID that stays the same however the list changes, by which other tasks
+ * name it as one of their prerequisites.
  * This is the base class for all specific task types.
+ * The line a task is shown as is formatted the first time it is needed and kept until the task changes,
+ * so listing the same tasks again does not format their dates again.
  */
 public class Task {
+    /** Position of the status icon in every rendered line, which starts with {@code [type][status]} */
+    private static final int STATUS_INDEX = 4;
+
     /** Description of the task */
     protected String description;
     /** Completion status of the task */
     protected boolean isDone;
     /** Type of the task */
     protected TaskType taskType;
+    /** Tags of the task, in lower case without their marks */
+    private List<String> tags = List.of();
+    /** Priority of the task, or null if it has none */
+    private Priority priority;
+    /** ID of the task, or 0 until a TaskList gives it one */
+    private long id;
+    /** IDs of the tasks that must be done before this one, in the order they were given */
+    private List<Long> prerequisites = List.of();
+    /**
+     * The rendered line, or null until it is first needed or after the task changes.
+     * Strings are immutable, so a thread that sees a stale null only renders the same line again.
+     */
+    private String rendered;
 
     /**
      * Constructs a new task with the specified description and type.
@@ -28,6 +52,62 @@ public class Task {
         this.taskType = taskType;
     }
 
+    /**
+     * Constructs a copy of another task.
+     *
+     * @param other Task to copy.
+     */
+    protected Task(Task other) {
+        this.description = other.description;
+        this.isDone = other.isDone;
+        this.taskType = other.taskType;
+        this.tags = other.tags;
+        this.priority = other.priority;
+        this.id = other.id;
+        this.prerequisites = other.prerequisites;
+    }
+
+    /**
+     * Returns a copy of this task with the given completion status, leaving this task unchanged.
+     * Used by TaskList so that tasks already shared through a snapshot are never mutated.
+     *
+     * @param isDone Completion status of the copy.
+     * @return A copy of this task with the given status.
+     */
+    public Task withDone(boolean isDone) {
+        Task copy = copy();
+        copy.isDone = isDone;
+        String line = rendered;
+        if (line != null) {
+            // Only the status icon differs, so the line is patched instead of formatted again
+            assert line.charAt(STATUS_INDEX) == getStatusIcon().charAt(0) : "Line should start with the status";
+            copy.rendered = line.substring(0, STATUS_INDEX) + copy.getStatusIcon() + line.substring(STATUS_INDEX + 1);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this task waiting on the given prerequisites, leaving this task unchanged.
+     *
+     * @param prerequisites IDs of the tasks that must be done first; repeats are dropped.
+     * @return A copy of this task with the given prerequisites.
+     */
+    public Task withPrerequisites(List<Long> prerequisites) {
+        Task copy = copy();
+        copy.prerequisites = List.copyOf(new LinkedHashSet<>(prerequisites));
+        copy.rendered = rendered;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this task. Subclasses override this to copy their own fields.
+     *
+     * @return A copy of this task.
+     */
+    protected Task copy() {
+        return new Task(this);
+    }
+
     /**
      * Returns the status icon for this task.
      * Returns "X" if the task is done, " " otherwise.
@@ -44,6 +124,7 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
@@ -52,6 +133,7 @@ public class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        this.rendered = null;
     }
 
     /**
@@ -81,6 +163,84 @@ public class Task {
         return this.taskType;
     }
 
+    /**
+     * Returns the tags of this task.
+     *
+     * @return The tags in lower case without their marks, in the order they were given.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Sets the tags of this task. Only used before the task is shared with a TaskList.
+     *
+     * @param tags The tags in lower case without their marks.
+     */
+    public void setTags(List<String> tags) {
+        assert tags != null : "Tags cannot be null";
+        this.tags = List.copyOf(tags);
+        this.rendered = null;
+    }
+
+    /**
+     * Returns the priority of this task.
+     *
+     * @return The priority, or null if the task has none.
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of this task. Only used before the task is shared with a TaskList.
+     *
+     * @param priority The priority, or null for none.
+     */
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        this.rendered = null;
+    }
+
+    /**
+     * Returns the ID of this task.
+     *
+     * @return The ID, or 0 if the task has not been added to a TaskList.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of this task. Only used before the task is shared with a TaskList.
+     *
+     * @param id The ID, at least 1.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task ID must be positive";
+        this.id = id;
+    }
+
+    /**
+     * Returns the IDs of the tasks that must be done before this one.
+     *
+     * @return The IDs, in the order they were given.
+     */
+    public List<Long> getPrerequisites() {
+        return prerequisites;
+    }
+
+    /**
+     * Sets the IDs of the tasks that must be done before this one. Only used before the task is shared
+     * with a TaskList.
+     *
+     * @param prerequisites The IDs; repeats are dropped.
+     */
+    public void setPrerequisites(List<Long> prerequisites) {
+        assert prerequisites != null : "Prerequisites cannot be null";
+        this.prerequisites = List.copyOf(new LinkedHashSet<>(prerequisites));
+    }
+
     /**
      * Returns whether this task is done.
      *
@@ -89,4 +249,44 @@ public class Task {
     public boolean getIsDone() {
         return this.isDone;
     }
+
+    /**
+     * Returns the line this task is shown as, formatting it only the first time after the task changes.
+     * Any tags and priority are shown at the end.
+     *
+     * @return The line, starting with {@code [type][status]}.
+     */
+    @Override
+    public final String toString() {
+        String line = rendered;
+        if (line == null) {
+            line = render();
+            if (!tags.isEmpty() || priority != null) {
+                line += " " + TaskAttributes.format(tags, priority);
+            }
+            rendered = line;
+        }
+        return line;
+    }
+
+    /**
+     * Formats the line this task is shown as. Subclasses override this to show their own fields.
+     * The line must start with {@code [type][status]}, which {@link #withDone(boolean)} relies on.
+     *
+     * @return The formatted line.
+     */
+    protected String render() {
+        return "[" + getType() + "][" + getStatusIcon() + "] " + description;
+    }
+
+    /**
+     * Returns the first time strictly after the given time at which the user should be reminded of this task.
+     * Plain tasks have no reminders; tasks with a date override this.
+     *
+     * @param after Only reminder times after this time are returned.
+     * @return The next reminder time, or null if there is none.
+     */
+    public LocalDateTime getNextReminderTime(LocalDateTime after) {
+        return null;
+    }
 }
@@ -0,0 +1,133 @@
+package honey.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Represents the tags and priority written among the words of a task description, as in
+ * {@code todo write report #work #urgent !high}, split from the rest of the description.
+ * A tag is a word of letters, digits, hyphens and underscores after {@code #}, kept in lower case.
+ * The same words, separated by spaces, are how tags and priorities are shown and stored.
+ */
+public final class TaskAttributes {
+    /** Mark that starts a tag in task descriptions and filters */
+    public static final String TAG_MARK = "#";
+
+    private static final Pattern TAG = Pattern.compile("#[\\p{L}\\p{N}_-]+");
+
+    private final String description;
+    private final List<String> tags;
+    private final Priority priority;
+
+    private TaskAttributes(String description, List<String> tags, Priority priority) {
+        this.description = description;
+        this.tags = tags;
+        this.priority = priority;
+    }
+
+    /**
+     * Splits the tags and priority off a description.
+     * The description is returned unchanged if it has neither, and with single spaces between its words if it has.
+     *
+     * @param text The description, such as the arguments of an add command.
+     * @return The description without its tags and priority, and the tags and priority.
+     * @throws IllegalArgumentException If the description has more than one priority.
+     */
+    public static TaskAttributes parse(String text) {
+        List<String> words = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        Priority priority = null;
+        boolean hasAttributes = false;
+        for (String word : text.trim().split("\\s+")) {
+            Priority wordPriority = Priority.fromWord(word);
+            if (wordPriority != null) {
+                if (priority != null && priority != wordPriority) {
+                    throw new IllegalArgumentException("A task can only have one priority");
+                }
+                priority = wordPriority;
+                hasAttributes = true;
+            } else if (isTag(word)) {
+                String tag = word.substring(TAG_MARK.length()).toLowerCase(Locale.ROOT);
+                if (!tags.contains(tag)) {
+                    tags.add(tag);
+                }
+                hasAttributes = true;
+            } else {
+                words.add(word);
+            }
+        }
+        String description = hasAttributes ? String.join(" ", words) : text;
+        return new TaskAttributes(description, Collections.unmodifiableList(tags), priority);
+    }
+
+    /**
+     * Returns whether a word is a tag, such as {@code #work}.
+     */
+    public static boolean isTag(String word) {
+        return TAG.matcher(word).matches();
+    }
+
+    /**
+     * Returns whether a stored field holds only tags and a priority, as {@link #format} writes them.
+     *
+     * @param field The field.
+     * @return True if every word of the field is a tag or a priority.
+     */
+    public static boolean isAttributes(String field) {
+        String trimmed = field.trim();
+        if (trimmed.isEmpty()) {
+            return false;
+        }
+        for (String word : trimmed.split("\\s+")) {
+            if (!isTag(word) && Priority.fromWord(word) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes tags and a priority as words, such as {@code #work #urgent !high}.
+     *
+     * @param tags The tags, without their marks.
+     * @param priority The priority, or null if there is none.
+     * @return The words separated by spaces, or an empty string if there are no tags and no priority.
+     */
+    public static String format(List<String> tags, Priority priority) {
+        StringBuilder words = new StringBuilder();
+        for (String tag : tags) {
+            words.append(words.length() == 0 ? "" : " ").append(TAG_MARK).append(tag);
+        }
+        if (priority != null) {
+            words.append(words.length() == 0 ? "" : " ").append(priority.toWord());
+        }
+        return words.toString();
+    }
+
+    /**
+     * Gives a task the tags and priority, before it is shared with a TaskList.
+     *
+     * @param task The task.
+     * @return The task.
+     */
+    public Task applyTo(Task task) {
+        task.setTags(tags);
+        task.setPriority(priority);
+        return task;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+}
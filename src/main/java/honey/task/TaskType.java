@@ -7,7 +7,8 @@ package honey.task;
 public enum TaskType {
     TODO("T"),
     DEADLINE("D"),
-    EVENT("E");
+    EVENT("E"),
+    RECURRING("R");
 
     private final String symbol;
 
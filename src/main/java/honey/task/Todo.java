@@ -21,6 +21,15 @@ public class Todo extends Task {
         }
     }
 
+    private Todo(Todo other) {
+        super(other);
+    }
+
+    @Override
+    protected Task copy() {
+        return new Todo(this);
+    }
+
     /**
      * Returns the string representation of this todo task.
      * Format: [T][status] description
@@ -28,7 +37,7 @@ public class Todo extends Task {
      * @return String representation of the todo task.
      */
     @Override
-    public String toString() {
+    protected String render() {
         return "[" + getType() + "][" + getStatusIcon() + "] " + description.substring(5);
     }
 }
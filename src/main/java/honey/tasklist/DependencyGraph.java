@@ -0,0 +1,174 @@
+package honey.tasklist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import honey.task.Task;
+
+/**
+ * Represents the prerequisites between the tasks of a TaskList, and which tasks can be worked on next.
+ * Each task counts how many of its prerequisites are still to do, and the tasks still to do whose count is 0
+ * are kept ready, in ID order. Marking, unmarking, adding or removing a task only updates the counts of the
+ * tasks waiting on it, so no change sorts or walks the whole graph.
+ * A prerequisite that is not in the list, such as one that was deleted, does not hold anything up; the edge
+ * is kept, so that the task holds its dependents up again if it is put back.
+ * The graph is created and updated while holding the TaskList's write lock; only {@link #getReady(int)} may
+ * be called without it.
+ */
+final class DependencyGraph implements TaskListListener {
+    /** Each task in the list, by ID */
+    private final Map<Long, Node> nodes;
+    /** IDs of the tasks in the list waiting on each ID, whether or not a task with that ID is in the list */
+    private final Map<Long, Set<Long>> dependents;
+    /** Tasks still to do with no prerequisite still to do, by ID */
+    private final NavigableMap<Long, Task> ready = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructs a graph of the tasks in a snapshot, for a graph created after the list.
+     */
+    DependencyGraph(TaskSnapshot tasks) {
+        // Sized up front, as growing maps of a million tasks a step at a time costs more than filling them
+        int capacity = (int) Math.min(1 << 30, tasks.size() * 4L / 3 + 16);
+        nodes = new HashMap<>(capacity);
+        dependents = new HashMap<>(capacity);
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    /**
+     * Gets the first tasks that can be worked on next, in ID order, which is the order they were added in.
+     *
+     * @param limit The most tasks to get.
+     */
+    List<Task> getReady(int limit) {
+        List<Task> tasks = new ArrayList<>(Math.min(limit, 64));
+        for (Task task : ready.values()) {
+            if (tasks.size() >= limit) {
+                break;
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks whether making one task wait on another would close a loop, so that neither could ever be done.
+     * Only the prerequisites reachable from the new prerequisite are walked.
+     *
+     * @param dependentId The task that would wait.
+     * @param prerequisiteId The task it would wait on.
+     * @return True if the prerequisite is the dependent or already waits on it, directly or not.
+     */
+    boolean wouldCycle(long dependentId, long prerequisiteId) {
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> toVisit = new ArrayDeque<>();
+        toVisit.push(prerequisiteId);
+        while (!toVisit.isEmpty()) {
+            long id = toVisit.pop();
+            if (id == dependentId) {
+                return true;
+            }
+            Node node = nodes.get(id);
+            if (node != null && seen.add(id)) {
+                node.task.getPrerequisites().forEach(toVisit::push);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        Node node = new Node(task);
+        for (long prerequisiteId : task.getPrerequisites()) {
+            dependents.computeIfAbsent(prerequisiteId, id -> new HashSet<>()).add(task.getId());
+            Node prerequisite = nodes.get(prerequisiteId);
+            if (prerequisite != null && !prerequisite.task.getIsDone()) {
+                node.waitingOn++;
+            }
+        }
+        // Added only now, so that a task listed as its own prerequisite is counted once, by the loop below
+        nodes.put(task.getId(), node);
+        if (!task.getIsDone()) {
+            updateDependents(task.getId(), 1);
+        }
+        if (node.waitingOn == 0 && !task.getIsDone()) {
+            ready.put(task.getId(), task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        nodes.remove(task.getId());
+        ready.remove(task.getId());
+        for (long prerequisiteId : task.getPrerequisites()) {
+            Set<Long> waiting = dependents.get(prerequisiteId);
+            waiting.remove(task.getId());
+            if (waiting.isEmpty()) {
+                dependents.remove(prerequisiteId);
+            }
+        }
+        if (!task.getIsDone()) {
+            updateDependents(task.getId(), -1);
+        }
+    }
+
+    @Override
+    public void taskReplaced(Task oldTask, Task newTask) {
+        if (!oldTask.getPrerequisites().equals(newTask.getPrerequisites())) {
+            taskRemoved(oldTask);
+            taskAdded(newTask);
+            return;
+        }
+        Node node = nodes.get(newTask.getId());
+        node.task = newTask;
+        if (oldTask.getIsDone() != newTask.getIsDone()) {
+            updateDependents(newTask.getId(), newTask.getIsDone() ? -1 : 1);
+        }
+        updateReady(node);
+    }
+
+    /**
+     * Changes the count of prerequisites still to do of every task waiting on a task.
+     */
+    private void updateDependents(long id, int change) {
+        Set<Long> waiting = dependents.get(id);
+        if (waiting == null) {
+            return;
+        }
+        for (long dependentId : waiting) {
+            Node dependent = nodes.get(dependentId);
+            dependent.waitingOn += change;
+            assert dependent.waitingOn >= 0 : "A task cannot wait on fewer than no prerequisites";
+            updateReady(dependent);
+        }
+    }
+
+    private void updateReady(Node node) {
+        if (node.waitingOn == 0 && !node.task.getIsDone()) {
+            ready.put(node.task.getId(), node.task);
+        } else {
+            ready.remove(node.task.getId());
+        }
+    }
+
+    /**
+     * Represents a task in the graph and how many of its prerequisites are still to do.
+     */
+    private static final class Node {
+        private Task task;
+        private int waitingOn;
+
+        private Node(Task task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package honey.tasklist;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Event;
+import honey.task.Task;
+
+/**
+ * Represents the times taken up by the events still to do in a TaskList, to find the events a time overlaps.
+ * An event takes up the minutes from its start up to but not including its end, so a meeting ending at 11:00
+ * does not overlap one starting at 11:00; an event without times takes up its whole days, and one that takes
+ * no time is counted as taking its first minute.
+ * The events are kept in a priority search tree: a leaf for each event, in order of start, under nodes that
+ * each split the events below into earlier and later ones and are balanced by random priorities, as a treap is.
+ * Each node also holds the event that ends last among those below it not held higher up. Finding the k events
+ * that overlap a time walks down the one path to the time's end, and away from it only visits nodes holding
+ * an overlapping event and their children, so it takes O(log n + k); adding or removing an event takes
+ * O(log n), both expected.
+ * The index is created and updated while holding the TaskList's write lock, and must only be read with it.
+ */
+final class IntervalIndex implements TaskListListener {
+    /** Priority of a leaf, below every node that splits, so leaves stay at the bottom */
+    private static final int LEAF_PRIORITY = Integer.MIN_VALUE;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    /** Picks the priorities, seeded so that the same changes always build the same tree */
+    private final Random priorities = new Random(0x486f6e6579L);
+    private Node root;
+
+    /**
+     * Constructs an index of the events in a snapshot, for an index created after the list.
+     */
+    IntervalIndex(TaskSnapshot tasks) {
+        for (Task task : tasks) {
+            taskAdded(task);
+        }
+    }
+
+    /**
+     * Gets the events still to do whose time overlaps an event's, in no particular order.
+     *
+     * @param event The event to check, before it is added to the list.
+     * @param limit The most events to get.
+     */
+    List<Event> getOverlapping(Event event, int limit) {
+        Interval interval = new Interval(event);
+        List<Event> overlapping = new ArrayList<>();
+        collect(root, false, interval.start, interval.end, limit, overlapping);
+        return overlapping;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (isIndexed(task)) {
+            insert(new Interval((Event) task));
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (isIndexed(task)) {
+            remove(new Interval((Event) task));
+        }
+    }
+
+    @Override
+    public void taskReplaced(Task oldTask, Task newTask) {
+        taskRemoved(oldTask);
+        taskAdded(newTask);
+    }
+
+    private static boolean isIndexed(Task task) {
+        return task instanceof Event && !task.getIsDone();
+    }
+
+    /**
+     * Adds the events held in a subtree that overlap a time; the path to the time's end is the only one
+     * followed into subtrees that may hold events starting too late.
+     *
+     * @param isAllBefore Whether every event below the node starts before the time ends.
+     */
+    private static void collect(Node node, boolean isAllBefore, long start, long end, int limit,
+            List<Event> overlapping) {
+        if (node == null || node.held == null || node.held.end <= start || overlapping.size() >= limit) {
+            return;
+        }
+        // Nothing below ends later than the event held here, so nothing below overlaps if it does not
+        if (node.held.start < end) {
+            overlapping.add(node.held.event);
+        }
+        if (node.isLeaf()) {
+            return;
+        }
+        if (isAllBefore || node.start < end) {
+            collect(node.left, true, start, end, limit, overlapping);
+            collect(node.right, isAllBefore, start, end, limit, overlapping);
+        } else {
+            // Everything on the right starts at or after the split, which is already too late
+            collect(node.left, false, start, end, limit, overlapping);
+        }
+    }
+
+    private void insert(Interval interval) {
+        if (root == null) {
+            root = new Node(interval.start, interval.id, LEAF_PRIORITY, null, null);
+            root.held = interval;
+            return;
+        }
+        root = addLeaf(root, interval);
+        pushDown(root, interval);
+    }
+
+    /**
+     * Adds a leaf for an interval below a node, without the interval itself, and rotates the node splitting
+     * it from its neighbour up to where its priority belongs.
+     *
+     * @return The node now at the top of the subtree.
+     */
+    private Node addLeaf(Node node, Interval interval) {
+        if (node.isLeaf()) {
+            Node leaf = new Node(interval.start, interval.id, LEAF_PRIORITY, null, null);
+            Node split = interval.isBefore(node.start, node.id)
+                    ? new Node(interval.start, interval.id, nextPriority(), leaf, node)
+                    : new Node(node.start, node.id, nextPriority(), node, leaf);
+            split.held = node.held;
+            node.held = null;
+            return split;
+        }
+        if (node.isLeft(interval)) {
+            node.left = addLeaf(node.left, interval);
+            return node.left.priority > node.priority ? rotateRight(node) : node;
+        }
+        node.right = addLeaf(node.right, interval);
+        return node.right.priority > node.priority ? rotateLeft(node) : node;
+    }
+
+    private int nextPriority() {
+        int priority = priorities.nextInt();
+        return priority == LEAF_PRIORITY ? priority + 1 : priority;
+    }
+
+    private void remove(Interval interval) {
+        Node node = root;
+        while (node.held == null || !node.held.isSameAs(interval)) {
+            assert !node.isLeaf() : "An indexed event is held on the path to its leaf";
+            node = node.isLeft(interval) ? node.left : node.right;
+        }
+        node.held = null;
+        pullUp(node);
+        root = removeLeaf(root, interval);
+    }
+
+    /**
+     * Removes the leaf of an interval no longer held anywhere, with the node splitting it from its neighbour.
+     *
+     * @return The node now at the top of the subtree.
+     */
+    private static Node removeLeaf(Node node, Interval interval) {
+        if (node.isLeaf()) {
+            return null;
+        }
+        boolean isLeft = node.isLeft(interval);
+        Node next = isLeft ? node.left : node.right;
+        if (!next.isLeaf()) {
+            if (isLeft) {
+                node.left = removeLeaf(next, interval);
+            } else {
+                node.right = removeLeaf(next, interval);
+            }
+            return node;
+        }
+        // The neighbour takes the split's place, and whatever the split held now belongs below it
+        Node sibling = isLeft ? node.right : node.left;
+        if (node.held != null) {
+            pushDown(sibling, node.held);
+        }
+        return sibling;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node child = node.left;
+        node.left = child.right;
+        child.right = node;
+        moveHeld(node, child);
+        return child;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node child = node.right;
+        node.right = child.left;
+        child.left = node;
+        moveHeld(node, child);
+        return child;
+    }
+
+    /**
+     * Restores what the two nodes of a rotation hold: the child now above covers everything the parent did,
+     * so it takes the parent's interval, and the child's own interval goes back down to where it now belongs.
+     */
+    private static void moveHeld(Node parent, Node child) {
+        Interval fromChild = child.held;
+        child.held = parent.held;
+        parent.held = null;
+        pullUp(parent);
+        if (fromChild != null) {
+            pushDown(child, fromChild);
+        }
+    }
+
+    /**
+     * Places an interval in a subtree, keeping the later-ending interval at each node on the way down to its
+     * leaf and carrying the other one on.
+     */
+    private static void pushDown(Node node, Interval interval) {
+        Node at = node;
+        Interval carried = interval;
+        while (at.held != null) {
+            assert !at.isLeaf() : "A leaf only holds its own interval";
+            if (carried.isAbove(at.held)) {
+                Interval kept = at.held;
+                at.held = carried;
+                carried = kept;
+            }
+            at = at.isLeft(carried) ? at.left : at.right;
+        }
+        at.held = carried;
+    }
+
+    /**
+     * Fills a node that holds nothing with the later-ending of its children's intervals, and so on down.
+     */
+    private static void pullUp(Node node) {
+        Node at = node;
+        while (!at.isLeaf()) {
+            Node from = at.left.held == null || at.right.held != null && at.right.held.isAbove(at.left.held)
+                    ? at.right : at.left;
+            if (from.held == null) {
+                return;
+            }
+            at.held = from.held;
+            from.held = null;
+            at = from;
+        }
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Represents the minutes an event takes up, from its start up to but not including its end.
+     */
+    private static final class Interval {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final Event event;
+
+        private Interval(Event event) {
+            this.start = toMinutes(event.getStart());
+            this.end = Math.max(toMinutes(event.getEnd()), start + 1);
+            this.id = event.getId();
+            this.event = event;
+        }
+
+        private boolean isBefore(long otherStart, long otherId) {
+            return start < otherStart || start == otherStart && id < otherId;
+        }
+
+        /**
+         * Checks whether this is held above another interval: it ends later, or they end together and it
+         * comes first.
+         */
+        private boolean isAbove(Interval other) {
+            return end > other.end || end == other.end && isBefore(other.start, other.id);
+        }
+
+        private boolean isSameAs(Interval other) {
+            return start == other.start && id == other.id;
+        }
+    }
+
+    /**
+     * Represents a node of the tree: a leaf for an event, or a node splitting the events below into those
+     * up to and including its start and ID, on the left, and those after, on the right.
+     */
+    private static final class Node {
+        private final long start;
+        private final long id;
+        private final int priority;
+        private Node left;
+        private Node right;
+        /** The interval ending last among those below not held higher up, or null if there is none */
+        private Interval held;
+
+        private Node(long start, long id, int priority, Node left, Node right) {
+            this.start = start;
+            this.id = id;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+
+        private boolean isLeaf() {
+            return left == null;
+        }
+
+        private boolean isLeft(Interval interval) {
+            return interval.isBefore(start, id) || interval.start == start && interval.id == id;
+        }
+    }
+}
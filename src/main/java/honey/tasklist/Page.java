@@ -0,0 +1,73 @@
+package honey.tasklist;
+
+/**
+ * Represents which part of a query's results to show: up to {@code limit} tasks, after skipping {@code offset}.
+ * Queries given a page stop producing results once they have the tasks on it, so a small page of a huge hive
+ * costs about as much as the page itself.
+ * Pages are immutable.
+ */
+public final class Page {
+    /** Limit of a page that has no limit */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+    private static final Page ALL = new Page(0, NO_LIMIT);
+
+    private final int offset;
+    private final int limit;
+
+    private Page(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the page holding every result.
+     *
+     * @return The page.
+     */
+    public static Page all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a page of results.
+     *
+     * @param offset The number of results to skip, at least 0.
+     * @param limit The most results to show, at least 1, or {@link #NO_LIMIT}.
+     * @return The page.
+     */
+    public static Page of(int offset, int limit) {
+        assert offset >= 0 : "Offset cannot be negative";
+        assert limit > 0 : "Limit must be positive";
+        return offset == 0 && limit == NO_LIMIT ? ALL : new Page(offset, limit);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets how many results a query must produce to fill this page and tell whether any come after it:
+     * the offset plus the limit plus one, or {@link #NO_LIMIT} if that would overflow.
+     */
+    int getNeeded() {
+        return limit >= NO_LIMIT - 1 - offset ? NO_LIMIT : offset + limit + 1;
+    }
+
+    /**
+     * Checks whether this page holds every result.
+     *
+     * @return True if it skips nothing and has no limit.
+     */
+    public boolean isAll() {
+        return offset == 0 && limit == NO_LIMIT;
+    }
+
+    @Override
+    public String toString() {
+        return "offset " + offset + " limit " + limit;
+    }
+}
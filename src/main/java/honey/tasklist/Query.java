@@ -0,0 +1,117 @@
+package honey.tasklist;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+
+/**
+ * Represents a query over a TaskList: a filter, an optional sort key, the page of results to show,
+ * and whether to explain how the query would run instead of running it.
+ * Queries are immutable.
+ */
+public final class Query {
+    private final QueryPredicate filter;
+    private final SortKey sortKey;
+    private final Page page;
+    private final boolean isExplain;
+
+    /**
+     * Constructs a query.
+     *
+     * @param filter The predicate tasks must pass.
+     * @param sortKey The key to sort the tasks by, or null to keep them in list order.
+     * @param page The part of the results to show.
+     * @param isExplain Whether to describe the plan for the query instead of running it.
+     */
+    public Query(QueryPredicate filter, SortKey sortKey, Page page, boolean isExplain) {
+        assert filter != null : "Filter cannot be null";
+        assert page != null : "Page cannot be null";
+        this.filter = filter;
+        this.sortKey = sortKey;
+        this.page = page;
+        this.isExplain = isExplain;
+    }
+
+    public QueryPredicate getFilter() {
+        return filter;
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    public boolean getIsExplain() {
+        return isExplain;
+    }
+
+    /**
+     * Represents the keys a query can sort by, the same keys as the sort command.
+     */
+    public enum SortKey {
+        DEADLINE,
+        NAME,
+        TYPE,
+        STATUS;
+
+        /**
+         * Finds the sort key with the given name, ignoring case.
+         *
+         * @param name The name of the key, such as "deadline".
+         * @return The key, or null if there is no key with that name.
+         */
+        public static SortKey fromName(String name) {
+            for (SortKey key : values()) {
+                if (key.name().equalsIgnoreCase(name)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the order this key sorts tasks into.
+         * By deadline, each task is placed at its date: the due date of a deadline, the start of an event and
+         * the next occurrence of a recurring task, with tasks that have no date last.
+         */
+        Comparator<Task> getOrder(LocalDateTime now) {
+            switch (this) {
+            case DEADLINE:
+                return Comparator.comparing(task -> dateOf(task, now),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+            case NAME:
+                return Comparator.comparing(TaskList::getTaskDisplayDescription, String.CASE_INSENSITIVE_ORDER);
+            case TYPE:
+                return Comparator.comparing(Task::getTaskType);
+            case STATUS:
+                return Comparator.comparing(Task::getIsDone);
+            default:
+                throw new AssertionError("Unknown sort key: " + this);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        private static LocalDateTime dateOf(Task task, LocalDateTime now) {
+            if (task instanceof Deadline deadline) {
+                return deadline.getDeadline();
+            } else if (task instanceof Event event) {
+                return event.getStart();
+            } else if (task instanceof Recurring recurring) {
+                return recurring.getNextOccurrence(now);
+            }
+            return null;
+        }
+    }
+}
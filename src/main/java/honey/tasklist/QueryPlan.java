@@ -0,0 +1,82 @@
+package honey.tasklist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import honey.task.Task;
+
+/**
+ * Represents how a query will run: which tasks it reads, from an index or the whole list,
+ * and the predicate each of those candidates must still pass.
+ * Plans are made by {@link QueryPlanner} for one query and are immutable.
+ */
+final class QueryPlan {
+    private final String access;
+    /** Candidates, as consecutive runs of an index */
+    private final List<List<Task>> segments;
+    private final int candidateCount;
+    private final int taskCount;
+    private final QueryPredicate residual;
+    private final boolean isListOrder;
+    private final List<String> alternatives;
+
+    QueryPlan(String access, List<List<Task>> segments, int taskCount, QueryPredicate residual,
+            boolean isListOrder, List<String> alternatives) {
+        this.access = access;
+        this.segments = segments;
+        this.candidateCount = segments.stream().mapToInt(List::size).sum();
+        this.taskCount = taskCount;
+        this.residual = residual;
+        this.isListOrder = isListOrder;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Reads the candidates in a single pass and keeps those that pass the residual predicate.
+     *
+     * @param stopAfter The number of matches after which to stop reading.
+     * @return The matching tasks, in the order of the candidates.
+     */
+    List<Task> run(int stopAfter) {
+        List<Task> matches = new ArrayList<>();
+        for (List<Task> segment : segments) {
+            for (Task task : segment) {
+                if (residual.test(task)) {
+                    matches.add(task);
+                    if (matches.size() >= stopAfter) {
+                        return matches;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /** Describes where the candidates come from, such as "status index (pending)" */
+    String getAccess() {
+        return access;
+    }
+
+    int getCandidateCount() {
+        return candidateCount;
+    }
+
+    int getTaskCount() {
+        return taskCount;
+    }
+
+    /** The predicate each candidate is checked against; passes everything if the index alone is exact */
+    QueryPredicate getResidual() {
+        return residual;
+    }
+
+    /** Whether the candidates come in list order */
+    boolean getIsListOrder() {
+        return isListOrder;
+    }
+
+    /** Describes the other ways the query could have run, with how many candidates each would read */
+    List<String> getAlternatives() {
+        return alternatives;
+    }
+}
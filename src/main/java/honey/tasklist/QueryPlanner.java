@@ -0,0 +1,169 @@
+package honey.tasklist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Task;
+import honey.task.TaskType;
+
+/**
+ * Chooses how to run a query over a TaskList.
+ * Each condition that every matching task must pass (the query's filter, or each part of it if it is an and)
+ * can be answered by an index: the status view, the type view, the term index, or the date-ordered views
+ * of deadlines and events. The planner counts how many tasks each such index would return, in O(log n) each
+ * without reading them, and reads from the smallest, checking the other conditions on each task it reads.
+ * With no usable condition, or none that narrows the list, it reads the whole list.
+ */
+final class QueryPlanner {
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Plans a filter against the current state of a TaskList.
+     * Indexes the filter needs are created on first use.
+     */
+    static QueryPlan plan(QueryPredicate filter, TaskList taskList) {
+        TaskSnapshot tasks = taskList.getTasks();
+        List<QueryPredicate> conjuncts = filter instanceof QueryPredicate.And conjunction
+                ? conjunction.getOperands()
+                : List.of(filter);
+
+        List<IndexScan> scans = new ArrayList<>();
+        for (QueryPredicate conjunct : conjuncts) {
+            IndexScan scan = scan(conjunct, taskList);
+            if (scan != null) {
+                scans.add(scan);
+            }
+        }
+        IndexScan best = null;
+        for (IndexScan scan : scans) {
+            if (scan.size < tasks.size() && (best == null || scan.size < best.size)) {
+                best = scan;
+            }
+        }
+
+        List<String> alternatives = new ArrayList<>();
+        for (IndexScan scan : scans) {
+            if (scan != best) {
+                alternatives.add(scan.description + " - " + scan.size + " tasks");
+            }
+        }
+        if (best == null) {
+            return new QueryPlan("full scan", List.of(tasks), tasks.size(), filter, true, alternatives);
+        }
+        alternatives.add("full scan - " + tasks.size() + " tasks");
+        List<QueryPredicate> residual = new ArrayList<>(conjuncts);
+        if (best.isExact) {
+            residual.remove(best.conjunct);
+        }
+        return new QueryPlan(best.description, best.segments, tasks.size(), QueryPredicate.and(residual),
+                best.isListOrder, alternatives);
+    }
+
+    /**
+     * Finds the candidates an index gives for a condition, or null if no index answers it.
+     */
+    private static IndexScan scan(QueryPredicate conjunct, TaskList taskList) {
+        if (conjunct instanceof QueryPredicate.StatusIs status) {
+            return scanStatus(status, taskList.statusView().getTasks());
+        } else if (conjunct instanceof QueryPredicate.TypeIs type) {
+            return scanTypes(type, taskList.typeView().getTasks());
+        } else if (conjunct instanceof QueryPredicate.NameHas name) {
+            TaskSnapshot posting = taskList.termIndex().get(name.getTerm());
+            return new IndexScan(conjunct, "keyword index on \"" + name.getTerm() + "\"", List.of(posting),
+                    true, true);
+        } else if (conjunct instanceof QueryPredicate.DateRange range) {
+            return scanDates(range, taskList);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the pending tasks, a prefix of the status view, or the done tasks after them.
+     */
+    private static IndexScan scanStatus(QueryPredicate.StatusIs status, TaskSnapshot byStatus) {
+        int pendingCount = byStatus.countWhile(task -> !task.getIsDone());
+        List<Task> segment = status.getIsDone()
+                ? byStatus.subList(pendingCount, byStatus.size())
+                : byStatus.subList(0, pendingCount);
+        return new IndexScan(status, "status index (" + status + ")", List.of(segment), true, true);
+    }
+
+    /**
+     * Reads the run of the type view holding each wanted type.
+     */
+    private static IndexScan scanTypes(QueryPredicate.TypeIs type, TaskSnapshot byType) {
+        List<List<Task>> segments = new ArrayList<>();
+        for (TaskType wanted : type.getTypes()) {
+            int start = byType.countWhile(task -> task.getTaskType().compareTo(wanted) < 0);
+            int end = byType.countWhile(task -> task.getTaskType().compareTo(wanted) <= 0);
+            if (start < end) {
+                segments.add(byType.subList(start, end));
+            }
+        }
+        return new IndexScan(type, "type index (" + type + ")", segments, true, segments.size() <= 1);
+    }
+
+    /**
+     * Reads the deadlines due in the range, the events that start before its end or end after its start,
+     * whichever are fewer, and every recurring task.
+     * Events found this way may still miss the range, so the condition is checked again on each.
+     */
+    private static IndexScan scanDates(QueryPredicate.DateRange range, TaskList taskList) {
+        LocalDate from = range.getFrom();
+        LocalDate to = range.getTo();
+        TaskSnapshot deadlines = taskList.deadlineView().getTasks();
+        int start = from == null ? 0 : deadlines.countWhile(task -> dueDate(task).isBefore(from));
+        int end = to == null ? deadlines.size() : deadlines.countWhile(task -> !dueDate(task).isAfter(to));
+        List<List<Task>> segments = new ArrayList<>();
+        segments.add(deadlines.subList(start, Math.max(start, end)));
+
+        List<Task> events = null;
+        if (to != null) {
+            TaskSnapshot byStart = taskList.eventStartView().getTasks();
+            events = byStart.subList(0, byStart.countWhile(task -> !((Event) task).getStartDate().isAfter(to)));
+        }
+        if (from != null) {
+            TaskSnapshot byEnd = taskList.eventEndView().getTasks();
+            List<Task> endingLater = byEnd.subList(
+                    byEnd.countWhile(task -> ((Event) task).getEndDate().isBefore(from)), byEnd.size());
+            if (events == null || endingLater.size() < events.size()) {
+                events = endingLater;
+            }
+        }
+        segments.add(events);
+        segments.add(taskList.recurringView().getTasks());
+        return new IndexScan(range, "date index (" + range + ")", segments, false, false);
+    }
+
+    private static LocalDate dueDate(Task task) {
+        return ((Deadline) task).getDeadline().toLocalDate();
+    }
+
+    /**
+     * Represents the candidates one index gives for one condition.
+     */
+    private static final class IndexScan {
+        private final QueryPredicate conjunct;
+        private final String description;
+        private final List<List<Task>> segments;
+        private final int size;
+        /** Whether every candidate passes the condition, so it need not be checked again */
+        private final boolean isExact;
+        private final boolean isListOrder;
+
+        private IndexScan(QueryPredicate conjunct, String description, List<List<Task>> segments,
+                boolean isExact, boolean isListOrder) {
+            this.conjunct = conjunct;
+            this.description = description;
+            this.segments = segments;
+            this.size = segments.stream().mapToInt(List::size).sum();
+            this.isExact = isExact;
+            this.isListOrder = isListOrder;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package honey.tasklist;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.Recurring;
+import honey.task.Task;
+import honey.task.TaskType;
+
+/**
+ * Represents the filter of a query as a tree: conditions on a task's type, status, name and dates,
+ * combined with and, or and not.
+ * Predicates are immutable. The {@link QueryPlanner} looks inside them to pick an index, so only the
+ * kinds of predicate made by the static factory methods exist.
+ */
+public abstract class QueryPredicate {
+    private static final QueryPredicate ALL = new And(List.of());
+
+    private QueryPredicate() {
+    }
+
+    /**
+     * Checks whether a task passes this predicate.
+     *
+     * @param task The task to check.
+     * @return True if the task matches.
+     */
+    public abstract boolean test(Task task);
+
+    /**
+     * Returns the predicate that every task passes.
+     *
+     * @return The predicate.
+     */
+    public static QueryPredicate all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a predicate that passes tasks that pass every one of the given predicates.
+     *
+     * @param operands The predicates to combine.
+     * @return The combined predicate.
+     */
+    public static QueryPredicate and(List<QueryPredicate> operands) {
+        if (operands.isEmpty()) {
+            return ALL;
+        }
+        return operands.size() == 1 ? operands.get(0) : new And(List.copyOf(operands));
+    }
+
+    /**
+     * Returns a predicate that passes tasks that pass any of the given predicates.
+     *
+     * @param operands The predicates to combine.
+     * @return The combined predicate.
+     */
+    public static QueryPredicate or(List<QueryPredicate> operands) {
+        return operands.size() == 1 ? operands.get(0) : new Or(List.copyOf(operands));
+    }
+
+    /**
+     * Returns a predicate that passes the tasks that the given predicate does not.
+     *
+     * @param operand The predicate to negate.
+     * @return The negated predicate.
+     */
+    public static QueryPredicate not(QueryPredicate operand) {
+        return new Not(operand);
+    }
+
+    /**
+     * Returns a predicate that passes tasks of the given types.
+     *
+     * @param types The task types to pass.
+     * @return The predicate.
+     */
+    public static QueryPredicate type(Set<TaskType> types) {
+        return new TypeIs(types.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(types));
+    }
+
+    /**
+     * Returns a predicate that passes tasks that are done, or tasks that are not.
+     *
+     * @param isDone Whether to pass done tasks rather than pending ones.
+     * @return The predicate.
+     */
+    public static QueryPredicate status(boolean isDone) {
+        return new StatusIs(isDone);
+    }
+
+    /**
+     * Returns a predicate that passes tasks whose name contains a word, ignoring case.
+     * Only whole words match, as split by {@link TermIndex#tokenize(String)}.
+     *
+     * @param term The word to look for.
+     * @return The predicate.
+     * @throws IllegalArgumentException If the term is not a single word.
+     */
+    public static QueryPredicate name(String term) {
+        List<String> tokens = TermIndex.tokenize(term);
+        if (tokens.size() != 1) {
+            throw new IllegalArgumentException("Not a single word: " + term);
+        }
+        return new NameHas(tokens.get(0));
+    }
+
+    /**
+     * Returns a predicate that passes tasks with a date in a range: deadlines due in it, events that
+     * overlap it and recurring tasks that occur in it. Todos have no date, so never pass.
+     *
+     * @param from The first date in the range, or null for no lower bound.
+     * @param to The last date in the range, or null for no upper bound.
+     * @return The predicate.
+     */
+    public static QueryPredicate dates(LocalDate from, LocalDate to) {
+        assert from != null || to != null : "A date range needs at least one bound";
+        return new DateRange(from, to);
+    }
+
+    /**
+     * Describes this predicate in the syntax of the query command, wrapping it in parentheses if it
+     * combines other predicates and is itself inside one.
+     */
+    String describe(boolean isNested) {
+        return toString();
+    }
+
+    /** Passes tasks that pass every operand; with no operands, passes everything */
+    static final class And extends QueryPredicate {
+        private final List<QueryPredicate> operands;
+
+        private And(List<QueryPredicate> operands) {
+            this.operands = operands;
+        }
+
+        List<QueryPredicate> getOperands() {
+            return operands;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (QueryPredicate operand : operands) {
+                if (!operand.test(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        String describe(boolean isNested) {
+            if (operands.isEmpty()) {
+                return "everything";
+            }
+            String description = operands.stream()
+                    .map(operand -> operand.describe(true))
+                    .collect(Collectors.joining(" and "));
+            return isNested ? "(" + description + ")" : description;
+        }
+
+        @Override
+        public String toString() {
+            return describe(false);
+        }
+    }
+
+    /** Passes tasks that pass any operand */
+    static final class Or extends QueryPredicate {
+        private final List<QueryPredicate> operands;
+
+        private Or(List<QueryPredicate> operands) {
+            this.operands = operands;
+        }
+
+        List<QueryPredicate> getOperands() {
+            return operands;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            for (QueryPredicate operand : operands) {
+                if (operand.test(task)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        String describe(boolean isNested) {
+            String description = operands.stream()
+                    .map(operand -> operand.describe(true))
+                    .collect(Collectors.joining(" or "));
+            return isNested ? "(" + description + ")" : description;
+        }
+
+        @Override
+        public String toString() {
+            return describe(false);
+        }
+    }
+
+    /** Passes tasks that fail its operand */
+    static final class Not extends QueryPredicate {
+        private final QueryPredicate operand;
+
+        private Not(QueryPredicate operand) {
+            this.operand = operand;
+        }
+
+        QueryPredicate getOperand() {
+            return operand;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return !operand.test(task);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + operand.describe(true);
+        }
+    }
+
+    /** Passes tasks of some types */
+    static final class TypeIs extends QueryPredicate {
+        private final Set<TaskType> types;
+
+        private TypeIs(Set<TaskType> types) {
+            this.types = types;
+        }
+
+        Set<TaskType> getTypes() {
+            return types;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return types.contains(task.getTaskType());
+        }
+
+        @Override
+        public String toString() {
+            return "type " + types.stream()
+                    .map(type -> type.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    /** Passes done tasks, or pending ones */
+    static final class StatusIs extends QueryPredicate {
+        private final boolean isDone;
+
+        private StatusIs(boolean isDone) {
+            this.isDone = isDone;
+        }
+
+        boolean getIsDone() {
+            return isDone;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return task.getIsDone() == isDone;
+        }
+
+        @Override
+        public String toString() {
+            return isDone ? "done" : "pending";
+        }
+    }
+
+    /** Passes tasks with a word in their name */
+    static final class NameHas extends QueryPredicate {
+        /** The word, already lower case */
+        private final String term;
+
+        private NameHas(String term) {
+            this.term = term;
+        }
+
+        String getTerm() {
+            return term;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return TermIndex.tokenize(TaskList.getTaskDisplayDescription(task)).contains(term);
+        }
+
+        @Override
+        public String toString() {
+            return "name " + term;
+        }
+    }
+
+    /** Passes tasks with a date in a range */
+    static final class DateRange extends QueryPredicate {
+        /** First date in the range, or null for no lower bound */
+        private final LocalDate from;
+        /** Last date in the range, or null for no upper bound */
+        private final LocalDate to;
+
+        private DateRange(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        LocalDate getFrom() {
+            return from;
+        }
+
+        LocalDate getTo() {
+            return to;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            if (task instanceof Deadline deadline) {
+                return contains(deadline.getDeadline().toLocalDate());
+            } else if (task instanceof Event event) {
+                return (from == null || !event.getEndDate().isBefore(from))
+                        && (to == null || !event.getStartDate().isAfter(to));
+            } else if (task instanceof Recurring recurring) {
+                LocalDate firstDay = from == null ? recurring.getStartDate() : from;
+                LocalDateTime next = recurring.getNextOccurrence(firstDay.atStartOfDay().minusNanos(1));
+                return next != null && contains(next.toLocalDate());
+            }
+            return false;
+        }
+
+        private boolean contains(LocalDate date) {
+            return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+        }
+
+        @Override
+        public String toString() {
+            if (from == null) {
+                return "to " + to;
+            }
+            return to == null ? "from " + from : "from " + from + " to " + to;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package honey.tasklist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.ToLongFunction;
+
+import honey.task.Task;
+
+/**
+ * Ranks the tasks whose names best match some words, allowing for typos.
+ * Each word of the search is looked up in the {@link TermIndex} along with the indexed words within a few
+ * edits of it (an insertion, deletion, substitution or swap of two neighbouring letters). These are found
+ * by walking the sorted words and keeping one row of edit distances per letter, so words sharing a prefix
+ * share its rows, and every word under a prefix that is already too far away is skipped in one step.
+ * Tasks are scored with BM25: a rare word counts for more than a common one, a word in a short name counts
+ * for more than in a long one, and a word matched through a typo counts for less than an exact one.
+ * All the words matching one search word are weighed as rare as the most common of them, so that a rare
+ * misspelling in the hive does not outrank the word that was actually meant.
+ * Only the tasks in the posting lists of the matched words are read, and the longest of those are skipped
+ * when no task in them could make the results.
+ */
+final class RankedSearch {
+    /** How quickly repeated matches stop adding to the score; names rarely repeat words, so this matters little */
+    private static final double K1 = 1.2;
+    /** How much a long name is penalised */
+    private static final double B = 0.75;
+    /** Most indexed words each search word may match, keeping the closest, so a short word cannot match them all */
+    private static final int MAX_EXPANSIONS = 50;
+
+    private final TermIndex terms;
+    private final List<String> words;
+    private int scoredCount;
+
+    /**
+     * Creates a search for the words in a text, split as task names are.
+     */
+    RankedSearch(TermIndex terms, String text) {
+        this.terms = terms;
+        this.words = TermIndex.tokenize(text);
+    }
+
+    /**
+     * Finds the best matches.
+     * The matched words are read from the rarest search word to the most common, scoring each task fully
+     * the first time it is met. Once the best score any task not yet met could reach is below the last of
+     * the results so far, the remaining posting lists are skipped, which are the longest ones.
+     *
+     * @param needed The number of tasks to return.
+     * @param listPosition Position of each task in the list, for ordering tasks that score the same.
+     * @return Up to {@code needed} matching tasks, best first.
+     */
+    List<Task> run(int needed, ToLongFunction<Task> listPosition) {
+        Map<String, WeightedTerm> weighted = weighTerms();
+        List<WeightedTerm> postings = new ArrayList<>(weighted.values());
+        double averageLength = terms.getAverageLength();
+        double[] bounds = getBounds(postings, getLengthFactor(1, averageLength));
+
+        Comparator<Scored> bestFirst = Comparator.comparingDouble((Scored scored) -> -scored.score)
+                .thenComparingLong(scored -> scored.position);
+        TopK<Scored> best = new TopK<>(Math.max(1, needed), bestFirst);
+        double[] wordWeights = new double[words.size()];
+        scoredCount = 0;
+        for (int p = 0; p < postings.size(); p++) {
+            Scored last = best.getLargest();
+            if (last != null && bounds[p] < last.score) {
+                break;
+            }
+            for (Task task : postings.get(p).posting) {
+                String name = TaskList.getTaskDisplayDescription(task);
+                if (!addWeights(name, weighted, p, wordWeights)) {
+                    continue;
+                }
+                double sum = 0;
+                for (double weight : wordWeights) {
+                    sum += weight;
+                }
+                scoredCount++;
+                double score = sum * getLengthFactor(TermIndex.countTokens(name), averageLength);
+                best.offer(new Scored(task, score, listPosition.applyAsLong(task)));
+            }
+        }
+
+        List<Task> ranked = new ArrayList<>();
+        for (Scored scored : best.toSortedList()) {
+            ranked.add(scored.task);
+        }
+        return ranked;
+    }
+
+    /**
+     * Finds the indexed words matching each search word and weighs them for it, in the order their posting
+     * lists should be read: the matches of the rarest search word first.
+     */
+    private Map<String, WeightedTerm> weighTerms() {
+        long taskCount = terms.getTaskCount();
+        List<List<TermMatch>> matches = new ArrayList<>(words.size());
+        List<Integer> order = new ArrayList<>(words.size());
+        double[] idfs = new double[words.size()];
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            matches.add(expand(terms.getTerms(), word, getMaxEdits(word), MAX_EXPANSIONS));
+            int frequency = 0;
+            for (TermMatch match : matches.get(i)) {
+                frequency = Math.max(frequency, terms.get(match.term).size());
+            }
+            idfs[i] = getIdf(taskCount, frequency);
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble(i -> -idfs[i]));
+
+        Map<String, WeightedTerm> weighted = new LinkedHashMap<>();
+        for (int i : order) {
+            int wordLength = words.get(i).length();
+            for (TermMatch match : matches.get(i)) {
+                WeightedTerm term = weighted.computeIfAbsent(match.term,
+                        key -> new WeightedTerm(terms.get(key), weighted.size(), words.size()));
+                double weight = idfs[i] * (1 - (double) match.edits / (wordLength + 1));
+                term.weights[i] = Math.max(term.weights[i], weight);
+            }
+        }
+        return weighted;
+    }
+
+    /**
+     * Gets, for each posting list, the best score a task first met in it or a later one could reach.
+     */
+    private double[] getBounds(List<WeightedTerm> postings, double bestLengthFactor) {
+        double[] bounds = new double[postings.size()];
+        double[] bestWeights = new double[words.size()];
+        for (int p = postings.size() - 1; p >= 0; p--) {
+            double sum = 0;
+            for (int i = 0; i < bestWeights.length; i++) {
+                bestWeights[i] = Math.max(bestWeights[i], postings.get(p).weights[i]);
+                sum += bestWeights[i];
+            }
+            bounds[p] = sum * bestLengthFactor;
+        }
+        return bounds;
+    }
+
+    /**
+     * Fills in the weight of each search word for a task, from the matched words in its name.
+     *
+     * @return False if the name has a word from an earlier posting list, so the task has been scored already.
+     */
+    private static boolean addWeights(String name, Map<String, WeightedTerm> weighted, int posting,
+            double[] wordWeights) {
+        Arrays.fill(wordWeights, 0);
+        for (String token : TermIndex.tokenize(name)) {
+            WeightedTerm term = weighted.get(token);
+            if (term == null) {
+                continue;
+            }
+            if (term.index < posting) {
+                return false;
+            }
+            for (int i = 0; i < wordWeights.length; i++) {
+                wordWeights[i] = Math.max(wordWeights[i], term.weights[i]);
+            }
+        }
+        return true;
+    }
+
+    /** Gets the number of tasks scored in the last run */
+    int getScoredCount() {
+        return scoredCount;
+    }
+
+    /**
+     * Gets how many edits a word may be away from a match: none for one or two letters, one for up to five,
+     * and two for longer words.
+     */
+    static int getMaxEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Finds the words in a sorted dictionary within some edits of a word, keeping the closest if there are many.
+     *
+     * @param dictionary The words to search, sorted.
+     * @param word The word to match.
+     * @param maxEdits The most edits allowed.
+     * @param maxMatches The most matches to return.
+     * @return The matches, closest first.
+     */
+    static List<TermMatch> expand(NavigableSet<String> dictionary, String word, int maxEdits, int maxMatches) {
+        TopK<TermMatch> closest = new TopK<>(maxMatches, Comparator.comparingInt(match -> match.edits));
+        int columns = word.length() + 1;
+        int[][] rows = new int[1][];
+        rows[0] = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+
+        String previous = "";
+        String term = dictionary.isEmpty() ? null : dictionary.first();
+        while (term != null) {
+            if (term.length() >= rows.length) {
+                rows = growRows(rows, term.length() + 1, columns);
+            }
+            int depth = commonPrefixLength(previous, term);
+            int prunedAt = -1;
+            for (int i = depth + 1; i <= term.length(); i++) {
+                if (fillRow(rows, i, term, word) > maxEdits) {
+                    prunedAt = i;
+                    break;
+                }
+            }
+            previous = term;
+            if (prunedAt > 0) {
+                // Every word that starts with this prefix is at least as far away
+                previous = term.substring(0, prunedAt - 1);
+                term = dictionary.higher(term.substring(0, prunedAt) + Character.MAX_VALUE);
+                continue;
+            }
+            int edits = rows[term.length()][word.length()];
+            if (edits <= maxEdits) {
+                closest.offer(new TermMatch(term, edits));
+            }
+            term = dictionary.higher(term);
+        }
+        return closest.toSortedList();
+    }
+
+    /**
+     * Fills the row of edit distances for the first {@code i} letters of a term, from the rows above it.
+     *
+     * @return The smallest distance in the row; no longer word with this prefix can be closer.
+     */
+    private static int fillRow(int[][] rows, int i, String term, String word) {
+        int[] row = rows[i];
+        int[] above = rows[i - 1];
+        char letter = term.charAt(i - 1);
+        row[0] = i;
+        int smallest = i;
+        for (int j = 1; j < row.length; j++) {
+            int cost = letter == word.charAt(j - 1) ? 0 : 1;
+            int distance = Math.min(Math.min(above[j] + 1, row[j - 1] + 1), above[j - 1] + cost);
+            if (i > 1 && j > 1 && letter == word.charAt(j - 2) && term.charAt(i - 2) == word.charAt(j - 1)) {
+                distance = Math.min(distance, rows[i - 2][j - 2] + 1);
+            }
+            row[j] = distance;
+            smallest = Math.min(smallest, distance);
+        }
+        return smallest;
+    }
+
+    private static int[][] growRows(int[][] rows, int size, int columns) {
+        int[][] grown = new int[size][];
+        System.arraycopy(rows, 0, grown, 0, rows.length);
+        for (int i = rows.length; i < size; i++) {
+            grown[i] = new int[columns];
+        }
+        return grown;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Gets how much a word found in {@code frequency} of {@code taskCount} names says about a task.
+     */
+    private static double getIdf(long taskCount, int frequency) {
+        return Math.log(1 + (taskCount - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    /**
+     * Gets the BM25 factor for a name of some length, for a word it contains once.
+     */
+    private static double getLengthFactor(int length, double averageLength) {
+        return (K1 + 1) / (1 + K1 * (1 - B + B * length / averageLength));
+    }
+
+    /**
+     * Represents an indexed word close to a searched one.
+     */
+    static final class TermMatch {
+        private final String term;
+        private final int edits;
+
+        TermMatch(String term, int edits) {
+            this.term = term;
+            this.edits = edits;
+        }
+
+        String getTerm() {
+            return term;
+        }
+
+        int getEdits() {
+            return edits;
+        }
+    }
+
+    /**
+     * Represents an indexed word matching some of the search words, with its weight for each.
+     */
+    private static final class WeightedTerm {
+        private final TaskSnapshot posting;
+        /** Position of the posting list in reading order */
+        private final int index;
+        private final double[] weights;
+
+        private WeightedTerm(TaskSnapshot posting, int index, int wordCount) {
+            this.posting = posting;
+            this.index = index;
+            this.weights = new double[wordCount];
+        }
+    }
+
+    private static final class Scored {
+        private final Task task;
+        private final double score;
+        /** Looked up once, as names often repeat and the ties are compared many times */
+        private final long position;
+
+        private Scored(Task task, double score, long position) {
+            this.task = task;
+            this.score = score;
+            this.position = position;
+        }
+    }
+}
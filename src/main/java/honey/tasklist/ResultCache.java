@@ -0,0 +1,172 @@
+package honey.tasklist;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import honey.metrics.Metrics;
+import honey.task.HoneyClock;
+import honey.task.Task;
+
+/**
+ * Holds the rendered results of recent queries, so that a query repeated between changes is answered without
+ * reading the list again.
+ * Entries are keyed by the query and its normalised arguments, such as {@code find\nreport\noffset 0 limit 10}.
+ * Each entry remembers which tasks its result depends on, and a change removes exactly the entries that depend
+ * on the task as it was or as it became; a change to any other task leaves them in place. Results that depend
+ * on the time, such as which deadlines are overdue, also expire at the first moment they would read differently,
+ * or if the {@link HoneyClock} is moved back to before they were worked out. Every entry is dropped when the
+ * clock's zone changes, as deadlines given in a zone then fall due, and sort, at other local times.
+ * The cache holds at most {@value #MAX_ENTRIES} entries and {@value #MAX_CHARS} characters, dropping the least
+ * recently used entries first, and results too long to be worth keeping are not cached at all.
+ * Hits, misses, evictions and invalidations are recorded in {@link Metrics}.
+ */
+final class ResultCache implements TaskListListener {
+    static final int MAX_ENTRIES = 256;
+    static final long MAX_CHARS = 4_000_000;
+    /** Longest result kept, so that one huge result cannot push out every other entry */
+    private static final long MAX_RESULT_CHARS = MAX_CHARS / 16;
+
+    /** Entries in order of use, least recently used first */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Metrics metrics;
+    private long totalChars;
+    /** Changes seen so far; a result is only stored if no change was seen while it was being worked out */
+    private volatile long version;
+    /** Zone of the clock the entries were worked out in */
+    private ZoneId zone = HoneyClock.getInstance().getZone();
+
+    ResultCache(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the version to pass to {@link #put}, which must be read before the tasks the result is worked out from.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets a cached result, counting a hit or a miss.
+     *
+     * @param key The query and its normalised arguments.
+     * @return The result, or null if it is not cached or has expired.
+     */
+    synchronized String get(String key) {
+        ZoneId currentZone = HoneyClock.getInstance().getZone();
+        if (!currentZone.equals(zone)) {
+            clear();
+            zone = currentZone;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && entry.readAt != null) {
+            LocalDateTime now = HoneyClock.getInstance().now();
+            if (now.isBefore(entry.readAt) || (entry.validBefore != null && !now.isBefore(entry.validBefore))) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            metrics.recordResultCacheMiss();
+            return null;
+        }
+        metrics.recordResultCacheHit();
+        return entry.result;
+    }
+
+    /**
+     * Caches a result, unless the tasks changed after it started being worked out.
+     *
+     * @param key The query and its normalised arguments.
+     * @param result The result.
+     * @param dependsOn Whether the result depends on a task, so that a change to it must remove the entry.
+     * @param readAt The time the result was worked out at, or null if it does not depend on the time.
+     * @param validBefore The time from which the result would read differently, or null if it only would if the
+     *     clock went back.
+     * @param startVersion The version read before working out the result.
+     */
+    synchronized void put(String key, String result, Predicate<Task> dependsOn, LocalDateTime readAt,
+            LocalDateTime validBefore, long startVersion) {
+        if (startVersion != version || result.length() > MAX_RESULT_CHARS
+                || !HoneyClock.getInstance().getZone().equals(zone)) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry(result, dependsOn, readAt, validBefore));
+        totalChars += result.length();
+        Iterator<Entry> leastRecent = entries.values().iterator();
+        while (entries.size() > MAX_ENTRIES || totalChars > MAX_CHARS) {
+            totalChars -= leastRecent.next().result.length();
+            leastRecent.remove();
+            metrics.recordResultCacheEviction();
+        }
+    }
+
+    /**
+     * Removes every entry, for changes too large to check entry by entry.
+     */
+    synchronized void clear() {
+        version++;
+        metrics.recordResultCacheInvalidations(entries.size());
+        entries.clear();
+        totalChars = 0;
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        invalidate(task, task);
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        invalidate(task, task);
+    }
+
+    @Override
+    public void taskReplaced(Task oldTask, Task newTask) {
+        invalidate(oldTask, newTask);
+    }
+
+    private synchronized void invalidate(Task oldTask, Task newTask) {
+        version++;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        int invalidated = 0;
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.dependsOn.test(oldTask) || (newTask != oldTask && entry.dependsOn.test(newTask))) {
+                totalChars -= entry.result.length();
+                iterator.remove();
+                invalidated++;
+            }
+        }
+        metrics.recordResultCacheInvalidations(invalidated);
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalChars -= removed.result.length();
+        }
+    }
+
+    /**
+     * Represents a cached result and what it depends on.
+     */
+    private static final class Entry {
+        private final String result;
+        private final Predicate<Task> dependsOn;
+        private final LocalDateTime readAt;
+        private final LocalDateTime validBefore;
+
+        private Entry(String result, Predicate<Task> dependsOn, LocalDateTime readAt, LocalDateTime validBefore) {
+            this.result = result;
+            this.dependsOn = dependsOn;
+            this.readAt = readAt;
+            this.validBefore = validBefore;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package honey.tasklist;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import honey.task.Priority;
+import honey.task.Task;
+
+/**
+ * Represents, for each tag and each priority, the positions in the list of the tasks that have it, as bitmaps.
+ * Filtering by tags and a priority ANDs their bitmaps 64 positions at a time and then reads only the tasks
+ * left, so no task is checked one by one.
+ * The index is immutable: each change returns an updated index that shares everything the change did not touch.
+ * As in a Roaring bitmap, each bitmap is split into chunks of {@value Bitmap#CHUNK_SIZE} positions and empty
+ * chunks are not stored, so adding a task copies only the chunks its own tags fall in. Inserting or removing
+ * tasks elsewhere moves every later position, so it rebuilds the chunks from the change on.
+ * Each index keeps the snapshot its positions refer to, so a reader holding one needs no lock.
+ */
+final class TagIndex {
+    private static final TagIndex EMPTY =
+            new TagIndex(TaskSnapshot.empty(), Map.of(), new EnumMap<>(Priority.class));
+
+    private final TaskSnapshot tasks;
+    private final Map<String, Bitmap> tags;
+    private final Map<Priority, Bitmap> priorities;
+
+    private TagIndex(TaskSnapshot tasks, Map<String, Bitmap> tags, Map<Priority, Bitmap> priorities) {
+        this.tasks = tasks;
+        this.tags = tags;
+        this.priorities = priorities;
+    }
+
+    /**
+     * Builds the index of a snapshot in one pass.
+     */
+    static TagIndex build(TaskSnapshot tasks) {
+        return EMPTY.inserted(tasks, 0, tasks.size());
+    }
+
+    /**
+     * Gets the snapshot the positions in this index refer to.
+     */
+    TaskSnapshot getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Gets an index updated for tasks inserted into the list.
+     *
+     * @param updated The list after the insertion.
+     * @param index The position of the first inserted task.
+     * @param count The number of tasks inserted.
+     */
+    TagIndex inserted(TaskSnapshot updated, int index, int count) {
+        // Positions of the inserted tasks with each tag and priority, counted from the first of them
+        Map<String, BitSet> addedTags = new HashMap<>();
+        Map<Priority, BitSet> addedPriorities = new EnumMap<>(Priority.class);
+        int offset = 0;
+        for (Task task : updated.subList(index, index + count)) {
+            for (String tag : task.getTags()) {
+                addedTags.computeIfAbsent(tag, key -> new BitSet()).set(offset);
+            }
+            if (task.getPriority() != null) {
+                addedPriorities.computeIfAbsent(task.getPriority(), key -> new BitSet()).set(offset);
+            }
+            offset++;
+        }
+
+        Map<String, Bitmap> updatedTags = moved(tags, new HashMap<>(), index, index, count);
+        addedTags.forEach((tag, added) ->
+                updatedTags.put(tag, updatedTags.getOrDefault(tag, Bitmap.EMPTY).withAll(added, index)));
+        Map<Priority, Bitmap> updatedPriorities =
+                moved(priorities, new EnumMap<>(Priority.class), index, index, count);
+        addedPriorities.forEach((priority, added) -> updatedPriorities.put(priority,
+                updatedPriorities.getOrDefault(priority, Bitmap.EMPTY).withAll(added, index)));
+        return new TagIndex(updated, updatedTags, updatedPriorities);
+    }
+
+    /**
+     * Gets an index updated for the tasks in a range of positions being removed from the list.
+     *
+     * @param updated The list after the removal.
+     * @param fromIndex The position of the first removed task.
+     * @param toIndex One past the position of the last removed task.
+     */
+    TagIndex removed(TaskSnapshot updated, int fromIndex, int toIndex) {
+        int by = fromIndex - toIndex;
+        return new TagIndex(updated, moved(tags, new HashMap<>(), fromIndex, toIndex, by),
+                moved(priorities, new EnumMap<>(Priority.class), fromIndex, toIndex, by));
+    }
+
+    /**
+     * Gets an index updated for a task replaced in place, as marking it does.
+     * A replacement with the same tags and priority shares every bitmap.
+     *
+     * @param updated The list after the replacement.
+     * @param index The position of the task.
+     * @param oldTask The task before the change.
+     */
+    TagIndex replaced(TaskSnapshot updated, int index, Task oldTask) {
+        Task newTask = updated.get(index);
+        if (oldTask.getTags().equals(newTask.getTags()) && oldTask.getPriority() == newTask.getPriority()) {
+            return new TagIndex(updated, tags, priorities);
+        }
+        return removed(tasks.without(index), index, index + 1).inserted(updated, index, 1);
+    }
+
+    /**
+     * Gets the tasks that have every one of the given tags and the given priority, in list order.
+     *
+     * @param tagNames The tags, in lower case without their mark; may be empty if a priority is given.
+     * @param priority The priority, or null to accept any.
+     * @return A view of the matching tasks, each read from the snapshot only when asked for.
+     */
+    List<Task> matching(List<String> tagNames, Priority priority) {
+        assert !tagNames.isEmpty() || priority != null : "Matching needs a tag or a priority";
+        Bitmap[] wanted = new Bitmap[tagNames.size() + (priority == null ? 0 : 1)];
+        int count = 0;
+        for (String tag : tagNames) {
+            wanted[count++] = tags.get(tag);
+        }
+        if (priority != null) {
+            wanted[count++] = priorities.get(priority);
+        }
+        for (Bitmap bitmap : wanted) {
+            if (bitmap == null) {
+                return List.of();
+            }
+        }
+        int[] positions = Bitmap.and(wanted);
+        return new AbstractList<>() {
+            @Override
+            public Task get(int i) {
+                return tasks.get(positions[i]);
+            }
+
+            @Override
+            public int size() {
+                return positions.length;
+            }
+        };
+    }
+
+    /**
+     * Copies bitmaps into a new map with their positions moved for a change to the list, leaving out any
+     * left empty.
+     */
+    private static <K> Map<K, Bitmap> moved(Map<K, Bitmap> bitmaps, Map<K, Bitmap> into, int fromIndex,
+            int toIndex, int by) {
+        bitmaps.forEach((key, bitmap) -> {
+            Bitmap movedBitmap = bitmap.moved(fromIndex, toIndex, by);
+            if (!movedBitmap.isEmpty()) {
+                into.put(key, movedBitmap);
+            }
+        });
+        return into;
+    }
+
+    /**
+     * Represents an immutable set of positions, as a bitmap split into chunks of {@value #CHUNK_SIZE} positions.
+     * A chunk with no position set is not stored, and a changed bitmap shares every chunk it did not change.
+     */
+    static final class Bitmap {
+        /**
+         * Positions per chunk: few enough that the chunk a change copies is small, and enough that the chunks
+         * of a million positions are a short array
+         */
+        static final int CHUNK_SIZE = 1 << 12;
+        static final Bitmap EMPTY = new Bitmap(new long[0][], 0, 0);
+        private static final int CHUNK_SHIFT = 12;
+        private static final int WORDS_PER_CHUNK = CHUNK_SIZE / Long.SIZE;
+
+        /** Chunks in order, each null if empty; the last is never null */
+        private final long[][] chunks;
+        private final int cardinality;
+        /** One past the highest position set, or 0 if none is */
+        private final int length;
+
+        private Bitmap(long[][] chunks, int cardinality, int length) {
+            this.chunks = chunks;
+            this.cardinality = cardinality;
+            this.length = length;
+        }
+
+        boolean isEmpty() {
+            return cardinality == 0;
+        }
+
+        int getCardinality() {
+            return cardinality;
+        }
+
+        /**
+         * Gets a bitmap with some positions added, copying each chunk they fall in once.
+         *
+         * @param added The positions to add, counted from {@code offset}; at least one.
+         * @param offset The position that bit 0 of {@code added} stands for.
+         */
+        Bitmap withAll(BitSet added, int offset) {
+            int lastChunk = (offset + added.length() - 1) >>> CHUNK_SHIFT;
+            long[][] updated = Arrays.copyOf(chunks, Math.max(chunks.length, lastChunk + 1));
+            int updatedCardinality = cardinality;
+            for (int i = added.nextSetBit(0); i >= 0; i = added.nextSetBit(i + 1)) {
+                int position = offset + i;
+                int chunkIndex = position >>> CHUNK_SHIFT;
+                long[] chunk = updated[chunkIndex];
+                if (chunk == null) {
+                    chunk = new long[WORDS_PER_CHUNK];
+                    updated[chunkIndex] = chunk;
+                } else if (chunkIndex < chunks.length && chunk == chunks[chunkIndex]) {
+                    chunk = chunk.clone();
+                    updated[chunkIndex] = chunk;
+                }
+                int word = (position >>> 6) & (WORDS_PER_CHUNK - 1);
+                long bit = 1L << position;
+                if ((chunk[word] & bit) == 0) {
+                    chunk[word] |= bit;
+                    updatedCardinality++;
+                }
+            }
+            return new Bitmap(updated, updatedCardinality, Math.max(length, offset + added.length()));
+        }
+
+        /**
+         * Gets a bitmap with the positions from {@code toIndex} on moved by {@code by} and any between
+         * {@code fromIndex} and {@code toIndex} dropped. The chunks before {@code fromIndex} are shared, and
+         * a bitmap with no position from {@code fromIndex} on, as for tasks added at the end, is returned as it is.
+         */
+        Bitmap moved(int fromIndex, int toIndex, int by) {
+            if (length <= fromIndex) {
+                return this;
+            }
+            int firstChunk = fromIndex >>> CHUNK_SHIFT;
+            long[] tail = new long[(chunks.length - firstChunk) * WORDS_PER_CHUNK];
+            int updatedCardinality = cardinality;
+            for (int c = firstChunk; c < chunks.length; c++) {
+                if (chunks[c] != null) {
+                    System.arraycopy(chunks[c], 0, tail, (c - firstChunk) * WORDS_PER_CHUNK, WORDS_PER_CHUNK);
+                    updatedCardinality -= bitCount(chunks[c], 0, WORDS_PER_CHUNK);
+                }
+            }
+            int base = firstChunk << CHUNK_SHIFT;
+            long[] movedTail = move(tail, fromIndex - base, toIndex - base, by);
+
+            int tailChunks = (movedTail.length + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+            long[][] updated = Arrays.copyOf(chunks, firstChunk + tailChunks);
+            int lastChunk = firstChunk - 1;
+            for (int c = 0; c < tailChunks; c++) {
+                int start = c * WORDS_PER_CHUNK;
+                int end = Math.min(start + WORDS_PER_CHUNK, movedTail.length);
+                int chunkCardinality = bitCount(movedTail, start, end);
+                long[] chunk = null;
+                if (chunkCardinality > 0) {
+                    chunk = new long[WORDS_PER_CHUNK];
+                    System.arraycopy(movedTail, start, chunk, 0, end - start);
+                    lastChunk = firstChunk + c;
+                    updatedCardinality += chunkCardinality;
+                }
+                updated[firstChunk + c] = chunk;
+            }
+            while (lastChunk >= 0 && updated[lastChunk] == null) {
+                lastChunk--;
+            }
+            int updatedLength = 0;
+            if (lastChunk >= 0) {
+                long[] chunk = updated[lastChunk];
+                int word = WORDS_PER_CHUNK - 1;
+                while (chunk[word] == 0) {
+                    word--;
+                }
+                updatedLength = (lastChunk << CHUNK_SHIFT) + word * Long.SIZE + Long.SIZE
+                        - Long.numberOfLeadingZeros(chunk[word]);
+            }
+            return new Bitmap(Arrays.copyOf(updated, lastChunk + 1), updatedCardinality, updatedLength);
+        }
+
+        /**
+         * Gets the positions set in every one of some bitmaps, in order.
+         * The bitmaps are read from the one with the fewest positions, so that a chunk or word missing from it
+         * is skipped before the others are read.
+         */
+        static int[] and(Bitmap[] bitmaps) {
+            Bitmap[] ordered = bitmaps.clone();
+            Arrays.sort(ordered, Comparator.comparingInt(Bitmap::getCardinality));
+            int chunkCount = Integer.MAX_VALUE;
+            for (Bitmap bitmap : ordered) {
+                chunkCount = Math.min(chunkCount, bitmap.chunks.length);
+            }
+            int[] positions = new int[Math.min(ordered[0].cardinality, 16)];
+            int size = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                if (!hasChunk(ordered, c)) {
+                    continue;
+                }
+                for (int w = 0; w < WORDS_PER_CHUNK; w++) {
+                    long word = ordered[0].chunks[c][w];
+                    for (int b = 1; b < ordered.length && word != 0; b++) {
+                        word &= ordered[b].chunks[c][w];
+                    }
+                    while (word != 0) {
+                        if (size == positions.length) {
+                            positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+                        }
+                        positions[size++] = (c << CHUNK_SHIFT) + (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+            return Arrays.copyOf(positions, size);
+        }
+
+        private static boolean hasChunk(Bitmap[] bitmaps, int chunkIndex) {
+            for (Bitmap bitmap : bitmaps) {
+                if (bitmap.chunks[chunkIndex] == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int bitCount(long[] words, int start, int end) {
+            int count = 0;
+            for (int i = start; i < end; i++) {
+                count += Long.bitCount(words[i]);
+            }
+            return count;
+        }
+
+        /**
+         * Gets a copy of some words with the bits from {@code highStart} on moved by {@code by}, the bits below
+         * {@code lowEnd} kept where they are and the bits between dropped. The moved bits must not land below
+         * {@code lowEnd}.
+         */
+        private static long[] move(long[] words, int lowEnd, int highStart, int by) {
+            long[] result = new long[(int) (((long) words.length * Long.SIZE + Math.max(by, 0) + 63) / Long.SIZE)];
+            int lowWords = lowEnd >>> 6;
+            System.arraycopy(words, 0, result, 0, Math.min(lowWords, words.length));
+            if ((lowEnd & 63) != 0 && lowWords < words.length) {
+                result[lowWords] = words[lowWords] & ((1L << lowEnd) - 1);
+            }
+            int destinationStart = highStart + by;
+            for (int d = destinationStart >>> 6; d < result.length; d++) {
+                long value = bitsFrom(words, (long) d * Long.SIZE - by);
+                if (d == destinationStart >>> 6) {
+                    value &= -1L << destinationStart;
+                }
+                result[d] |= value;
+            }
+            return result;
+        }
+
+        /**
+         * Gets the 64 bits of some words starting at a bit, with bits outside the words read as zero.
+         */
+        private static long bitsFrom(long[] words, long start) {
+            int index = (int) Math.floorDiv(start, Long.SIZE);
+            int shift = Math.floorMod(start, Long.SIZE);
+            long low = wordAt(words, index) >>> shift;
+            return shift == 0 ? low : low | wordAt(words, index + 1) << (Long.SIZE - shift);
+        }
+
+        private static long wordAt(long[] words, int index) {
+            return index >= 0 && index < words.length ? words[index] : 0;
+        }
+    }
+}
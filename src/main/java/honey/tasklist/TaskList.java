@@ -1,33 +1,84 @@
 package honey.tasklist;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import honey.exceptions.HoneyException;
 import honey.exceptions.InvalidCommandException;
 import honey.exceptions.InvalidTaskNumberException;
+import honey.metrics.Metrics;
+import honey.metrics.TaskQueryEvent;
 import honey.task.Deadline;
 import honey.task.Event;
+import honey.task.HoneyClock;
+import honey.task.Priority;
+import honey.task.Recurring;
 import honey.task.Task;
+import honey.task.TaskAttributes;
 import honey.task.Todo;
 
 /**
  * Manages a list of tasks and provides operations for adding, removing, and searching tasks.
+ * Uses a single-writer/multi-reader model: every change publishes a new immutable snapshot of the list,
+ * so queries can run concurrently with each other and with a writer without taking any lock.
+ * Tasks inside a snapshot are never mutated; marking a task replaces it with an updated copy.
+ * Sorted and filtered queries are served from materialised views, built on first use and then updated
+ * in O(log n) by every change, so they do not sort or scan the whole list.
+ * Searches repeated between changes are answered from a {@link ResultCache}, and searches by tag and priority
+ * from a {@link TagIndex} of bitmaps.
+ * Each task is given an ID when it is added, by which other tasks wait on it; which tasks are ready to work
+ * on is kept up to date by a {@link DependencyGraph}.
+ * Adding an event still to do reports the events it overlaps, found in an {@link IntervalIndex} of their times.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    /** Number of results a ranked search shows when not given a limit */
+    public static final int RANKED_LIMIT = 10;
+    private static final Predicate<Task> IS_DEADLINE_OR_RECURRING =
+            task -> task instanceof Deadline || task instanceof Recurring;
+    /** Room left per rendered row for its number and a note such as its next occurrence */
+    private static final int ROW_ALLOWANCE = 48;
+    /** Room left for the note that more results follow */
+    private static final int MORE_RESULTS_ALLOWANCE = 96;
+    /** Number of overlapping events shown when an event is added */
+    private static final int OVERLAPS_SHOWN = 3;
+
+    /** Immutable snapshot of the tasks, replaced on every change */
+    private volatile TaskSnapshot tasks;
+    /** Serialises writers so each change is applied on top of the latest snapshot */
+    private final Object writeLock = new Object();
+    /** Notified of every change, while the write lock is held */
+    private final List<TaskListListener> listeners = new CopyOnWriteArrayList<>();
+    /** Materialised views, updated before the listeners on every change */
+    private final TaskViews views = new TaskViews();
+    /** Results of recent queries, updated after the views on every change */
+    private final ResultCache cache = new ResultCache(Metrics.getInstance());
+    /** Bitmaps of the tasks with each tag and priority, or null until the first search by tag */
+    private volatile TagIndex tagIndex;
+    /** Prerequisites between the tasks, or null until they are first used */
+    private volatile DependencyGraph dependencies;
+    /** Times of the events still to do, or null until an event is first added */
+    private volatile IntervalIndex intervals;
+    /** ID the next task added will be given; only used while holding the write lock */
+    private long nextId = 1;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.tasks = TaskSnapshot.empty();
     }
 
     /**
@@ -35,27 +86,48 @@ public class TaskList {
      *
      * @param tasks The list of tasks to initialize with.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         assert tasks != null : "Task list cannot be null";
-        this.tasks = tasks;
+        for (Task task : tasks) {
+            reserveIds(task);
+        }
+        // Tasks from files written before tasks had IDs are given them now, as are any repeated IDs
+        Set<Long> seen = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getId() == 0 || !seen.add(task.getId())) {
+                task.setId(nextId++);
+            }
+        }
+        this.tasks = TaskSnapshot.of(tasks);
     }
 
     /**
      * Adds a new task based on the description string.
+     * Tags such as {@code #work} and a priority such as {@code !high} may appear anywhere among its words.
      *
      * @param description The task description string.
      * @throws HoneyException If the task creation fails.
      */
     public String addTask(String description) throws HoneyException {
-        if (description.startsWith("todo")) {
-            Todo task = new Todo(description);
-            return addToList(task);
-        } else if (description.startsWith("deadline")) {
-            Deadline task = new Deadline(description);
-            return addToList(task);
-        } else if (description.startsWith("event")) {
-            Event task = new Event(description);
-            return addToList(task);
+        TaskAttributes attributes;
+        try {
+            attributes = TaskAttributes.parse(description);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCommandException("A task can only have one priority, sweetie: !high, !medium or !low.");
+        }
+        String untagged = attributes.getDescription();
+        if (untagged.startsWith("todo")) {
+            Todo task = new Todo(untagged);
+            return addToList(attributes.applyTo(task));
+        } else if (untagged.startsWith("deadline")) {
+            Deadline task = new Deadline(untagged);
+            return addToList(attributes.applyTo(task));
+        } else if (untagged.startsWith("event")) {
+            Event task = new Event(untagged);
+            return addToList(attributes.applyTo(task));
+        } else if (untagged.startsWith("recurring")) {
+            Recurring task = new Recurring(untagged);
+            return addToList(attributes.applyTo(task));
         } else {
             throw new InvalidCommandException("Oh my! I'm a bit confused, sweetie. Could you help me understand what this means?\n" + description);
         }
@@ -63,16 +135,158 @@ public class TaskList {
 
     /**
      * Adds a task to the list and displays confirmation message.
+     * If the task is an event still to do, the message also lists the events still to do that it overlaps.
      *
      * @param task The task to add.
      */
     public String addToList(Task task) {
         assert task != null : "Task to add cannot be null";
-        int sizeBefore = tasks.size();
-        tasks.add(task);
-        assert tasks.size() == sizeBefore + 1 : "Task list size should increase by 1 after adding";
-        return "Perfect, my dear! ✨ I've lovingly added this to our hive: " + "\n" + task + "\n"
-                + "Together we're managing " + tasks.size() + " sweet tasks! 🐝";
+        synchronized (writeLock) {
+            List<Event> overlapping = task instanceof Event event && !task.getIsDone()
+                    ? intervalIndex().getOverlapping(event, Integer.MAX_VALUE)
+                    : List.of();
+            assignId(task);
+            int sizeBefore = tasks.size();
+            TaskSnapshot updated = tasks.append(task);
+            assert updated.size() == sizeBefore + 1 : "Task list size should increase by 1 after adding";
+            tasks = updated;
+            updateTagIndex(index -> index.inserted(updated, sizeBefore, 1));
+            views.taskAdded(task);
+            cache.taskAdded(task);
+            listeners.forEach(listener -> listener.taskAdded(task));
+            return "Perfect, my dear! ✨ I've lovingly added this to our hive: " + "\n" + task + "\n"
+                    + "Together we're managing " + updated.size() + " sweet tasks! 🐝"
+                    + renderOverlapping(overlapping);
+        }
+    }
+
+    /**
+     * Renders the note that an added event overlaps others, showing the earliest few, or nothing if it
+     * overlaps none.
+     */
+    private static String renderOverlapping(List<Event> overlapping) {
+        if (overlapping.isEmpty()) {
+            return "";
+        }
+        List<Event> shown = overlapping.stream()
+                .sorted(Comparator.comparing(Event::getStart).thenComparingLong(Event::getId))
+                .limit(OVERLAPS_SHOWN)
+                .toList();
+        StringBuilder note = new StringBuilder("\nHeads up, sweetie! It overlaps ")
+                .append(overlapping.size() == 1 ? "this event" : overlapping.size() + " events").append(':');
+        for (Event event : shown) {
+            note.append("\n  ").append(event);
+        }
+        if (overlapping.size() > shown.size()) {
+            note.append("\n  ...and ").append(overlapping.size() - shown.size()).append(" more");
+        }
+        return note.toString();
+    }
+
+    /**
+     * Adds a batch of tasks to the end of the list as a single change, so queries see either all of them or none.
+     * Used for bulk imports, where taking the write lock and publishing a snapshot per task would dominate.
+     * Each event still to do is checked against the events before it, in the list or the batch.
+     *
+     * @param batch The tasks to add, in order.
+     * @return The number of events still to do in the batch that overlap an earlier event.
+     */
+    public int addAll(List<Task> batch) {
+        assert batch != null : "Batch cannot be null";
+        synchronized (writeLock) {
+            // Built before the batch is in the list, so it then takes the batch in a task at a time
+            IntervalIndex index = batch.stream().anyMatch(task -> task instanceof Event && !task.getIsDone())
+                    ? intervalIndex()
+                    : intervals;
+            int overlappingCount = 0;
+            int sizeBefore = tasks.size();
+            TaskSnapshot updated = tasks;
+            for (Task task : batch) {
+                assert task != null : "Task to add cannot be null";
+                assignId(task);
+                updated = updated.append(task);
+            }
+            tasks = updated;
+            TaskSnapshot added = updated;
+            updateTagIndex(tags -> tags.inserted(added, sizeBefore, batch.size()));
+            for (Task task : batch) {
+                if (task instanceof Event event && !task.getIsDone() && !index.getOverlapping(event, 1).isEmpty()) {
+                    overlappingCount++;
+                }
+                views.taskAdded(task);
+                listeners.forEach(listener -> listener.taskAdded(task));
+            }
+            cache.clear();
+            return overlappingCount;
+        }
+    }
+
+    /**
+     * Inserts a batch of tasks at a position as a single change, moving the tasks from there on along.
+     * Used to put back tasks that were removed, as undoing a delete does.
+     *
+     * @param index The zero-based position the first task will have, from 0 to size() inclusive.
+     * @param batch The tasks to insert, in order.
+     */
+    public void insertAll(int index, List<Task> batch) {
+        assert batch != null : "Batch cannot be null";
+        synchronized (writeLock) {
+            TaskSnapshot updated = tasks;
+            if (index < 0 || index > updated.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + updated.size());
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                assert batch.get(i) != null : "Task to insert cannot be null";
+                assignId(batch.get(i));
+                updated = updated.insertAt(index + i, batch.get(i));
+            }
+            tasks = updated;
+            TaskSnapshot inserted = updated;
+            updateTagIndex(tags -> tags.inserted(inserted, index, batch.size()));
+            views.tasksInserted(updated, index, batch.size());
+            if (batch.size() == 1) {
+                cache.taskAdded(batch.get(0));
+            } else {
+                cache.clear();
+            }
+            for (Task task : batch) {
+                listeners.forEach(listener -> listener.taskAdded(task));
+            }
+        }
+    }
+
+    /**
+     * Removes the tasks in a range of positions as a single change.
+     * Used to take back tasks that were added, as undoing an add or an import does.
+     *
+     * @param fromIndex The zero-based position of the first task to remove.
+     * @param toIndex One past the position of the last task to remove.
+     * @return The removed tasks, in order.
+     */
+    public List<Task> removeRange(int fromIndex, int toIndex) {
+        synchronized (writeLock) {
+            TaskSnapshot current = tasks;
+            List<Task> removed = new ArrayList<>(current.subList(fromIndex, toIndex));
+            TaskSnapshot updated = current;
+            for (int i = toIndex - 1; i >= fromIndex; i--) {
+                updated = updated.without(i);
+            }
+            tasks = updated;
+            TaskSnapshot remaining = updated;
+            updateTagIndex(index -> index.removed(remaining, fromIndex, toIndex));
+            for (Task task : removed) {
+                views.taskRemoved(task);
+            }
+            if (removed.size() == 1) {
+                cache.taskRemoved(removed.get(0));
+            } else {
+                cache.clear();
+            }
+            for (Task task : removed) {
+                listeners.forEach(listener -> listener.taskRemoved(task));
+            }
+            return removed;
+        }
     }
 
     /**
@@ -82,13 +296,17 @@ public class TaskList {
      * @throws HoneyException If the task number is invalid.
      */
     public String markTask(int taskNumber) throws HoneyException {
-        if (taskNumber >= 1 && taskNumber <= tasks.size()) {
-            Task task = tasks.get(taskNumber - 1);
-            task.markAsDone();
-            return "Wonderful work, my sweet Bee! 🌟 Let's celebrate this accomplishment:" + "\n" + task + "\n" + "I'm so proud of us! 💕";
+        synchronized (writeLock) {
+            TaskSnapshot current = tasks;
+            if (taskNumber >= 1 && taskNumber <= current.size()) {
+                Task oldTask = current.get(taskNumber - 1);
+                Task task = oldTask.withDone(true);
+                replace(current, taskNumber - 1, oldTask, task);
+                return "Wonderful work, my sweet Bee! 🌟 Let's celebrate this accomplishment:" + "\n" + task + "\n" + "I'm so proud of us! 💕";
 
-        } else {
-            throw new InvalidTaskNumberException("mark", tasks.size());
+            } else {
+                throw new InvalidTaskNumberException("mark", current.size());
+            }
         }
     }
 
@@ -99,15 +317,94 @@ public class TaskList {
      * @throws HoneyException If the task number is invalid.
      */
     public String unmarkTask(int taskNumber) throws HoneyException {
-        if (taskNumber >= 1 && taskNumber <= tasks.size()) {
-            Task task = tasks.get(taskNumber - 1);
-            task.markAsNotDone();
-            return "No worries, darling! 💛 Sometimes we need more time, and that's perfectly okay:" + "\n" + task + "\n" + "We'll tackle it together when you're ready! 🤗";
-        } else {
-            throw new InvalidTaskNumberException("unmark", tasks.size());
+        synchronized (writeLock) {
+            TaskSnapshot current = tasks;
+            if (taskNumber >= 1 && taskNumber <= current.size()) {
+                Task oldTask = current.get(taskNumber - 1);
+                Task task = oldTask.withDone(false);
+                replace(current, taskNumber - 1, oldTask, task);
+                return "No worries, darling! 💛 Sometimes we need more time, and that's perfectly okay:" + "\n" + task + "\n" + "We'll tackle it together when you're ready! 🤗";
+            } else {
+                throw new InvalidTaskNumberException("unmark", current.size());
+            }
         }
     }
 
+    /**
+     * Makes a task wait on other tasks, so that it is not ready to work on until they are all done.
+     * Refused if any of them already waits on the task, directly or through other tasks, as neither could
+     * then ever be ready; only the tasks the new prerequisites wait on are checked.
+     *
+     * @param taskNumber The task that will wait (1-indexed).
+     * @param prerequisiteNumbers The tasks it will wait on (1-indexed).
+     * @throws HoneyException If a task number is invalid or the wait would go round in a loop.
+     */
+    public String addDependency(int taskNumber, List<Integer> prerequisiteNumbers) throws HoneyException {
+        synchronized (writeLock) {
+            TaskSnapshot current = tasks;
+            if (taskNumber < 1 || taskNumber > current.size()) {
+                throw new InvalidTaskNumberException("depend", current.size());
+            }
+            DependencyGraph graph = dependencyGraph();
+            Task oldTask = current.get(taskNumber - 1);
+            List<Long> prerequisites = new ArrayList<>(oldTask.getPrerequisites());
+            StringBuilder waitsOn = new StringBuilder();
+            for (int number : prerequisiteNumbers) {
+                if (number < 1 || number > current.size()) {
+                    throw new InvalidTaskNumberException("depend on", current.size());
+                }
+                Task prerequisite = current.get(number - 1);
+                if (prerequisite.getId() == oldTask.getId()) {
+                    throw new InvalidCommandException("Oh sweetie, task " + taskNumber
+                            + " can't wait on itself, or it would never be ready! 🐝");
+                }
+                if (graph.wouldCycle(oldTask.getId(), prerequisite.getId())) {
+                    throw new InvalidCommandException("Oh dear, task " + number + " already waits on task "
+                            + taskNumber + ", so they'd be waiting on each other forever, sweetie! 🔄");
+                }
+                prerequisites.add(prerequisite.getId());
+                waitsOn.append(number).append(". ").append(prerequisite).append("\n");
+            }
+            Task task = oldTask.withPrerequisites(prerequisites);
+            if (!task.getPrerequisites().equals(oldTask.getPrerequisites())) {
+                replace(current, taskNumber - 1, oldTask, task);
+            }
+            return "Got it, sweetie! 🔗 This one will wait its turn:\n" + task + "\n"
+                    + "It'll be ready once these are done:\n" + waitsOn;
+        }
+    }
+
+    /**
+     * Replaces a task with another version of it, as undoing or redoing a change to it does.
+     * Does not check the prerequisites of the new version for loops, so it must be one the list had before.
+     *
+     * @param index The zero-based position of the task.
+     * @param task The new version, with the same ID.
+     * @return The task it replaced.
+     */
+    public Task replaceTask(int index, Task task) {
+        synchronized (writeLock) {
+            TaskSnapshot current = tasks;
+            Task oldTask = current.get(index);
+            assert task.getId() == oldTask.getId() : "A task can only be replaced by a version of itself";
+            replace(current, index, oldTask, task);
+            return oldTask;
+        }
+    }
+
+    /**
+     * Puts an updated copy of a task in its place and updates everything derived from the list.
+     * Must be called while holding the write lock.
+     */
+    private void replace(TaskSnapshot current, int index, Task oldTask, Task task) {
+        TaskSnapshot updated = current.with(index, task);
+        tasks = updated;
+        updateTagIndex(tags -> tags.replaced(updated, index, oldTask));
+        views.taskReplaced(oldTask, task);
+        cache.taskReplaced(oldTask, task);
+        listeners.forEach(listener -> listener.taskReplaced(oldTask, task));
+    }
+
     /**
      * Deletes a task from the list.
      *
@@ -115,30 +412,163 @@ public class TaskList {
      * @throws HoneyException If the task number is invalid.
      */
     public String deleteTask(int taskNumber) throws HoneyException {
-        if (taskNumber >= 1 && taskNumber <= tasks.size()) {
-            Task task = tasks.get(taskNumber - 1);
-            int sizeBefore = tasks.size();
-            tasks.remove(taskNumber - 1);
-            assert tasks.size() == sizeBefore - 1 : "Task list size should decrease by 1 after deletion";
-            return "All done, sweetheart! 🌸 I've gently removed this from our hive:" + "\n" + task
-                    + "\n" + "Now we're focusing on " + tasks.size() + " lovely tasks together! ✨";
-        } else {
-            throw new InvalidTaskNumberException("delete", tasks.size());
+        synchronized (writeLock) {
+            if (taskNumber >= 1 && taskNumber <= tasks.size()) {
+                int sizeBefore = tasks.size();
+                Task task = tasks.get(taskNumber - 1);
+                TaskSnapshot updated = tasks.without(taskNumber - 1);
+                assert updated.size() == sizeBefore - 1 : "Task list size should decrease by 1 after deletion";
+                tasks = updated;
+                updateTagIndex(index -> index.removed(updated, taskNumber - 1, taskNumber));
+                views.taskRemoved(task);
+                cache.taskRemoved(task);
+                listeners.forEach(listener -> listener.taskRemoved(task));
+                return "All done, sweetheart! 🌸 I've gently removed this from our hive:" + "\n" + task
+                        + "\n" + "Now we're focusing on " + updated.size() + " lovely tasks together! ✨";
+            } else {
+                throw new InvalidTaskNumberException("delete", tasks.size());
+            }
         }
     }
 
     /**
      * Lists all tasks in the task list.
+     * Recurring tasks are shown with their next occurrence.
      */
     public String listTasks() {
-        if (tasks.isEmpty()) {
+        return listTasks(Page.all());
+    }
+
+    /**
+     * Lists a page of the tasks in the task list, numbered by their place in the list.
+     * Only the tasks on the page are read, in O(k log n) for a page of k tasks.
+     *
+     * @param page The part of the list to show.
+     */
+    public String listTasks(Page page) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        TaskSnapshot snapshot = tasks;
+        if (snapshot.isEmpty()) {
+            queryEvent.commit("list", 0, 0);
             return "What a peaceful moment! 🌺 Our hive is empty and ready for new adventures, my dear Bee! 🍯";
         }
 
-        String taskList = IntStream.range(0, tasks.size())
-                .mapToObj(i -> (i + 1) + ". " + tasks.get(i).toString() + "\n")
-                .collect(Collectors.joining());
-        return "Here's our beautiful collection of tasks, sweetie! Let's see what we're working on together: 💖\n" + taskList;
+        List<Task> shown = snapshot.subList(0, Math.min(page.getNeeded(), snapshot.size()));
+        queryEvent.commit("list", snapshot.size(), shown.size());
+        return renderPage("Here's our beautiful collection of tasks, sweetie! "
+                + "Let's see what we're working on together: 💖\n", shown, page, HoneyClock.getInstance().now(),
+                false);
+    }
+
+    /**
+     * Lists the tasks that are done, or the tasks that are not done, in list order.
+     * Served from the status view, in which every task still to do comes before every task that is done.
+     *
+     * @param isDone Whether to list the done tasks rather than the ones still to do.
+     */
+    public String listTasksByStatus(boolean isDone) {
+        return listTasksByStatus(isDone, Page.all());
+    }
+
+    /**
+     * Lists a page of the tasks that are done, or of the tasks that are not done, in list order.
+     *
+     * @param isDone Whether to list the done tasks rather than the ones still to do.
+     * @param page The part of the results to show.
+     */
+    public String listTasksByStatus(boolean isDone, Page page) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        TaskSnapshot byStatus = statusView().getTasks();
+        int pendingCount = byStatus.countWhile(task -> !task.getIsDone());
+        List<Task> matchingTasks = isDone
+                ? byStatus.subList(pendingCount, byStatus.size())
+                : byStatus.subList(0, pendingCount);
+        queryEvent.commit("list", matchingTasks.size(), matchingTasks.size());
+
+        if (matchingTasks.isEmpty()) {
+            return isDone
+                    ? "Nothing is finished just yet, sweetie! 🌱 "
+                            + "Every busy bee starts somewhere - let's do this together! 🐝"
+                    : "Everything is done, my dear Bee! 🎉 Our hive is all caught up - time for some honey! 🍯";
+        }
+        String header = isDone
+                ? "Look at everything we've finished together, sweetheart! 🌟\n"
+                : "Here's what's still waiting for us, my dear! We've got this: 💪\n";
+        return renderPage(header, matchingTasks, page, null, false);
+    }
+
+    /**
+     * Lists the deadlines that are not done and have already passed, earliest first.
+     * Served from the view of pending deadlines sorted by date, whose overdue tasks are a prefix found in O(log n).
+     */
+    public String listOverdueTasks() {
+        return listOverdueTasks(Page.all());
+    }
+
+    /**
+     * Lists a page of the deadlines that are not done and have already passed, earliest first.
+     *
+     * @param page The part of the results to show.
+     */
+    public String listOverdueTasks(Page page) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        TaskSnapshot pendingDeadlines = pendingDeadlineView().getTasks();
+        LocalDateTime now = HoneyClock.getInstance().now();
+        List<Task> overdueTasks = pendingDeadlines.subList(0,
+                pendingDeadlines.countWhile(task -> ((Deadline) task).isOverdue(now)));
+        queryEvent.commit("list", overdueTasks.size(), overdueTasks.size());
+
+        if (overdueTasks.isEmpty()) {
+            return "Nothing is overdue, darling! 🌸 We're right on schedule - I'm so proud of us! ✨";
+        }
+        return renderPage("These tasks are past their deadline, sweetie. Let's give them some love soon! 💛\n",
+                overdueTasks, page, null, false);
+    }
+
+    /**
+     * Lists a page of the tasks that are ready to work on: those still to do whose prerequisites are all done.
+     * Served from the dependency graph, which keeps them up to date as tasks change, in the order they were added.
+     *
+     * @param page The part of the results to show.
+     */
+    public String listNextTasks(Page page) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        List<Task> nextTasks = dependencyGraph().getReady(page.getNeeded());
+        queryEvent.commit("next", nextTasks.size(), nextTasks.size());
+
+        if (nextTasks.isEmpty()) {
+            return "Nothing is ready to work on right now, sweetie! 🌸 "
+                    + "Everything is either done or waiting on something else. 🍯";
+        }
+        return renderPage("These are ready whenever you are, my dear! Everything they wait on is done: 🐝\n",
+                nextTasks, page, HoneyClock.getInstance().now(), false);
+    }
+
+    /**
+     * Lists a page of the tasks that have every one of the given tags and, if given, the priority, in list order.
+     * Served from the tag index by ANDing bitmaps, so only the matching tasks are read.
+     *
+     * @param tags The tags, in lower case without their {@code #}; may be empty if a priority is given.
+     * @param priority The priority, or null to accept any.
+     * @param page The part of the results to show.
+     */
+    public String listTasksByTags(List<String> tags, Priority priority, Page page) {
+        assert !tags.isEmpty() || priority != null : "Tag search needs a tag or a priority";
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        List<Task> matchingTasks = tagIndex().matching(tags, priority);
+        queryEvent.commit("list", matchingTasks.size(), matchingTasks.size());
+
+        if (matchingTasks.isEmpty()) {
+            return "No tasks are tagged just like that yet, sweetie! 🏷️ "
+                    + "Add tags like #work or !high to a task when you add it. 💕";
+        }
+        return renderPage("Here's everything tagged just so, my dear! 🏷️✨\n", matchingTasks, page,
+                HoneyClock.getInstance().now(), false);
     }
 
     /**
@@ -148,6 +578,18 @@ public class TaskList {
      * @throws HoneyException If the date format is invalid.
      */
     public String findTasksDue(String dateStr) throws HoneyException {
+        return findTasksDue(dateStr, Page.all());
+    }
+
+    /**
+     * Finds and displays a page of the tasks due on a specific date.
+     * The search stops as soon as it has found the tasks on the page.
+     *
+     * @param dateStr The date string to search for (yyyy-MM-dd format).
+     * @param page The part of the results to show.
+     * @throws HoneyException If the date format is invalid.
+     */
+    public String findTasksDue(String dateStr, Page page) throws HoneyException {
         LocalDate queryDate;
 
         try {
@@ -156,28 +598,35 @@ public class TaskList {
             throw new InvalidCommandException("Invalid date format. Please use yyyy-MM-dd");
         }
 
-        List<Task> dueTasks = tasks.stream()
-                .filter(task -> {
-                    if (task instanceof Deadline deadline) {
-                        return deadline.getDeadline().toLocalDate().equals(queryDate);
-                    } else if (task instanceof Event event) {
-                        return event.getStartDate().equals(queryDate)
-                                || event.getEndDate().equals(queryDate)
-                                || (queryDate.isAfter(event.getStartDate()) && queryDate.isBefore(event.getEndDate()));
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
+        Predicate<Task> isDue = task -> isDueOn(task, queryDate);
+        return cached("due\n" + queryDate + "\n" + page, isDue, () -> {
+            TaskQueryEvent queryEvent = new TaskQueryEvent();
+            queryEvent.begin();
+            TaskSnapshot snapshot = tasks;
+            List<Task> dueTasks = scan(snapshot, isDue, page.getNeeded());
+            queryEvent.commit("due", snapshot.size(), dueTasks.size());
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
-        if (dueTasks.isEmpty()) {
-            return "✨ How lovely! No urgent tasks on " + queryDate.format(formatter) + " - perfect time for some self-care, my dear! 🌸";
-        }
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
+            if (dueTasks.isEmpty()) {
+                return "✨ How lovely! No urgent tasks on " + queryDate.format(formatter)
+                        + " - perfect time for some self-care, my dear! 🌸";
+            }
+            return renderPage("💫 Here are our important tasks for " + queryDate.format(formatter)
+                    + ", darling! Let's tackle them together:\n", dueTasks, page, null, false);
+        });
+    }
 
-        String taskList = IntStream.range(0, dueTasks.size())
-                .mapToObj(i -> (i + 1) + ". " + dueTasks.get(i).toString() + "\n")
-                .collect(Collectors.joining());
-        return "💫 Here are our important tasks for " + queryDate.format(formatter) + ", darling! Let's tackle them together:\n" + taskList;
+    private static boolean isDueOn(Task task, LocalDate date) {
+        if (task instanceof Deadline deadline) {
+            return deadline.getDeadline().toLocalDate().equals(date);
+        } else if (task instanceof Event event) {
+            return event.getStartDate().equals(date)
+                    || event.getEndDate().equals(date)
+                    || (date.isAfter(event.getStartDate()) && date.isBefore(event.getEndDate()));
+        } else if (task instanceof Recurring recurring) {
+            return recurring.occursOn(date);
+        }
+        return false;
     }
 
 
@@ -188,19 +637,93 @@ public class TaskList {
      * @param keyword The keyword to search for in task descriptions.
      */
     public String findTasks(String keyword) {
+        return findTasks(keyword, Page.all());
+    }
+
+    /**
+     * Finds and displays a page of the tasks that contain the specified keyword in their description.
+     * The search is case-insensitive, and stops as soon as it has found the tasks on the page.
+     *
+     * @param keyword The keyword to search for in task descriptions.
+     * @param page The part of the results to show.
+     */
+    public String findTasks(String keyword, Page page) {
         String lowerKeyword = keyword.toLowerCase();
+        Predicate<Task> isMatch = task -> getTaskDisplayDescription(task).toLowerCase().contains(lowerKeyword);
+        return cached("find\n" + lowerKeyword + "\n" + page, isMatch, () -> {
+            TaskQueryEvent queryEvent = new TaskQueryEvent();
+            queryEvent.begin();
+            TaskSnapshot snapshot = tasks;
+            List<Task> matchingTasks = scan(snapshot, isMatch, page.getNeeded());
+            queryEvent.commit("find", snapshot.size(), matchingTasks.size());
 
-        List<Task> matchingTasks = tasks.stream()
-                .filter(task -> getTaskDisplayDescription(task).toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toList());
+            if (matchingTasks.isEmpty()) {
+                return "Hmm, my sweet Bee! 🔍 I couldn't find any tasks with that keyword. "
+                        + "Maybe we can try a different search? 💕";
+            }
+            return renderPage("", matchingTasks, page, null, false);
+        });
+    }
 
-        if (matchingTasks.isEmpty()) {
-            return "Hmm, my sweet Bee! 🔍 I couldn't find any tasks with that keyword. Maybe we can try a different search? 💕";
+    /**
+     * Finds and displays the tasks whose names best match some words, most relevant first.
+     * Each word also matches words a typo or two away, and rarer words and shorter names rank higher.
+     * Without a limit, only the best {@value #RANKED_LIMIT} are shown.
+     *
+     * @param words The words to search for.
+     * @param page The part of the ranking to show.
+     */
+    public String findRankedTasks(String words, Page page) {
+        Page shown = page.getLimit() == Page.NO_LIMIT ? Page.of(page.getOffset(), RANKED_LIMIT) : page;
+        String key = "find ranked\n" + String.join(" ", TermIndex.tokenize(words)) + "\n" + shown;
+        // Every change alters how rare each word is, so any change can reorder the results
+        return cached(key, task -> true, () -> {
+            TaskQueryEvent queryEvent = new TaskQueryEvent();
+            queryEvent.begin();
+            RankedSearch search = new RankedSearch(termIndex(), words);
+            List<Task> ranked = search.run(shown.getNeeded(), views.getListPositions());
+            queryEvent.commit("find ranked", search.getScoredCount(), ranked.size());
+
+            if (ranked.isEmpty()) {
+                return "Hmm, my sweet Bee! 🔍 Nothing comes close to those words, even allowing for a typo or two. "
+                        + "Maybe we can try different ones? 💕";
+            }
+            return renderPage("Here are my best matches, most relevant first! 🔍🐝\n", ranked, shown, null, false);
+        });
+    }
+
+    /**
+     * Answers a query from the result cache, or works it out and caches the result until a task it depends on
+     * changes.
+     *
+     * @param key The query and its normalised arguments.
+     * @param dependsOn Whether the result depends on a task.
+     * @param query Works out the result.
+     */
+    private String cached(String key, Predicate<Task> dependsOn, Supplier<String> query) {
+        String result = cache.get(key);
+        if (result == null) {
+            long version = cache.getVersion();
+            result = query.get();
+            cache.put(key, result, dependsOn, null, null, version);
         }
+        return result;
+    }
 
-        return IntStream.range(0, matchingTasks.size())
-                .mapToObj(i -> (i + 1) + ". " + matchingTasks.get(i).toString() + "\n")
-                .collect(Collectors.joining());
+    /**
+     * Collects the tasks in a snapshot that pass a filter, in list order, stopping once enough are found.
+     */
+    private static List<Task> scan(TaskSnapshot snapshot, Predicate<Task> filter, int stopAfter) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : snapshot) {
+            if (filter.test(task)) {
+                matches.add(task);
+                if (matches.size() >= stopAfter) {
+                    break;
+                }
+            }
+        }
+        return matches;
     }
 
     /**
@@ -210,23 +733,51 @@ public class TaskList {
      * @param task The task to get the description from.
      * @return The display description of the task.
      */
-    private String getTaskDisplayDescription(Task task) {
+    static String getTaskDisplayDescription(Task task) {
         if (task instanceof Todo) {
             return task.getDescription().substring(5); // Remove "todo " prefix
         } else if (task instanceof Deadline) {
             return ((Deadline) task).getTaskName();
         } else if (task instanceof Event) {
             return ((Event) task).getTaskName();
+        } else if (task instanceof Recurring) {
+            return ((Recurring) task).getTaskName();
         }
         return task.getDescription();
     }
 
     /**
-     * Gets the list of tasks.
+     * Registers a listener for every later change to this TaskList.
+     * The returned snapshot and the changes the listener receives fit together exactly: each change made
+     * after the snapshot is reported once, and no change already in the snapshot is reported.
+     *
+     * @param listener The listener to notify.
+     * @return The tasks at the moment the listener was registered.
+     */
+    public TaskSnapshot subscribe(TaskListListener listener) {
+        assert listener != null : "Listener cannot be null";
+        synchronized (writeLock) {
+            listeners.add(listener);
+            return tasks;
+        }
+    }
+
+    /**
+     * Stops notifying a listener registered with {@link #subscribe(TaskListListener)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void unsubscribe(TaskListListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets a consistent, immutable snapshot of the tasks in O(1).
+     * Later changes to this TaskList are not reflected in the returned snapshot.
      *
      * @return The list of tasks.
      */
-    public ArrayList<Task> getTasks() {
+    public TaskSnapshot getTasks() {
         return tasks;
     }
 
@@ -242,29 +793,458 @@ public class TaskList {
     /**
      * Sorts and displays all deadline tasks by their deadline dates in ascending order.
      * Shows overdue tasks with an "OVERDUE" indication.
+     * Deadlines come from the deadline view, already sorted, and the overdue ones are a prefix of it found in O(log n).
+     * Recurring tasks are merged in by their next occurrence, which is worked out only for this query.
      *
      * @return A formatted string showing sorted deadline tasks with overdue indicators.
      */
     public String sortDeadlines() {
-        List<Deadline> deadlineTasks = tasks.stream()
-                .filter(task -> task instanceof Deadline)
-                .map(task -> (Deadline) task)
-                .sorted(Comparator.comparing(Deadline::getDeadline))
-                .collect(Collectors.toList());
-
-        if (deadlineTasks.isEmpty()) {
-            return "How wonderful! 🎉 No deadlines to worry about right now, my dear! Time to relax and maybe add some new goals? 🌟";
-        }
-
-        return IntStream.range(0, deadlineTasks.size())
-                .mapToObj(i -> {
-                    Deadline deadline = deadlineTasks.get(i);
-                    String taskString = (i + 1) + ". " + deadline.toString();
-                    if (deadline.isOverdue()) {
-                        taskString += " [OVERDUE]";
-                    }
-                    return taskString + "\n";
-                })
-                .collect(Collectors.joining("", "Here are our deadline tasks, beautifully organized by date, sweetheart! 📅✨\n", ""));
+        return sortDeadlines(Page.all());
+    }
+
+    /**
+     * Sorts deadline tasks by their deadline dates and displays a page of them.
+     * Only as many deadlines as the page needs are read from the deadline view, and the recurring tasks that
+     * come first are kept in a heap bounded by the page, so a page of k of n tasks never sorts all n.
+     * The result is cached until a deadline or recurring task changes, or until the first moment a task on the
+     * page becomes overdue or a recurring task moves on to its next occurrence.
+     *
+     * @param page The part of the sorted tasks to show.
+     * @return A formatted string showing sorted deadline tasks with overdue indicators.
+     */
+    public String sortDeadlines(Page page) {
+        String key = "sort deadline\n" + page;
+        String cachedResult = cache.get(key);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        long version = cache.getVersion();
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        TaskSnapshot deadlines = deadlineView().getTasks();
+        TaskSnapshot recurringTasks = recurringView().getTasks();
+        LocalDateTime now = HoneyClock.getInstance().now();
+        int needed = page.getNeeded();
+        List<Map.Entry<LocalDateTime, Recurring>> nextOccurrences = new ArrayList<>();
+        for (Task task : recurringTasks) {
+            Recurring recurring = (Recurring) task;
+            LocalDateTime next = recurring.getNextOccurrence(now);
+            if (next != null) {
+                nextOccurrences.add(Map.entry(next, recurring));
+            }
+        }
+        List<Map.Entry<LocalDateTime, Recurring>> occurrences =
+                TopK.smallest(nextOccurrences, needed, Map.Entry.comparingByKey());
+        int matchedCount = deadlines.size() + nextOccurrences.size();
+        queryEvent.commit("sort", deadlines.size() + recurringTasks.size(), matchedCount);
+
+        if (matchedCount == 0) {
+            String result = "How wonderful! 🎉 No deadlines to worry about right now, my dear! "
+                    + "Time to relax and maybe add some new goals? 🌟";
+            cache.put(key, result, IS_DEADLINE_OR_RECURRING, null, null, version);
+            return result;
+        }
+
+        List<Task> sorted = new ArrayList<>();
+        int deadlineIndex = 0;
+        int occurrenceIndex = 0;
+        while (sorted.size() < needed && (deadlineIndex < deadlines.size() || occurrenceIndex < occurrences.size())) {
+            boolean isOccurrenceNext = occurrenceIndex < occurrences.size()
+                    && (deadlineIndex == deadlines.size() || occurrences.get(occurrenceIndex).getKey()
+                            .isBefore(((Deadline) deadlines.get(deadlineIndex)).getDeadline()));
+            sorted.add(isOccurrenceNext
+                    ? occurrences.get(occurrenceIndex++).getValue()
+                    : deadlines.get(deadlineIndex++));
+        }
+        String result = renderPage("Here are our deadline tasks, beautifully organized by date, sweetheart! 📅✨\n",
+                sorted, page, now, true);
+        cache.put(key, result, IS_DEADLINE_OR_RECURRING, now, getValidBefore(sorted, page, occurrences, now),
+                version);
+        return result;
+    }
+
+    /**
+     * Gets the first moment a page of sorted deadlines would read differently without any task changing:
+     * when the first deadline on it that is not yet overdue becomes overdue, or when the earliest recurring
+     * task moves on to its next occurrence, which can also move it on the page.
+     *
+     * @return The moment, or null if the page never changes with time.
+     */
+    private static LocalDateTime getValidBefore(List<Task> sorted, Page page,
+            List<Map.Entry<LocalDateTime, Recurring>> occurrences, LocalDateTime now) {
+        LocalDateTime validBefore = occurrences.isEmpty() ? null : occurrences.get(0).getKey();
+        int end = (int) Math.min((long) page.getOffset() + page.getLimit(), sorted.size());
+        for (int i = page.getOffset(); i < end; i++) {
+            if (sorted.get(i) instanceof Deadline deadline && !deadline.isOverdue(now)) {
+                LocalDateTime overdueFrom = deadline.getDeadline().plusNanos(1);
+                return validBefore == null || overdueFrom.isBefore(validBefore) ? overdueFrom : validBefore;
+            }
+        }
+        return validBefore;
+    }
+
+    /**
+     * Sorts and displays every task by name, ignoring case.
+     *
+     * @return A formatted string showing all tasks sorted by name.
+     */
+    public String sortTasksByName() {
+        return sortTasksByName(Page.all());
+    }
+
+    /**
+     * Sorts every task by name, ignoring case, and displays a page of them.
+     *
+     * @param page The part of the sorted tasks to show.
+     * @return A formatted string showing the sorted tasks on the page.
+     */
+    public String sortTasksByName(Page page) {
+        return renderSorted(nameView(), "Here are all our tasks in alphabetical order, sweetheart! 🔤✨\n", page);
+    }
+
+    /**
+     * Sorts and displays every task grouped by type: todos, then deadlines, events and recurring tasks.
+     *
+     * @return A formatted string showing all tasks sorted by type.
+     */
+    public String sortTasksByType() {
+        return sortTasksByType(Page.all());
+    }
+
+    /**
+     * Sorts every task by type and displays a page of them.
+     *
+     * @param page The part of the sorted tasks to show.
+     * @return A formatted string showing the sorted tasks on the page.
+     */
+    public String sortTasksByType(Page page) {
+        return renderSorted(typeView(), "Here are all our tasks, neatly grouped by type, my dear! 🗂️✨\n", page);
+    }
+
+    /**
+     * Sorts and displays every task by status, with the tasks still to do first.
+     *
+     * @return A formatted string showing all tasks sorted by status.
+     */
+    public String sortTasksByStatus() {
+        return sortTasksByStatus(Page.all());
+    }
+
+    /**
+     * Sorts every task by status, with the tasks still to do first, and displays a page of them.
+     *
+     * @param page The part of the sorted tasks to show.
+     * @return A formatted string showing the sorted tasks on the page.
+     */
+    public String sortTasksByStatus(Page page) {
+        return renderSorted(statusView(),
+                "Here are all our tasks, with the ones still to do first, sweetie! 💪✨\n", page);
+    }
+
+    /**
+     * Runs a query and displays the matching tasks.
+     * The query planner picks the index that leaves the fewest tasks to read, and the remaining conditions are
+     * checked on those tasks in a single pass. Without a sort key, tasks are shown in list order, and reading
+     * stops as soon as the page is filled if the index already gives them in that order. With a sort key,
+     * the tasks on the page are kept in a heap bounded by the page instead of sorting every match.
+     *
+     * @param query The query to run.
+     * @return A formatted string showing the matching tasks.
+     */
+    public String query(Query query) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        QueryPlan plan = QueryPlanner.plan(query.getFilter(), this);
+        Query.SortKey sortKey = query.getSortKey();
+        int needed = query.getPage().getNeeded();
+        boolean canStopEarly = sortKey == null && plan.getIsListOrder();
+        List<Task> matches = plan.run(canStopEarly ? needed : Page.NO_LIMIT);
+        LocalDateTime now = HoneyClock.getInstance().now();
+        if (sortKey != null || !plan.getIsListOrder()) {
+            Comparator<Task> listOrder = Comparator.comparingLong(views.getListPositions());
+            matches = TopK.smallest(matches, needed,
+                    sortKey == null ? listOrder : sortKey.getOrder(now).thenComparing(listOrder));
+        }
+        queryEvent.commit("query", plan.getCandidateCount(), matches.size());
+
+        if (matches.isEmpty()) {
+            return "Hmm, my sweet Bee! 🔍 No tasks match that query. Maybe we can loosen it a little? 💕";
+        }
+        return renderPage("Here's everything that matches, sweetheart! 🔎✨\n", matches, query.getPage(), now,
+                false);
+    }
+
+    /**
+     * Describes how a query would run, without running it: the filter, the index chosen and how many tasks
+     * it leaves to read, the conditions still checked on each, the other indexes considered, and the order.
+     *
+     * @param query The query to explain.
+     * @return A formatted string showing the plan.
+     */
+    public String explainQuery(Query query) {
+        QueryPlan plan = QueryPlanner.plan(query.getFilter(), this);
+        QueryPredicate residual = plan.getResidual();
+        StringBuilder explanation = new StringBuilder("Here's how I'd find those tasks, sweetie! 🗺️🐝\n")
+                .append("Filter: ").append(query.getFilter()).append("\n")
+                .append("Read: ").append(plan.getAccess()).append(" - ").append(plan.getCandidateCount())
+                .append(" of ").append(plan.getTaskCount()).append(" tasks\n")
+                .append("Then check: ").append(residual == QueryPredicate.all() ? "nothing more" : residual)
+                .append("\n");
+        if (!plan.getAlternatives().isEmpty()) {
+            explanation.append("Also considered: ").append(String.join(", ", plan.getAlternatives())).append("\n");
+        }
+        Query.SortKey sortKey = query.getSortKey();
+        if (sortKey != null) {
+            explanation.append("Sort: by ").append(sortKey).append("\n");
+        } else if (plan.getIsListOrder()) {
+            explanation.append("Order: list order, as read\n");
+        } else {
+            explanation.append("Order: list order, restored after reading\n");
+        }
+        Page page = query.getPage();
+        if (!page.isAll()) {
+            explanation.append("Page: ").append(page.getLimit() == Page.NO_LIMIT ? "every" : page.getLimit())
+                    .append(" after skipping ").append(page.getOffset())
+                    .append(sortKey == null && plan.getIsListOrder() ? ", stopping as soon as it is filled\n"
+                            : ", kept in a heap bounded by the page\n");
+        }
+        return explanation.toString();
+    }
+
+    private String renderSorted(TaskView view, String header, Page page) {
+        TaskQueryEvent queryEvent = new TaskQueryEvent();
+        queryEvent.begin();
+        TaskSnapshot sorted = view.getTasks();
+        queryEvent.commit("sort", sorted.size(), sorted.size());
+        if (sorted.isEmpty()) {
+            return "What a peaceful moment! 🌺 Our hive is empty and ready for new adventures, my dear Bee! 🍯";
+        }
+        return renderPage(header, sorted, page, null, false);
+    }
+
+    /**
+     * Renders the results on a page, numbered by their place among all the results, with a note if more follow.
+     * Only the results on the page are read, so the list may be a lazy view of a much larger snapshot.
+     * The page is read as a range, which a snapshot walks in order instead of looking up each index.
+     * Each task keeps its own line until it changes, so this mostly copies cached lines; they are gathered
+     * first so that the whole page is copied into one builder of the right size.
+     *
+     * @param results The results in order, at least up to one past the end of the page if there are that many.
+     * @param now The time to show recurring tasks' next occurrence from, or null not to show it.
+     * @param isMarkingOverdue Whether to mark deadlines that have passed by {@code now}.
+     */
+    private static String renderPage(String header, List<Task> results, Page page, LocalDateTime now,
+            boolean isMarkingOverdue) {
+        int offset = page.getOffset();
+        if (results.size() <= offset) {
+            return "That's past the end, sweetie! 🐝 We only have " + results.size()
+                    + " of those, so let's try a smaller offset. 💕";
+        }
+        int end = (int) Math.min((long) offset + page.getLimit(), results.size());
+        Task[] tasks = new Task[end - offset];
+        String[] lines = new String[tasks.length];
+        long capacity = header.length() + MORE_RESULTS_ALLOWANCE;
+        int row = 0;
+        for (Task task : results.subList(offset, end)) {
+            tasks[row] = task;
+            lines[row] = task.toString();
+            capacity += lines[row].length() + ROW_ALLOWANCE;
+            row++;
+        }
+        StringBuilder builder = new StringBuilder((int) Math.min(capacity, Integer.MAX_VALUE - 8)).append(header);
+        for (int i = 0; i < tasks.length; i++) {
+            Task task = tasks[i];
+            builder.append(offset + i + 1).append(". ").append(lines[i]);
+            if (now != null && task instanceof Recurring recurring) {
+                appendNextOccurrence(builder, recurring, recurring.getNextOccurrence(now));
+            } else if (isMarkingOverdue && task instanceof Deadline deadline && deadline.isOverdue(now)) {
+                builder.append(" [OVERDUE]");
+            }
+            builder.append("\n");
+        }
+        if (end < results.size()) {
+            builder.append("There's more, sweetie! Add 'offset ").append(end).append("' to see the next ones. 🐝\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the deadlines, earliest first as read in the clock's zone. Deadlines given in a zone can move past
+     * those without one when the zone changes, so the view is sorted again in the new zone when it is next used.
+     */
+    TaskView deadlineView() {
+        ZoneId zone = HoneyClock.getInstance().getZone();
+        return view("deadline", zone, task -> task instanceof Deadline, byDeadlineIn(zone));
+    }
+
+    /**
+     * Gets the deadlines not done yet, earliest first as read in the clock's zone, so the overdue ones come
+     * first; sorted again when the zone changes, as {@link #deadlineView()} is.
+     */
+    TaskView pendingDeadlineView() {
+        ZoneId zone = HoneyClock.getInstance().getZone();
+        return view("pending-deadline", zone, task -> task instanceof Deadline && !task.getIsDone(),
+                byDeadlineIn(zone));
+    }
+
+    TaskView eventStartView() {
+        return view("event-start", task -> task instanceof Event,
+                Comparator.comparing(task -> ((Event) task).getStartDate()));
+    }
+
+    TaskView eventEndView() {
+        return view("event-end", task -> task instanceof Event,
+                Comparator.comparing(task -> ((Event) task).getEndDate()));
+    }
+
+    TaskView recurringView() {
+        return view("recurring", task -> task instanceof Recurring, (first, second) -> 0);
+    }
+
+    TaskView nameView() {
+        return view("name", task -> true,
+                Comparator.comparing(TaskList::getTaskDisplayDescription, String.CASE_INSENSITIVE_ORDER));
+    }
+
+    TaskView typeView() {
+        return view("type", task -> true, Comparator.comparing(Task::getTaskType));
+    }
+
+    TaskView statusView() {
+        return view("status", task -> true, Comparator.comparing(Task::getIsDone));
+    }
+
+    ResultCache resultCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the term index, building it from the current tasks under the write lock the first time it is used.
+     */
+    TermIndex termIndex() {
+        TermIndex terms = views.getTerms();
+        if (terms == null) {
+            synchronized (writeLock) {
+                terms = views.getOrCreateTerms(tasks);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Gets the tag index, building it from the current tasks under the write lock the first time it is used.
+     */
+    TagIndex tagIndex() {
+        TagIndex index = tagIndex;
+        if (index == null) {
+            synchronized (writeLock) {
+                if (tagIndex == null) {
+                    tagIndex = TagIndex.build(tasks);
+                }
+                index = tagIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the dependency graph, building it from the current tasks under the write lock the first time it is
+     * used. It then follows every change as a listener.
+     */
+    DependencyGraph dependencyGraph() {
+        DependencyGraph graph = dependencies;
+        if (graph == null) {
+            synchronized (writeLock) {
+                if (dependencies == null) {
+                    DependencyGraph created = new DependencyGraph(tasks);
+                    listeners.add(created);
+                    dependencies = created;
+                }
+                graph = dependencies;
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the index of event times, building it from the current tasks under the write lock the first time it
+     * is used. It then follows every change as a listener.
+     */
+    IntervalIndex intervalIndex() {
+        IntervalIndex index = intervals;
+        if (index == null) {
+            synchronized (writeLock) {
+                if (intervals == null) {
+                    IntervalIndex created = new IntervalIndex(tasks);
+                    listeners.add(created);
+                    intervals = created;
+                }
+                index = intervals;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gives a task an ID if it has none yet; must be called while holding the write lock, before the task is
+     * shared.
+     */
+    private void assignId(Task task) {
+        if (task.getId() == 0) {
+            task.setId(nextId++);
+        }
+        reserveIds(task);
+    }
+
+    /**
+     * Makes sure the IDs a task has or names as prerequisites are never given to a new task, so that a task
+     * waiting on one that was deleted never ends up waiting on a new task instead.
+     */
+    private void reserveIds(Task task) {
+        nextId = Math.max(nextId, task.getId() + 1);
+        for (long prerequisite : task.getPrerequisites()) {
+            nextId = Math.max(nextId, prerequisite + 1);
+        }
+    }
+
+    /**
+     * Applies a change to the tag index, if it has been built; must be called while holding the write lock.
+     */
+    private void updateTagIndex(UnaryOperator<TagIndex> change) {
+        if (tagIndex != null) {
+            tagIndex = change.apply(tagIndex);
+        }
+    }
+
+    /**
+     * Gets a materialised view, building it from the current tasks under the write lock the first time it is used.
+     */
+    private TaskView view(String name, Predicate<Task> filter, Comparator<Task> keyOrder) {
+        return view(name, null, filter, keyOrder);
+    }
+
+    /**
+     * Gets a materialised view sorted on a basis, building it from the current tasks under the write lock the
+     * first time it is used on that basis.
+     */
+    private TaskView view(String name, Object basis, Predicate<Task> filter, Comparator<Task> keyOrder) {
+        TaskView view = views.get(name);
+        if (view == null || !view.isSortedOn(basis)) {
+            synchronized (writeLock) {
+                view = views.getOrCreate(name, basis, filter, keyOrder, tasks);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Orders deadlines as read in a fixed zone, so that a view's order never changes while it is kept up to date.
+     */
+    private static Comparator<Task> byDeadlineIn(ZoneId zone) {
+        return Comparator.comparing(task -> ((Deadline) task).getDeadline(zone));
+    }
+
+    private static void appendNextOccurrence(StringBuilder builder, Recurring recurring, LocalDateTime next) {
+        builder.append(next == null ? " [FINISHED]" : " [NEXT: " + recurring.formatOccurrence(next) + "]");
     }
 }
@@ -0,0 +1,33 @@
+package honey.tasklist;
+
+import honey.task.Task;
+
+/**
+ * Receives every change made to a TaskList, so that derived state can be updated incrementally
+ * instead of being rebuilt from the whole list.
+ * Methods are called by the writing thread while it holds the TaskList's write lock, in the order the
+ * changes are made, so they should return quickly.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is added.
+     *
+     * @param task The added task.
+     */
+    void taskAdded(Task task);
+
+    /**
+     * Called after a task is deleted.
+     *
+     * @param task The deleted task.
+     */
+    void taskRemoved(Task task);
+
+    /**
+     * Called after a task is replaced by an updated copy, such as when it is marked or unmarked.
+     *
+     * @param oldTask The task that was replaced.
+     * @param newTask The task that took its place.
+     */
+    void taskReplaced(Task oldTask, Task newTask);
+}
@@ -0,0 +1,367 @@
+package honey.tasklist;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import honey.task.Task;
+
+/**
+ * Represents an immutable, point-in-time view of the tasks in a TaskList.
+ * Backed by a persistent AVL tree indexed by position, so every change returns a new snapshot that shares
+ * all untouched nodes with the old one. Taking a snapshot is O(1), and adding, replacing or removing a task
+ * costs O(log n) without copying the list.
+ */
+public final class TaskSnapshot extends AbstractList<Task> {
+    private static final TaskSnapshot EMPTY = new TaskSnapshot(null);
+
+    private final Node root;
+
+    private TaskSnapshot(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty snapshot.
+     *
+     * @return A snapshot containing no tasks.
+     */
+    public static TaskSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot holding the given tasks in order, in O(n).
+     *
+     * @param tasks The tasks to include.
+     * @return A snapshot of the tasks.
+     */
+    public static TaskSnapshot of(List<Task> tasks) {
+        assert tasks != null : "Tasks cannot be null";
+        if (tasks instanceof TaskSnapshot snapshot) {
+            return snapshot;
+        }
+        return new TaskSnapshot(build(tasks.toArray(new Task[0]), 0, tasks.size()));
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new InOrderIterator(root, 0, size());
+    }
+
+    /**
+     * Returns a view of a range of this snapshot. Iterating it walks the tree from the start of the range,
+     * costing O(log n + k) for k tasks rather than O(log n) for each one.
+     *
+     * @param fromIndex The first index in the range.
+     * @param toIndex One past the last index in the range.
+     * @return The tasks in the range.
+     */
+    @Override
+    public List<Task> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size());
+        }
+        return new Slice(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a new snapshot with the task added at the end.
+     *
+     * @param task The task to add.
+     * @return The updated snapshot.
+     */
+    public TaskSnapshot append(Task task) {
+        assert task != null : "Task cannot be null";
+        return new TaskSnapshot(insert(root, size(), task));
+    }
+
+    /**
+     * Returns a new snapshot with the task inserted at the given index, shifting later tasks along.
+     *
+     * @param index The zero-based index the task will have, from 0 to size() inclusive.
+     * @param task The task to insert.
+     * @return The updated snapshot.
+     */
+    public TaskSnapshot insertAt(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return new TaskSnapshot(insert(root, index, task));
+    }
+
+    /**
+     * Returns a new snapshot with the task at the given index replaced.
+     *
+     * @param index The zero-based index of the task to replace.
+     * @param task The replacement task.
+     * @return The updated snapshot.
+     */
+    public TaskSnapshot with(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        checkIndex(index);
+        return new TaskSnapshot(replace(root, index, task));
+    }
+
+    /**
+     * Returns a new snapshot with the task at the given index removed.
+     *
+     * @param index The zero-based index of the task to remove.
+     * @return The updated snapshot.
+     */
+    public TaskSnapshot without(int index) {
+        checkIndex(index);
+        return new TaskSnapshot(remove(root, index));
+    }
+
+    /**
+     * Counts the tasks at the start of this snapshot that satisfy the condition, in O(log n).
+     * Only meaningful when the snapshot is ordered so that every task satisfying the condition comes before
+     * every task that does not, as in a snapshot sorted by the key the condition tests.
+     *
+     * @param condition The condition, true for a prefix of the snapshot.
+     * @return The length of that prefix.
+     */
+    public int countWhile(Predicate<Task> condition) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (condition.test(node.task)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return node(build(tasks, from, mid), tasks[mid], build(tasks, mid + 1, to));
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return node(null, task, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(insert(node.left, index, task), node.task, node.right);
+        }
+        return balance(node.left, node.task, insert(node.right, index - leftSize - 1, task));
+    }
+
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(replace(node.left, index, task), node.task, node.right);
+        } else if (index > leftSize) {
+            return new Node(node.left, node.task, replace(node.right, index - leftSize - 1, task));
+        }
+        return new Node(node.left, task, node.right);
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(remove(node.left, index), node.task, node.right);
+        } else if (index > leftSize) {
+            return balance(node.left, node.task, remove(node.right, index - leftSize - 1));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(node.left, successor.task, remove(node.right, 0));
+    }
+
+    /**
+     * Joins two subtrees under a task, rotating if their heights differ by more than one.
+     */
+    private static Node balance(Node left, Task task, Node right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return node(left.left, left.task, node(left.right, task, right));
+            }
+            return node(node(left.left, left.task, left.right.left), left.right.task,
+                    node(left.right.right, task, right));
+        }
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return node(node(left, task, right.left), right.task, right.right);
+            }
+            return node(node(left, task, right.left.left), right.left.task,
+                    node(right.left.right, right.task, right.right));
+        }
+        return node(left, task, right);
+    }
+
+    private static Node node(Node left, Task task, Node right) {
+        return new Node(left, task, right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Represents an immutable tree node, caching its subtree size and height.
+     */
+    private static final class Node {
+        private final Node left;
+        private final Task task;
+        private final Node right;
+        private final int size;
+        private final int height;
+
+        private Node(Node left, Task task, Node right) {
+            this.left = left;
+            this.task = task;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    /**
+     * Represents a range of the snapshot, read through the tree rather than one index at a time.
+     */
+    private final class Slice extends AbstractList<Task> {
+        private final int fromIndex;
+        private final int toIndex;
+
+        private Slice(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return TaskSnapshot.this.get(fromIndex + index);
+        }
+
+        @Override
+        public int size() {
+            return toIndex - fromIndex;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new InOrderIterator(root, fromIndex, size());
+        }
+
+        @Override
+        public List<Task> subList(int from, int to) {
+            if (from < 0 || to > size() || from > to) {
+                throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Size: " + size());
+            }
+            return TaskSnapshot.this.subList(fromIndex + from, fromIndex + to);
+        }
+    }
+
+    /**
+     * Walks the tree in order in O(n) overall, using a stack of pending ancestors.
+     */
+    private static final class InOrderIterator implements Iterator<Task> {
+        private final Deque<Node> stack = new ArrayDeque<>();
+        private int remaining;
+
+        /**
+         * Starts the walk at a position, pushing only the ancestors that come after it.
+         */
+        private InOrderIterator(Node root, int index, int count) {
+            this.remaining = count;
+            Node node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    stack.push(node);
+                    node = node.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    break;
+                }
+            }
+        }
+
+        private void pushLeftPath(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && !stack.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            Node node = stack.pop();
+            pushLeftPath(node.right);
+            return node.task;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package honey.tasklist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import honey.task.Task;
+
+/**
+ * Represents a materialised view of a TaskList: the tasks that pass a filter, kept sorted.
+ * The view is updated from each change to the TaskList in O(log n) instead of being rebuilt, and is published
+ * as an immutable TaskSnapshot, so a query gets the sorted tasks in O(1) without sorting or taking a lock.
+ * A view whose order depends on more than the tasks, such as deadlines on the clock's zone, is sorted on a
+ * fixed basis, and is replaced by a new one when the basis changes.
+ * Views are created and updated by {@link TaskViews}.
+ */
+public final class TaskView {
+    private final Predicate<Task> filter;
+    /** Total order of the view; tasks that compare equal are the same task */
+    private final Comparator<Task> order;
+    /** What the order depends on besides the tasks, or null if nothing */
+    private final Object basis;
+    private volatile TaskSnapshot tasks = TaskSnapshot.empty();
+
+    TaskView(Predicate<Task> filter, Comparator<Task> order, Object basis) {
+        this.filter = filter;
+        this.order = order;
+        this.basis = basis;
+    }
+
+    /**
+     * Checks whether this view is sorted on a basis, and so can still be used while that is the basis.
+     */
+    boolean isSortedOn(Object basis) {
+        return Objects.equals(this.basis, basis);
+    }
+
+    /**
+     * Gets the tasks in this view, in order, as they were after the latest change.
+     *
+     * @return The sorted tasks.
+     */
+    public TaskSnapshot getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Rebuilds this view from every task in a snapshot, in O(n log n).
+     */
+    void load(TaskSnapshot snapshot) {
+        List<Task> matching = new ArrayList<>();
+        for (Task task : snapshot) {
+            if (filter.test(task)) {
+                matching.add(task);
+            }
+        }
+        matching.sort(order);
+        tasks = TaskSnapshot.of(matching);
+    }
+
+    void taskAdded(Task task) {
+        if (filter.test(task)) {
+            tasks = tasks.insertAt(indexOf(task), task);
+        }
+    }
+
+    void taskRemoved(Task task) {
+        if (filter.test(task)) {
+            int index = indexOf(task);
+            assert tasks.get(index) == task : "Removed task should be in the view";
+            tasks = tasks.without(index);
+        }
+    }
+
+    void taskReplaced(Task oldTask, Task newTask) {
+        boolean isOldIncluded = filter.test(oldTask);
+        boolean isNewIncluded = filter.test(newTask);
+        if (isOldIncluded && isNewIncluded && order.compare(oldTask, newTask) == 0) {
+            tasks = tasks.with(indexOf(oldTask), newTask);
+            return;
+        }
+        if (isOldIncluded) {
+            taskRemoved(oldTask);
+        }
+        if (isNewIncluded) {
+            taskAdded(newTask);
+        }
+    }
+
+    /**
+     * Finds where a task is, or would be inserted, in O(log n).
+     */
+    private int indexOf(Task task) {
+        return tasks.countWhile(other -> order.compare(other, task) < 0);
+    }
+}
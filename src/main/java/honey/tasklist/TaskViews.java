@@ -0,0 +1,203 @@
+package honey.tasklist;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import honey.task.Task;
+
+/**
+ * Holds the materialised views and the term index of a TaskList and keeps them up to date as it changes.
+ * Tasks are numbered in list order and ties in every view are broken by that number, so tasks with equal sort
+ * keys stay in list order, as a stable sort would leave them. Numbers are spaced out so that a task put back
+ * between two others, as undo does, can be numbered between them; only when no number is left between them
+ * are all the tasks numbered again, which keeps their order and so every view and posting list.
+ * Nothing is tracked until the first view or the term index is created, so a TaskList whose views are never
+ * used pays nothing.
+ * Every method except {@link #get(String)}, {@link #getTerms()} and {@link #getListPositions()} must be called
+ * while holding the TaskList's write lock.
+ */
+final class TaskViews implements TaskListListener {
+    /** Space left between the numbers of neighbouring tasks */
+    private static final long GAP = 1L << 32;
+
+    private final Map<String, TaskView> views = new ConcurrentHashMap<>();
+    /**
+     * Number of each task in list order; a replacement keeps the number of the task it replaces.
+     * Tasks do not override equals, so they are keyed by identity. The map is replaced rather than changed
+     * when the tasks are numbered again, so a reader holding it never sees two numberings at once.
+     */
+    private volatile Map<Task, Long> sequences = new ConcurrentHashMap<>();
+    private long nextSequence;
+    private volatile TermIndex terms;
+
+    /**
+     * Gets a view by name, without locking.
+     *
+     * @return The view, or null if it has not been created yet.
+     */
+    TaskView get(String name) {
+        return views.get(name);
+    }
+
+    /**
+     * Gets a view by name, creating it from the current tasks if it does not exist yet or is sorted on another
+     * basis, in which case the new view replaces it.
+     *
+     * @param basis What the order depends on besides the tasks, or null if nothing.
+     */
+    TaskView getOrCreate(String name, Object basis, Predicate<Task> filter, Comparator<Task> keyOrder,
+            TaskSnapshot tasks) {
+        TaskView view = views.get(name);
+        if (view != null && view.isSortedOn(basis)) {
+            return view;
+        }
+        startTracking(tasks);
+        view = new TaskView(filter, keyOrder.thenComparingLong(task -> sequences.get(task)), basis);
+        view.load(tasks);
+        views.put(name, view);
+        return view;
+    }
+
+    /**
+     * Gets the term index, without locking.
+     *
+     * @return The term index, or null if it has not been created yet.
+     */
+    TermIndex getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the term index, creating it from the current tasks if it does not exist yet.
+     */
+    TermIndex getOrCreateTerms(TaskSnapshot tasks) {
+        if (terms == null) {
+            startTracking(tasks);
+            TermIndex created = new TermIndex(Comparator.comparingLong(task -> sequences.get(task)));
+            created.load(tasks);
+            terms = created;
+        }
+        return terms;
+    }
+
+    /**
+     * Gets the positions of the tasks in list order, without locking, for putting query results back into
+     * list order. A task removed since it was read has no position and sorts last.
+     * The positions are those of the moment this is called, so one query compares them consistently.
+     * Only meaningful once a view or the term index has been created.
+     */
+    ToLongFunction<Task> getListPositions() {
+        Map<Task, Long> current = sequences;
+        return task -> current.getOrDefault(task, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void taskAdded(Task task) {
+        if (!isTracking()) {
+            return;
+        }
+        sequences.put(task, nextSequence);
+        nextSequence += GAP;
+        addToIndexes(task);
+    }
+
+    /**
+     * Updates the views and term index for tasks inserted into the list anywhere, numbering them between
+     * the tasks on either side.
+     *
+     * @param tasks The list after the insertion.
+     * @param index The position of the first inserted task.
+     * @param count The number of tasks inserted.
+     */
+    void tasksInserted(TaskSnapshot tasks, int index, int count) {
+        if (!isTracking()) {
+            return;
+        }
+        int end = index + count;
+        if (end == tasks.size()) {
+            for (Task task : tasks.subList(index, end)) {
+                taskAdded(task);
+            }
+            return;
+        }
+        long after = sequences.get(tasks.get(end));
+        long before = index > 0 ? sequences.get(tasks.get(index - 1)) : after - (count + 1) * GAP;
+        long step = (after - before) / (count + 1);
+        if (step < 1) {
+            renumber(tasks);
+        } else {
+            for (int i = 0; i < count; i++) {
+                sequences.put(tasks.get(index + i), before + step * (i + 1));
+            }
+        }
+        for (Task task : tasks.subList(index, end)) {
+            addToIndexes(task);
+        }
+    }
+
+    private void addToIndexes(Task task) {
+        views.values().forEach(view -> view.taskAdded(task));
+        if (terms != null) {
+            terms.taskAdded(task);
+        }
+    }
+
+    @Override
+    public void taskRemoved(Task task) {
+        if (!isTracking()) {
+            return;
+        }
+        views.values().forEach(view -> view.taskRemoved(task));
+        if (terms != null) {
+            terms.taskRemoved(task);
+        }
+        sequences.remove(task);
+    }
+
+    @Override
+    public void taskReplaced(Task oldTask, Task newTask) {
+        if (!isTracking()) {
+            return;
+        }
+        sequences.put(newTask, sequences.get(oldTask));
+        views.values().forEach(view -> view.taskReplaced(oldTask, newTask));
+        if (terms != null) {
+            terms.taskReplaced(oldTask, newTask);
+        }
+        sequences.remove(oldTask);
+    }
+
+    private boolean isTracking() {
+        return !views.isEmpty() || terms != null;
+    }
+
+    /**
+     * Numbers the current tasks in list order, if they are not numbered already.
+     */
+    private void startTracking(TaskSnapshot tasks) {
+        if (isTracking()) {
+            return;
+        }
+        for (Task task : tasks) {
+            sequences.put(task, nextSequence);
+            nextSequence += GAP;
+        }
+    }
+
+    /**
+     * Numbers every task again, evenly spaced in list order, in a new map.
+     */
+    private void renumber(TaskSnapshot tasks) {
+        Map<Task, Long> renumbered = new ConcurrentHashMap<>();
+        long sequence = 0;
+        for (Task task : tasks) {
+            renumbered.put(task, sequence);
+            sequence += GAP;
+        }
+        sequences = renumbered;
+        nextSequence = sequence;
+    }
+}
@@ -0,0 +1,169 @@
+package honey.tasklist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import honey.task.Task;
+
+/**
+ * Represents an inverted index from each word in the task names to the tasks whose name contains it.
+ * Each posting list is an immutable TaskSnapshot in list order, updated in O(log n) per word of a changed task
+ * and published by replacing it, so a lookup takes no lock and always sees a whole posting list.
+ * The words are kept sorted, so that words close to a misspelt one can be found by walking them in order,
+ * and the index counts the tasks and words it holds, for weighing how rare a word is.
+ * The index is created and updated by {@link TaskViews}, which supplies the list order.
+ */
+final class TermIndex {
+    private final NavigableMap<String, TaskSnapshot> postings = new ConcurrentSkipListMap<>();
+    /** Number of tasks indexed, and the total number of words in their names */
+    private final AtomicLong taskCount = new AtomicLong();
+    private final AtomicLong tokenCount = new AtomicLong();
+    /** Order of the tasks in the TaskList; only used while the write lock is held */
+    private final Comparator<Task> listOrder;
+
+    TermIndex(Comparator<Task> listOrder) {
+        this.listOrder = listOrder;
+    }
+
+    /**
+     * Splits a name into its distinct words, in lower case.
+     * A word is a run of letters and digits; everything else separates words.
+     *
+     * @param name The name to split.
+     * @return The words, in the order they first appear.
+     */
+    static List<String> tokenize(String name) {
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= name.length(); i++) {
+            boolean isWordChar = i < name.length() && Character.isLetterOrDigit(name.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                String token = name.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!tokens.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Counts the words in a name, as {@link #tokenize(String)} splits it but without creating them,
+     * and counting a repeated word each time it appears.
+     *
+     * @param name The name to count the words of.
+     * @return The number of words.
+     */
+    static int countTokens(String name) {
+        int count = 0;
+        boolean isInWord = false;
+        for (int i = 0; i < name.length(); i++) {
+            boolean isWordChar = Character.isLetterOrDigit(name.charAt(i));
+            if (isWordChar && !isInWord) {
+                count++;
+            }
+            isInWord = isWordChar;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the tasks whose name contains a word, without locking.
+     *
+     * @param term The word, in lower case.
+     * @return The tasks in list order, empty if no name contains the word.
+     */
+    TaskSnapshot get(String term) {
+        return postings.getOrDefault(term, TaskSnapshot.empty());
+    }
+
+    /**
+     * Gets every word in the index, in sorted order, without locking.
+     */
+    NavigableSet<String> getTerms() {
+        return postings.navigableKeySet();
+    }
+
+    long getTaskCount() {
+        return taskCount.get();
+    }
+
+    /** Gets the average number of words in a name, or 1 if no task is indexed */
+    double getAverageLength() {
+        long tasks = taskCount.get();
+        return tasks == 0 ? 1 : Math.max(1, (double) tokenCount.get() / tasks);
+    }
+
+    /**
+     * Builds the index from every task in a snapshot, in list order.
+     */
+    void load(TaskSnapshot snapshot) {
+        Map<String, List<Task>> lists = new HashMap<>();
+        long tokens = 0;
+        for (Task task : snapshot) {
+            for (String token : tokensOf(task)) {
+                lists.computeIfAbsent(token, key -> new ArrayList<>()).add(task);
+            }
+            tokens += countTokens(TaskList.getTaskDisplayDescription(task));
+        }
+        lists.forEach((token, tasks) -> postings.put(token, TaskSnapshot.of(tasks)));
+        taskCount.set(snapshot.size());
+        tokenCount.set(tokens);
+    }
+
+    void taskAdded(Task task) {
+        taskCount.incrementAndGet();
+        tokenCount.addAndGet(countTokens(TaskList.getTaskDisplayDescription(task)));
+        for (String token : tokensOf(task)) {
+            TaskSnapshot posting = get(token);
+            postings.put(token, posting.insertAt(indexOf(posting, task), task));
+        }
+    }
+
+    void taskRemoved(Task task) {
+        taskCount.decrementAndGet();
+        tokenCount.addAndGet(-countTokens(TaskList.getTaskDisplayDescription(task)));
+        for (String token : tokensOf(task)) {
+            TaskSnapshot posting = get(token);
+            int index = indexOf(posting, task);
+            assert posting.get(index) == task : "Removed task should be in the posting list";
+            if (posting.size() == 1) {
+                postings.remove(token);
+            } else {
+                postings.put(token, posting.without(index));
+            }
+        }
+    }
+
+    void taskReplaced(Task oldTask, Task newTask) {
+        List<String> tokens = tokensOf(newTask);
+        if (!tokens.equals(tokensOf(oldTask))) {
+            taskRemoved(oldTask);
+            taskAdded(newTask);
+            return;
+        }
+        for (String token : tokens) {
+            TaskSnapshot posting = get(token);
+            postings.put(token, posting.with(indexOf(posting, oldTask), newTask));
+        }
+    }
+
+    private int indexOf(TaskSnapshot posting, Task task) {
+        return posting.countWhile(other -> listOrder.compare(other, task) < 0);
+    }
+
+    private static List<String> tokensOf(Task task) {
+        return tokenize(TaskList.getTaskDisplayDescription(task));
+    }
+}
@@ -0,0 +1,88 @@
+package honey.tasklist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k smallest of a stream of items in a bounded heap, so that the first k of n items in some order
+ * are found in O(n log k) time and O(k) space instead of by sorting all n.
+ * Items that compare equal keep the order they were offered in, as a stable sort would leave them.
+ */
+final class TopK<T> {
+    private final int k;
+    private final Comparator<T> order;
+    /** The largest kept item is at the head, so it is the one dropped when a smaller item arrives */
+    private final PriorityQueue<Ranked<T>> heap;
+    private long offered;
+
+    TopK(int k, Comparator<T> order) {
+        assert k > 0 : "K must be positive";
+        this.k = k;
+        this.order = order;
+        Comparator<Ranked<T>> ranked = (first, second) -> {
+            int byItem = order.compare(first.item, second.item);
+            return byItem != 0 ? byItem : Long.compare(first.rank, second.rank);
+        };
+        this.heap = new PriorityQueue<>(Math.min(k, 1024), ranked.reversed());
+    }
+
+    /**
+     * Gets the first k items in an order, sorting them all only when k is unbounded.
+     */
+    static <T> List<T> smallest(Iterable<T> items, int k, Comparator<T> order) {
+        if (k == Page.NO_LIMIT) {
+            List<T> all = new ArrayList<>();
+            items.forEach(all::add);
+            all.sort(order);
+            return all;
+        }
+        TopK<T> top = new TopK<>(k, order);
+        items.forEach(top::offer);
+        return top.toSortedList();
+    }
+
+    void offer(T item) {
+        if (heap.size() == k) {
+            Ranked<T> largest = heap.peek();
+            if (order.compare(item, largest.item) >= 0) {
+                offered++;
+                return;
+            }
+            heap.poll();
+        }
+        heap.add(new Ranked<>(item, offered++));
+    }
+
+    /**
+     * Gets the item a smaller one would replace, or null while fewer than k items are kept.
+     */
+    T getLargest() {
+        return heap.size() < k ? null : heap.peek().item;
+    }
+
+    /**
+     * Gets the kept items, smallest first.
+     */
+    List<T> toSortedList() {
+        List<Ranked<T>> ranked = new ArrayList<>(heap);
+        ranked.sort(heap.comparator().reversed());
+        List<T> items = new ArrayList<>(ranked.size());
+        for (Ranked<T> entry : ranked) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    private static final class Ranked<T> {
+        private final T item;
+        /** Order in which the item was offered, for breaking ties */
+        private final long rank;
+
+        private Ranked(T item, long rank) {
+            this.item = item;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package honey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests for CommandDispatcher.
+ * Tests that commands run in the background in submission order.
+ */
+public class CommandDispatcherTest {
+    private Honey honey;
+    private CommandDispatcher dispatcher;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        honey = new Honey(tempDir.resolve("dispatcher_test.txt").toString());
+        dispatcher = new CommandDispatcher(honey);
+    }
+
+    @Test
+    public void submit_addThenList_listSeesAddedTask() throws Exception {
+        CompletableFuture<String> add = dispatcher.submit(honey.parse("todo read book"));
+        CompletableFuture<String> list = dispatcher.submit(honey.parse("list"));
+
+        assertTrue(add.get().contains("read book"));
+        assertTrue(list.get().contains("1. [T][ ] read book"));
+    }
+
+    @Test
+    public void submit_manyWrites_appliedInSubmissionOrder() throws Exception {
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            replies.add(dispatcher.submit(honey.parse("todo task" + i)));
+        }
+        for (CompletableFuture<String> reply : replies) {
+            reply.get();
+        }
+
+        String list = dispatcher.submit(honey.parse("list")).get();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(list.contains((i + 1) + ". [T][ ] task" + i + "\n"));
+        }
+    }
+
+    @Test
+    public void submit_invalidCommand_completesWithErrorMessage() throws Exception {
+        String reply = dispatcher.submit(honey.parse("mark 5")).get();
+
+        assertTrue(reply.contains("I'm having trouble finding that task to mark"));
+    }
+
+    @Test
+    public void shutdown_pendingWrite_finishesBeforeReturning() throws Exception {
+        CompletableFuture<String> add = dispatcher.submit(honey.parse("todo write code"));
+        dispatcher.shutdown();
+
+        assertTrue(add.isDone());
+        assertEquals(1, new Honey(tempDir.resolve("dispatcher_test.txt").toString())
+                .getResponse("list").split("\n").length - 1);
+    }
+}
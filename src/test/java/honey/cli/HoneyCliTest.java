@@ -0,0 +1,84 @@
+package honey.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import honey.Honey;
+
+/**
+ * Tests for HoneyCli.
+ * Tests reply framing, exiting on bye, saving and bounded flushing.
+ */
+public class HoneyCliTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void run_commands_writesEachReplyFollowedByDivider() throws IOException {
+        String output = run("todo read book\nlist\n", new StringWriter()).toString();
+
+        String[] replies = output.split(HoneyCli.DIVIDER + System.lineSeparator(), -1);
+        assertEquals(4, replies.length);
+        assertTrue(replies[0].startsWith(Honey.WELCOME_MESSAGE));
+        assertTrue(replies[1].contains("read book"));
+        assertTrue(replies[2].contains("1. [T][ ] read book"));
+        assertEquals("", replies[3]);
+    }
+
+    @Test
+    public void run_bye_stopsReadingAndSavesTasks() throws IOException {
+        String output = run("todo read book\nbye\ntodo never added\n", new StringWriter()).toString();
+
+        assertTrue(output.contains(Honey.GOODBYE_MESSAGE));
+        assertFalse(output.contains("never added"));
+        String saved = new String(Files.readAllBytes(tempDir.resolve("honey.txt")));
+        assertTrue(saved.contains("read book"));
+        assertFalse(saved.contains("never added"));
+    }
+
+    @Test
+    public void run_pipedInput_flushesAtMostEveryMaxUnflushedReplies() throws IOException {
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < HoneyCli.MAX_UNFLUSHED_REPLIES * 3; i++) {
+            commands.append("list\n");
+        }
+        CountingWriter writer = new CountingWriter();
+
+        run(commands.toString(), writer);
+
+        // Three full batches, plus the final partial batch once the input runs dry, plus the closing flush
+        assertTrue(writer.flushCount >= 3);
+        assertTrue(writer.flushCount <= 5);
+    }
+
+    private StringWriter run(String input, StringWriter output) throws IOException {
+        Honey honey = new Honey(tempDir.resolve("honey.txt").toString());
+        new HoneyCli(honey, new BufferedReader(new StringReader(input)), output).run();
+        return output;
+    }
+
+    /**
+     * Records how often it is flushed.
+     */
+    private static class CountingWriter extends StringWriter {
+        private int flushCount;
+
+        @Override
+        public void flush() {
+            flushCount++;
+            super.flush();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.storage.Storage;
+import honey.tasklist.Page;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for DependCommand and NextCommand.
+ * Tests that waiting tasks only show up as next once what they wait on is done, and that a wait can be undone.
+ */
+public class DependCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+    private UndoHistory history;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tasks = new TaskList();
+        storage = new Storage(tempDir.resolve("depend_command_test.txt").toString());
+        history = new UndoHistory();
+        run(new AddCommand("todo buy paint"));
+        run(new AddCommand("todo buy brush"));
+        run(new AddCommand("todo paint fence"));
+    }
+
+    private String run(Command command) throws HoneyException {
+        command.setData(tasks, storage, history);
+        return command.execute().getFeedbackToUser();
+    }
+
+    @Test
+    public void execute_waitingTask_isNotNextUntilPrerequisitesDone() throws Exception {
+        String result = run(new DependCommand(3, List.of(1, 2)));
+
+        assertTrue(result.contains("paint fence"));
+        assertFalse(run(new NextCommand()).contains("paint fence"));
+        run(new MarkCommand(1));
+        assertFalse(run(new NextCommand()).contains("paint fence"));
+        run(new MarkCommand(2));
+        assertTrue(run(new NextCommand()).contains("paint fence"));
+    }
+
+    @Test
+    public void execute_savesPrerequisites() throws Exception {
+        run(new DependCommand(3, List.of(1)));
+        storage.flush();
+
+        TaskList reloaded = new TaskList(storage.load());
+
+        assertEquals(List.of(1L), reloaded.getTasks().get(2).getPrerequisites());
+        assertFalse(reloaded.listNextTasks(Page.all()).contains("paint fence"));
+    }
+
+    @Test
+    public void undoAndRedo_removeAndRestoreTheWait() throws Exception {
+        run(new DependCommand(3, List.of(1)));
+
+        assertTrue(run(new UndoCommand()).contains("reversed 'depend 3 on 1'"));
+        assertTrue(tasks.getTasks().get(2).getPrerequisites().isEmpty());
+        assertTrue(run(new NextCommand()).contains("paint fence"));
+
+        run(new RedoCommand());
+        assertEquals(List.of(1L), tasks.getTasks().get(2).getPrerequisites());
+        assertFalse(run(new NextCommand()).contains("paint fence"));
+    }
+
+    @Test
+    public void execute_loop_isRefused() throws Exception {
+        run(new DependCommand(3, List.of(1)));
+
+        assertThrows(InvalidCommandException.class, () -> run(new DependCommand(1, List.of(3))));
+        assertEquals(4, history.getUndoableCount());
+    }
+
+    @Test
+    public void execute_waitOnItself_isRefusedWithItsOwnMessage() throws Exception {
+        HoneyException error = assertThrows(InvalidCommandException.class,
+                () -> run(new DependCommand(2, List.of(1, 2))));
+
+        assertTrue(error.getMessage().contains("can't wait on itself"));
+        assertTrue(tasks.getTasks().get(1).getPrerequisites().isEmpty());
+        assertEquals(3, history.getUndoableCount());
+    }
+
+    @Test
+    public void nextCommand_isReadOnly() {
+        assertTrue(new NextCommand().isReadOnly());
+        assertFalse(new DependCommand(1, List.of(2)).isReadOnly());
+    }
+}
@@ -0,0 +1,78 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import honey.parser.Parser;
+import honey.storage.Storage;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for ExportCommand functionality.
+ * Tests that the export runs against a snapshot and that its options are parsed.
+ */
+public class ExportCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new TaskList();
+        storage = new Storage(tempDir.resolve("export_command_test.txt").toString());
+    }
+
+    @Test
+    public void execute_exportsSnapshotTakenWhenRun() throws Exception {
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline submit report /by 2024-03-01");
+        Path file = tempDir.resolve("tasks.csv");
+
+        Command command = new Parser().parseCommand("export " + file + " pending type todo,deadline");
+        command.setData(tasks, storage);
+        CommandResult result = command.execute();
+        tasks.addTask("todo added later");
+        storage.flush();
+
+        assertTrue(command instanceof ExportCommand);
+        assertTrue(command.isReadOnly());
+        assertTrue(result.getFeedbackToUser().contains("packing the tasks that match"));
+        assertEquals(3, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void execute_withoutFilters_countsEveryTask() throws Exception {
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline submit report /by 2024-03-01");
+        tasks.markTask(1);
+        Path file = tempDir.resolve("tasks.jsonl");
+
+        Command command = new Parser().parseCommand("export " + file);
+        command.setData(tasks, storage);
+        CommandResult result = command.execute();
+        storage.flush();
+
+        assertTrue(result.getFeedbackToUser().contains("packing our 2 tasks"));
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void parse_invalidOptions_returnsIncorrectCommand() {
+        Parser parser = new Parser();
+
+        assertTrue(parser.parseCommand("export") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("export tasks.txt") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("export tasks.csv type chore") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("export tasks.csv from 2024-13-01") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("export tasks.csv sideways") instanceof IncorrectCommand);
+    }
+}
@@ -12,6 +12,7 @@ import java.io.File;
 import java.nio.file.Path;
 
 import honey.storage.Storage;
+import honey.tasklist.Page;
 import honey.tasklist.TaskList;
 
 /**
@@ -378,4 +379,27 @@ public class FindCommandTest {
         assertTrue(output.contains("newspaper"));
         assertTrue(output.contains("3.")); // Should have three results
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findCommand_withLimit_showsFirstMatchesOnly() throws Exception {
+        FindCommand command = new FindCommand("e", Page.of(0, 2));
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("1."));
+        assertTrue(output.contains("2."));
+        assertFalse(output.contains("3."));
+        assertTrue(output.contains("Add 'offset 2' to see the next ones."));
+    }
+
+    @Test
+    public void findCommand_ranked_toleratesTyposAndRanksBestFirst() throws Exception {
+        FindCommand command = new FindCommand("meting clinet", Page.all(), true);
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("1. [E][ ] client meeting"));
+        assertTrue(output.contains("2. [E][ ] team meeting"));
+        assertFalse(output.contains("groceries"));
+    }
+}
@@ -0,0 +1,76 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import honey.storage.Storage;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for ImportCommand functionality.
+ * Tests that imported tasks are saved and that the report counts rejected rows.
+ */
+public class ImportCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+    private Path dataFile;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new TaskList();
+        dataFile = tempDir.resolve("import_command_test.txt");
+        storage = new Storage(dataFile.toString());
+    }
+
+    @Test
+    public void execute_validFile_importsAndSavesTasks() throws Exception {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, "name,due\nsubmit report,2024-03-01\nbad row,not a date\n");
+
+        ImportCommand command = new ImportCommand(file);
+        command.setData(tasks, storage);
+        CommandResult result = command.execute();
+
+        String output = result.getFeedbackToUser();
+        assertTrue(output.contains("imported 1 tasks from tasks.csv"));
+        assertTrue(output.contains("rows/s"));
+        assertTrue(output.contains("invalid due date: 1 rows (first on line 3)"));
+        assertEquals(1, new Storage(dataFile.toString()).load().size());
+        assertFalse(result.isExit());
+    }
+
+    @Test
+    public void undo_removesImportedTasksOnly() throws Exception {
+        tasks.addTask("todo read book");
+        Path file = tempDir.resolve("tasks.csv");
+        Files.writeString(file, "name,due\nsubmit report,2024-03-01\npay rent,2024-03-05\n");
+        UndoHistory history = new UndoHistory();
+
+        ImportCommand command = new ImportCommand(file);
+        command.setData(tasks, storage, history);
+        command.execute();
+        assertEquals(3, tasks.size());
+        UndoCommand undo = new UndoCommand();
+        undo.setData(tasks, storage, history);
+        undo.execute();
+
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.getTasks().get(0).getDescription().contains("read book"));
+    }
+
+    @Test
+    public void getCommandType_returnsImport() {
+        assertEquals(CommandType.IMPORT, new ImportCommand(tempDir.resolve("tasks.ics")).getCommandType());
+    }
+}
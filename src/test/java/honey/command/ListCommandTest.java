@@ -10,8 +10,11 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 
 import honey.storage.Storage;
+import honey.task.Priority;
+import honey.tasklist.Page;
 import honey.tasklist.TaskList;
 
 /**
@@ -331,4 +334,74 @@ public class ListCommandTest {
         assertEquals(result1.getFeedbackToUser(), result2.getFeedbackToUser());
         assertEquals(result2.getFeedbackToUser(), result3.getFeedbackToUser());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void execute_page_numbersByPositionAndHintsAtMore() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            tasks.addTask("todo chore " + i);
+        }
+
+        ListCommand command = new ListCommand(null, Page.of(1, 2));
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("2. [T][ ] chore 2"));
+        assertTrue(output.contains("3. [T][ ] chore 3"));
+        assertFalse(output.contains("chore 1"));
+        assertFalse(output.contains("chore 4"));
+        assertTrue(output.contains("Add 'offset 3' to see the next ones."));
+    }
+
+    @Test
+    public void execute_offsetPastEnd_returnsPastEndMessage() throws Exception {
+        tasks.addTask("todo only task");
+
+        ListCommand command = new ListCommand(null, Page.of(5, 2));
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("That's past the end"));
+        assertFalse(output.contains("only task"));
+    }
+
+    @Test
+    public void execute_tags_listsTasksWithEveryTag() throws Exception {
+        tasks.addTask("todo write report #work #urgent !high");
+        tasks.addTask("todo water plants #home");
+        tasks.addTask("todo book flights #Work");
+        tasks.addTask("todo call client #urgent #work");
+
+        ListCommand command = new ListCommand(List.of("work", "urgent"), null, Page.all());
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("1. [T][ ] write report #work #urgent !high"));
+        assertTrue(output.contains("2. [T][ ] call client #urgent #work"));
+        assertFalse(output.contains("book flights"));
+        assertFalse(output.contains("water plants"));
+    }
+
+    @Test
+    public void execute_priority_listsTasksWithThatPriority() throws Exception {
+        tasks.addTask("todo write report #work !high");
+        tasks.addTask("todo water plants !low");
+        tasks.markTask(1);
+
+        ListCommand command = new ListCommand(List.of(), Priority.HIGH, Page.all());
+        command.setData(tasks, storage);
+        String output = command.execute().getFeedbackToUser();
+
+        assertTrue(output.contains("1. [T][X] write report #work !high"));
+        assertFalse(output.contains("water plants"));
+    }
+
+    @Test
+    public void execute_unknownTag_returnsNoTasksMessage() throws Exception {
+        tasks.addTask("todo write report #work");
+
+        ListCommand command = new ListCommand(List.of("holiday"), null, Page.all());
+        command.setData(tasks, storage);
+
+        assertTrue(command.execute().getFeedbackToUser().contains("No tasks are tagged just like that"));
+    }
+}
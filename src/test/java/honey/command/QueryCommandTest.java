@@ -0,0 +1,96 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import honey.parser.Parser;
+import honey.storage.Storage;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for QueryCommand functionality.
+ * Tests that queries parsed from user input combine filters, sort and limit, and that explain shows the plan.
+ */
+public class QueryCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+    private Parser parser;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tasks = new TaskList();
+        storage = new Storage(tempDir.resolve("query_command_test.txt").toString());
+        parser = new Parser();
+        tasks.addTask("deadline weekly report /by 2024-03-08");
+        tasks.addTask("deadline monthly report /by 2024-03-05");
+        tasks.addTask("deadline old report /by 2024-03-06");
+        tasks.addTask("todo report ideas");
+        tasks.addTask("deadline budget /by 2024-03-07");
+        tasks.markTask(3);
+    }
+
+    private String run(String input) throws Exception {
+        Command command = parser.parseCommand(input);
+        command.setData(tasks, storage);
+        return command.execute().getFeedbackToUser();
+    }
+
+    @Test
+    public void execute_combinesFiltersSortAndLimit() throws Exception {
+        String result = run("query pending type deadline name report from 2024-03-04 to 2024-03-10 sort deadline");
+
+        assertTrue(result.contains("1. [D][ ] monthly report"));
+        assertTrue(result.contains("2. [D][ ] weekly report"));
+        assertFalse(result.contains("old report"));
+        assertFalse(result.contains("report ideas"));
+        assertFalse(result.contains("budget"));
+
+        String limited = run("query name report sort deadline limit 1");
+        assertTrue(limited.contains("1. [D][ ] monthly report"));
+        assertFalse(limited.contains("2."));
+    }
+
+    @Test
+    public void execute_orAndNot_followPrecedence() throws Exception {
+        String result = run("query (name budget or done) and not type todo");
+
+        assertTrue(result.contains("1. [D][X] old report"));
+        assertTrue(result.contains("2. [D][ ] budget"));
+        assertFalse(result.contains("weekly report"));
+    }
+
+    @Test
+    public void execute_explain_showsPlanWithoutRunning() throws Exception {
+        String result = run("query explain pending name budget limit 2");
+
+        assertTrue(result.contains("Read: keyword index on \"budget\" - 1 of 5 tasks"));
+        assertTrue(result.contains("Then check: pending"));
+        assertTrue(result.contains("Page: 2 after skipping 0, stopping as soon as it is filled"));
+        assertFalse(result.contains("1. [D]"));
+    }
+
+    @Test
+    public void execute_noMatches_returnsFriendlyMessage() throws Exception {
+        assertTrue(run("query name holiday").contains("No tasks match that query"));
+    }
+
+    @Test
+    public void parse_invalidQuery_returnsIncorrectCommand() {
+        assertTrue(parser.parseCommand("query name") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query (done or pending") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query type chore") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query from tomorrow") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query done limit 0") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query done sort size") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query report") instanceof IncorrectCommand);
+    }
+}
@@ -1,5 +1,6 @@
 package honey.command;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -9,8 +10,11 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import honey.storage.Storage;
+import honey.tasklist.Page;
 import honey.tasklist.TaskList;
 
 /**
@@ -223,6 +227,23 @@ public class SortCommandTest {
         assertTrue(result.getFeedbackToUser().contains("Sorry, I can only sort 'deadline' tasks for now"));
     }
 
+    @Test
+    public void execute_typeAndStatus_groupTasks() throws Exception {
+        tasks.addTask("deadline submit report /by 2023-12-15");
+        tasks.addTask("todo read book");
+        tasks.markTask(2);
+
+        SortCommand byType = new SortCommand("type");
+        byType.setData(tasks, storage);
+        String typeOutput = byType.execute().getFeedbackToUser();
+        SortCommand byStatus = new SortCommand("status");
+        byStatus.setData(tasks, storage);
+        String statusOutput = byStatus.execute().getFeedbackToUser();
+
+        assertTrue(typeOutput.indexOf("read book") < typeOutput.indexOf("submit report"));
+        assertTrue(statusOutput.indexOf("submit report") < statusOutput.indexOf("read book"));
+    }
+
     // ====================== Case Sensitivity Tests ======================
     
     @Test
@@ -324,4 +345,27 @@ public class SortCommandTest {
         
         assertTrue(result.getFeedbackToUser().contains("How wonderful! 🎉 No deadlines to worry about"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void execute_deadlinePages_matchSlicesOfWholeSort() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            tasks.addTask("deadline task" + i + " /by 2023-12-" + String.format("%02d", 1 + (i * 7) % 28));
+        }
+        tasks.addTask("recurring standup /every week on mon /from 2023-01-02");
+        tasks.addTask("recurring rent /every month on 1 /from 2023-01-01");
+
+        SortCommand whole = new SortCommand("deadline");
+        whole.setData(tasks, storage);
+        List<String> rows = numberedRows(whole.execute().getFeedbackToUser());
+        for (int offset = 0; offset < rows.size(); offset += 3) {
+            SortCommand command = new SortCommand("deadline", Page.of(offset, 3));
+            command.setData(tasks, storage);
+            List<String> page = numberedRows(command.execute().getFeedbackToUser());
+            assertEquals(rows.subList(offset, Math.min(rows.size(), offset + 3)), page);
+        }
+    }
+
+    private static List<String> numberedRows(String output) {
+        return output.lines().filter(line -> line.matches("\\d+\\..*")).collect(Collectors.toList());
+    }
+}
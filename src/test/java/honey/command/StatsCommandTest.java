@@ -0,0 +1,121 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import honey.Honey;
+import honey.metrics.Metrics;
+import honey.storage.Storage;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for StatsCommand and the metrics it reports.
+ * Tests the summary, the Prometheus export and the instrumentation in Honey.
+ */
+public class StatsCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+    private Metrics metrics;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        tasks = new TaskList();
+        storage = new Storage(tempDir.resolve("stats_command_test.txt").toString());
+        metrics = new Metrics();
+    }
+
+    @Test
+    public void execute_noCommands_showsTaskCountAndNoCommands() throws Exception {
+        tasks.addTask("todo read book");
+        StatsCommand command = new StatsCommand(metrics, null);
+        command.setData(tasks, storage);
+
+        String result = command.execute().getFeedbackToUser();
+
+        assertTrue(result.contains("Tasks in your hive: 1"));
+        assertTrue(result.contains("none yet"));
+    }
+
+    @Test
+    public void execute_resultCacheUsed_showsHitsMissesAndEvictions() throws Exception {
+        metrics.recordResultCacheMiss();
+        metrics.recordResultCacheHit();
+        metrics.recordResultCacheHit();
+        metrics.recordResultCacheHit();
+        metrics.recordResultCacheEviction();
+        metrics.recordResultCacheInvalidations(2);
+        StatsCommand command = new StatsCommand(metrics, null);
+        command.setData(tasks, storage);
+
+        String result = command.execute().getFeedbackToUser();
+
+        assertTrue(result.contains("Result cache: 3 hits, 1 misses (75.0% hits), 1 evicted, 2 invalidated by changes"));
+    }
+
+    @Test
+    public void execute_recordedCommands_showsCountsAndFailures() throws Exception {
+        metrics.recordCommand(CommandType.LIST, 1_000_000, false);
+        metrics.recordCommand(CommandType.LIST, 2_000_000, false);
+        metrics.recordCommand(CommandType.MARK, 500_000, true);
+        StatsCommand command = new StatsCommand(metrics, null);
+        command.setData(tasks, storage);
+
+        String result = command.execute().getFeedbackToUser();
+
+        assertTrue(result.contains("list: 2 runs"));
+        assertTrue(result.contains("mark: 1 runs"));
+        assertTrue(result.contains("1 failed"));
+    }
+
+    @Test
+    public void execute_withExportPath_writesPrometheusFile() throws Exception {
+        metrics.recordCommand(CommandType.TODO, 1_000_000, false);
+        metrics.recordSave(2_000_000, 42, 3);
+        Path exportFile = tempDir.resolve("metrics/honey.prom");
+        StatsCommand command = new StatsCommand(metrics, exportFile);
+        command.setData(tasks, storage);
+
+        String result = command.execute().getFeedbackToUser();
+
+        assertTrue(result.contains("Exported"));
+        String exported = new String(Files.readAllBytes(exportFile));
+        assertTrue(exported.contains("# TYPE honey_command_duration_seconds summary"));
+        assertTrue(exported.contains("honey_command_duration_seconds_count{command=\"todo\"} 1"));
+        assertTrue(exported.contains("honey_storage_written_bytes_total 42"));
+        assertTrue(exported.contains("honey_storage_saved_tasks 3"));
+    }
+
+    @Test
+    public void isReadOnly_onlyWithoutExport() {
+        assertTrue(new StatsCommand(metrics, null).isReadOnly());
+        assertFalse(new StatsCommand(metrics, tempDir.resolve("honey.prom")).isReadOnly());
+    }
+
+    @Test
+    public void honeyExecute_recordsCommandTypeAndStorageWrites() {
+        Metrics shared = Metrics.getInstance();
+        long todosBefore = shared.getCommandCount(CommandType.TODO);
+        long incorrectBefore = shared.getCommandCount(null);
+        long bytesBefore = shared.getBytesWritten();
+        Honey honey = new Honey(tempDir.resolve("honey.txt").toString());
+
+        honey.getResponse("todo read book");
+        honey.getResponse("fly away");
+        honey.flush();
+
+        assertEquals(todosBefore + 1, shared.getCommandCount(CommandType.TODO));
+        assertEquals(incorrectBefore + 1, shared.getCommandCount(null));
+        assertTrue(shared.getBytesWritten() > bytesBefore);
+    }
+}
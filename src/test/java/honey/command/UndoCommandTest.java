@@ -0,0 +1,189 @@
+package honey.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import honey.exceptions.HoneyException;
+import honey.exceptions.InvalidCommandException;
+import honey.storage.Storage;
+import honey.task.Task;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for UndoCommand and RedoCommand.
+ * Tests that each kind of change is reversed and applied again exactly, that the history is bounded and
+ * survives a restart, and that a list changed behind the history's back is never undone into.
+ */
+public class UndoCommandTest {
+    private TaskList tasks;
+    private Storage storage;
+    private UndoHistory history;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tasks = new TaskList();
+        storage = new Storage(tempDir.resolve("undo_command_test.txt").toString());
+        history = new UndoHistory(storage, UndoHistory.DEFAULT_MAX_CHANGES, UndoHistory.DEFAULT_MAX_CHARS);
+        run(new AddCommand("todo read book"));
+        run(new AddCommand("deadline submit report /by 2023-12-15"));
+        run(new AddCommand("todo write code"));
+    }
+
+    private String run(Command command) throws HoneyException {
+        command.setData(tasks, storage, history);
+        return command.execute().getFeedbackToUser();
+    }
+
+    private List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            lines.add(task.toString());
+        }
+        return lines;
+    }
+
+    @Test
+    public void undoDelete_putsTaskBackInPlace_andRedoDeletesAgain() throws Exception {
+        List<String> before = lines();
+        run(new DeleteCommand(2));
+
+        String result = run(new UndoCommand());
+
+        assertTrue(result.contains("delete 2"));
+        assertEquals(before, lines());
+        run(new RedoCommand());
+        assertEquals(2, tasks.size());
+        assertFalse(tasks.getTasks().get(1).getDescription().contains("submit report"));
+    }
+
+    @Test
+    public void undoMarkAndUnmark_restoresStatus() throws Exception {
+        run(new MarkCommand(1));
+        run(new UnmarkCommand(1));
+        run(new MarkCommand(3));
+
+        run(new UndoCommand());
+        assertFalse(tasks.getTasks().get(2).getIsDone());
+        run(new UndoCommand());
+        assertTrue(tasks.getTasks().get(0).getIsDone());
+        run(new UndoCommand());
+        assertFalse(tasks.getTasks().get(0).getIsDone());
+        run(new RedoCommand());
+        assertTrue(tasks.getTasks().get(0).getIsDone());
+    }
+
+    @Test
+    public void markingDoneTask_isNotRecorded() throws Exception {
+        run(new MarkCommand(1));
+        run(new MarkCommand(1));
+
+        run(new UndoCommand());
+
+        assertFalse(tasks.getTasks().get(0).getIsDone());
+        assertEquals(3, tasks.size());
+    }
+
+    @Test
+    public void undoEverything_thenNothingLeft() throws Exception {
+        run(new UndoCommand());
+        run(new UndoCommand());
+        run(new UndoCommand());
+
+        assertEquals(0, tasks.size());
+        InvalidCommandException exception = assertThrows(InvalidCommandException.class,
+                () -> run(new UndoCommand()));
+        assertTrue(exception.getMessage().contains("nothing to undo"));
+    }
+
+    @Test
+    public void newChange_clearsRedo() throws Exception {
+        run(new UndoCommand());
+        run(new AddCommand("todo water plants"));
+
+        assertEquals(0, history.getRedoableCount());
+        assertThrows(InvalidCommandException.class, () -> run(new RedoCommand()));
+    }
+
+    @Test
+    public void history_keepsOnlyNewestChanges() throws Exception {
+        history = new UndoHistory(storage, 2, UndoHistory.DEFAULT_MAX_CHARS);
+        run(new MarkCommand(1));
+        run(new MarkCommand(2));
+        run(new MarkCommand(3));
+
+        run(new UndoCommand());
+        run(new UndoCommand());
+
+        assertThrows(InvalidCommandException.class, () -> run(new UndoCommand()));
+        assertTrue(tasks.getTasks().get(0).getIsDone());
+        assertFalse(tasks.getTasks().get(1).getIsDone());
+    }
+
+    @Test
+    public void changeTooBigToKeep_clearsHistory() throws Exception {
+        history = new UndoHistory(storage, UndoHistory.DEFAULT_MAX_CHANGES, 20);
+        run(new MarkCommand(1));
+
+        assertFalse(history.recordAdded(0, tasks.getTasks(), "import everything"));
+
+        assertEquals(0, history.getUndoableCount());
+    }
+
+    @Test
+    public void history_survivesRestart() throws Exception {
+        run(new DeleteCommand(1));
+        run(new MarkCommand(1));
+        storage.flush();
+        assertTrue(Files.exists(tempDir.resolve("undo_command_test.txt.undo")));
+
+        tasks = new TaskList(storage.load());
+        history = UndoHistory.load(storage, UndoHistory.DEFAULT_MAX_CHANGES, UndoHistory.DEFAULT_MAX_CHARS);
+        run(new UndoCommand());
+        run(new UndoCommand());
+
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.getTasks().get(0).getDescription().contains("read book"));
+        assertFalse(tasks.getTasks().get(1).getIsDone());
+        assertEquals(2, history.getRedoableCount());
+    }
+
+    @Test
+    public void listChangedElsewhere_refusesAndClearsHistory() throws Exception {
+        run(new DeleteCommand(3));
+        tasks.deleteTask(1);
+        tasks.addTask("todo something else");
+        run(new UndoCommand());
+        tasks.deleteTask(1);
+
+        InvalidCommandException exception = assertThrows(InvalidCommandException.class,
+                () -> run(new UndoCommand()));
+
+        assertTrue(exception.getMessage().contains("changed since then"));
+        assertEquals(0, history.getUndoableCount());
+        assertEquals(0, history.getRedoableCount());
+    }
+
+    @Test
+    public void damagedHistoryFile_startsAfresh() throws Exception {
+        Files.write(tempDir.resolve("undo_command_test.txt.undo"), List.of("undo | ADDED | x | 1 | todo"));
+
+        UndoHistory loaded = UndoHistory.load(storage, UndoHistory.DEFAULT_MAX_CHANGES,
+                UndoHistory.DEFAULT_MAX_CHARS);
+
+        assertEquals(0, loaded.getUndoableCount());
+    }
+}
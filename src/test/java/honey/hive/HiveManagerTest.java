@@ -0,0 +1,74 @@
+package honey.hive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+/**
+ * Tests for HiveManager.
+ * Tests lazy loading, isolation between hives, and that evicted hives keep their tasks.
+ */
+public class HiveManagerTest {
+    private HiveManager hives;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        hives = new HiveManager(tempDir, 2);
+    }
+
+    private String run(String user, String input) throws Exception {
+        return hives.submit(user, hives.parse(input)).get();
+    }
+
+    @Test
+    public void submit_firstCommand_loadsHiveLazily() throws Exception {
+        assertEquals(0, hives.getResidentCount());
+
+        run("alice", "todo read book");
+
+        assertEquals(1, hives.getResidentCount());
+    }
+
+    @Test
+    public void submit_differentUsers_keepSeparateTasks() throws Exception {
+        run("alice", "todo alice task");
+        run("bob", "todo bob task");
+
+        String aliceList = run("alice", "list");
+        assertTrue(aliceList.contains("alice task"));
+        assertFalse(aliceList.contains("bob task"));
+        assertTrue(run("bob", "list").contains("bob task"));
+    }
+
+    @Test
+    public void submit_moreHivesThanLimit_evictsLeastRecentlyUsed() throws Exception {
+        run("alice", "todo alice task");
+        run("bob", "todo bob task");
+        run("carol", "todo carol task");
+
+        assertEquals(2, hives.getResidentCount());
+    }
+
+    @Test
+    public void submit_afterEviction_reloadsSavedTasks() throws Exception {
+        run("alice", "todo alice task");
+        run("alice", "mark 1");
+        for (int i = 0; i < 5; i++) {
+            run("user" + i, "todo filler");
+        }
+
+        String aliceList = run("alice", "list");
+
+        assertTrue(aliceList.contains("1. [T][X] alice task"));
+        hives.close();
+    }
+}
@@ -0,0 +1,75 @@
+package honey.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import honey.Honey;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the Honey JFR events.
+ * Tests that parsing, commands, storage and queries are recorded with their fields.
+ */
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void honeyCommands_recordedInFlightRecording() throws Exception {
+        Path recordingFile = tempDir.resolve("honey.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ParseEvent.class);
+            recording.enable(CommandEvent.class);
+            recording.enable(StorageSaveEvent.class);
+            recording.enable(StorageLoadEvent.class);
+            recording.enable(TaskQueryEvent.class);
+            recording.start();
+
+            Honey honey = new Honey(tempDir.resolve("honey.txt").toString());
+            honey.getResponse("todo read book");
+            honey.getResponse("find book");
+            honey.flush();
+            new Honey(tempDir.resolve("honey.txt").toString());
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        List<String> names = events.stream()
+                .map(event -> event.getEventType().getName())
+                .collect(Collectors.toList());
+        assertTrue(names.contains("honey.Parse"));
+        assertTrue(names.contains("honey.StorageLoad"));
+
+        RecordedEvent command = events.stream()
+                .filter(event -> event.getEventType().getName().equals("honey.Command"))
+                .filter(event -> "TODO".equals(event.getString("commandType")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, command.getInt("taskCount"));
+
+        RecordedEvent save = events.stream()
+                .filter(event -> event.getEventType().getName().equals("honey.StorageSave"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(save.getLong("bytes") > 0);
+
+        RecordedEvent query = events.stream()
+                .filter(event -> event.getEventType().getName().equals("honey.TaskQuery"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("find", query.getString("query"));
+        assertEquals(1, query.getInt("resultCount"));
+    }
+}
@@ -0,0 +1,57 @@
+package honey.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for LatencyHistogram.
+ * Tests bucket boundaries and quantile accuracy.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketIndex_everyBucketHoldsItsHighestValue() {
+        for (long value : new long[] {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueInBucket(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void getValueAtQuantile_emptyHistogram_returnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    public void getValueAtQuantile_uniformValues_withinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000L, histogram.getMaxNanos());
+        assertWithinThreePercent(50_000_000L, histogram.getValueAtQuantile(0.5));
+        assertWithinThreePercent(99_000_000L, histogram.getValueAtQuantile(0.99));
+        assertEquals(100_000_000L, histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void record_negativeValue_recordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+    }
+
+    private static void assertWithinThreePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.03, "expected ~" + expected + " but was " + actual);
+    }
+}
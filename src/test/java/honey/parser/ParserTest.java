@@ -7,13 +7,19 @@ import org.junit.jupiter.api.Test;
 
 import honey.command.AddCommand;
 import honey.command.Command;
+import honey.command.DependCommand;
 import honey.command.DeleteCommand;
 import honey.command.ExitCommand;
 import honey.command.FindCommand;
 import honey.command.IncorrectCommand;
 import honey.command.ListCommand;
 import honey.command.MarkCommand;
+import honey.command.NextCommand;
+import honey.command.QueryCommand;
+import honey.command.RedoCommand;
 import honey.command.SortCommand;
+import honey.command.StatsCommand;
+import honey.command.UndoCommand;
 
 /**
  * Simple, focused test for Parser.
@@ -33,6 +39,23 @@ public class ParserTest {
         assertTrue(result instanceof ListCommand);
     }
 
+    @Test
+    public void parseCommand_listTagsAndPriority_returnsListCommand() {
+        assertTrue(parser.parseCommand("list #work #urgent") instanceof ListCommand);
+        assertTrue(parser.parseCommand("list !high limit 5") instanceof ListCommand);
+        assertTrue(parser.parseCommand("list !high !low") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("list #work soon") instanceof IncorrectCommand);
+    }
+
+    @Test
+    public void parseCommand_dependAndNext_returnCommands() {
+        assertTrue(parser.parseCommand("depend 3 on 1 2") instanceof DependCommand);
+        assertTrue(parser.parseCommand("depend 3 1") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("depend 3 on two") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("next limit 5") instanceof NextCommand);
+        assertTrue(parser.parseCommand("next soon") instanceof IncorrectCommand);
+    }
+
     @Test
     public void parseCommand_byeCommand_returnsExitCommand() {
         Command result = parser.parseCommand("bye");
@@ -57,6 +80,12 @@ public class ParserTest {
         assertTrue(result instanceof DeleteCommand);
     }
 
+    @Test
+    public void parseCommand_undoAndRedo_returnUndoAndRedoCommands() {
+        assertTrue(parser.parseCommand("undo") instanceof UndoCommand);
+        assertTrue(parser.parseCommand("REDO") instanceof RedoCommand);
+    }
+
     @Test
     public void parseCommand_findCommand_returnsFindCommand() {
         Command result = parser.parseCommand("find book");
@@ -92,4 +121,61 @@ public class ParserTest {
         Command result = parser.parseCommand("sort");
         assertTrue(result instanceof IncorrectCommand);
     }
+
+    @Test
+    public void parseCommand_statsCommand_returnsStatsCommand() {
+        assertTrue(parser.parseCommand("stats") instanceof StatsCommand);
+        assertTrue(parser.parseCommand("stats export") instanceof StatsCommand);
+    }
+
+    @Test
+    public void parseCommand_statsWithUnknownOption_returnsIncorrectCommand() {
+        Command result = parser.parseCommand("stats reset");
+        assertTrue(result instanceof IncorrectCommand);
+    }
+
+    @Test
+    public void parseCommand_statsExportToClientPath_returnsIncorrectCommand() {
+        assertTrue(parser.parseCommand("stats export metrics.prom") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("stats export /etc/passwd") instanceof IncorrectCommand);
+    }
+
+    @Test
+    public void parseCommand_queryCommand_returnsQueryCommand() {
+        assertTrue(parser.parseCommand("query") instanceof QueryCommand);
+        assertTrue(parser.parseCommand("query explain pending name report sort deadline limit 5")
+                instanceof QueryCommand);
+        assertTrue(parser.parseCommand("query not (done or type todo) from 2024-03-04") instanceof QueryCommand);
+    }
+
+    @Test
+    public void parseCommand_limitAndOffset_acceptedInEitherOrder() {
+        assertTrue(parser.parseCommand("list limit 5") instanceof ListCommand);
+        assertTrue(parser.parseCommand("list done offset 10 limit 5") instanceof ListCommand);
+        assertTrue(parser.parseCommand("find report limit 3 offset 3") instanceof FindCommand);
+        assertTrue(parser.parseCommand("sort deadline limit 10") instanceof SortCommand);
+    }
+
+    @Test
+    public void parseCommand_zeroLimit_returnsIncorrectCommand() {
+        assertTrue(parser.parseCommand("list limit 0") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("query limit 0") instanceof IncorrectCommand);
+    }
+
+    @Test
+    public void parseCommand_malformedLimitOrOffset_reportsTheOption() throws Exception {
+        Command negativeLimit = parser.parseCommand("list limit -1");
+        Command wordOffset = parser.parseCommand("list offset abc");
+
+        assertTrue(negativeLimit.execute().getFeedbackToUser().contains("limit should be a whole number"));
+        assertTrue(wordOffset.execute().getFeedbackToUser().contains("offset should be a whole number"));
+        assertTrue(parser.parseCommand("find report limit -1") instanceof IncorrectCommand);
+        assertTrue(parser.parseCommand("due 2024-03-01 offset 1.5") instanceof IncorrectCommand);
+    }
+
+    @Test
+    public void parseCommand_rankedFind_returnsFindCommand() {
+        assertTrue(parser.parseCommand("find ranked quarterly report limit 5") instanceof FindCommand);
+        assertTrue(parser.parseCommand("find ranked") instanceof IncorrectCommand);
+    }
 }
@@ -0,0 +1,211 @@
+package honey.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import honey.task.Deadline;
+import honey.task.HoneyClock;
+import honey.task.Task;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for ReminderScheduler.
+ * Tests incremental updates on add, delete, mark and unmark, firing order and the background timer.
+ */
+public class ReminderSchedulerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private MutableClock clock;
+    private List<Reminder> fired;
+    private TaskList tasks;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        fired = new ArrayList<>();
+        tasks = new TaskList();
+        scheduler = new ReminderScheduler(clock, fired::add);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void start_schedulesOnlyFutureDeadlinesAndEvents() throws Exception {
+        tasks.addTask("todo read book");
+        tasks.addTask("deadline past report /by 2023-12-31 1800");
+        tasks.addTask("deadline submit report /by 2024-01-02 1800");
+        tasks.addTask("event team retreat /from 2024-01-05 /to 2024-01-06");
+        tasks.addTask("deadline done report /by 2024-01-03 1800");
+        tasks.markTask(5);
+
+        scheduler.start(tasks);
+
+        assertEquals(2, scheduler.getPendingCount());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 18, 0), scheduler.getNextReminderTime());
+    }
+
+    @Test
+    public void taskListChanges_updateRemindersIncrementally() throws Exception {
+        scheduler.start(tasks);
+        tasks.addTask("deadline submit report /by 2024-01-02 1800");
+        tasks.addTask("deadline pay rent /by 2024-01-01 1200");
+        assertEquals(2, scheduler.getPendingCount());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0), scheduler.getNextReminderTime());
+
+        tasks.markTask(2);
+        assertEquals(1, scheduler.getPendingCount());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 18, 0), scheduler.getNextReminderTime());
+
+        tasks.unmarkTask(2);
+        assertEquals(2, scheduler.getPendingCount());
+
+        tasks.deleteTask(2);
+        tasks.deleteTask(1);
+        assertEquals(0, scheduler.getPendingCount());
+        assertNull(scheduler.getNextReminderTime());
+    }
+
+    @Test
+    public void fireDueReminders_firesDueRemindersInTimeOrder() throws Exception {
+        tasks.addTask("deadline submit report /by 2024-01-02 1800");
+        tasks.addTask("deadline pay rent /by 2024-01-01 1200");
+        tasks.addTask("event team retreat /from 2024-01-05 /to 2024-01-06");
+        scheduler.start(tasks);
+
+        clock.set(LocalDateTime.of(2024, 1, 3, 0, 0).toInstant(ZoneOffset.UTC));
+        List<Reminder> due = scheduler.fireDueReminders();
+
+        assertEquals(2, due.size());
+        assertEquals(due, fired);
+        assertTrue(due.get(0).getMessage().contains("pay rent"));
+        assertTrue(due.get(1).getMessage().contains("submit report"));
+        assertEquals(1, scheduler.getPendingCount());
+        assertTrue(scheduler.fireDueReminders().isEmpty());
+    }
+
+    @Test
+    public void timer_wakesWhenNextReminderIsDue() throws Exception {
+        LocalDateTime deadline = LocalDateTime.of(2030, 6, 1, 18, 0);
+        Instant shortlyBefore = deadline.minus(Duration.ofMillis(200)).atZone(ZoneId.systemDefault()).toInstant();
+        Clock offsetClock = Clock.offset(Clock.systemDefaultZone(), Duration.between(Instant.now(), shortlyBefore));
+        CountDownLatch reminded = new CountDownLatch(1);
+        scheduler = new ReminderScheduler(offsetClock, reminder -> reminded.countDown());
+        tasks.addTask("deadline launch rocket /by 2030-06-01 1800");
+
+        scheduler.start(tasks);
+
+        assertTrue(reminded.await(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void start_manyDeadlines_keepsOnlyEarliestArmed() throws Exception {
+        List<Task> many = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            many.add(new Deadline("deadline task " + i + " /by 2025-01-01 " + String.format("%02d00", i % 24)));
+        }
+        tasks = new TaskList(many);
+
+        scheduler.start(tasks);
+        tasks.addTask("deadline sooner /by 2024-06-01 0800");
+
+        assertEquals(100_001, scheduler.getPendingCount());
+        assertEquals(LocalDateTime.of(2024, 6, 1, 8, 0), scheduler.getNextReminderTime());
+    }
+
+    @Test
+    public void start_honeyClock_remindsZonedDeadlineAtTheSameMoment() throws Exception {
+        HoneyClock original = HoneyClock.getInstance();
+        try {
+            HoneyClock.setInstance(new HoneyClock(clock));
+            scheduler = new ReminderScheduler(fired::add);
+            tasks.addTask("deadline call client /by 2024-01-01 1800 Asia/Singapore");
+
+            scheduler.start(tasks);
+
+            assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), scheduler.getNextReminderTime());
+            clock.set(LocalDateTime.of(2024, 1, 1, 10, 0).toInstant(ZoneOffset.UTC));
+            assertEquals(1, scheduler.fireDueReminders().size());
+        } finally {
+            HoneyClock.setInstance(original);
+        }
+    }
+
+    @Test
+    public void start_honeyClockSwappedAfterStart_followsTheNewClock() throws Exception {
+        HoneyClock original = HoneyClock.getInstance();
+        try {
+            HoneyClock.setInstance(new HoneyClock(clock));
+            scheduler = new ReminderScheduler(fired::add);
+            tasks.addTask("deadline call client /by 2024-01-01 1800 Asia/Singapore");
+            tasks.addTask("deadline pay rent /by 2024-01-01 2000");
+            scheduler.start(tasks);
+            assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), scheduler.getNextReminderTime());
+
+            // Half past nine in UTC is half past five in Singapore, where the call is due at six
+            Instant halfPastNine = LocalDateTime.of(2024, 1, 1, 9, 30).toInstant(ZoneOffset.UTC);
+            ZoneId singapore = ZoneId.of("Asia/Singapore");
+            HoneyClock.setInstance(new HoneyClock(Clock.fixed(halfPastNine, singapore)));
+            assertEquals(LocalDateTime.of(2024, 1, 1, 18, 0), scheduler.getNextReminderTime());
+            assertTrue(scheduler.fireDueReminders().isEmpty());
+
+            HoneyClock.setInstance(new HoneyClock(Clock.fixed(halfPastNine.plus(Duration.ofMinutes(30)), singapore)));
+            List<Reminder> due = scheduler.fireDueReminders();
+            assertEquals(1, due.size());
+            assertTrue(due.get(0).getMessage().contains("call client"));
+            assertEquals(LocalDateTime.of(2024, 1, 1, 20, 0), scheduler.getNextReminderTime());
+        } finally {
+            HoneyClock.setInstance(original);
+        }
+    }
+
+    /**
+     * A clock whose time is set by the test.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package honey.server;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import honey.Honey;
+import honey.hive.HiveManager;
+
+/**
+ * Tests for HoneyServer.
+ * Tests the line protocol, reply ordering and per-user hives over real localhost sockets.
+ */
+public class HoneyServerTest {
+    /** Held closed to keep hives from loading, as a slow disk would */
+    private volatile CountDownLatch loadGate = new CountDownLatch(0);
+    private HoneyServer server;
+    private Thread serverThread;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Executor gatedLoader = load -> new Thread(() -> {
+            try {
+                loadGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            load.run();
+        }).start();
+        server = new HoneyServer(0, new HiveManager(tempDir, HoneyServer.DEFAULT_MAX_RESIDENT_HIVES, gatedLoader),
+                false);
+        serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.stop();
+        serverThread.join();
+    }
+
+    @Test
+    public void connect_sendsWelcomeThenRepliesInOrder() throws Exception {
+        try (Client client = new Client()) {
+            assertTrue(client.readReply().contains(Honey.WELCOME_MESSAGE.split("\n")[0]));
+
+            client.send("todo read book");
+            client.send("deadline submit report /by 2023-12-15");
+            client.send("list");
+
+            assertTrue(client.readReply().contains("read book"));
+            assertTrue(client.readReply().contains("submit report"));
+            String list = client.readReply();
+            assertTrue(list.contains("1. [T][ ] read book"));
+            assertTrue(list.contains("2. [D][ ] submit report"));
+        }
+    }
+
+    @Test
+    public void userCommand_separateHives_doNotShareTasks() throws Exception {
+        try (Client alice = new Client(); Client bob = new Client()) {
+            alice.readReply();
+            bob.readReply();
+            alice.send("user alice");
+            bob.send("user bob");
+            alice.readReply();
+            bob.readReply();
+
+            alice.send("todo alice task");
+            alice.readReply();
+            bob.send("list");
+
+            assertFalse(bob.readReply().contains("alice task"));
+            alice.send("list");
+            assertTrue(alice.readReply().contains("alice task"));
+        }
+    }
+
+    @Test
+    public void hiveLoading_otherSessionsKeepGettingReplies() throws Exception {
+        try (Client alice = new Client(); Client bob = new Client()) {
+            alice.readReply();
+            bob.readReply();
+            bob.send("todo bob task");
+            assertTrue(bob.readReply().contains("bob task"));
+
+            loadGate = new CountDownLatch(1);
+            alice.send("user alice");
+            alice.readReply();
+            alice.send("todo alice task");
+            alice.send("list");
+            bob.send("list");
+
+            assertTrue(bob.readReply().contains("1. [T][ ] bob task"));
+            loadGate.countDown();
+            assertTrue(alice.readReply().contains("alice task"));
+            assertTrue(alice.readReply().contains("1. [T][ ] alice task"));
+        }
+    }
+
+    @Test
+    public void export_onlyWritesInsideTheUsersOwnFolder() throws Exception {
+        Path outside = tempDir.resolve("outside.csv");
+        try (Client alice = new Client()) {
+            alice.readReply();
+            alice.send("user alice");
+            alice.readReply();
+            alice.send("todo alice secret");
+            alice.readReply();
+
+            alice.send("export " + outside);
+            assertTrue(alice.readReply().contains("your own folder"));
+            alice.send("export ../../outside.csv");
+            assertTrue(alice.readReply().contains("your own folder"));
+            alice.send("export backup/alice.csv");
+            assertTrue(alice.readReply().contains("packing"));
+        }
+
+        Path exported = tempDir.resolve("files/alice/backup/alice.csv");
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!Files.exists(exported) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.readString(exported).contains("alice secret"));
+        assertFalse(Files.exists(outside));
+        assertFalse(Files.exists(tempDir.resolve("files/outside.csv")));
+    }
+
+    @Test
+    public void import_onlyReadsTheUsersOwnFolder() throws Exception {
+        Path aliceFile = tempDir.resolve("files/alice/alice.csv");
+        Files.createDirectories(aliceFile.getParent());
+        Files.writeString(aliceFile, "name\nalice secret\n");
+        try (Client mallory = new Client()) {
+            mallory.readReply();
+            mallory.send("user mallory");
+            mallory.readReply();
+
+            mallory.send("import " + aliceFile);
+            assertTrue(mallory.readReply().contains("your own folder"));
+            mallory.send("import ../alice/alice.csv");
+            assertTrue(mallory.readReply().contains("your own folder"));
+            mallory.send("import alice.csv");
+            assertTrue(mallory.readReply().contains("couldn't find"));
+            mallory.send("list");
+            assertFalse(mallory.readReply().contains("alice secret"));
+        }
+        try (Client alice = new Client()) {
+            alice.readReply();
+            alice.send("user alice");
+            alice.readReply();
+
+            alice.send("import alice.csv");
+            assertTrue(alice.readReply().contains("imported 1 tasks"));
+        }
+    }
+
+    @Test
+    public void bye_repliesAndClosesConnection() throws Exception {
+        try (Client client = new Client()) {
+            client.readReply();
+            client.send("bye");
+
+            assertTrue(client.readReply().contains(Honey.GOODBYE_MESSAGE));
+            assertNull(client.in.readLine());
+        }
+    }
+
+    @Test
+    public void overlongLine_repliesWithErrorAndClosesConnection() throws Exception {
+        try (Client client = new Client()) {
+            client.readReply();
+            client.send("todo read book");
+            client.out.print("todo " + "a".repeat(Session.MAX_LINE_BYTES + 1));
+            client.out.flush();
+
+            assertTrue(client.readReply().contains("read book"));
+            assertTrue(client.readReply().contains("that line is too long"));
+            assertNull(client.in.readLine());
+        }
+    }
+
+    /**
+     * Minimal blocking client for the Honey line protocol.
+     */
+    private class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        String readReply() throws IOException {
+            StringBuilder reply = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null && !line.equals(Session.END_OF_REPLY)) {
+                reply.append(line.startsWith("..") ? line.substring(1) : line).append("\n");
+            }
+            return reply.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
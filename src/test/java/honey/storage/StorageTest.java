@@ -212,7 +212,106 @@ public class StorageTest {
     }
 
     // ====================== Save-Load Round Trip Tests ======================
+
+    @Test
+    public void saveLoad_tagsAndPriority_roundTrip() throws Exception {
+        TaskList originalTasks = new TaskList();
+        originalTasks.addTask("todo write report #work #urgent !high");
+        originalTasks.addTask("deadline pay rent #home /by 2023-12-25");
+        originalTasks.addTask("event team offsite !low /from 2023-12-20 /to 2023-12-21");
+        originalTasks.markTask(2);
+
+        storage.save(originalTasks.getTasks());
+        ArrayList<Task> loadedTasks = storage.load();
+
+        for (int i = 0; i < originalTasks.size(); i++) {
+            Task original = originalTasks.getTasks().get(i);
+            assertEquals(original.toString(), loadedTasks.get(i).toString());
+            assertEquals(original.getTags(), loadedTasks.get(i).getTags());
+            assertEquals(original.getPriority(), loadedTasks.get(i).getPriority());
+        }
+        assertEquals(List.of("work", "urgent"), loadedTasks.get(0).getTags());
+    }
+
+    @Test
+    public void load_linesWithoutTags_loadsUntaggedTasks() throws Exception {
+        Files.write(testFile.toPath(), List.of(
+            "T | 1 | read book",
+            "D | 0 | submit report | 2023-12-15T18:00"
+        ));
+
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertTrue(loadedTasks.get(0).getTags().isEmpty());
+        assertEquals(null, loadedTasks.get(1).getPriority());
+        assertEquals("[T][X] read book", loadedTasks.get(0).toString());
+    }
     
+    @Test
+    public void saveLoad_idsAndPrerequisites_roundTrip() throws Exception {
+        TaskList originalTasks = new TaskList();
+        originalTasks.addTask("todo buy paint");
+        originalTasks.addTask("deadline paint fence #home /by 2023-12-25");
+        originalTasks.addDependency(2, List.of(1));
+
+        storage.save(originalTasks.getTasks());
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(1, loadedTasks.get(0).getId());
+        assertEquals(2, loadedTasks.get(1).getId());
+        assertEquals(List.of(1L), loadedTasks.get(1).getPrerequisites());
+        assertEquals(List.of("home"), loadedTasks.get(1).getTags());
+        assertTrue(Files.readAllLines(testFile.toPath()).get(1).startsWith("2 | D | 0 | paint fence"));
+    }
+
+    @Test
+    public void saveLoad_zonedDeadline_roundTrip() throws Exception {
+        TaskList originalTasks = new TaskList();
+        originalTasks.addTask("deadline call client /by 2023-12-25 0900 Asia/Singapore");
+        originalTasks.addTask("deadline pay rent /by 2023-12-25");
+
+        storage.save(originalTasks.getTasks());
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(originalTasks.getTasks().get(0).toString(), loadedTasks.get(0).toString());
+        assertEquals("Asia/Singapore", ((Deadline) loadedTasks.get(0)).getZone().getId());
+        assertEquals(null, ((Deadline) loadedTasks.get(1)).getZone());
+        assertTrue(Files.readAllLines(testFile.toPath()).get(0).endsWith("2023-12-25T09:00[Asia/Singapore]"));
+    }
+
+    @Test
+    public void saveLoad_eventWithTimes_roundTrip() throws Exception {
+        TaskList originalTasks = new TaskList();
+        originalTasks.addTask("event standup /from 2023-12-25 0900 /to 2023-12-25 0915");
+        originalTasks.addTask("event holiday /from 2023-12-25 /to 2023-12-26");
+
+        storage.save(originalTasks.getTasks());
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(originalTasks.getTasks().get(0).toString(), loadedTasks.get(0).toString());
+        assertEquals(originalTasks.getTasks().get(1).toString(), loadedTasks.get(1).toString());
+        List<String> lines = Files.readAllLines(testFile.toPath());
+        assertTrue(lines.get(0).endsWith("standup | 2023-12-25T09:00 to 2023-12-25T09:15"));
+        assertTrue(lines.get(1).endsWith("holiday | 2023-12-25 to 2023-12-26"));
+    }
+
+    @Test
+    public void load_linesWithoutIds_givesNewIds() throws Exception {
+        Files.write(testFile.toPath(), List.of(
+            "T | 1 | read book",
+            "5 | T | 0 | write review | after 1",
+            "T | 0 | after 3"
+        ));
+
+        TaskList tasks = new TaskList(storage.load());
+
+        assertEquals(6, tasks.getTasks().get(0).getId());
+        assertEquals(5, tasks.getTasks().get(1).getId());
+        assertEquals(7, tasks.getTasks().get(2).getId());
+        assertEquals("[T][ ] after 3", tasks.getTasks().get(2).toString());
+    }
+
     @Test
     public void saveLoad_roundTrip_preservesAllTaskData() throws Exception {
         TaskList originalTasks = new TaskList();
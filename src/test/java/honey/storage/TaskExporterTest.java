@@ -0,0 +1,132 @@
+package honey.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import honey.task.TaskType;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for TaskExporter.
+ * Tests each output format, the filters, and exporting in the background.
+ */
+public class TaskExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static TaskList sampleTasks() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo read \"the\" book, slowly");
+        tasks.addTask("deadline submit report /by 2024-03-01 1700");
+        tasks.addTask("event conference /from 2024-05-01 /to 2024-05-03");
+        tasks.addTask("recurring pay rent /every month on 31 /from 2024-01-01");
+        tasks.markTask(2);
+        return tasks;
+    }
+
+    private static String write(TaskList tasks, ExportFormat format, ExportFilter filter) throws Exception {
+        StringWriter out = new StringWriter();
+        new TaskExporter(format, filter).write(tasks.getTasks(), out);
+        return out.toString();
+    }
+
+    @Test
+    public void exportCsv_importsBackToSameTasks() throws Exception {
+        TaskList tasks = sampleTasks();
+        Path file = tempDir.resolve("tasks.csv");
+
+        ExportResult result = new TaskExporter(ExportFormat.CSV, ExportFilter.all()).export(tasks.getTasks(), file);
+        TaskList imported = new TaskList();
+        ImportResult importResult = new TaskImporter(imported).importFile(file);
+
+        assertEquals(4, result.getExportedCount());
+        assertEquals(Files.size(file), result.getBytes());
+        assertEquals(0, importResult.getRejectedCount());
+        assertEquals(tasks.getTasks().toString(), imported.getTasks().toString());
+        assertFalse(Files.exists(tempDir.resolve("tasks.csv.tmp")));
+    }
+
+    @Test
+    public void exportJsonLines_writesOneEscapedObjectPerTask() throws Exception {
+        String output = write(sampleTasks(), ExportFormat.JSON_LINES, ExportFilter.all());
+
+        List<String> lines = output.lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("{\"type\":\"todo\",\"name\":\"read \\\"the\\\" book, slowly\",\"done\":false}", lines.get(0));
+        assertEquals("{\"type\":\"deadline\",\"name\":\"submit report\",\"done\":true,\"due\":\"2024-03-01T17:00\"}",
+                lines.get(1));
+        assertEquals("{\"type\":\"recurring\",\"name\":\"pay rent\",\"done\":false,"
+                + "\"schedule\":\"/every month on 31 /from 2024-01-01\"}", lines.get(3));
+    }
+
+    @Test
+    public void exportIcs_writesComponentsAndFoldsLongLines() throws Exception {
+        TaskList tasks = sampleTasks();
+        tasks.addTask("todo " + "very long task name ".repeat(10));
+
+        String output = write(tasks, ExportFormat.ICS, ExportFilter.all());
+
+        assertTrue(output.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(output.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(output.contains("SUMMARY:read \"the\" book\\, slowly\r\n"));
+        assertTrue(output.contains("DUE:20240301T170000\r\nSTATUS:COMPLETED\r\n"));
+        assertTrue(output.contains("DTSTART;VALUE=DATE:20240501\r\nDTEND;VALUE=DATE:20240504\r\n"));
+        assertTrue(output.contains("RRULE:FREQ=MONTHLY;BYMONTHDAY=31,-1;BYSETPOS=1\r\n"));
+        assertTrue(output.lines().allMatch(line -> line.length() <= 75));
+        assertTrue(output.replace("\r\n ", "").contains("SUMMARY:" + "very long task name ".repeat(9) + "very long"));
+    }
+
+    @Test
+    public void filters_selectByStatusTypeAndDateRange() throws Exception {
+        TaskList tasks = sampleTasks();
+
+        String done = write(tasks, ExportFormat.JSON_LINES, new ExportFilter(true, EnumSet.allOf(TaskType.class),
+                null, null));
+        String events = write(tasks, ExportFormat.JSON_LINES, new ExportFilter(null, EnumSet.of(TaskType.EVENT),
+                null, null));
+        String may = write(tasks, ExportFormat.JSON_LINES, new ExportFilter(null, EnumSet.allOf(TaskType.class),
+                LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 31)));
+
+        assertEquals(1, done.lines().count());
+        assertTrue(done.contains("submit report"));
+        assertEquals(1, events.lines().count());
+        assertTrue(events.contains("conference"));
+        assertEquals(2, may.lines().count());
+        assertTrue(may.contains("conference") && may.contains("pay rent"));
+    }
+
+    @Test
+    public void storageExportTasks_runsInBackgroundAndFlushWaits() throws Exception {
+        TaskList tasks = sampleTasks();
+        Storage storage = new Storage(tempDir.resolve("data.txt").toString());
+        Path file = tempDir.resolve("reports/tasks.jsonl");
+
+        ExportResult result = storage.exportTasks(tasks.getTasks(), file,
+                new TaskExporter(ExportFormat.JSON_LINES, ExportFilter.all())).get();
+        storage.flush();
+
+        assertEquals(4, result.getScannedCount());
+        assertEquals(4, Files.readAllLines(file).size());
+        assertTrue(result.getTasksPerSecond() > 0);
+    }
+
+    @Test
+    public void fromFileName_recognisesExtensions() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromFileName("report.CSV"));
+        assertEquals(ExportFormat.JSON_LINES, ExportFormat.fromFileName("report.ndjson"));
+        assertEquals(ExportFormat.ICS, ExportFormat.fromFileName("calendar.ics"));
+        assertEquals(null, ExportFormat.fromFileName("report.txt"));
+    }
+}
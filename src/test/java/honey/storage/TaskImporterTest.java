@@ -0,0 +1,223 @@
+package honey.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import honey.exceptions.HoneyException;
+import honey.task.Deadline;
+import honey.task.Event;
+import honey.task.HoneyClock;
+import honey.task.Todo;
+import honey.tasklist.TaskList;
+
+/**
+ * Tests for TaskImporter.
+ * Tests mapping CSV and ICS records to tasks, batching, and counting rejected rows.
+ */
+public class TaskImporterTest {
+    private static final ZoneId SINGAPORE = ZoneId.of("Asia/Singapore");
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String fileName, String content) throws Exception {
+        Path file = tempDir.resolve(fileName);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    public void importCsv_mapsRowsToTaskTypes() throws Exception {
+        Path file = write("tasks.csv", "Name,Start,End,Due,Done\n"
+                + "read book,,,,\n"
+                + "\"submit report, final\",,,2024-03-01 1700,yes\n"
+                + "conference,2024-05-01,2024-05-03,,\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks).importFile(file);
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(0, result.getRejectedCount());
+        assertTrue(tasks.getTasks().get(0) instanceof Todo);
+        assertEquals("[D][X] submit report, final (by: Mar 01 2024, 5:00PM)", tasks.getTasks().get(1).toString());
+        assertEquals("[E][ ] conference (from: May 01 2024 to: May 03 2024)", tasks.getTasks().get(2).toString());
+    }
+
+    @Test
+    public void importCsv_countsRejectedRowsByReason() throws Exception {
+        Path file = write("tasks.csv", "type,description,due\n"
+                + "deadline,ok,2024-01-01\n"
+                + "deadline,bad date,2024-13-45\n"
+                + "deadline,another bad date,someday\n"
+                + "deadline,,2024-01-01\n"
+                + "meeting,unknown,2024-01-01\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks).importFile(file);
+
+        assertEquals(1, result.getImportedCount());
+        assertEquals(4, result.getRejectedCount());
+        assertEquals(2, result.getRejections().get("invalid due date").getCount());
+        assertEquals(3, result.getRejections().get("invalid due date").getFirstLineNumber());
+        assertEquals(5, result.getRejections().get("missing name").getFirstLineNumber());
+        assertEquals(1, result.getRejections().get("unknown task type").getCount());
+    }
+
+    @Test
+    public void importCsv_quotedFieldSpansLines() throws Exception {
+        Path file = write("tasks.csv", "name,due\n\"water\nplants\"\nfeed cat\n\"\",2024-01-01\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks).importFile(file);
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals("[T][ ] water plants", tasks.getTasks().get(0).toString());
+        assertEquals(5, result.getRejections().get("missing name").getFirstLineNumber());
+    }
+
+    @Test
+    public void importIcs_mapsComponentsToTasks() throws Exception {
+        Path file = write("calendar.ics", "BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:Team offsite\\, day one\r\n"
+                + "DTSTART;VALUE=DATE:20240115\r\n"
+                + "DTEND;VALUE=DATE:20240117\r\n"
+                + "BEGIN:VALARM\r\n"
+                + "SUMMARY:ignored\r\n"
+                + "END:VALARM\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:File taxes that are \r\n"
+                + " long overdue\r\n"
+                + "DUE:20240415T155900Z\r\n"
+                + "STATUS:COMPLETED\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:Call mum\r\n"
+                + "END:VTODO\r\n"
+                + "END:VCALENDAR\r\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks, 2, SINGAPORE).importFile(file);
+
+        assertEquals(3, result.getImportedCount());
+        Event event = (Event) tasks.getTasks().get(0);
+        assertEquals("Team offsite, day one", event.getTaskName());
+        assertEquals("2024-01-16", event.getEndDate().toString());
+        Deadline deadline = (Deadline) tasks.getTasks().get(1);
+        assertEquals("File taxes that are long overdue", deadline.getTaskName());
+        assertEquals("2024-04-15T23:59", deadline.getDeadline().toString());
+        assertTrue(deadline.getIsDone());
+        assertEquals("[T][ ] Call mum", tasks.getTasks().get(2).toString());
+    }
+
+    @Test
+    public void importIcs_namedTimeZones_keptOnDeadlinesAndConvertedOnEvents() throws Exception {
+        Path file = write("calendar.ics", "BEGIN:VTODO\nSUMMARY:Sync\nDUE;TZID=Europe/London:20240701T090000\n"
+                + "END:VTODO\nBEGIN:VEVENT\nSUMMARY:Call\nDTSTART;TZID=Europe/London:20240701T100000\n"
+                + "END:VEVENT\nBEGIN:VEVENT\nSUMMARY:no start\nEND:VEVENT\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks, 10, ZoneOffset.UTC).importFile(file);
+
+        Deadline deadline = (Deadline) tasks.getTasks().get(0);
+        assertEquals(ZoneId.of("Europe/London"), deadline.getZone());
+        assertEquals("2024-07-01T09:00", deadline.getGivenDeadline().toString());
+        assertEquals("2024-07-01T08:00", deadline.getDeadline(ZoneOffset.UTC).toString());
+        assertEquals("2024-07-01T09:00", ((Event) tasks.getTasks().get(1)).getStart().toString());
+        assertEquals(1, result.getRejections().get("missing start date").getCount());
+    }
+
+    @Test
+    public void exportThenImportIcs_clockInAnotherZone_keepsTimes() throws Exception {
+        HoneyClock original = HoneyClock.getInstance();
+        HoneyClock.setInstance(new HoneyClock(Clock.system(SINGAPORE)));
+        try {
+            TaskList exported = new TaskList();
+            exported.addTask("deadline call client /by 2024-07-01 0900 Europe/London");
+            exported.addTask("deadline pay rent /by 2024-07-01 1800");
+            exported.addTask("deadline sync /by 2024-07-01 0900 +05:30");
+            exported.addTask("event standup /from 2024-07-02 0930 /to 2024-07-02 0945");
+            StringWriter ics = new StringWriter();
+            new TaskExporter(ExportFormat.ICS, ExportFilter.all()).write(exported.getTasks(), ics);
+            TaskList imported = new TaskList();
+
+            new TaskImporter(imported).importFile(write("round-trip.ics", ics.toString()));
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(((Deadline) exported.getTasks().get(i)).getDeadline(),
+                        ((Deadline) imported.getTasks().get(i)).getDeadline());
+            }
+            assertEquals(exported.getTasks().get(0).toString(), imported.getTasks().get(0).toString());
+            assertEquals(exported.getTasks().get(3).toString(), imported.getTasks().get(3).toString());
+        } finally {
+            HoneyClock.setInstance(original);
+        }
+    }
+
+    @Test
+    public void importIcs_eventsWithTimes_countsOverlaps() throws Exception {
+        Path file = write("calendar.ics", "BEGIN:VEVENT\nSUMMARY:Standup\nDTSTART:20240115T090000Z\n"
+                + "DTEND:20240115T091500Z\nEND:VEVENT\nBEGIN:VEVENT\nSUMMARY:Design review\n"
+                + "DTSTART:20240115T090000Z\nDTEND:20240115T100000Z\nEND:VEVENT\nBEGIN:VEVENT\n"
+                + "SUMMARY:Lunch\nDTSTART:20240115T120000Z\nEND:VEVENT\n");
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks, 2, SINGAPORE).importFile(file);
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(1, result.getOverlappingCount());
+        assertEquals("[E][ ] Standup (on: Jan 15 2024, 5:00PM to 5:15PM)", tasks.getTasks().get(0).toString());
+        assertEquals("2024-01-15T20:00", ((Event) tasks.getTasks().get(2)).getEnd().toString());
+    }
+
+    @Test
+    public void importCsv_eventWithTimes_keepsTheTimes() throws Exception {
+        Path file = write("tasks.csv", "type,name,start,end\nevent,standup,2024-05-01 09:00,2024-05-01 09:15\n");
+        TaskList tasks = new TaskList();
+
+        new TaskImporter(tasks).importFile(file);
+
+        assertEquals("[E][ ] standup (on: May 01 2024, 9:00AM to 9:15AM)", tasks.getTasks().get(0).toString());
+    }
+
+    @Test
+    public void importFile_manyRows_addsAllInBatches() throws Exception {
+        Path file = tempDir.resolve("many.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("name,due\n");
+            for (int i = 0; i < 5000; i++) {
+                writer.write("task " + i + ",2024-01-" + (i % 28 + 1 < 10 ? "0" : "") + (i % 28 + 1) + "\n");
+            }
+        }
+        TaskList tasks = new TaskList();
+
+        ImportResult result = new TaskImporter(tasks, 100, SINGAPORE).importFile(file);
+
+        assertEquals(5000, result.getImportedCount());
+        assertEquals(5000, tasks.size());
+        assertEquals("[D][ ] task 4999 (by: Jan 16 2024)", tasks.getTasks().get(4999).toString());
+        assertTrue(result.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    public void importFile_unsupportedOrMissing_throwsException() {
+        TaskList tasks = new TaskList();
+
+        assertThrows(HoneyException.class, () -> new TaskImporter(tasks).importFile(tempDir.resolve("tasks.txt")));
+        assertThrows(HoneyException.class, () -> new TaskImporter(tasks).importFile(tempDir.resolve("none.csv")));
+        assertThrows(HoneyException.class, () -> new TaskImporter(tasks).importFile(write("empty.csv", "")));
+    }
+}
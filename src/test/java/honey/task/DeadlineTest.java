@@ -32,6 +32,16 @@ public class DeadlineTest {
         assertTrue(deadline.toString().contains("6:00PM"));
     }
 
+    @Test
+    public void testDeadlineWithTimeZone() throws Exception {
+        Deadline deadline = new Deadline("deadline call client /by 2019-10-15 0900 America/New_York");
+        assertEquals("call client", deadline.getTaskName());
+        assertEquals("America/New_York", deadline.getZone().getId());
+        assertTrue(deadline.toString().contains("(by: Oct 15 2019, 9:00AM America/New_York)"));
+        assertEquals(null, new Deadline("deadline meeting /by 2019-10-15 1800").getZone());
+        assertThrows(InvalidDateFormatException.class, () -> new Deadline("deadline x /by 2019-10-15 Mars/Base"));
+    }
+
     @Test
     public void testDeadlineWithTimeColonFormat() throws Exception {
         Deadline deadline = new Deadline("deadline meeting /by 2019-10-15 18:00");
@@ -82,4 +92,16 @@ public class DeadlineTest {
         assertEquals("X", deadline.getStatusIcon());
         assertTrue(deadline.toString().contains("[X]"));
     }
+
+    @Test
+    public void testDeadlineWithDone_keepsRenderedDetails() throws Exception {
+        Deadline deadline = new Deadline("deadline return book /by 2019-10-15 1800");
+        String pending = deadline.toString();
+
+        Task done = deadline.withDone(true);
+
+        assertEquals(pending.replace("[ ]", "[X]"), done.toString());
+        assertEquals(pending, done.withDone(false).toString());
+        assertEquals(pending, deadline.toString());
+    }
 }
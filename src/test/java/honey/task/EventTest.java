@@ -85,4 +85,35 @@ public class EventTest {
         assertEquals("X", event.getStatusIcon());
         assertTrue(event.toString().contains("[X]"));
     }
+
+    @Test
+    public void testEventWithTimes() throws Exception {
+        Event meeting = new Event("event standup /from 2019-10-15 0900 /to 2019-10-15 09:15");
+        Event overnight = new Event("event hackathon /from 2019-10-15 1800 /to 2019-10-16T08:00");
+
+        assertTrue(meeting.hasTimes());
+        assertEquals("[E][ ] standup (on: Oct 15 2019, 9:00AM to 9:15AM)", meeting.toString());
+        assertEquals("2019-10-15T09:15", meeting.getEnd().toString());
+        assertEquals("[E][ ] hackathon (from: Oct 15 2019, 6:00PM to: Oct 16 2019, 8:00AM)", overnight.toString());
+        assertEquals("2019-10-15T18:00", overnight.getNextReminderTime(overnight.getStart().minusDays(1)).toString());
+    }
+
+    @Test
+    public void testEventWithoutTimes_endsAtTheStartOfTheNextDay() throws Exception {
+        Event event = new Event("event conference /from 2019-10-15 /to 2019-10-17");
+
+        assertFalse(event.hasTimes());
+        assertEquals("2019-10-15T00:00", event.getStart().toString());
+        assertEquals("2019-10-18T00:00", event.getEnd().toString());
+    }
+
+    @Test
+    public void testEventInvalidTimes() {
+        assertThrows(InvalidDateFormatException.class, () ->
+                new Event("event standup /from 2019-10-15 0900 /to 2019-10-15"));
+        assertThrows(InvalidDateFormatException.class, () ->
+                new Event("event standup /from 2019-10-15 1000 /to 2019-10-15 0900"));
+        assertThrows(InvalidDateFormatException.class, () ->
+                new Event("event standup /from 2019-10-15 2500 /to 2019-10-15 2600"));
+    }
 }
@@ -0,0 +1,88 @@
+package honey.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Tests for HoneyClock and the deadlines that read it.
+ * Tests that the coarse time is shared within a second and follows the clock both ways, and that deadlines given
+ * in a time zone fall due at the same moment wherever the clock is.
+ */
+public class HoneyClockTest {
+    private static final Instant NOON_UTC = LocalDateTime.of(2024, 1, 1, 12, 0).toInstant(ZoneOffset.UTC);
+
+    private final HoneyClock original = HoneyClock.getInstance();
+
+    @AfterEach
+    public void tearDown() {
+        HoneyClock.setInstance(original);
+    }
+
+    private static HoneyClock at(Instant instant, ZoneId zone) {
+        return new HoneyClock(Clock.fixed(instant, zone));
+    }
+
+    @Test
+    public void now_readsToTheSecond_andIsSharedWithinIt() {
+        HoneyClock clock = at(NOON_UTC.plusMillis(250), ZoneOffset.UTC);
+
+        LocalDateTime first = clock.now();
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0), first);
+        assertSame(first, clock.now());
+    }
+
+    @Test
+    public void now_followsTheClockForwardsAndBack() {
+        HoneyClock later = at(NOON_UTC.plusSeconds(90), ZoneOffset.UTC);
+        HoneyClock earlier = at(NOON_UTC.minusSeconds(1), ZoneOffset.UTC);
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 12, 1, 30), later.now());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 11, 59, 59), earlier.now());
+        assertNotSame(later.now(), earlier.now());
+    }
+
+    @Test
+    public void now_isInTheClocksZone() {
+        HoneyClock singapore = at(NOON_UTC, ZoneId.of("Asia/Singapore"));
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 20, 0), singapore.now());
+        assertEquals(ZoneId.of("Asia/Singapore"), singapore.getZone());
+    }
+
+    @Test
+    public void zonedDeadline_fallsDueAtTheSameMomentInAnyZone() throws Exception {
+        Deadline deadline = new Deadline("deadline call client /by 2024-01-01 0900 Asia/Singapore");
+
+        for (ZoneId zone : new ZoneId[] {ZoneOffset.UTC, ZoneId.of("America/New_York"), ZoneId.of("Asia/Tokyo")}) {
+            HoneyClock.setInstance(at(Instant.parse("2024-01-01T00:59:59Z"), zone));
+            assertFalse(deadline.isOverdue(), zone.toString());
+            HoneyClock.setInstance(at(Instant.parse("2024-01-01T01:00:01Z"), zone));
+            assertTrue(deadline.isOverdue(), zone.toString());
+        }
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), deadline.getDeadline());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), deadline.getGivenDeadline());
+    }
+
+    @Test
+    public void unzonedDeadline_isReadInTheClocksZone() throws Exception {
+        Deadline deadline = new Deadline("deadline water plants /by 2024-01-01 1200");
+
+        HoneyClock.setInstance(at(NOON_UTC.plusSeconds(1), ZoneOffset.UTC));
+        assertTrue(deadline.isOverdue());
+        HoneyClock.setInstance(at(NOON_UTC.plusSeconds(1), ZoneId.of("America/New_York")));
+        assertFalse(deadline.isOverdue());
+    }
+}
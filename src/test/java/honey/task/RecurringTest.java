@@ -0,0 +1,108 @@
+package honey.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import honey.exceptions.EmptyDescriptionException;
+import honey.exceptions.InvalidDateFormatException;
+import honey.storage.TaskDecoder;
+import honey.storage.TaskEncoder;
+import honey.tasklist.TaskList;
+
+/**
+ * Test class for Recurring functionality.
+ */
+public class RecurringTest {
+
+    @Test
+    public void testRecurringCreation() throws Exception {
+        Recurring recurring = new Recurring("recurring water plants /every week on mon,thu /from 2024-01-01 /at 0900");
+        assertEquals("water plants", recurring.getTaskName());
+        assertEquals("R", recurring.getType());
+        assertFalse(recurring.getIsDone());
+        assertEquals("[R][ ] water plants (every Mon, Thu at 9:00AM, from Jan 01 2024)", recurring.toString());
+    }
+
+    @Test
+    public void testRecurringInvalidFormat() {
+        assertThrows(EmptyDescriptionException.class, () -> new Recurring("recurring"));
+        assertThrows(EmptyDescriptionException.class, () -> new Recurring("recurring /every day"));
+        assertThrows(InvalidDateFormatException.class, () -> new Recurring("recurring water plants"));
+        assertThrows(InvalidDateFormatException.class, () -> new Recurring("recurring water plants /every year"));
+        assertThrows(InvalidDateFormatException.class,
+                () -> new Recurring("recurring water plants /every week on funday"));
+        assertThrows(InvalidDateFormatException.class,
+                () -> new Recurring("recurring water plants /every day /from 2024-13-01"));
+        assertThrows(InvalidDateFormatException.class,
+                () -> new Recurring("recurring water plants /every day /from 2024-02-01 /until 2024-01-01"));
+    }
+
+    @Test
+    public void testWeeklyOccurrences() throws Exception {
+        Recurring recurring = new Recurring("recurring gym /every week on mon,thu /from 2024-01-01");
+        assertTrue(recurring.occursOn(LocalDate.of(2024, 1, 1))); // Monday
+        assertFalse(recurring.occursOn(LocalDate.of(2024, 1, 2)));
+        assertTrue(recurring.occursOn(LocalDate.of(2024, 1, 4))); // Thursday
+        assertFalse(recurring.occursOn(LocalDate.of(2023, 12, 28))); // Thursday before the start
+        assertEquals(LocalDateTime.of(2024, 1, 4, 0, 0),
+                recurring.getNextOccurrence(LocalDateTime.of(2024, 1, 1, 0, 0)));
+    }
+
+    @Test
+    public void testMonthlyOnLastDaysFallsOnShorterMonthEnds() throws Exception {
+        Recurring recurring = new Recurring("recurring pay rent /every month on 31 /from 2024-01-01 /at 1200");
+        assertTrue(recurring.occursOn(LocalDate.of(2024, 1, 31)));
+        assertTrue(recurring.occursOn(LocalDate.of(2024, 2, 29)));
+        assertFalse(recurring.occursOn(LocalDate.of(2024, 2, 28)));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 12, 0),
+                recurring.getNextOccurrence(LocalDateTime.of(2024, 1, 31, 12, 0)));
+    }
+
+    @Test
+    public void testNextOccurrenceRespectsTimeAndEndDate() throws Exception {
+        Recurring recurring = new Recurring(
+                "recurring standup /every day /from 2024-01-01 /until 2024-01-03 /at 09:30");
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 30),
+                recurring.getNextOccurrence(LocalDateTime.of(2023, 6, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2024, 1, 3, 9, 30),
+                recurring.getNextOccurrence(LocalDateTime.of(2024, 1, 2, 9, 30)));
+        assertNull(recurring.getNextOccurrence(LocalDateTime.of(2024, 1, 3, 9, 30)));
+        assertEquals(recurring.getNextOccurrence(LocalDateTime.of(2024, 1, 1, 8, 0)),
+                recurring.getNextReminderTime(LocalDateTime.of(2024, 1, 1, 8, 0)));
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() throws Exception {
+        Recurring recurring = new Recurring("recurring pay rent /every month on 15 /from 2024-01-01 /until 2024-12-31"
+                + " /at 0800");
+        recurring.markAsDone();
+
+        String encoded = new TaskEncoder().encode(recurring);
+        Task decoded = new TaskDecoder().decode(encoded);
+
+        assertEquals("R | 1 | pay rent | /every month on 15 /from 2024-01-01 /until 2024-12-31 /at 0800", encoded);
+        assertTrue(decoded instanceof Recurring);
+        assertEquals(recurring.toString(), decoded.toString());
+    }
+
+    @Test
+    public void testTaskListShowsOccurrencesWithoutStoringThem() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("recurring water plants /every week on mon /from 2024-01-01");
+        tasks.addTask("todo read book");
+
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.findTasksDue("2030-01-07").contains("water plants")); // Monday
+        assertFalse(tasks.findTasksDue("2030-01-08").contains("water plants"));
+        assertTrue(tasks.listTasks().contains("[NEXT: "));
+        assertTrue(tasks.sortDeadlines().contains("1. [R][ ] water plants"));
+    }
+}
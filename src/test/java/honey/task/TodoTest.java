@@ -58,5 +58,23 @@ public class TodoTest {
 
         todo.markAsDone();
         assertEquals("[T][X] read book", todo.toString());
+
+        todo.markAsNotDone();
+        assertEquals("[T][ ] read book", todo.toString());
+    }
+
+    @Test
+    public void testTodoToString_withTagsAndPriority() throws EmptyDescriptionException {
+        TaskAttributes attributes = TaskAttributes.parse("todo read #Books book !low #books #fun");
+        Todo todo = (Todo) attributes.applyTo(new Todo(attributes.getDescription()));
+
+        assertEquals("[T][ ] read book #books #fun !low", todo.toString());
+        todo.markAsDone();
+        assertEquals("[T][X] read book #books #fun !low", todo.toString());
+    }
+
+    @Test
+    public void testTwoPriorities_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> TaskAttributes.parse("todo read book !low !high"));
     }
 }
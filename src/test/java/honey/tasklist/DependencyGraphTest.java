@@ -0,0 +1,124 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import honey.exceptions.InvalidCommandException;
+import honey.exceptions.InvalidTaskNumberException;
+import honey.task.Task;
+
+/**
+ * Tests for the dependency graph behind the next command.
+ * Tests that the ready tasks kept up to date change by change always match those worked out from scratch,
+ * and that no task can be made to wait on itself, directly or not.
+ */
+public class DependencyGraphTest {
+
+    private static List<Task> readyFromScratch(TaskList tasks) {
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : tasks.getTasks()) {
+            byId.put(task.getId(), task);
+        }
+        List<Task> ready = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            boolean isWaiting = task.getPrerequisites().stream()
+                    .anyMatch(id -> byId.containsKey(id) && !byId.get(id).getIsDone());
+            if (!task.getIsDone() && !isWaiting) {
+                ready.add(task);
+            }
+        }
+        ready.sort(Comparator.comparingLong(Task::getId));
+        return ready;
+    }
+
+    @Test
+    public void randomChanges_matchReadyFromScratch() throws Exception {
+        Random random = new Random(13);
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo first");
+        tasks.dependencyGraph();
+
+        for (int i = 0; i < 1000; i++) {
+            int operation = random.nextInt(8);
+            int size = tasks.size();
+            if (operation <= 1 || size == 0) {
+                tasks.addTask("todo task" + i);
+            } else if (operation <= 3) {
+                try {
+                    tasks.addDependency(random.nextInt(size) + 1, List.of(random.nextInt(size) + 1));
+                } catch (InvalidCommandException e) {
+                    // A loop, which is refused without changing anything
+                }
+            } else if (operation == 4) {
+                tasks.markTask(random.nextInt(size) + 1);
+            } else if (operation == 5) {
+                tasks.unmarkTask(random.nextInt(size) + 1);
+            } else if (operation == 6) {
+                tasks.deleteTask(random.nextInt(size) + 1);
+            } else {
+                int from = random.nextInt(size);
+                List<Task> removed = new ArrayList<>(tasks.getTasks().subList(from, from + 1));
+                tasks.removeRange(from, from + 1);
+                tasks.insertAll(from, removed);
+            }
+            assertEquals(readyFromScratch(tasks), tasks.dependencyGraph().getReady(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void graphBuiltLater_matchesReadyFromScratch() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo buy paint");
+        tasks.addTask("todo paint fence");
+        tasks.addTask("todo admire fence");
+        tasks.addDependency(2, List.of(1));
+        tasks.addDependency(3, List.of(2));
+        TaskList reloaded = new TaskList(tasks.getTasks());
+
+        assertEquals(readyFromScratch(reloaded), reloaded.dependencyGraph().getReady(10));
+        assertEquals(1, reloaded.dependencyGraph().getReady(10).size());
+    }
+
+    @Test
+    public void addDependency_loop_isRefused() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo a");
+        tasks.addTask("todo b");
+        tasks.addTask("todo c");
+        tasks.addDependency(2, List.of(1));
+        tasks.addDependency(3, List.of(2));
+
+        InvalidCommandException exception = assertThrows(InvalidCommandException.class,
+                () -> tasks.addDependency(1, List.of(3)));
+
+        assertTrue(exception.getMessage().contains("waiting on each other"));
+        assertThrows(InvalidCommandException.class, () -> tasks.addDependency(1, List.of(1)));
+        assertThrows(InvalidTaskNumberException.class, () -> tasks.addDependency(1, List.of(4)));
+        assertTrue(tasks.getTasks().get(0).getPrerequisites().isEmpty());
+    }
+
+    @Test
+    public void listNextTasks_showsTasksOnceTheirPrerequisitesAreDone() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo buy paint");
+        tasks.addTask("todo paint fence");
+        tasks.addDependency(2, List.of(1));
+
+        assertFalse(tasks.listNextTasks(Page.all()).contains("paint fence"));
+        tasks.markTask(1);
+        assertTrue(tasks.listNextTasks(Page.all()).contains("1. [T][ ] paint fence"));
+        tasks.markTask(2);
+        assertTrue(tasks.listNextTasks(Page.all()).contains("Nothing is ready"));
+    }
+}
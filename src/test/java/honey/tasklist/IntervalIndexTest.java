@@ -0,0 +1,137 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Event;
+import honey.task.Task;
+
+/**
+ * Tests for the index of event times behind the overlaps reported when an event is added.
+ * Tests that the events found always match those found by checking every event, change by change,
+ * and that adding an event names the events it overlaps.
+ */
+public class IntervalIndexTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    private static String randomEvent(Random random, int i) {
+        if (random.nextInt(10) == 0) {
+            String day = MONDAY.toLocalDate().plusDays(random.nextInt(5)).toString();
+            return "event offsite" + i + " /from " + day + " /to " + day;
+        }
+        LocalDateTime start = MONDAY.plusMinutes(15L * random.nextInt(5 * 96));
+        LocalDateTime end = start.plusMinutes(15L * random.nextInt(12));
+        return "event meeting" + i + " /from " + start.toString().replace('T', ' ')
+                + " /to " + end.toString().replace('T', ' ');
+    }
+
+    private static boolean overlaps(Event first, Event second) {
+        LocalDateTime firstEnd = first.getEnd().equals(first.getStart()) ? first.getEnd().plusMinutes(1)
+                : first.getEnd();
+        LocalDateTime secondEnd = second.getEnd().equals(second.getStart()) ? second.getEnd().plusMinutes(1)
+                : second.getEnd();
+        return first.getStart().isBefore(secondEnd) && second.getStart().isBefore(firstEnd);
+    }
+
+    private static List<Long> overlappingFromScratch(TaskList tasks, Event event) {
+        List<Long> ids = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            if (task instanceof Event other && !other.getIsDone() && overlaps(event, other)) {
+                ids.add(other.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> overlappingIds(TaskList tasks, Event event) {
+        List<Long> ids = new ArrayList<>();
+        for (Event other : tasks.intervalIndex().getOverlapping(event, Integer.MAX_VALUE)) {
+            ids.add(other.getId());
+        }
+        ids.sort(Comparator.naturalOrder());
+        return ids;
+    }
+
+    @Test
+    public void randomChanges_matchOverlapsFromScratch() throws Exception {
+        Random random = new Random(29);
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo first");
+
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(10);
+            int size = tasks.size();
+            if (operation <= 4) {
+                tasks.addTask(randomEvent(random, i));
+            } else if (operation == 5) {
+                tasks.markTask(random.nextInt(size) + 1);
+            } else if (operation == 6) {
+                tasks.unmarkTask(random.nextInt(size) + 1);
+            } else if (operation == 7) {
+                tasks.deleteTask(random.nextInt(size) + 1);
+            } else if (operation == 8) {
+                int from = random.nextInt(size);
+                List<Task> removed = new ArrayList<>(tasks.getTasks().subList(from, from + 1));
+                tasks.removeRange(from, from + 1);
+                tasks.insertAll(from, removed);
+            } else {
+                tasks.addAll(List.of(new Event(randomEvent(random, i)), new Event(randomEvent(random, -i))));
+            }
+            Event probe = new Event(randomEvent(random, i));
+            assertEquals(overlappingFromScratch(tasks, probe), overlappingIds(tasks, probe));
+        }
+    }
+
+    @Test
+    public void getOverlapping_backToBackMeetings_doNotOverlap() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("event standup /from 2024-03-04 0900 /to 2024-03-04 0930");
+        tasks.addTask("event offsite /from 2024-03-05 /to 2024-03-05");
+
+        assertTrue(overlappingIds(tasks, new Event("event review /from 2024-03-04 0930 /to 2024-03-04 1000"))
+                .isEmpty());
+        assertEquals(List.of(1L), overlappingIds(tasks,
+                new Event("event sync /from 2024-03-04 0929 /to 2024-03-04 0929")));
+        assertEquals(List.of(2L), overlappingIds(tasks,
+                new Event("event lunch /from 2024-03-05 1200 /to 2024-03-05 1300")));
+        assertEquals(List.of(1L, 2L), overlappingIds(tasks, new Event("event trip /from 2024-03-04 /to 2024-03-05")));
+    }
+
+    @Test
+    public void addTask_overlappingEvent_namesTheEventsItOverlaps() throws Exception {
+        TaskList tasks = new TaskList();
+        String first = tasks.addTask("event standup /from 2024-03-04 0900 /to 2024-03-04 0930");
+        tasks.addTask("event planning /from 2024-03-04 0915 /to 2024-03-04 1045");
+        tasks.markTask(2);
+        tasks.addTask("event retro /from 2024-03-04 1000 /to 2024-03-04 1100");
+
+        String added = tasks.addTask("event all hands /from 2024-03-04 0800 /to 2024-03-04 1200");
+
+        assertFalse(first.contains("overlaps"));
+        assertTrue(added.contains("It overlaps 2 events:\n  [E][ ] standup (on: Mar 04 2024, 9:00AM to 9:30AM)"));
+        assertTrue(added.contains("retro"));
+        assertFalse(added.contains("planning"));
+    }
+
+    @Test
+    public void addAll_countsEventsOverlappingEarlierOnes() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("event standup /from 2024-03-04 0900 /to 2024-03-04 0930");
+
+        int overlapping = tasks.addAll(List.of(
+                new Event("event sync /from 2024-03-04 0915 /to 2024-03-04 0945"),
+                new Event("event lunch /from 2024-03-04 1200 /to 2024-03-04 1300"),
+                new Event("event walk /from 2024-03-04 1230 /to 2024-03-04 1330")));
+
+        assertEquals(2, overlapping);
+    }
+}
@@ -0,0 +1,157 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Task;
+import honey.task.TaskType;
+
+/**
+ * Tests for the query command's planner.
+ * Tests that every plan finds exactly what a full scan finds, and that the most selective index is chosen.
+ */
+public class QueryPlannerTest {
+    private static final String[] WORDS = {"report", "budget", "draft", "review", "plan"};
+
+    private static List<Query> queries() {
+        LocalDate from = LocalDate.of(2024, 3, 4);
+        LocalDate to = LocalDate.of(2024, 3, 10);
+        QueryPredicate pending = QueryPredicate.status(false);
+        QueryPredicate report = QueryPredicate.name("report");
+        QueryPredicate deadlines = QueryPredicate.type(EnumSet.of(TaskType.DEADLINE));
+        QueryPredicate thisWeek = QueryPredicate.dates(from, to);
+        return List.of(
+                new Query(QueryPredicate.and(List.of(pending, deadlines, report, thisWeek)),
+                        null, Page.all(), false),
+                new Query(QueryPredicate.and(List.of(report, QueryPredicate.name("draft"))),
+                        null, Page.of(0, 3), false),
+                new Query(QueryPredicate.and(List.of(QueryPredicate.status(true),
+                        QueryPredicate.type(EnumSet.of(TaskType.TODO, TaskType.EVENT)))), null, Page.all(), false),
+                new Query(QueryPredicate.or(List.of(report, QueryPredicate.not(pending))),
+                        Query.SortKey.NAME, Page.of(2, 5), false),
+                new Query(QueryPredicate.dates(null, to), Query.SortKey.DEADLINE, Page.all(), false),
+                new Query(QueryPredicate.and(List.of(QueryPredicate.dates(from, null), pending)),
+                        Query.SortKey.STATUS, Page.of(0, 4), false),
+                new Query(QueryPredicate.all(), Query.SortKey.TYPE, Page.of(7, 7), false),
+                new Query(QueryPredicate.type(EnumSet.of(TaskType.TODO)), null, Page.of(1000, 1), false));
+    }
+
+    private static String fullScan(TaskList tasks, Query query) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            if (query.getFilter().test(task)) {
+                matches.add(task);
+            }
+        }
+        if (query.getSortKey() != null) {
+            matches.sort(query.getSortKey().getOrder(LocalDateTime.now()));
+        }
+        return new TaskList(matches).query(new Query(QueryPredicate.all(), null, query.getPage(), false));
+    }
+
+    @Test
+    public void randomChanges_queriesMatchFullScan() throws Exception {
+        Random random = new Random(7);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 800; i++) {
+            int operation = random.nextInt(6);
+            if (operation <= 2 || tasks.size() == 0) {
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                String date = "2024-03-" + String.format("%02d", 1 + random.nextInt(14));
+                int type = random.nextInt(3);
+                if (type == 0) {
+                    tasks.addTask("todo " + name);
+                } else if (type == 1) {
+                    tasks.addTask("deadline " + name + " /by " + date);
+                } else {
+                    tasks.addTask("event " + name + " /from " + date + " /to 2024-03-" + (15 + random.nextInt(10)));
+                }
+            } else if (operation == 3) {
+                tasks.markTask(random.nextInt(tasks.size()) + 1);
+            } else if (operation == 4) {
+                tasks.unmarkTask(random.nextInt(tasks.size()) + 1);
+            } else {
+                tasks.deleteTask(random.nextInt(tasks.size()) + 1);
+            }
+            if (i % 40 == 0) {
+                for (Query query : queries()) {
+                    assertEquals(fullScan(tasks, query), tasks.query(query), query.getFilter().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void explain_choosesMostSelectiveIndex() throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            tasks.addTask("todo chore " + i);
+        }
+        tasks.addTask("deadline quarterly report /by 2024-03-06");
+        tasks.addTask("deadline report card /by 2024-05-01");
+
+        QueryPredicate thisWeek = QueryPredicate.dates(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 10));
+        QueryPredicate filter = QueryPredicate.and(List.of(QueryPredicate.status(false),
+                QueryPredicate.name("Report"), thisWeek));
+        String explanation = tasks.explainQuery(new Query(filter, null, Page.all(), true));
+
+        assertTrue(explanation.contains("Filter: pending and name report and from 2024-03-04 to 2024-03-10"));
+        assertTrue(explanation.contains("Read: date index (from 2024-03-04 to 2024-03-10) - 1 of 52 tasks"));
+        assertTrue(explanation.contains("Then check: pending and name report and from 2024-03-04 to 2024-03-10"));
+        assertTrue(explanation.contains("keyword index on \"report\" - 2 tasks"));
+        assertTrue(explanation.contains("status index (pending) - 52 tasks"));
+        assertTrue(tasks.query(new Query(filter, null, Page.all(), false)).contains("1. [D][ ] quarterly report"));
+    }
+
+    @Test
+    public void explain_exactIndexLeavesNothingToCheck() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo write report");
+        tasks.addTask("todo read book");
+
+        String explanation = tasks.explainQuery(new Query(QueryPredicate.name("report"), null, Page.of(0, 1), true));
+
+        assertTrue(explanation.contains("Read: keyword index on \"report\" - 1 of 2 tasks"));
+        assertTrue(explanation.contains("Then check: nothing more"));
+        assertTrue(explanation.contains("Page: 1 after skipping 0, stopping as soon as it is filled"));
+    }
+
+    @Test
+    public void explain_noUsableIndex_readsWholeList() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo write report");
+        tasks.addTask("todo read book");
+
+        QueryPredicate filter = QueryPredicate.or(List.of(QueryPredicate.status(true), QueryPredicate.name("book")));
+        String explanation = tasks.explainQuery(new Query(filter, Query.SortKey.NAME, Page.all(), true));
+
+        assertTrue(explanation.contains("Read: full scan - 2 of 2 tasks"));
+        assertTrue(explanation.contains("Then check: done or name book"));
+        assertTrue(explanation.contains("Sort: by name"));
+    }
+
+    @Test
+    public void query_dateRangeIncludesRecurringTasks() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("recurring team sync /every week on wed /from 2024-01-01");
+        tasks.addTask("deadline tax return /by 2024-04-30");
+        tasks.addTask("todo read book");
+
+        String result = tasks.query(new Query(QueryPredicate.dates(LocalDate.of(2024, 3, 4),
+                LocalDate.of(2024, 3, 10)), null, Page.all(), false));
+
+        assertTrue(result.contains("1. [R][ ] team sync"));
+        assertFalse(result.contains("tax return"));
+        assertFalse(result.contains("read book"));
+    }
+}
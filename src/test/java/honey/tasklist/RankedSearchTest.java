@@ -0,0 +1,142 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import honey.task.Task;
+
+/**
+ * Tests for ranked, typo-tolerant search.
+ * Tests that the dictionary walk finds exactly the words a brute-force edit distance finds, and that tasks
+ * are ranked by how rare and how close their matching words are.
+ */
+public class RankedSearchTest {
+
+    private static int bruteForceDistance(String first, String second) {
+        int[][] distances = new int[first.length() + 1][second.length() + 1];
+        for (int i = 0; i <= first.length(); i++) {
+            for (int j = 0; j <= second.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                    continue;
+                }
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                distances[i][j] = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1),
+                        distances[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2)
+                        && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    distances[i][j] = Math.min(distances[i][j], distances[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return distances[first.length()][second.length()];
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    @Test
+    public void expand_randomDictionary_matchesBruteForce() {
+        Random random = new Random(11);
+        TreeSet<String> dictionary = new TreeSet<>();
+        for (int i = 0; i < 400; i++) {
+            dictionary.add(randomWord(random));
+        }
+        for (int i = 0; i < 200; i++) {
+            String word = randomWord(random);
+            int maxEdits = random.nextInt(3);
+            Map<String, Integer> expected = new TreeMap<>();
+            for (String term : dictionary) {
+                int distance = bruteForceDistance(term, word);
+                if (distance <= maxEdits) {
+                    expected.put(term, distance);
+                }
+            }
+
+            Map<String, Integer> actual = new TreeMap<>();
+            for (RankedSearch.TermMatch match : RankedSearch.expand(dictionary, word, maxEdits, Integer.MAX_VALUE)) {
+                actual.put(match.getTerm(), match.getEdits());
+            }
+            assertEquals(expected, actual, word + " within " + maxEdits);
+        }
+    }
+
+    @Test
+    public void expand_manyMatches_keepsClosest() {
+        TreeSet<String> dictionary = new TreeSet<>(List.of("cat", "bat", "hat", "mat", "cart", "cast"));
+        List<RankedSearch.TermMatch> matches = RankedSearch.expand(dictionary, "cat", 1, 2);
+
+        assertEquals(2, matches.size());
+        assertEquals("cat", matches.get(0).getTerm());
+        assertEquals(0, matches.get(0).getEdits());
+        assertEquals(1, matches.get(1).getEdits());
+    }
+
+    @Test
+    public void findRankedTasks_typo_findsWord() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo write quarterly report");
+        tasks.addTask("todo buy groceries");
+
+        String result = tasks.findRankedTasks("quartrely", Page.all());
+
+        assertTrue(result.contains("1. [T][ ] write quarterly report"));
+        assertFalse(result.contains("groceries"));
+    }
+
+    @Test
+    public void findRankedTasks_rareAndExactWordsRankFirst() throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            tasks.addTask("todo plan week " + i);
+        }
+        tasks.addTask("todo plan budget");
+        tasks.addTask("todo plan budgets and more and more");
+        tasks.addTask("todo plan budget review for the whole team");
+
+        List<String> ranked = new ArrayList<>();
+        for (String line : tasks.findRankedTasks("plan budget", Page.of(0, 4)).split("\n")) {
+            if (line.matches("\\d+\\..*")) {
+                ranked.add(line);
+            }
+        }
+
+        assertEquals(List.of("1. [T][ ] plan budget", "2. [T][ ] plan budget review for the whole team",
+                "3. [T][ ] plan budgets and more and more", "4. [T][ ] plan week 0"), ranked);
+    }
+
+    @Test
+    public void findRankedTasks_changes_keepIndexCurrent() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo call dentist");
+        tasks.findRankedTasks("dentist", Page.all());
+        tasks.addTask("todo dentist follow up");
+        tasks.deleteTask(1);
+        tasks.markTask(1);
+
+        String result = tasks.findRankedTasks("dentst", Page.all());
+
+        assertTrue(result.contains("1. [T][X] dentist follow up"));
+        assertFalse(result.contains("call dentist"));
+        Task remaining = tasks.getTasks().get(0);
+        assertEquals(1, tasks.termIndex().get("dentist").size());
+        assertSame(remaining, tasks.termIndex().get("dentist").get(0));
+    }
+}
@@ -0,0 +1,107 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import honey.metrics.Metrics;
+import honey.task.HoneyClock;
+
+/**
+ * Tests for the result cache.
+ * Tests that cached results always equal freshly worked out ones, that only changes to the tasks a result
+ * depends on remove it, and that the cache stays within its bounds.
+ */
+public class ResultCacheTest {
+    private static final String[] WORDS = {"report", "budget", "draft", "review"};
+
+    @Test
+    public void randomChanges_cachedResultsMatchFreshOnes() throws Exception {
+        Random random = new Random(3);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 600; i++) {
+            int operation = random.nextInt(8);
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String date = "2024-03-" + String.format("%02d", 1 + random.nextInt(9));
+            if (operation <= 1 || tasks.size() == 0) {
+                tasks.addTask(random.nextBoolean() ? "todo " + word : "deadline " + word + " /by " + date);
+            } else if (operation == 2) {
+                tasks.markTask(random.nextInt(tasks.size()) + 1);
+            } else if (operation == 3) {
+                tasks.deleteTask(random.nextInt(tasks.size()) + 1);
+            } else {
+                // A TaskList made from the same tasks starts with an empty cache
+                TaskList fresh = new TaskList(tasks.getTasks());
+                Page page = Page.of(0, 1 + random.nextInt(5));
+                assertEquals(fresh.findTasks(word, page), tasks.findTasks(word, page));
+                assertEquals(fresh.findTasksDue(date, page), tasks.findTasksDue(date, page));
+                assertEquals(fresh.sortDeadlines(page), tasks.sortDeadlines(page));
+                assertEquals(fresh.findRankedTasks(word, page), tasks.findRankedTasks(word, page));
+            }
+        }
+    }
+
+    @Test
+    public void change_onlyRemovesDependentEntries() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo write report");
+        tasks.addTask("deadline pay rent /by 2024-03-01");
+        Metrics metrics = Metrics.getInstance();
+
+        tasks.findTasks("report");
+        tasks.findTasksDue("2024-03-01");
+        tasks.addTask("todo buy milk");
+        long hits = metrics.getResultCacheHits();
+        tasks.findTasks("report");
+        tasks.findTasksDue("2024-03-01");
+        assertEquals(hits + 2, metrics.getResultCacheHits());
+
+        tasks.markTask(1);
+        long misses = metrics.getResultCacheMisses();
+        assertTrue(tasks.findTasks("report").contains("[T][X] write report"));
+        tasks.findTasksDue("2024-03-01");
+        assertEquals(misses + 1, metrics.getResultCacheMisses());
+    }
+
+    @Test
+    public void put_afterChange_isNotStored() {
+        ResultCache cache = new ResultCache(new Metrics());
+        long version = cache.getVersion();
+        cache.taskAdded(null);
+        cache.put("find\nreport", "stale", task -> true, null, null, version);
+
+        assertNull(cache.get("find\nreport"));
+    }
+
+    @Test
+    public void get_pastValidBefore_expires() {
+        ResultCache cache = new ResultCache(new Metrics());
+        LocalDateTime now = HoneyClock.getInstance().now();
+        cache.put("sort deadline", "old", task -> false, now.minusSeconds(2), now.minusSeconds(1), cache.getVersion());
+        cache.put("find\nbook", "kept", task -> false, now, now.plusDays(1), cache.getVersion());
+
+        assertNull(cache.get("sort deadline"));
+        assertEquals("kept", cache.get("find\nbook"));
+    }
+
+    @Test
+    public void put_beyondCapacity_evictsLeastRecentlyUsed() {
+        Metrics metrics = new Metrics();
+        ResultCache cache = new ResultCache(metrics);
+        cache.put("key 0", "result 0", task -> false, null, null, cache.getVersion());
+        cache.put("key 1", "result 1", task -> false, null, null, cache.getVersion());
+        cache.get("key 0");
+        for (int i = 2; i <= ResultCache.MAX_ENTRIES; i++) {
+            cache.put("key " + i, "result " + i, task -> false, null, null, cache.getVersion());
+        }
+
+        assertEquals("result 0", cache.get("key 0"));
+        assertNull(cache.get("key 1"));
+        assertEquals(1, metrics.getResultCacheEvictions());
+    }
+}
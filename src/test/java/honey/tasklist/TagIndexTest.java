@@ -0,0 +1,155 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Priority;
+import honey.task.Task;
+
+/**
+ * Tests for the tag index behind listing tasks by tag and priority.
+ * Tests that the bitmaps updated change by change always give what a scan of the list gives, and that an
+ * index already handed to a reader never changes.
+ */
+public class TagIndexTest {
+    private static final String[] TAGS = {"work", "home", "urgent"};
+
+    private static List<Task> scan(TaskSnapshot tasks, List<String> tags, Priority priority) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getTags().containsAll(tags) && (priority == null || task.getPriority() == priority)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static void assertMatchesScan(TagIndex index) {
+        for (int i = 0; i < 1 << TAGS.length; i++) {
+            List<String> tags = new ArrayList<>();
+            for (int bit = 0; bit < TAGS.length; bit++) {
+                if ((i & 1 << bit) != 0) {
+                    tags.add(TAGS[bit]);
+                }
+            }
+            for (Priority priority : new Priority[] {null, Priority.HIGH, Priority.LOW}) {
+                if (!tags.isEmpty() || priority != null) {
+                    assertEquals(scan(index.getTasks(), tags, priority),
+                            new ArrayList<>(index.matching(tags, priority)), tags + " " + priority);
+                }
+            }
+        }
+    }
+
+    private static String randomTask(Random random) {
+        StringBuilder task = new StringBuilder(random.nextBoolean() ? "todo task" : "deadline task");
+        task.append(random.nextInt(5));
+        for (String tag : TAGS) {
+            if (random.nextInt(3) == 0) {
+                task.append(" #").append(tag);
+            }
+        }
+        if (random.nextBoolean()) {
+            task.append(" ").append(Priority.values()[random.nextInt(Priority.values().length)].toWord());
+        }
+        return task.toString().startsWith("deadline") ? task + " /by 2030-01-01" : task.toString();
+    }
+
+    @Test
+    public void randomChanges_matchScan() throws Exception {
+        Random random = new Random(7);
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo first #work");
+        assertMatchesScan(tasks.tagIndex());
+
+        for (int i = 0; i < 500; i++) {
+            int operation = random.nextInt(7);
+            TagIndex before = tasks.tagIndex();
+            List<Task> beforeMatches = new ArrayList<>(before.matching(List.of("work"), null));
+            if (operation <= 1 || tasks.size() == 0) {
+                tasks.addTask(randomTask(random));
+            } else if (operation == 2) {
+                tasks.markTask(random.nextInt(tasks.size()) + 1);
+            } else if (operation == 3) {
+                tasks.deleteTask(random.nextInt(tasks.size()) + 1);
+            } else if (operation == 4) {
+                TaskList source = new TaskList();
+                source.addTask(randomTask(random));
+                source.addTask(randomTask(random));
+                tasks.insertAll(random.nextInt(tasks.size() + 1), source.getTasks());
+            } else if (operation == 5) {
+                int from = random.nextInt(tasks.size());
+                tasks.removeRange(from, Math.min(tasks.size(), from + 1 + random.nextInt(3)));
+            } else {
+                TaskList source = new TaskList();
+                source.addTask(randomTask(random));
+                tasks.addAll(source.getTasks());
+            }
+            assertMatchesScan(tasks.tagIndex());
+            assertEquals(beforeMatches, new ArrayList<>(before.matching(List.of("work"), null)));
+        }
+    }
+
+    @Test
+    public void bitmap_randomChangesAcrossChunks_matchBitSet() {
+        Random random = new Random(11);
+        TagIndex.Bitmap bitmap = TagIndex.Bitmap.EMPTY;
+        BitSet expected = new BitSet();
+        int size = 0;
+        for (int i = 0; i < 300; i++) {
+            int index = random.nextInt(size + 1);
+            if (random.nextBoolean() || size == 0) {
+                int count = 1 + random.nextInt(2 * TagIndex.Bitmap.CHUNK_SIZE / 3);
+                BitSet added = new BitSet();
+                for (int j = 0; j < count; j++) {
+                    if (random.nextInt(4) == 0) {
+                        added.set(j);
+                    }
+                }
+                BitSet moved = expected.get(0, index);
+                for (int j = expected.nextSetBit(index); j >= 0; j = expected.nextSetBit(j + 1)) {
+                    moved.set(j + count);
+                }
+                added.stream().forEach(j -> moved.set(index + j));
+                expected = moved;
+                bitmap = bitmap.moved(index, index, count);
+                bitmap = added.isEmpty() ? bitmap : bitmap.withAll(added, index);
+                size += count;
+            } else {
+                int to = Math.min(size, index + random.nextInt(TagIndex.Bitmap.CHUNK_SIZE));
+                BitSet moved = expected.get(0, index);
+                for (int j = expected.nextSetBit(to); j >= 0; j = expected.nextSetBit(j + 1)) {
+                    moved.set(j - (to - index));
+                }
+                expected = moved;
+                bitmap = bitmap.moved(index, to, index - to);
+                size -= to - index;
+            }
+            assertEquals(Arrays.toString(expected.stream().toArray()),
+                    Arrays.toString(TagIndex.Bitmap.and(new TagIndex.Bitmap[] {bitmap})));
+            assertEquals(expected.cardinality(), bitmap.getCardinality());
+        }
+    }
+
+    @Test
+    public void listTasksByTags_showsOnlyTasksWithEveryTag() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo write report #work #urgent !high");
+        tasks.addTask("todo water plants #home");
+        tasks.addTask("todo book flights #work");
+
+        String result = tasks.listTasksByTags(List.of("work", "urgent"), null, Page.all());
+
+        assertTrue(result.contains("1. [T][ ] write report #work #urgent !high"));
+        assertEquals(2, result.split("\n").length);
+        assertTrue(tasks.listTasksByTags(List.of("work"), Priority.LOW, Page.all()).contains("No tasks"));
+    }
+}
@@ -0,0 +1,94 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import honey.task.Task;
+
+/**
+ * Stress tests for TaskList under the single-writer/multi-reader model.
+ * Many reader threads query the list while one writer keeps adding, marking and deleting tasks.
+ */
+public class TaskListConcurrencyTest {
+    private static final int READER_THREADS = 16;
+    private static final int WRITES = 2000;
+
+    private TaskList tasks;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tasks = new TaskList();
+        for (int i = 0; i < 100; i++) {
+            tasks.addTask("deadline seed" + i + " /by 2023-12-" + String.format("%02d", i % 28 + 1));
+        }
+    }
+
+    @Test
+    public void queries_duringWrites_neverFailAndSeeConsistentSnapshots() throws Exception {
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READER_THREADS; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                    while (isWriting.get()) {
+                        assertNumberedWithoutGaps(tasks.listTasks());
+                        tasks.findTasks("seed");
+                        tasks.findTasksDue("2023-12-05");
+                        tasks.sortDeadlines();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        start.countDown();
+        for (int i = 0; i < WRITES; i++) {
+            tasks.addTask("todo chore" + i);
+            tasks.markTask(tasks.size());
+            if (i % 2 == 0) {
+                tasks.deleteTask(1);
+            }
+        }
+        isWriting.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty(), "Readers failed: " + failures);
+        assertEquals(100 + WRITES / 2, tasks.size());
+    }
+
+    @Test
+    public void getTasks_snapshot_unaffectedByLaterWrites() throws Exception {
+        List<Task> snapshot = tasks.getTasks();
+        tasks.addTask("todo new task");
+        tasks.deleteTask(1);
+
+        assertEquals(100, snapshot.size());
+        assertTrue(snapshot.get(0).toString().contains("seed0"));
+        assertTrue(tasks.getTasks().get(0).toString().contains("seed1"));
+    }
+
+    private static void assertNumberedWithoutGaps(String listOutput) {
+        String[] lines = listOutput.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith(i + ". "), "Gap in numbering at line " + i + ": " + lines[i]);
+        }
+    }
+}
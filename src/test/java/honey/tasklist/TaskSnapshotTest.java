@@ -0,0 +1,139 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Task;
+import honey.task.Todo;
+
+/**
+ * Tests for TaskSnapshot.
+ * Tests that the persistent tree behaves like a list and that old snapshots never change.
+ */
+public class TaskSnapshotTest {
+
+    private static Task todo(int i) throws Exception {
+        return new Todo("todo task" + i);
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() throws Exception {
+        Random random = new Random(42);
+        List<Task> expected = new ArrayList<>();
+        TaskSnapshot snapshot = TaskSnapshot.empty();
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation <= 1 || expected.isEmpty()) {
+                Task task = todo(i);
+                expected.add(task);
+                snapshot = snapshot.append(task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                Task task = todo(i);
+                expected.set(index, task);
+                snapshot = snapshot.with(index, task);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                snapshot = snapshot.without(index);
+            }
+        }
+
+        assertEquals(expected, snapshot);
+        assertEquals(expected, new ArrayList<>(snapshot));
+    }
+
+    @Test
+    public void of_list_keepsOrder() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(todo(i));
+        }
+
+        TaskSnapshot snapshot = TaskSnapshot.of(tasks);
+
+        assertEquals(1000, snapshot.size());
+        assertEquals(tasks, snapshot);
+    }
+
+    @Test
+    public void changes_leaveOlderSnapshotUntouched() throws Exception {
+        TaskSnapshot original = TaskSnapshot.empty().append(todo(1)).append(todo(2)).append(todo(3));
+
+        TaskSnapshot appended = original.append(todo(4));
+        TaskSnapshot removed = original.without(0);
+        TaskSnapshot replaced = original.with(1, todo(5));
+
+        assertEquals(3, original.size());
+        assertTrue(original.get(0).toString().contains("task1"));
+        assertTrue(original.get(1).toString().contains("task2"));
+        assertEquals(4, appended.size());
+        assertTrue(removed.get(0).toString().contains("task2"));
+        assertTrue(replaced.get(1).toString().contains("task5"));
+    }
+
+    @Test
+    public void markTask_earlierSnapshotStillShowsOldStatus() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo read book");
+        TaskSnapshot before = tasks.getTasks();
+
+        tasks.markTask(1);
+
+        assertFalse(before.get(0).getIsDone());
+        assertTrue(tasks.getTasks().get(0).getIsDone());
+    }
+
+    @Test
+    public void insertAtAndCountWhile_keepSortedOrder() throws Exception {
+        TaskSnapshot snapshot = TaskSnapshot.empty();
+        for (int i : new int[] {5, 1, 9, 3, 7}) {
+            Task task = todo(i);
+            snapshot = snapshot.insertAt(snapshot.countWhile(other -> other.toString().compareTo(task.toString()) < 0),
+                    task);
+        }
+
+        assertEquals(5, snapshot.size());
+        assertTrue(snapshot.get(0).toString().contains("task1"));
+        assertTrue(snapshot.get(4).toString().contains("task9"));
+        String bound = todo(6).toString();
+        assertEquals(3, snapshot.countWhile(task -> task.toString().compareTo(bound) < 0));
+        assertEquals(0, TaskSnapshot.empty().countWhile(task -> true));
+    }
+
+    @Test
+    public void get_outOfRange_throwsException() throws Exception {
+        TaskSnapshot snapshot = TaskSnapshot.empty().append(todo(1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.without(-1));
+    }
+
+    @Test
+    public void subList_everyRange_matchesArrayList() throws Exception {
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            expected.add(todo(i));
+        }
+        TaskSnapshot snapshot = TaskSnapshot.of(expected);
+
+        for (int from = 0; from <= expected.size(); from++) {
+            for (int to = from; to <= expected.size(); to++) {
+                List<Task> slice = snapshot.subList(from, to);
+                assertEquals(expected.subList(from, to), new ArrayList<>(slice));
+                assertEquals(expected.subList(from, to).subList(0, (to - from) / 2), slice.subList(0, (to - from) / 2));
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.subList(5, 41));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.subList(0, 10).get(10));
+    }
+}
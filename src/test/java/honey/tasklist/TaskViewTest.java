@@ -0,0 +1,130 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Deadline;
+import honey.task.Task;
+
+/**
+ * Tests for the materialised views behind sort and the filtered list commands.
+ * Tests that views updated change by change always match views built from scratch.
+ */
+public class TaskViewTest {
+
+    private static void assertViewsMatchRebuilt(TaskList tasks) {
+        TaskList rebuilt = new TaskList(tasks.getTasks());
+        assertEquals(rebuilt.sortDeadlines(), tasks.sortDeadlines());
+        assertEquals(rebuilt.sortTasksByName(), tasks.sortTasksByName());
+        assertEquals(rebuilt.sortTasksByType(), tasks.sortTasksByType());
+        assertEquals(rebuilt.sortTasksByStatus(), tasks.sortTasksByStatus());
+        assertEquals(rebuilt.listTasksByStatus(true), tasks.listTasksByStatus(true));
+        assertEquals(rebuilt.listTasksByStatus(false), tasks.listTasksByStatus(false));
+        assertEquals(rebuilt.listOverdueTasks(), tasks.listOverdueTasks());
+    }
+
+    @Test
+    public void randomChanges_matchRebuiltViews() throws Exception {
+        Random random = new Random(42);
+        TaskList tasks = new TaskList();
+        assertViewsMatchRebuilt(tasks);
+
+        for (int i = 0; i < 600; i++) {
+            int operation = random.nextInt(5);
+            if (operation <= 1 || tasks.size() == 0) {
+                // Few distinct names and dates, so that views must keep ties in list order
+                String name = "task" + random.nextInt(10);
+                if (random.nextBoolean()) {
+                    tasks.addTask("deadline " + name + " /by 20" + (20 + random.nextInt(20)) + "-01-01");
+                } else {
+                    tasks.addTask("todo " + name);
+                }
+            } else if (operation == 2) {
+                tasks.markTask(random.nextInt(tasks.size()) + 1);
+            } else if (operation == 3) {
+                tasks.unmarkTask(random.nextInt(tasks.size()) + 1);
+            } else {
+                tasks.deleteTask(random.nextInt(tasks.size()) + 1);
+            }
+            if (i % 50 == 0) {
+                assertViewsMatchRebuilt(tasks);
+            }
+        }
+        assertViewsMatchRebuilt(tasks);
+    }
+
+    @Test
+    public void insertAllAndRemoveRange_keepListOrder() throws Exception {
+        Random random = new Random(7);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            tasks.addTask("deadline task" + (i % 3) + " /by 2030-01-0" + (1 + i % 2));
+        }
+        tasks.sortDeadlines();
+        tasks.findTasks("task1");
+
+        // Inserting again and again at one place uses up the numbers between its neighbours
+        for (int i = 0; i < 80; i++) {
+            int index = i % 2 == 0 ? 5 : random.nextInt(tasks.size() + 1);
+            List<Task> batch = tasks.removeRange(index, Math.min(tasks.size(), index + 1 + random.nextInt(2)));
+            tasks.insertAll(index, batch);
+            tasks.insertAll(index, List.of(new Deadline("deadline task1 /by 2030-01-01")));
+            if (i % 10 == 0) {
+                assertViewsMatchRebuilt(tasks);
+                assertEquals(new TaskList(tasks.getTasks()).findTasks("task1"), tasks.findTasks("task1"));
+            }
+        }
+        assertViewsMatchRebuilt(tasks);
+        assertEquals(new TaskList(tasks.getTasks()).findTasks("task1"), tasks.findTasks("task1"));
+    }
+
+    @Test
+    public void listTasksByStatus_splitsDoneAndPending() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo read book");
+        tasks.addTask("todo write essay");
+        tasks.markTask(2);
+
+        String done = tasks.listTasksByStatus(true);
+        String pending = tasks.listTasksByStatus(false);
+
+        assertTrue(done.contains("1. [T][X] write essay"));
+        assertFalse(done.contains("read book"));
+        assertTrue(pending.contains("1. [T][ ] read book"));
+        assertFalse(pending.contains("write essay"));
+    }
+
+    @Test
+    public void listOverdueTasks_onlyShowsPastPendingDeadlines() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("deadline future task /by 2999-01-01");
+        tasks.addTask("deadline late task /by 2020-01-01");
+        tasks.addTask("deadline finished task /by 2019-01-01");
+        tasks.markTask(3);
+
+        String overdue = tasks.listOverdueTasks();
+
+        assertTrue(overdue.contains("1. [D][ ] late task"));
+        assertFalse(overdue.contains("future task"));
+        assertFalse(overdue.contains("finished task"));
+    }
+
+    @Test
+    public void sortTasksByName_ignoresCaseAndTaskType() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("todo zebra");
+        tasks.addTask("deadline Apple /by 2024-01-01");
+        tasks.addTask("event mango /from 2024-01-01 /to 2024-01-02");
+
+        String sorted = tasks.sortTasksByName();
+
+        assertTrue(sorted.indexOf("Apple") < sorted.indexOf("mango"));
+        assertTrue(sorted.indexOf("mango") < sorted.indexOf("zebra"));
+    }
+}
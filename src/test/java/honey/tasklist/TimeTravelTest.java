@@ -0,0 +1,116 @@
+package honey.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import honey.task.Deadline;
+import honey.task.HoneyClock;
+import honey.task.Task;
+
+/**
+ * Tests for queries that depend on the time, run against a clock the test moves.
+ * Tests that overdue deadlines and cached results follow the clock as it jumps forwards and back across many
+ * deadlines falling due, without any task changing.
+ */
+public class TimeTravelTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    /** Deadlines, one a minute from the start */
+    private static final int DEADLINE_COUNT = 100_000;
+
+    private final HoneyClock original = HoneyClock.getInstance();
+
+    @AfterEach
+    public void tearDown() {
+        HoneyClock.setInstance(original);
+    }
+
+    private static void travelTo(LocalDateTime time) {
+        HoneyClock.setInstance(new HoneyClock(Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC)));
+    }
+
+    private static String at(int minute) {
+        LocalDateTime time = START.plusMinutes(minute);
+        return String.format("%s %02d%02d", time.toLocalDate(), time.getHour(), time.getMinute());
+    }
+
+    @Test
+    public void listOverdueTasks_manyDeadlinesFallingDue_followsTheClock() throws Exception {
+        List<Task> deadlines = new ArrayList<>(DEADLINE_COUNT);
+        for (int i = 0; i < DEADLINE_COUNT; i++) {
+            deadlines.add(new Deadline("deadline task" + i + " /by " + at(i)));
+        }
+        TaskList tasks = new TaskList(deadlines);
+        Random random = new Random(5);
+
+        for (int step = 0; step < 1000; step++) {
+            int minute = random.nextInt(DEADLINE_COUNT + 10);
+            // Half a minute after a deadline, every deadline up to and including it has passed
+            travelTo(START.plusMinutes(minute).plusSeconds(30));
+            int overdue = Math.min(minute + 1, DEADLINE_COUNT);
+
+            String last = tasks.listOverdueTasks(Page.of(overdue - 1, 1));
+            String pastTheEnd = tasks.listOverdueTasks(Page.of(overdue, 1));
+
+            assertTrue(last.contains(overdue + ". [D][ ] task" + (overdue - 1) + " "), last);
+            assertTrue(pastTheEnd.contains("We only have " + overdue + " of those"), pastTheEnd);
+        }
+    }
+
+    @Test
+    public void sortDeadlines_cachedResult_followsTheClockBothWays() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask("deadline pay rent /by " + at(60));
+        tasks.addTask("deadline file taxes /by " + at(120));
+
+        travelTo(START.plusMinutes(90));
+        String between = tasks.sortDeadlines();
+        assertTrue(between.contains("pay rent (by: Jan 01 2024, 1:00AM) [OVERDUE]"), between);
+        assertFalse(between.contains("taxes (by: Jan 01 2024, 2:00AM) [OVERDUE]"), between);
+
+        travelTo(START.plusMinutes(150));
+        assertTrue(tasks.sortDeadlines().contains("taxes (by: Jan 01 2024, 2:00AM) [OVERDUE]"));
+
+        travelTo(START);
+        assertFalse(tasks.sortDeadlines().contains("[OVERDUE]"));
+    }
+
+    @Test
+    public void overdueAndSortedDeadlines_zoneChanges_followTheNewZone() throws Exception {
+        Instant noonThirty = START.plusMinutes(750).toInstant(ZoneOffset.UTC);
+        HoneyClock.setInstance(new HoneyClock(Clock.fixed(noonThirty, ZoneOffset.UTC)));
+        TaskList tasks = new TaskList();
+        tasks.addTask("deadline pay rent /by 2024-01-01 1100");
+        tasks.addTask("deadline call client /by 2024-01-01 1200 UTC");
+        tasks.addTask("deadline lunch /by 2024-01-01 1300");
+
+        String overdue = tasks.listOverdueTasks();
+        assertTrue(overdue.contains("1. [D][ ] pay rent"), overdue);
+        assertTrue(overdue.contains("2. [D][ ] call client"), overdue);
+        assertFalse(overdue.contains("lunch"), overdue);
+
+        // At 7:30AM in New York the call was due at 7:00AM, before the deadlines read in the clock's zone
+        HoneyClock.setInstance(new HoneyClock(Clock.fixed(noonThirty, ZoneOffset.ofHours(-5))));
+        overdue = tasks.listOverdueTasks();
+        assertTrue(overdue.contains("1. [D][ ] call client"), overdue);
+        assertFalse(overdue.contains("pay rent"), overdue);
+        String sorted = tasks.sortDeadlines();
+        assertTrue(sorted.indexOf("call client") < sorted.indexOf("pay rent"), sorted);
+        assertTrue(sorted.indexOf("pay rent") < sorted.indexOf("lunch"), sorted);
+
+        tasks.addTask("deadline breakfast /by 2024-01-01 0800");
+        overdue = tasks.listOverdueTasks();
+        assertTrue(overdue.contains("1. [D][ ] call client"), overdue);
+        assertFalse(overdue.contains("breakfast"), overdue);
+    }
+}
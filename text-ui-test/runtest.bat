@@ -3,11 +3,15 @@
 REM create bin directory if it doesn't exist
 if not exist ..\bin mkdir ..\bin
 
-REM delete output from previous run
+REM delete output and saved tasks from previous run
 if exist ACTUAL.TXT del ACTUAL.TXT
+if exist ..\bin\text-ui-test.txt del ..\bin\text-ui-test.txt
+if exist ..\bin\text-ui-test.txt.undo del ..\bin\text-ui-test.txt.undo
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM compile the code, except the JavaFX GUI, into the bin folder
+dir /s /b ..\src\main\java\*.java | findstr /v /i "\\javafx\\" > sources.txt
+javac -encoding UTF-8 -cp ..\src\main\java -Xlint:none -d ..\bin @sources.txt
+del sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
@@ -15,7 +19,7 @@ IF ERRORLEVEL 1 (
 REM no error here, errorlevel == 0
 
 REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin Duke < input.txt > ACTUAL.TXT
+java -Dfile.encoding=UTF-8 -classpath ..\bin honey.cli.HoneyCli --data ..\bin\text-ui-test.txt < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
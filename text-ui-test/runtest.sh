@@ -6,21 +6,22 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and saved tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+rm -f ../bin/text-ui-test.txt ../bin/text-ui-test.txt.undo
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# compile the code, except the JavaFX GUI, into the bin folder, terminates if error occurred
+if ! javac -encoding UTF-8 -cp ../src/main/java -Xlint:none -d ../bin $(find ../src/main/java -name "*.java" -not -path "*/javafx/*")
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Honey < input.txt > ACTUAL.TXT
+java -Dfile.encoding=UTF-8 -classpath ../bin honey.cli.HoneyCli --data ../bin/text-ui-test.txt < input.txt > ACTUAL.TXT
 
 # compare the output to the expected output
 diff ACTUAL.TXT EXPECTED.TXT